@@ -68,6 +68,18 @@ public interface CommandDispatcher<C> extends AutoCloseable {
      */
     <R> Map<Node, CompletionStage<R>> executeOnGroup(Command<R, ? super C> command, Node... excludedMembers) throws CommandDispatcherException;
 
+    /**
+     * Executes the specified command on all members of the group, optionally excluding some members, without collecting the results.
+     * Intended for commands whose results are of no interest to the caller.
+     *
+     * @param command the command to execute
+     * @param excludedMembers the members to be excluded from group command execution
+     * @throws CommandDispatcherException if the command could not be sent
+     */
+    default void executeOnGroupWithoutResponse(Command<?, ? super C> command, Node... excludedMembers) throws CommandDispatcherException {
+        this.executeOnGroup(command, excludedMembers);
+    }
+
     /**
      * Execute the specified command on the specified node.
      *
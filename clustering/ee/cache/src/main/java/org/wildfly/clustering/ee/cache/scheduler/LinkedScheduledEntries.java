@@ -35,7 +35,8 @@ import java.util.function.Consumer;
  */
 public class LinkedScheduledEntries<K, V> implements ScheduledEntries<K, V> {
     private final ConcurrentDirectDeque<Map.Entry<K, V>> queue = ConcurrentDirectDeque.newInstance();
-    private final Map<K, Object> tokens = new ConcurrentHashMap<>();
+    // Maps each key to its scheduled value and queue token
+    private final Map<K, Map.Entry<V, Object>> tokens = new ConcurrentHashMap<>();
 
     @Override
     public boolean isSorted() {
@@ -45,17 +46,27 @@ public class LinkedScheduledEntries<K, V> implements ScheduledEntries<K, V> {
     @Override
     public void add(K key, V value) {
         Object token = this.queue.offerLastAndReturnToken(new SimpleImmutableEntry<>(key, value));
-        this.tokens.put(key, token);
+        this.tokens.put(key, new SimpleImmutableEntry<>(value, token));
     }
 
     @Override
     public void remove(K key) {
-        Object token = this.tokens.remove(key);
+        Map.Entry<V, Object> token = this.tokens.remove(key);
         if (token != null) {
-            this.queue.removeToken(token);
+            this.queue.removeToken(token.getValue());
         }
     }
 
+    @Override
+    public boolean remove(K key, V value) {
+        Map.Entry<V, Object> token = this.tokens.get(key);
+        if ((token != null) && token.getKey().equals(value) && this.tokens.remove(key, token)) {
+            this.queue.removeToken(token.getValue());
+            return true;
+        }
+        return false;
+    }
+
     @Override
     public Map.Entry<K, V> peek() {
         return this.queue.peekFirst();
@@ -64,7 +75,7 @@ public class LinkedScheduledEntries<K, V> implements ScheduledEntries<K, V> {
     @Override
     public Iterator<Map.Entry<K, V>> iterator() {
         Iterator<Map.Entry<K, V>> iterator = this.queue.iterator();
-        Map<K, Object> tokens = this.tokens;
+        Map<K, Map.Entry<V, Object>> tokens = this.tokens;
         return new Iterator<Map.Entry<K, V>>() {
             private K current = null;
 
@@ -24,14 +24,22 @@ package org.wildfly.clustering.ee.cache.scheduler;
 
 import java.time.Duration;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.function.Predicate;
 
 import org.jboss.as.clustering.context.DefaultExecutorService;
@@ -48,11 +56,56 @@ public class LocalScheduler<T> implements Scheduler<T, Instant>, Iterable<T>, Ru
     private final ScheduledExecutorService executor;
     private final ScheduledEntries<T, Instant> entries;
     private final Predicate<T> task;
+    private final Function<Collection<T>, Collection<T>> batchTask;
+    private final int batchSize;
+    private final int parallelism;
+    private final ExecutorService batchExecutor;
+    private final LocalSchedulerStatistics statistics;
     private final Duration closeTimeout;
+    // Indicates whether entries are processed at a fixed rate, rather than scheduled individually
+    private final boolean periodic;
 
     private volatile Future<?> future = null;
 
     public LocalScheduler(ScheduledEntries<T, Instant> entries, Predicate<T> task, Duration closeTimeout) {
+        this(entries, task, null, 1, 1, closeTimeout, new LocalSchedulerStatistics());
+    }
+
+    /**
+     * Creates a scheduler that processes due entries in batches.
+     * A batch task is responsible for handling the failure of any individual entry, e.g. by retrying it, and returns those entries that it could not process.
+     * These entries remain scheduled, and will be processed again by a subsequent run.
+     * @param entries the scheduled entries
+     * @param batchTask a task processing a batch of entries, returning the subset of entries that were not processed
+     * @param batchSize the maximum number of entries per batch
+     * @param parallelism the maximum number of batches to process concurrently
+     * @param closeTimeout the duration to wait for the completion of pending tasks on close
+     */
+    public LocalScheduler(ScheduledEntries<T, Instant> entries, Function<Collection<T>, Collection<T>> batchTask, int batchSize, int parallelism, Duration closeTimeout) {
+        this(entries, batchTask, batchSize, parallelism, closeTimeout, new LocalSchedulerStatistics());
+    }
+
+    /**
+     * Creates a scheduler that processes due entries in batches, recording its statistics to the specified, possibly shared, statistics.
+     * @param entries the scheduled entries
+     * @param batchTask a task processing a batch of entries, returning the subset of entries that were not processed
+     * @param batchSize the maximum number of entries per batch
+     * @param parallelism the maximum number of batches to process concurrently
+     * @param closeTimeout the duration to wait for the completion of pending tasks on close
+     * @param statistics the statistics to which this scheduler records processed entries and batches
+     */
+    public LocalScheduler(ScheduledEntries<T, Instant> entries, Function<Collection<T>, Collection<T>> batchTask, int batchSize, int parallelism, Duration closeTimeout, LocalSchedulerStatistics statistics) {
+        this(entries, null, batchTask, batchSize, parallelism, closeTimeout, statistics);
+    }
+
+    private LocalScheduler(ScheduledEntries<T, Instant> entries, Predicate<T> task, Function<Collection<T>, Collection<T>> batchTask, int batchSize, int parallelism, Duration closeTimeout, LocalSchedulerStatistics statistics) {
+        if ((batchSize <= 0) || (parallelism <= 0)) {
+            throw new IllegalArgumentException();
+        }
+        this.batchTask = batchTask;
+        this.batchSize = (batchTask != null) ? batchSize : 1;
+        this.parallelism = (batchTask != null) ? parallelism : 1;
+        this.batchExecutor = (this.parallelism > 1) ? Executors.newFixedThreadPool(this.parallelism, new DefaultThreadFactory(this.getClass())) : null;
         ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1, new DefaultThreadFactory(this.getClass()));
         executor.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
         executor.setRemoveOnCancelPolicy(entries.isSorted());
@@ -60,11 +113,19 @@ public class LocalScheduler<T> implements Scheduler<T, Instant>, Iterable<T>, Ru
         this.entries = entries;
         this.task = task;
         this.closeTimeout = closeTimeout;
+        this.statistics = statistics;
+        Optional<Duration> tick = entries.getTick();
+        this.periodic = tick.isPresent();
+        if (this.periodic) {
+            long millis = tick.get().toMillis();
+            this.future = executor.scheduleWithFixedDelay(this, millis, millis, TimeUnit.MILLISECONDS);
+        }
     }
 
     @Override
     public void schedule(T id, Instant instant) {
         this.entries.add(id, instant);
+        if (this.periodic) return;
         if (this.entries.isSorted()) {
             this.cancelIfPresent(id);
         }
@@ -73,6 +134,10 @@ public class LocalScheduler<T> implements Scheduler<T, Instant>, Iterable<T>, Ru
 
     @Override
     public void cancel(T id) {
+        if (this.periodic) {
+            this.entries.remove(id);
+            return;
+        }
         if (this.entries.isSorted()) {
             this.cancelIfPresent(id);
         }
@@ -114,12 +179,27 @@ public class LocalScheduler<T> implements Scheduler<T, Instant>, Iterable<T>, Ru
         };
     }
 
+    /**
+     * Returns the statistics of this scheduler.
+     * @return the statistics of this scheduler
+     */
+    public LocalSchedulerStatistics getStatistics() {
+        return this.statistics;
+    }
+
     @Override
     public void close() {
         WildFlySecurityManager.doPrivilegedWithParameter(this.executor, DefaultExecutorService.SHUTDOWN_ACTION);
+        if (this.batchExecutor != null) {
+            WildFlySecurityManager.doPrivilegedWithParameter(this.batchExecutor, DefaultExecutorService.SHUTDOWN_ACTION);
+        }
         if (!this.closeTimeout.isNegative() && !this.closeTimeout.isZero()) {
+            long deadline = System.nanoTime() + this.closeTimeout.toNanos();
             try {
-                this.executor.awaitTermination(this.closeTimeout.toMillis(), TimeUnit.MILLISECONDS);
+                if (this.executor.awaitTermination(this.closeTimeout.toNanos(), TimeUnit.NANOSECONDS) && (this.batchExecutor != null)) {
+                    // Wait for any batches still in progress, within the remainder of the close timeout
+                    this.batchExecutor.awaitTermination(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+                }
             } catch (InterruptedException e) {
                 Thread.currentThread().interrupt();
             }
@@ -128,19 +208,89 @@ public class LocalScheduler<T> implements Scheduler<T, Instant>, Iterable<T>, Ru
 
     @Override
     public void run() {
+        if (this.batchTask != null) {
+            this.runBatches();
+        } else {
+            Iterator<Map.Entry<T, Instant>> entries = this.entries.iterator();
+            while (entries.hasNext()) {
+                if (Thread.currentThread().isInterrupted() || this.executor.isShutdown()) return;
+                Map.Entry<T, Instant> entry = entries.next();
+                Instant now = Instant.now();
+                if (entry.getValue().isAfter(now)) break;
+                T key = entry.getKey();
+                // Remove only if task is successful
+                if (this.task.test(key)) {
+                    entries.remove();
+                    this.statistics.recordLag(Duration.between(entry.getValue(), now));
+                }
+            }
+        }
+        if (!this.periodic) {
+            synchronized (this) {
+                this.future = this.scheduleFirst();
+            }
+        }
+    }
+
+    private void runBatches() {
+        int limit = this.batchSize * this.parallelism;
         Iterator<Map.Entry<T, Instant>> entries = this.entries.iterator();
-        while (entries.hasNext()) {
+        boolean exhausted = false;
+        while (!exhausted) {
             if (Thread.currentThread().isInterrupted() || this.executor.isShutdown()) return;
-            Map.Entry<T, Instant> entry = entries.next();
-            if (entry.getValue().isAfter(Instant.now())) break;
-            T key = entry.getKey();
-            // Remove only if task is successful
-            if (this.task.test(key)) {
-                entries.remove();
+            // Collect due entries, up to the combined capacity of all concurrent batches
+            Instant now = Instant.now();
+            List<Map.Entry<T, Instant>> due = new ArrayList<>(Math.min(limit, 64));
+            while (!exhausted && (due.size() < limit)) {
+                Map.Entry<T, Instant> entry = entries.hasNext() ? entries.next() : null;
+                if ((entry == null) || entry.getValue().isAfter(now)) {
+                    exhausted = true;
+                } else {
+                    due.add(entry);
+                }
+            }
+            if (due.isEmpty()) return;
+
+            List<List<Map.Entry<T, Instant>>> batches = new ArrayList<>(this.parallelism);
+            for (int i = 0; i < due.size(); i += this.batchSize) {
+                batches.add(due.subList(i, Math.min(i + this.batchSize, due.size())));
+            }
+            if ((this.batchExecutor == null) || (batches.size() == 1)) {
+                for (List<Map.Entry<T, Instant>> batch : batches) {
+                    this.processBatch(batch, now);
+                }
+            } else {
+                List<Callable<Void>> tasks = new ArrayList<>(batches.size());
+                for (List<Map.Entry<T, Instant>> batch : batches) {
+                    tasks.add(() -> {
+                        this.processBatch(batch, now);
+                        return null;
+                    });
+                }
+                try {
+                    this.batchExecutor.invokeAll(tasks);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                } catch (RejectedExecutionException e) {
+                    return;
+                }
             }
         }
-        synchronized (this) {
-            this.future = this.scheduleFirst();
+    }
+
+    private void processBatch(List<Map.Entry<T, Instant>> batch, Instant now) {
+        List<T> keys = new ArrayList<>(batch.size());
+        for (Map.Entry<T, Instant> entry : batch) {
+            keys.add(entry.getKey());
+        }
+        this.statistics.recordBatch(keys.size());
+        Collection<T> unprocessed = this.batchTask.apply(keys);
+        for (Map.Entry<T, Instant> entry : batch) {
+            // Remove only if processed, and only if not concurrently rescheduled
+            if (!unprocessed.contains(entry.getKey()) && this.entries.remove(entry.getKey(), entry.getValue())) {
+                this.statistics.recordLag(Duration.between(entry.getValue(), now));
+            }
         }
     }
 
@@ -0,0 +1,93 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.clustering.ee.cache.scheduler;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Statistics of a {@link LocalScheduler}, i.e. the number of processed entries, the size of processed batches,
+ * and the lag between the scheduled time of an entry and the time it was actually processed.
+ * A single instance may be shared by multiple schedulers, in which case these statistics are aggregated across all of them.
+ */
+public class LocalSchedulerStatistics {
+
+    private final LongAdder processedCount = new LongAdder();
+    private final LongAdder batchCount = new LongAdder();
+    private final LongAdder totalLag = new LongAdder();
+    private final AtomicLong maxLag = new AtomicLong();
+    private final AtomicLong maxBatchSize = new AtomicLong();
+
+    void recordLag(Duration lag) {
+        long millis = Math.max(lag.toMillis(), 0);
+        this.processedCount.increment();
+        this.totalLag.add(millis);
+        if (millis > this.maxLag.get()) {
+            this.maxLag.accumulateAndGet(millis, Math::max);
+        }
+    }
+
+    void recordBatch(int size) {
+        this.batchCount.increment();
+        if (size > this.maxBatchSize.get()) {
+            this.maxBatchSize.accumulateAndGet(size, Math::max);
+        }
+    }
+
+    /**
+     * @return the number of entries processed by the scheduler
+     */
+    public long getProcessedCount() {
+        return this.processedCount.sum();
+    }
+
+    /**
+     * @return the number of batches processed by the scheduler
+     */
+    public long getBatchCount() {
+        return this.batchCount.sum();
+    }
+
+    /**
+     * @return the size of the largest processed batch
+     */
+    public long getMaxBatchSize() {
+        return this.maxBatchSize.get();
+    }
+
+    /**
+     * @return the largest lag of any processed entry
+     */
+    public Duration getMaxLag() {
+        return Duration.ofMillis(this.maxLag.get());
+    }
+
+    /**
+     * @return the mean lag of processed entries
+     */
+    public Duration getMeanLag() {
+        long count = this.processedCount.sum();
+        return (count > 0) ? Duration.ofMillis(this.totalLag.sum() / count) : Duration.ZERO;
+    }
+}
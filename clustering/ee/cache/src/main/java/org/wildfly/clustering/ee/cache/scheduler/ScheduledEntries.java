@@ -21,8 +21,10 @@
  */
 package org.wildfly.clustering.ee.cache.scheduler;
 
+import java.time.Duration;
 import java.util.Iterator;
 import java.util.Map;
+import java.util.Optional;
 
 /**
  * A collection of scheduled entries with a predictable iteration order.
@@ -36,6 +38,15 @@ public interface ScheduledEntries<K, V> extends Iterable<Map.Entry<K, V>> {
      */
     boolean isSorted();
 
+    /**
+     * Returns the granularity of these entries, if entries are grouped into discrete ticks.
+     * If present, a scheduler should process these entries at this fixed rate, rather than scheduling each entry individually.
+     * @return an optional tick duration
+     */
+    default Optional<Duration> getTick() {
+        return Optional.empty();
+    }
+
     /**
      * Adds an entry using the specified key and value.
      * @param key an entry key
@@ -49,6 +60,14 @@ public interface ScheduledEntries<K, V> extends Iterable<Map.Entry<K, V>> {
      */
     void remove(K key);
 
+    /**
+     * Removes the entry with the specified key, but only if it is currently scheduled using the specified value.
+     * @param key an entry key
+     * @param value an entry value
+     * @return true, if the entry was removed, false otherwise
+     */
+    boolean remove(K key, V value);
+
     /**
      * Returns, but does not remove, the first entry.
      */
@@ -78,6 +78,15 @@ public class SortedScheduledEntries<K, V extends Comparable<? super V>> implemen
         }
     }
 
+    @Override
+    public boolean remove(K key, V value) {
+        if (this.entries.remove(key, value)) {
+            this.sorted.remove(new Entry<>(key, value));
+            return true;
+        }
+        return false;
+    }
+
     @Override
     public Map.Entry<K, V> peek() {
         try {
@@ -0,0 +1,309 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.clustering.ee.cache.scheduler;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.jboss.logging.Logger;
+import org.wildfly.security.manager.WildFlySecurityManager;
+
+/**
+ * {@link ScheduledEntries} implemented using a hashed timing wheel, where entries are grouped into buckets by tick.
+ * Both {@link #add(Object, Instant)} and {@link #remove(Object)} run in O(1) time.
+ * Iteration order is based on the tick of the entry value, while entries within the same tick are unordered.
+ * Each slot of the wheel groups its entries into buckets by tick, so that entries scheduled beyond a single revolution of the wheel are never visited before their tick.
+ * Since entries are grouped by tick, a scheduler should process these entries at a fixed rate, see {@link #getTick()}.
+ */
+public class TimingWheelScheduledEntries<K> implements ScheduledEntries<K, Instant> {
+    // No logger interface for this module and no reason to create one for this class only
+    private static final Logger LOGGER = Logger.getLogger(TimingWheelScheduledEntries.class);
+
+    static final Duration DEFAULT_TICK = Duration.ofSeconds(1);
+    static final int DEFAULT_TICKS_PER_WHEEL = 1024;
+
+    private final long tickMillis;
+    private final Duration tick;
+    private final int mask;
+    // Buckets of entries by tick, where a slot only contains buckets whose tick maps to that slot, and never contains an empty bucket
+    private final ConcurrentMap<Long, Map<K, Instant>>[] wheel;
+    private final Map<K, Instant> entries = new ConcurrentHashMap<>();
+    private final AtomicLong lastTick = new AtomicLong(Long.MIN_VALUE);
+    // Lower bound of the ticks containing entries, guarded by this object for writes
+    private volatile long firstTick = Long.MAX_VALUE;
+
+    /**
+     * Creates a new timing wheel using a default tick duration and wheel size.
+     */
+    public TimingWheelScheduledEntries() {
+        this(DEFAULT_TICK, DEFAULT_TICKS_PER_WHEEL);
+    }
+
+    /**
+     * Creates a new timing wheel using the specified tick duration and wheel size.
+     * @param tick the granularity of this timing wheel
+     * @param ticksPerWheel the number of buckets in this timing wheel, rounded up to the next power of 2
+     */
+    public TimingWheelScheduledEntries(Duration tick, int ticksPerWheel) {
+        if (tick.isNegative() || tick.toMillis() == 0) {
+            throw new IllegalArgumentException(tick.toString());
+        }
+        if (ticksPerWheel <= 0) {
+            throw new IllegalArgumentException(Integer.toString(ticksPerWheel));
+        }
+        this.tick = tick;
+        this.tickMillis = tick.toMillis();
+        int size = Integer.highestOneBit(ticksPerWheel);
+        if (size < ticksPerWheel) {
+            size <<= 1;
+        }
+        this.mask = size - 1;
+        @SuppressWarnings({ "rawtypes", "unchecked" })
+        ConcurrentMap<Long, Map<K, Instant>>[] wheel = new ConcurrentMap[size];
+        for (int i = 0; i < size; ++i) {
+            wheel[i] = new ConcurrentHashMap<>();
+        }
+        this.wheel = wheel;
+    }
+
+    /**
+     * Creates a timing wheel using a default wheel size and the tick duration, in milliseconds, specified by the specified system property.
+     * This allows a scheduler to opt into a timing wheel, in lieu of its default entries.
+     * If the system property is defined with an invalid value, a warning is logged.
+     * @param <K> the entry key type
+     * @param tickProperty the name of a system property
+     * @return a timing wheel, or an empty optional, if the specified system property is undefined or does not specify a positive number of milliseconds
+     */
+    public static <K> Optional<ScheduledEntries<K, Instant>> fromSystemProperty(String tickProperty) {
+        String value = WildFlySecurityManager.getPropertyPrivileged(tickProperty, null);
+        if (value != null) {
+            try {
+                long millis = Long.parseLong(value.trim());
+                if (millis > 0) {
+                    return Optional.of(new TimingWheelScheduledEntries<>(Duration.ofMillis(millis), DEFAULT_TICKS_PER_WHEEL));
+                }
+            } catch (NumberFormatException e) {
+                // Fall through
+            }
+            LOGGER.warnf("Ignoring invalid value '%s' of system property %s, expected a positive number of milliseconds", value, tickProperty);
+        }
+        return Optional.empty();
+    }
+
+    @Override
+    public boolean isSorted() {
+        return true;
+    }
+
+    @Override
+    public Optional<Duration> getTick() {
+        return Optional.of(this.tick);
+    }
+
+    @Override
+    public void add(K key, Instant value) {
+        long tick = this.tick(value);
+        Instant oldValue = this.entries.put(key, value);
+        if (oldValue != null) {
+            this.removeFromBucket(this.tick(oldValue), key, oldValue);
+        }
+        this.addToBucket(tick, key, value, false);
+        // Avoid contention on the common path, where neither bound changes
+        if (tick > this.lastTick.get()) {
+            this.lastTick.accumulateAndGet(tick, Math::max);
+        }
+        if (tick < this.firstTick) {
+            synchronized (this) {
+                if (tick < this.firstTick) {
+                    this.firstTick = tick;
+                }
+            }
+        }
+    }
+
+    @Override
+    public void remove(K key) {
+        Instant value = this.entries.remove(key);
+        if (value != null) {
+            this.removeFromBucket(this.tick(value), key, value);
+        }
+    }
+
+    @Override
+    public boolean remove(K key, Instant value) {
+        if (this.entries.remove(key, value)) {
+            this.removeFromBucket(this.tick(value), key, value);
+            return true;
+        }
+        return false;
+    }
+
+    @Override
+    public Iterator<Map.Entry<K, Instant>> iterator() {
+        return new TickIterator();
+    }
+
+    private long tick(Instant instant) {
+        return Math.floorDiv(instant.toEpochMilli(), this.tickMillis);
+    }
+
+    private ConcurrentMap<Long, Map<K, Instant>> slot(long tick) {
+        return this.wheel[(int) (tick & this.mask)];
+    }
+
+    /**
+     * Returns the entries of the specified tick.
+     * @param tick a tick
+     * @return a bucket of entries, or an empty map if the specified tick contains no entries
+     */
+    private Map<K, Instant> bucket(long tick) {
+        Map<K, Instant> bucket = this.slot(tick).get(tick);
+        return (bucket != null) ? bucket : Collections.emptyMap();
+    }
+
+    private void addToBucket(long tick, K key, Instant value, boolean ifAbsent) {
+        // Compute atomically, so that a bucket cannot be discarded by a concurrent removal
+        this.slot(tick).compute(tick, (t, existing) -> {
+            Map<K, Instant> bucket = (existing != null) ? existing : new ConcurrentHashMap<>();
+            if (ifAbsent) {
+                bucket.putIfAbsent(key, value);
+            } else {
+                bucket.put(key, value);
+            }
+            return bucket;
+        });
+    }
+
+    private void removeFromBucket(long tick, K key, Instant value) {
+        this.slot(tick).computeIfPresent(tick, (t, bucket) -> {
+            bucket.remove(key, value);
+            return !bucket.isEmpty() ? bucket : null;
+        });
+    }
+
+    /**
+     * Indicates whether the specified tick contains any current entries.
+     * Only the bucket of the specified tick is visited, and any stale entries encountered are removed, so this runs in amortized O(1) time.
+     */
+    private boolean containsTick(long tick) {
+        for (Map.Entry<K, Instant> entry : this.bucket(tick).entrySet()) {
+            if (this.isCurrent(entry.getKey(), entry.getValue())) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Indicates whether the specified bucket entry is current.
+     * Since {@link #add(Object, Instant)} is not atomic, concurrent rescheduling of the same key can leave a stale entry in a bucket.
+     * A stale entry is removed from its bucket, unless it was concurrently rescheduled using the same value.
+     * @param key an entry key
+     * @param value the entry value, as found in its bucket
+     * @return true, if the specified entry is current, false otherwise
+     */
+    private boolean isCurrent(K key, Instant value) {
+        if (value.equals(this.entries.get(key))) return true;
+        long tick = this.tick(value);
+        this.removeFromBucket(tick, key, value);
+        // Restore if concurrently rescheduled using the same value
+        if (value.equals(this.entries.get(key))) {
+            this.addToBucket(tick, key, value, true);
+        }
+        return false;
+    }
+
+    /**
+     * Advances the lower bound of this timing wheel past the specified tick, if it contains no entries.
+     * @param tick a tick that has been fully traversed
+     */
+    void advance(long tick) {
+        if (this.firstTick == tick) {
+            synchronized (this) {
+                // Any concurrent add to this tick either completed its insertion before this check, or will observe the advanced bound
+                if ((this.firstTick == tick) && !this.containsTick(tick)) {
+                    this.firstTick = tick + 1;
+                }
+            }
+        }
+    }
+
+    /**
+     * Iterates over the buckets of this timing wheel in tick order.
+     */
+    private class TickIterator implements Iterator<Map.Entry<K, Instant>> {
+        private final long lastTick = TimingWheelScheduledEntries.this.lastTick.get();
+        private long tick = TimingWheelScheduledEntries.this.firstTick;
+        private Iterator<Map.Entry<K, Instant>> bucketIterator = (this.tick <= this.lastTick) ? TimingWheelScheduledEntries.this.bucket(this.tick).entrySet().iterator() : Collections.emptyIterator();
+        private Map.Entry<K, Instant> next = null;
+        private Map.Entry<K, Instant> current = null;
+
+        @Override
+        public boolean hasNext() {
+            while (this.next == null) {
+                while (this.bucketIterator.hasNext()) {
+                    Map.Entry<K, Instant> entry = this.bucketIterator.next();
+                    if (TimingWheelScheduledEntries.this.isCurrent(entry.getKey(), entry.getValue())) {
+                        this.next = entry;
+                        return true;
+                    }
+                }
+                if (this.tick >= this.lastTick) return false;
+                TimingWheelScheduledEntries.this.advance(this.tick);
+                this.tick += 1;
+                this.bucketIterator = TimingWheelScheduledEntries.this.bucket(this.tick).entrySet().iterator();
+            }
+            return true;
+        }
+
+        @Override
+        public Map.Entry<K, Instant> next() {
+            if (!this.hasNext()) {
+                throw new NoSuchElementException();
+            }
+            this.current = this.next;
+            this.next = null;
+            return this.current;
+        }
+
+        @Override
+        public void remove() {
+            if (this.current == null) {
+                throw new IllegalStateException();
+            }
+            K key = this.current.getKey();
+            Instant value = this.current.getValue();
+            // Remove conditionally, in case this entry was concurrently rescheduled
+            if (TimingWheelScheduledEntries.this.entries.remove(key, value)) {
+                TimingWheelScheduledEntries.this.removeFromBucket(this.tick, key, value);
+            }
+            this.current = null;
+        }
+    }
+}
@@ -118,5 +118,13 @@ public abstract class AbstractScheduledEntriesTestCase {
 
         // Verify removal of non-existent entry
         this.entrySet.remove(UUID.randomUUID());
+
+        // Verify conditional removal
+        Map.Entry<UUID, Instant> remaining = expected.get(0);
+        Assert.assertFalse(this.entrySet.remove(remaining.getKey(), remaining.getValue().plusMillis(1)));
+        Assert.assertTrue(this.entrySet.iterator().hasNext());
+        Assert.assertTrue(this.entrySet.remove(remaining.getKey(), remaining.getValue()));
+        Assert.assertFalse(this.entrySet.iterator().hasNext());
+        Assert.assertFalse(this.entrySet.remove(remaining.getKey(), remaining.getValue()));
     }
 }
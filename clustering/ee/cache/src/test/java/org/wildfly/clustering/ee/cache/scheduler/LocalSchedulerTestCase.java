@@ -28,9 +28,13 @@ import java.time.Duration;
 import java.time.Instant;
 import java.util.AbstractMap.SimpleImmutableEntry;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.function.Function;
 import java.util.function.Predicate;
 
 import org.junit.Assert;
@@ -120,6 +124,70 @@ public class LocalSchedulerTestCase {
         }
     }
 
+    @Test
+    public void periodic() throws InterruptedException {
+        ScheduledEntries<UUID, Instant> entries = new TimingWheelScheduledEntries<>(Duration.ofMillis(10), 16);
+        Predicate<UUID> task = mock(Predicate.class);
+
+        UUID expiring = UUID.randomUUID();
+        UUID cancelled = UUID.randomUUID();
+
+        try (Scheduler<UUID, Instant> scheduler = new LocalScheduler<>(entries, task, Duration.ZERO)) {
+            when(task.test(expiring)).thenReturn(true);
+
+            scheduler.schedule(expiring, Instant.now());
+            scheduler.schedule(cancelled, Instant.now().plusMillis(100));
+            scheduler.cancel(cancelled);
+
+            Thread.sleep(500);
+
+            // Verify that expired entry was removed, and that cancelled entry was never processed
+            verify(task).test(expiring);
+            verify(task, never()).test(cancelled);
+            Assert.assertNull(entries.peek());
+        }
+    }
+
+    @Test
+    public void batch() throws InterruptedException {
+        ScheduledEntries<UUID, Instant> entries = new SortedScheduledEntries<>();
+        Function<Collection<UUID>, Collection<UUID>> batchTask = mock(Function.class);
+
+        UUID failing = UUID.randomUUID();
+        UUID succeeding = UUID.randomUUID();
+        UUID batched = UUID.randomUUID();
+        UUID rescheduled = UUID.randomUUID();
+        Instant now = Instant.now();
+        Instant later = now.plusSeconds(60);
+
+        try (LocalScheduler<UUID> scheduler = new LocalScheduler<>(entries, batchTask, 2, 2, Duration.ZERO)) {
+            // Batch task reports entries that it could not process
+            when(batchTask.apply(Arrays.asList(failing, succeeding))).thenReturn(Collections.singleton(failing));
+            // Simulate an entry that is rescheduled while its batch is in progress
+            when(batchTask.apply(Arrays.asList(batched, rescheduled))).thenAnswer(invocation -> {
+                entries.add(rescheduled, later);
+                return Collections.emptySet();
+            });
+
+            // Populate entries directly, such that they are all due within the same run
+            entries.add(failing, now.minusMillis(4));
+            entries.add(succeeding, now.minusMillis(3));
+            entries.add(batched, now.minusMillis(2));
+            entries.add(rescheduled, now.minusMillis(1));
+
+            scheduler.run();
+
+            verify(batchTask).apply(Arrays.asList(failing, succeeding));
+            verify(batchTask).apply(Arrays.asList(batched, rescheduled));
+            Assert.assertEquals(2L, scheduler.getStatistics().getProcessedCount());
+            Assert.assertEquals(2L, scheduler.getStatistics().getMaxBatchSize());
+            // Verify that unprocessed and rescheduled entries were not removed
+            List<Map.Entry<UUID, Instant>> remaining = new ArrayList<>();
+            entries.forEach(remaining::add);
+            Assert.assertEquals(Arrays.asList(new SimpleImmutableEntry<>(failing, now.minusMillis(4)), new SimpleImmutableEntry<>(rescheduled, later)), remaining);
+        }
+    }
+
     @Test
     public void cancel() {
         ScheduledEntries<UUID, Instant> entries = mock(ScheduledEntries.class);
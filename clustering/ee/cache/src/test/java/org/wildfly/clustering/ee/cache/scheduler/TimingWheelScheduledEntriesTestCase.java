@@ -0,0 +1,90 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.clustering.ee.cache.scheduler;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.AbstractMap.SimpleImmutableEntry;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Unit test for {@link TimingWheelScheduledEntries}
+ */
+public class TimingWheelScheduledEntriesTestCase extends AbstractScheduledEntriesTestCase {
+
+    public TimingWheelScheduledEntriesTestCase() {
+        // Use a small wheel, such that test entries span multiple revolutions
+        super(new TimingWheelScheduledEntries<>(Duration.ofMillis(100), 4), list -> {
+            List<Map.Entry<UUID, Instant>> result = new LinkedList<>(list);
+            Collections.sort(result, Map.Entry.comparingByValue());
+            return result;
+        });
+    }
+
+    @Test
+    public void concurrentReschedule() throws Exception {
+        TimingWheelScheduledEntries<UUID> entries = new TimingWheelScheduledEntries<>(Duration.ofMillis(1), 16);
+        UUID key = UUID.randomUUID();
+        Instant start = Instant.now();
+        int threads = 4;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>(threads);
+            for (int i = 0; i < threads; ++i) {
+                int offset = i;
+                futures.add(executor.submit(() -> {
+                    for (int j = 0; j < 10000; ++j) {
+                        entries.add(key, start.plusMillis((j * threads + offset) % 64));
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+        // Establish a known final value
+        Instant value = start.plusMillis(100);
+        entries.add(key, value);
+
+        // Iteration must only ever yield the current entry, never a stale one
+        List<Map.Entry<UUID, Instant>> result = new ArrayList<>();
+        entries.forEach(result::add);
+        Assert.assertEquals(Collections.singletonList(new SimpleImmutableEntry<>(key, value)), result);
+
+        entries.remove(key);
+        Assert.assertFalse(entries.iterator().hasNext());
+    }
+}
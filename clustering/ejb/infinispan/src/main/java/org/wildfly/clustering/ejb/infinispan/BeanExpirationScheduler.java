@@ -31,6 +31,7 @@ import org.wildfly.clustering.ee.cache.scheduler.LocalScheduler;
 import org.wildfly.clustering.ee.cache.scheduler.ScheduledEntries;
 import org.wildfly.clustering.ee.cache.scheduler.LinkedScheduledEntries;
 import org.wildfly.clustering.ee.cache.scheduler.SortedScheduledEntries;
+import org.wildfly.clustering.ee.cache.scheduler.TimingWheelScheduledEntries;
 import org.wildfly.clustering.ee.cache.tx.TransactionBatch;
 import org.wildfly.clustering.ee.infinispan.scheduler.Scheduler;
 import org.wildfly.clustering.ejb.infinispan.bean.InfinispanBeanKey;
@@ -47,6 +48,8 @@ import org.wildfly.clustering.infinispan.spi.distribution.Locality;
  * @param <T> the bean type
  */
 public class BeanExpirationScheduler<I, T> implements Scheduler<I, ImmutableBeanEntry<I>>, Predicate<I> {
+    /** System property specifying the tick duration, in milliseconds, of a timing wheel used to schedule bean expiration, in lieu of a linked or sorted set. Undefined by default. */
+    static final String TICK_PROPERTY = "org.wildfly.clustering.ejb.bean.expiration.tick";
 
     private final LocalScheduler<I> scheduler;
     private final Batcher<TransactionBatch> batcher;
@@ -55,7 +58,10 @@ public class BeanExpirationScheduler<I, T> implements Scheduler<I, ImmutableBean
     private final BeanRemover<I, T> remover;
 
     public BeanExpirationScheduler(Group group, Batcher<TransactionBatch> batcher, BeanFactory<I, T> factory, ExpirationConfiguration<T> expiration, BeanRemover<I, T> remover, Duration closeTimeout) {
-        ScheduledEntries<I, Instant> entries = group.isSingleton() ? new LinkedScheduledEntries<>() : new SortedScheduledEntries<>();
+        this(batcher, factory, expiration, remover, closeTimeout, TimingWheelScheduledEntries.<I>fromSystemProperty(TICK_PROPERTY).orElseGet(() -> group.isSingleton() ? new LinkedScheduledEntries<>() : new SortedScheduledEntries<>()));
+    }
+
+    public BeanExpirationScheduler(Batcher<TransactionBatch> batcher, BeanFactory<I, T> factory, ExpirationConfiguration<T> expiration, BeanRemover<I, T> remover, Duration closeTimeout, ScheduledEntries<I, Instant> entries) {
         this.scheduler = new LocalScheduler<>(entries, this, closeTimeout);
         this.batcher = batcher;
         this.factory = factory;
@@ -38,9 +38,11 @@ import com.github.benmanes.caffeine.cache.Cache;
  */
 public class CaffeineNearCache<K, V> implements NearCache<K, V> {
 
+    private final Cache<K, MetadataValue<V>> cache;
     private final Map<K, MetadataValue<V>> map;
 
     public CaffeineNearCache(Cache<K, MetadataValue<V>> cache) {
+        this.cache = cache;
         this.map = cache.asMap();
     }
 
@@ -61,7 +63,8 @@ public class CaffeineNearCache<K, V> implements NearCache<K, V> {
 
     @Override
     public MetadataValue<V> get(K key) {
-        return this.map.get(key);
+        // Unlike the map view, this records statistics, if enabled
+        return this.cache.getIfPresent(key);
     }
 
     @Override
@@ -0,0 +1,52 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.clustering.infinispan.client.near;
+
+import java.util.concurrent.TimeUnit;
+
+import org.infinispan.client.hotrod.MetadataValue;
+
+import com.github.benmanes.caffeine.cache.Expiry;
+
+/**
+ * Expires near cache entries after the max-idle duration of the corresponding remote cache entry, since their last access.
+ * Entries whose remote cache entry does not specify a max-idle duration never expire.
+ */
+public class MaxIdleExpiry<K, V> implements Expiry<K, MetadataValue<V>> {
+
+    @Override
+    public long expireAfterCreate(K key, MetadataValue<V> value, long currentTime) {
+        int maxIdle = value.getMaxIdle();
+        return (maxIdle > 0) ? TimeUnit.SECONDS.toNanos(maxIdle) : Long.MAX_VALUE;
+    }
+
+    @Override
+    public long expireAfterUpdate(K key, MetadataValue<V> value, long currentTime, long currentDuration) {
+        return this.expireAfterCreate(key, value, currentTime);
+    }
+
+    @Override
+    public long expireAfterRead(K key, MetadataValue<V> value, long currentTime, long currentDuration) {
+        return this.expireAfterCreate(key, value, currentTime);
+    }
+}
@@ -27,6 +27,7 @@ import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
 import java.io.Serializable;
 import java.nio.ByteBuffer;
+import java.util.OptionalInt;
 
 /**
  * @author Paul Ferraro
@@ -68,6 +69,25 @@ public class ByteBufferMarshalledValue<T> implements MarshalledValue<T, ByteBuff
         return this.marshaller.write(this.object);
     }
 
+    /**
+     * Returns the marshalled form of this value, if already known, without marshalling the value.
+     * @return the marshalled form of this value, or null if this value was not created from its marshalled form
+     */
+    public synchronized ByteBuffer peekBuffer() {
+        return this.buffer;
+    }
+
+    /**
+     * Returns the size of the marshalled form of this value, if known, without marshalling the value.
+     * @return the size of the marshalled form of this value, or an empty value if unknown
+     */
+    public synchronized OptionalInt size() {
+        ByteBuffer buffer = this.buffer;
+        if (buffer != null) return OptionalInt.of(buffer.remaining());
+        if (this.object == null) return OptionalInt.of(0);
+        return this.marshaller.size(this.object);
+    }
+
     @SuppressWarnings("unchecked")
     @Override
     public synchronized T get(ByteBufferMarshaller marshaller) throws IOException {
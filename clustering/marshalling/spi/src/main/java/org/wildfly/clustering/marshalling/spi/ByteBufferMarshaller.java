@@ -27,6 +27,7 @@ import java.io.InputStream;
 import java.io.OutputStream;
 import java.nio.ByteBuffer;
 import java.util.OptionalInt;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.jboss.logging.Logger;
 
@@ -51,19 +52,25 @@ public interface ByteBufferMarshaller extends Marshaller<Object, ByteBuffer> {
     @Override
     default ByteBuffer write(Object object) throws IOException {
         OptionalInt size = this.size(object);
-        try (ByteBufferOutputStream output = new ByteBufferOutputStream(size)) {
+        AtomicInteger history = MarshalledSizeHistory.INSTANCE.get(object);
+        int predictedSize = size.orElse(history.get());
+        // If the marshalled size is known, marshal directly into an exactly sized buffer
+        // Otherwise, marshal into a recycled scratch buffer, sized via the previous marshalled size of this type, and copy its content into an exactly sized buffer
+        ByteBufferOutputStream output = size.isPresent() ? new ByteBufferOutputStream(predictedSize) : ByteBufferOutputStream.pooled(predictedSize);
+        try {
             this.writeTo(output, object);
-            ByteBuffer buffer = output.getBuffer();
+            ByteBuffer buffer = output.getExactBuffer();
+            int actualSize = buffer.remaining();
             if (size.isPresent()) {
-                int predictedSize = size.getAsInt();
-                int actualSize = buffer.limit() - buffer.arrayOffset();
-                if (predictedSize < actualSize) {
-                    LOGGER.debugf("Buffer size prediction too small for %s (%s), predicted = %d, actual = %d", object, (object != null) ? object.getClass().getCanonicalName() : null, predictedSize, actualSize);
+                if (predictedSize != actualSize) {
+                    LOGGER.debugf("Buffer size prediction incorrect for %s (%s), predicted = %d, actual = %d", object, (object != null) ? object.getClass().getCanonicalName() : null, predictedSize, actualSize);
                 }
-            } else {
-                LOGGER.tracef("Buffer size prediction missing for %s (%s)", object, (object != null) ? object.getClass().getCanonicalName() : null);
+            } else if (predictedSize != actualSize) {
+                history.lazySet(actualSize);
             }
             return buffer;
+        } finally {
+            output.release();
         }
     }
 
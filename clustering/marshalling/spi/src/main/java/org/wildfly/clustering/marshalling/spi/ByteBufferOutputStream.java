@@ -24,24 +24,53 @@ package org.wildfly.clustering.marshalling.spi;
 
 import java.io.ByteArrayOutputStream;
 import java.nio.ByteBuffer;
+import java.util.Arrays;
 import java.util.OptionalInt;
 
 /**
  * A specialized ByteArrayOutputStream that exposes the internal buffer.
+ * A pooled output stream writes to a scratch buffer recycled per thread.
  * @author Paul Ferraro
  */
 public final class ByteBufferOutputStream extends ByteArrayOutputStream {
+    static final int DEFAULT_SIZE = 512;
+    // Upper bound on the size of the scratch buffer retained by each thread
+    static final int MAX_POOLED_SIZE = 65536;
+    private static final ThreadLocal<byte[]> POOL = new ThreadLocal<>();
+
+    private final boolean pooled;
 
     public ByteBufferOutputStream() {
         this(OptionalInt.empty());
     }
 
     public ByteBufferOutputStream(OptionalInt size) {
-        this(size.orElse(512));
+        this(size.orElse(DEFAULT_SIZE));
     }
 
     public ByteBufferOutputStream(int size) {
-        super(size);
+        this(size, false);
+    }
+
+    private ByteBufferOutputStream(int size, boolean pooled) {
+        super(0);
+        this.pooled = pooled;
+        byte[] buffer = pooled ? POOL.get() : null;
+        if (buffer != null) {
+            // Reserve scratch buffer, such that it cannot be used concurrently by a nested marshalling operation
+            POOL.set(null);
+        }
+        this.buf = ((buffer != null) && (buffer.length >= size)) ? buffer : new byte[Math.max(size, 1)];
+    }
+
+    /**
+     * Creates an output stream that writes to the scratch buffer of the current thread, if available.
+     * Otherwise, a new scratch buffer is allocated using the specified size, which is returned to the pool on {@link #release()}.
+     * @param size the expected size of the marshalled content
+     * @return a pooled output stream
+     */
+    static ByteBufferOutputStream pooled(int size) {
+        return new ByteBufferOutputStream(size, true);
     }
 
     /**
@@ -51,4 +80,28 @@ public final class ByteBufferOutputStream extends ByteArrayOutputStream {
     public ByteBuffer getBuffer() {
         return ByteBuffer.wrap(this.buf, 0, this.count);
     }
+
+    /**
+     * Returns a buffer whose backing array is exactly sized to the content of this output stream.
+     * The internal buffer is returned as is, if exactly sized and not pooled, otherwise its content is copied.
+     * @return an exactly sized byte buffer.
+     */
+    ByteBuffer getExactBuffer() {
+        return (!this.pooled && (this.count == this.buf.length)) ? ByteBuffer.wrap(this.buf) : ByteBuffer.wrap(Arrays.copyOf(this.buf, this.count));
+    }
+
+    /**
+     * Returns the scratch buffer of a pooled output stream to the pool of the current thread.
+     * This is distinct from {@link #close()}, since marshallers typically close the stream to which they write.
+     */
+    void release() {
+        if (this.pooled && (this.buf.length > 0)) {
+            byte[] buffer = this.buf;
+            this.buf = new byte[0];
+            this.count = 0;
+            if ((buffer.length <= MAX_POOLED_SIZE) && (POOL.get() == null)) {
+                POOL.set(buffer);
+            }
+        }
+    }
 }
@@ -0,0 +1,50 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.clustering.marshalling.spi;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Records the most recent marshalled size per type, used to size the buffer of subsequent marshalling operations of the same type.
+ * Implemented as a {@link ClassValue} so as not to prevent unloading of deployment classes.
+ */
+final class MarshalledSizeHistory extends ClassValue<AtomicInteger> {
+    static final MarshalledSizeHistory INSTANCE = new MarshalledSizeHistory();
+
+    private MarshalledSizeHistory() {
+    }
+
+    @Override
+    protected AtomicInteger computeValue(Class<?> type) {
+        return new AtomicInteger(ByteBufferOutputStream.DEFAULT_SIZE);
+    }
+
+    /**
+     * Returns the size history of the specified object.
+     * @param object a marshalled object
+     * @return the most recent marshalled size of the type of the specified object
+     */
+    AtomicInteger get(Object object) {
+        return this.get((object != null) ? object.getClass() : Void.class);
+    }
+}
@@ -0,0 +1,131 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.clustering.marshalling.spi;
+
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.OptionalInt;
+
+import org.junit.Test;
+
+/**
+ * Unit test for the buffer sizing and pooling of {@link ByteBufferMarshaller#write(Object)}.
+ */
+public class ByteBufferMarshallerTestCase {
+
+    @Test
+    public void write() throws IOException {
+        ByteBufferMarshaller marshaller = new PayloadMarshaller(false);
+
+        // Buffers are exactly sized, regardless of the previous marshalled size of the same type
+        for (int size : new int[] { ByteBufferOutputStream.DEFAULT_SIZE * 2 + 1, ByteBufferOutputStream.DEFAULT_SIZE * 2 + 1, 1, ByteBufferOutputStream.MAX_POOLED_SIZE * 2 }) {
+            ByteBuffer buffer = marshaller.write(new Payload(size));
+            assertEquals(size, buffer.remaining());
+            assertEquals(size, buffer.array().length);
+        }
+    }
+
+    @Test
+    public void writeKnownSize() throws IOException {
+        ByteBufferMarshaller marshaller = new PayloadMarshaller(true);
+
+        for (int size : new int[] { 1, ByteBufferOutputStream.DEFAULT_SIZE * 2 + 1 }) {
+            ByteBuffer buffer = marshaller.write(new Payload(size));
+            assertEquals(size, buffer.remaining());
+            assertEquals(size, buffer.array().length);
+        }
+    }
+
+    @Test
+    public void pooled() {
+        ByteBuffer outer;
+        ByteBuffer inner;
+        ByteBufferOutputStream output = ByteBufferOutputStream.pooled(1);
+        try {
+            output.write(1);
+            // Verify that a nested pooled output stream does not share the reserved scratch buffer
+            ByteBufferOutputStream nested = ByteBufferOutputStream.pooled(1);
+            try {
+                nested.write(2);
+                inner = nested.getExactBuffer();
+            } finally {
+                nested.release();
+            }
+            outer = output.getExactBuffer();
+        } finally {
+            output.release();
+        }
+        assertArrayEquals(new byte[] { 1 }, outer.array());
+        assertArrayEquals(new byte[] { 2 }, inner.array());
+
+        // Verify that a buffer returned by a pooled output stream is not affected by reuse of its scratch buffer
+        ByteBufferOutputStream recycled = ByteBufferOutputStream.pooled(1);
+        try {
+            recycled.write(3);
+            assertArrayEquals(new byte[] { 3 }, recycled.getExactBuffer().array());
+        } finally {
+            recycled.release();
+        }
+        assertArrayEquals(new byte[] { 1 }, outer.array());
+    }
+
+    static class Payload {
+        final int size;
+
+        Payload(int size) {
+            this.size = size;
+        }
+    }
+
+    static class PayloadMarshaller implements ByteBufferMarshaller {
+        private final boolean sized;
+
+        PayloadMarshaller(boolean sized) {
+            this.sized = sized;
+        }
+
+        @Override
+        public OptionalInt size(Object object) {
+            return this.sized ? OptionalInt.of(((Payload) object).size) : OptionalInt.empty();
+        }
+
+        @Override
+        public boolean isMarshallable(Object object) {
+            return object instanceof Payload;
+        }
+
+        @Override
+        public Object readFrom(InputStream input) throws IOException {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void writeTo(OutputStream output, Object object) throws IOException {
+            output.write(new byte[((Payload) object).size]);
+        }
+    }
+}
@@ -24,9 +24,12 @@ package org.wildfly.clustering.server.dispatcher;
 import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.CancellationException;
@@ -76,6 +79,7 @@ public class ChannelCommandDispatcher<CC, MC> implements CommandDispatcher<CC> {
     private final Runnable closeTask;
     private final Address localAddress;
     private final RequestOptions options;
+    private final RequestOptions noResponseOptions;
 
     public ChannelCommandDispatcher(MessageDispatcher dispatcher, CommandMarshaller<CC> marshaller, MC context, Group<Address> group, Duration timeout, CommandDispatcher<CC> localDispatcher, Runnable closeTask) {
         this.dispatcher = dispatcher;
@@ -87,6 +91,7 @@ public class ChannelCommandDispatcher<CC, MC> implements CommandDispatcher<CC> {
         this.closeTask = closeTask;
         this.localAddress = dispatcher.getChannel().getAddress();
         this.options = new RequestOptions(ResponseMode.GET_ALL, this.timeout.toMillis(), false, FILTER, Message.Flag.DONT_BUNDLE, Message.Flag.OOB);
+        this.noResponseOptions = new RequestOptions(ResponseMode.GET_NONE, this.timeout.toMillis(), false, null, Message.Flag.DONT_BUNDLE, Message.Flag.OOB);
     }
 
     @Override
@@ -115,29 +120,78 @@ public class ChannelCommandDispatcher<CC, MC> implements CommandDispatcher<CC> {
     public <R> Map<Node, CompletionStage<R>> executeOnGroup(Command<R, ? super CC> command, Node... excludedMembers) throws CommandDispatcherException {
         Set<Node> excluded = (excludedMembers != null) ? new HashSet<>(Arrays.asList(excludedMembers)) : Collections.emptySet();
         Map<Node, CompletionStage<R>> results = new ConcurrentHashMap<>();
-        Buffer buffer = this.createBuffer(command);
+        Map<Address, Node> targets = new HashMap<>();
+        Node localMember = this.partition(excluded, targets);
+        if (!targets.isEmpty()) {
+            // Send a single multicast to the targeted members, rather than a unicast per member
+            Buffer buffer = this.createBuffer(command);
+            ServiceGroupRequest<R, MC> request = new ServiceGroupRequest<>(this.dispatcher.getCorrelator(), targets.keySet(), this.createGroupOptions(this.options, excluded), this.context);
+            request.send(buffer);
+            for (Map.Entry<Address, Node> entry : targets.entrySet()) {
+                Node member = entry.getValue();
+                CompletionStage<R> future = request.getResponse(entry.getKey());
+                results.put(member, future);
+                future.whenComplete(new PruneCancellationTask<>(results, member));
+            }
+        }
+        if (localMember != null) {
+            results.put(localMember, this.localDispatcher.executeOnMember(command, localMember));
+        }
+        return results;
+    }
+
+    @Override
+    public void executeOnGroupWithoutResponse(Command<?, ? super CC> command, Node... excludedMembers) throws CommandDispatcherException {
+        Set<Node> excluded = (excludedMembers != null) ? new HashSet<>(Arrays.asList(excludedMembers)) : Collections.emptySet();
+        Map<Address, Node> targets = new HashMap<>();
+        Node localMember = this.partition(excluded, targets);
+        if (!targets.isEmpty()) {
+            Buffer buffer = this.createBuffer(command);
+            try {
+                this.dispatcher.castMessage(targets.keySet(), buffer, this.createGroupOptions(this.noResponseOptions, excluded));
+            } catch (Exception e) {
+                throw new CommandDispatcherException(e);
+            }
+        }
+        if (localMember != null) {
+            this.localDispatcher.executeOnMember(command, localMember);
+        }
+    }
+
+    /**
+     * Partitions the current membership, minus the specified excluded members, into remote targets and the local member.
+     * @param excluded a set of excluded members
+     * @param targets a map into which the targeted remote members are added, keyed by address
+     * @return the local member, or null, if the local member is excluded
+     */
+    private Node partition(Set<Node> excluded, Map<Address, Node> targets) {
+        Node localMember = null;
         for (Node member : this.group.getMembership().getMembers()) {
             if (!excluded.contains(member)) {
                 Address address = this.group.getAddress(member);
                 if (this.localAddress.equals(address)) {
-                    results.put(member, this.localDispatcher.executeOnMember(command, member));
+                    localMember = member;
                 } else {
-                    try {
-                        ServiceRequest<R, MC> request = new ServiceRequest<>(this.dispatcher.getCorrelator(), this.group.getAddress(member), this.options, this.context);
-                        CompletionStage<R> future = request.send(buffer);
-                        results.put(member, future);
-                        future.whenComplete(new PruneCancellationTask<>(results, member));
-                    } catch (CommandDispatcherException e) {
-                        // Cancel previously dispatched messages
-                        for (CompletionStage<R> result : results.values()) {
-                            result.toCompletableFuture().cancel(true);
-                        }
-                        throw e;
-                    }
+                    targets.put(address, member);
                 }
             }
         }
-        return results;
+        return localMember;
+    }
+
+    /**
+     * Creates the request options for a multicast to the group, excluding the local member and any excluded members.
+     */
+    private RequestOptions createGroupOptions(RequestOptions options, Set<Node> excluded) {
+        List<Address> exclusions = new ArrayList<>(excluded.size() + 1);
+        exclusions.add(this.localAddress);
+        for (Node member : excluded) {
+            Address address = this.group.getAddress(member);
+            if ((address != null) && !this.localAddress.equals(address)) {
+                exclusions.add(address);
+            }
+        }
+        return new RequestOptions(options).exclusionList(exclusions.toArray(new Address[exclusions.size()]));
     }
 
     private <R> Buffer createBuffer(Command<R, ? super CC> command) {
@@ -58,6 +58,11 @@ public class ManagedCommandDispatcher<C> implements CommandDispatcher<C> {
         return this.dispatcher.executeOnGroup(command, excludedMembers);
     }
 
+    @Override
+    public void executeOnGroupWithoutResponse(Command<?, ? super C> command, Node... excludedMembers) throws CommandDispatcherException {
+        this.dispatcher.executeOnGroupWithoutResponse(command, excludedMembers);
+    }
+
     @Override
     public void close() {
         this.closeTask.run();
@@ -0,0 +1,145 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.wildfly.clustering.server.dispatcher;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.jgroups.Address;
+import org.jgroups.View;
+import org.jgroups.blocks.GroupRequest;
+import org.jgroups.blocks.RequestCorrelator;
+import org.jgroups.blocks.RequestOptions;
+import org.jgroups.util.Buffer;
+import org.wildfly.clustering.dispatcher.CommandDispatcherException;
+
+/**
+ * Group request sent via a single multicast/anycast message, whose responses are exposed as a completion stage per target member.
+ * Translates a {@link NoSuchService} response, or a suspected target, to a {@link CancellationException}.
+ */
+public class ServiceGroupRequest<T, C> extends GroupRequest<Object> {
+
+    private final C context;
+    private final Map<Address, ServiceResponse<T>> responses;
+    private final AtomicInteger pending;
+
+    public ServiceGroupRequest(RequestCorrelator correlator, Collection<Address> targets, RequestOptions options, C context) {
+        super(correlator, targets, options);
+        this.context = context;
+        this.responses = new HashMap<>();
+        this.pending = new AtomicInteger(targets.size());
+        for (Address target : targets) {
+            ServiceResponse<T> response = new ServiceResponse<>(options.timeout());
+            this.responses.put(target, response);
+            // Release the correlator entry once every member response has completed, including via timeout
+            response.whenComplete((result, exception) -> {
+                if (this.pending.decrementAndGet() == 0) {
+                    this.cancel(false);
+                }
+            });
+        }
+    }
+
+    /**
+     * Returns the response of the specified target member.
+     * @param target a target address of this request
+     * @return the future response of the specified member
+     */
+    public CompletionStage<T> getResponse(Address target) {
+        return this.responses.get(target);
+    }
+
+    public void send(Buffer data) throws CommandDispatcherException {
+        try {
+            this.sendRequest(data);
+        } catch (Exception e) {
+            throw new CommandDispatcherException(e);
+        }
+    }
+
+    @Override
+    public void receiveResponse(Object value, Address sender, boolean exceptional) {
+        ServiceResponse<T> response = this.responses.get(sender);
+        if ((response != null) && !response.isDone()) {
+            ServiceResponses.complete(response, value, exceptional, this.context);
+        }
+        super.receiveResponse(value, sender, exceptional);
+    }
+
+    @Override
+    public void viewChange(View view) {
+        super.viewChange(view);
+        for (Map.Entry<Address, ServiceResponse<T>> entry : this.responses.entrySet()) {
+            if (!view.containsMember(entry.getKey())) {
+                entry.getValue().cancel(false);
+            }
+        }
+    }
+
+    @Override
+    public void transportClosed() {
+        super.transportClosed();
+        this.cancelResponses();
+    }
+
+    @Override
+    public boolean cancel(boolean mayInterruptIfRunning) {
+        boolean cancelled = super.cancel(mayInterruptIfRunning);
+        this.cancelResponses();
+        return cancelled;
+    }
+
+    private void cancelResponses() {
+        for (ServiceResponse<T> response : this.responses.values()) {
+            response.cancel(false);
+        }
+    }
+
+    private static class ServiceResponse<T> extends CompletableFuture<T> {
+        private final long timeout;
+
+        ServiceResponse(long timeout) {
+            this.timeout = timeout;
+        }
+
+        @Override
+        public boolean completeExceptionally(Throwable exception) {
+            return super.completeExceptionally(ServiceResponses.translate(exception));
+        }
+
+        @Override
+        public T get() throws InterruptedException, ExecutionException {
+            return ServiceResponses.get(this, this.timeout);
+        }
+
+        @Override
+        public T join() {
+            return ServiceResponses.join(this);
+        }
+    }
+}
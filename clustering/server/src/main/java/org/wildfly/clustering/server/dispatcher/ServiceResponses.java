@@ -0,0 +1,112 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.clustering.server.dispatcher;
+
+import java.io.IOException;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.jgroups.SuspectedException;
+import org.wildfly.clustering.marshalling.spi.MarshalledValue;
+
+/**
+ * Response handling common to {@link ServiceRequest} and {@link ServiceGroupRequest}.
+ */
+final class ServiceResponses {
+
+    /**
+     * Completes the specified response future using the specified value received from a member.
+     * A {@link NoSuchService} response completes the future with a {@link CancellationException}.
+     * @param response the response future of a member
+     * @param value the received response value
+     * @param exceptional indicates whether the received value is an exception
+     * @param context the context used to unmarshal the response value
+     */
+    @SuppressWarnings("unchecked")
+    static <T, C> void complete(CompletableFuture<T> response, Object value, boolean exceptional, C context) {
+        if (exceptional) {
+            response.completeExceptionally((Throwable) value);
+        } else if (value instanceof NoSuchService) {
+            response.completeExceptionally(new CancellationException());
+        } else {
+            MarshalledValue<T, C> marshalledValue = (MarshalledValue<T, C>) value;
+            try {
+                response.complete(marshalledValue.get(context));
+            } catch (IOException e) {
+                response.completeExceptionally(e);
+            }
+        }
+    }
+
+    /**
+     * Translates a suspected target member to a {@link CancellationException}.
+     * @param exception the exception of a response
+     * @return the exception with which to complete the response
+     */
+    static Throwable translate(Throwable exception) {
+        return (exception instanceof SuspectedException) ? new CancellationException() : exception;
+    }
+
+    /**
+     * Waits at most for the specified timeout for the specified response, cancelling it on timeout.
+     * If the message was dropped by the receiver, an unbounded wait would otherwise block forever.
+     * @param response the response future of a member
+     * @param timeout the request timeout, in milliseconds
+     * @return the response value
+     * @throws CancellationException if the response timed out or was cancelled
+     */
+    static <T> T get(Future<T> response, long timeout) throws InterruptedException, ExecutionException {
+        try {
+            return response.get(timeout, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            // Auto-cancel on timeout
+            response.cancel(true);
+            throw new CancellationException(e.getLocalizedMessage());
+        }
+    }
+
+    /**
+     * Waits for the specified response, via its {@link Future#get()}, translating exceptions per {@link CompletableFuture#join()}.
+     * @param response the response future of a member
+     * @return the response value
+     */
+    static <T> T join(Future<T> response) {
+        try {
+            return response.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CompletionException(e);
+        } catch (ExecutionException e) {
+            throw new CompletionException(e.getCause());
+        }
+    }
+
+    private ServiceResponses() {
+        // Hide
+    }
+}
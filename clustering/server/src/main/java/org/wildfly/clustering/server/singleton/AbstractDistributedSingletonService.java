@@ -117,7 +117,7 @@ public abstract class AbstractDistributedSingletonService<C extends SingletonCon
                 ClusteringServerLogger.ROOT_LOGGER.quorumJustReached(this.name.getCanonicalName(), this.quorum);
             }
 
-            Node elected = quorumMet ? this.electionPolicy.elect(candidates) : null;
+            Node elected = quorumMet ? this.electionPolicy.elect(candidates, this.name) : null;
 
             try {
                 if (elected != null) {
@@ -0,0 +1,208 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.clustering.server.dispatcher;
+
+import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+
+import org.jgroups.Address;
+import org.jgroups.JChannel;
+import org.jgroups.SuspectedException;
+import org.jgroups.View;
+import org.jgroups.blocks.MessageDispatcher;
+import org.jgroups.blocks.Request;
+import org.jgroups.blocks.RequestCorrelator;
+import org.jgroups.blocks.RequestOptions;
+import org.jgroups.blocks.ResponseMode;
+import org.jgroups.util.Buffer;
+import org.jgroups.util.UUID;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.wildfly.clustering.dispatcher.Command;
+import org.wildfly.clustering.dispatcher.CommandDispatcher;
+import org.wildfly.clustering.group.Membership;
+import org.wildfly.clustering.group.Node;
+import org.wildfly.clustering.marshalling.spi.MarshalledValue;
+import org.wildfly.clustering.spi.group.Group;
+
+/**
+ * Unit test for the multicast dispatch and response aggregation of {@link ChannelCommandDispatcher}.
+ */
+public class ChannelCommandDispatcherTestCase {
+
+    private final MessageDispatcher messageDispatcher = mock(MessageDispatcher.class);
+    private final RequestCorrelator correlator = mock(RequestCorrelator.class);
+    private final CommandMarshaller<String> marshaller = mock(CommandMarshaller.class);
+    private final Group<Address> group = mock(Group.class);
+    private final CommandDispatcher<String> localDispatcher = mock(CommandDispatcher.class);
+    private final Command<String, String> command = mock(Command.class);
+
+    private final Address localAddress = UUID.randomUUID();
+    private final Address address1 = UUID.randomUUID();
+    private final Address address2 = UUID.randomUUID();
+    private final Address address3 = UUID.randomUUID();
+    private final Node localMember = mock(Node.class);
+    private final Node member1 = mock(Node.class);
+    private final Node member2 = mock(Node.class);
+    private final Node member3 = mock(Node.class);
+
+    private ChannelCommandDispatcher<String, Object> subject;
+
+    @Before
+    public void init() throws Exception {
+        JChannel channel = mock(JChannel.class);
+        Membership membership = mock(Membership.class);
+
+        when(this.messageDispatcher.getChannel()).thenReturn(channel);
+        when(this.messageDispatcher.getCorrelator()).thenReturn(this.correlator);
+        when(channel.getAddress()).thenReturn(this.localAddress);
+        when(this.group.getMembership()).thenReturn(membership);
+        when(membership.getMembers()).thenReturn(Arrays.asList(this.localMember, this.member1, this.member2, this.member3));
+        when(this.group.getAddress(this.localMember)).thenReturn(this.localAddress);
+        when(this.group.getAddress(this.member1)).thenReturn(this.address1);
+        when(this.group.getAddress(this.member2)).thenReturn(this.address2);
+        when(this.group.getAddress(this.member3)).thenReturn(this.address3);
+        when(this.marshaller.marshal(this.command)).thenReturn(ByteBuffer.wrap(new byte[] { 1, 2, 3 }));
+        when(this.localDispatcher.executeOnMember(this.command, this.localMember)).thenReturn(CompletableFuture.completedFuture("local"));
+
+        this.subject = new ChannelCommandDispatcher<>(this.messageDispatcher, this.marshaller, new Object(), this.group, Duration.ofMinutes(1), this.localDispatcher, mock(Runnable.class));
+    }
+
+    @Test
+    public void executeOnGroup() throws Exception {
+        Map<Node, CompletionStage<String>> results = this.subject.executeOnGroup(this.command, this.member3);
+
+        // Verify that a single multicast was sent to the non-excluded remote members
+        ServiceGroupRequest<String, Object> request = this.verifyMulticast(ResponseMode.GET_ALL, this.address3);
+
+        assertEquals(new HashSet<>(Arrays.asList(this.localMember, this.member1, this.member2)), results.keySet());
+        assertEquals("local", results.get(this.localMember).toCompletableFuture().join());
+        assertFalse(results.get(this.member1).toCompletableFuture().isDone());
+        assertFalse(results.get(this.member2).toCompletableFuture().isDone());
+
+        // Verify that each member response completes its own completion stage
+        request.receiveResponse(response("value1"), this.address1, false);
+        assertEquals("value1", results.get(this.member1).toCompletableFuture().join());
+        assertFalse(results.get(this.member2).toCompletableFuture().isDone());
+
+        request.receiveResponse(response("value2"), this.address2, false);
+        assertEquals("value2", results.get(this.member2).toCompletableFuture().join());
+        // Once all member responses completed, the correlator entry is released
+        assertTrue(request.isDone());
+
+        // Responses from non-targeted members are ignored
+        request.receiveResponse(response("value3"), this.address3, false);
+        assertEquals(3, results.size());
+    }
+
+    @Test
+    public void executeOnGroupCancellation() throws Exception {
+        Map<Node, CompletionStage<String>> results = this.subject.executeOnGroup(this.command);
+
+        ServiceGroupRequest<String, Object> request = this.verifyMulticast(ResponseMode.GET_ALL);
+        assertEquals(4, results.size());
+
+        // Member without the service should be pruned from the results
+        request.receiveResponse(NoSuchService.INSTANCE, this.address1, false);
+        assertFalse(results.containsKey(this.member1));
+
+        // Suspected member should be pruned from the results
+        request.receiveResponse(new SuspectedException(this.address2), this.address2, true);
+        assertFalse(results.containsKey(this.member2));
+
+        // Other exceptions should propagate
+        Exception exception = new Exception();
+        CompletableFuture<String> future = results.get(this.member3).toCompletableFuture();
+        request.receiveResponse(exception, this.address3, true);
+        assertTrue(results.containsKey(this.member3));
+        try {
+            future.join();
+            fail("Expected CompletionException");
+        } catch (CompletionException e) {
+            assertSame(exception, e.getCause());
+        }
+        assertTrue(request.isDone());
+    }
+
+    @Test
+    public void executeOnGroupViewChange() throws Exception {
+        Map<Node, CompletionStage<String>> results = this.subject.executeOnGroup(this.command, this.localMember);
+
+        ServiceGroupRequest<String, Object> request = this.verifyMulticast(ResponseMode.GET_ALL);
+        assertEquals(new HashSet<>(Arrays.asList(this.member1, this.member2, this.member3)), results.keySet());
+
+        // Members that left the view should be pruned from the results
+        request.viewChange(View.create(this.localAddress, 2, this.localAddress, this.address1));
+        assertEquals(new HashSet<>(Arrays.asList(this.member1)), results.keySet());
+
+        request.receiveResponse(response("value1"), this.address1, false);
+        assertEquals("value1", results.get(this.member1).toCompletableFuture().join());
+        verify(this.localDispatcher, never()).executeOnMember(any(), any());
+    }
+
+    @Test
+    public void executeOnGroupWithoutResponse() throws Exception {
+        this.subject.executeOnGroupWithoutResponse(this.command, this.member2);
+
+        ArgumentCaptor<Collection<Address>> targets = ArgumentCaptor.forClass(Collection.class);
+        ArgumentCaptor<RequestOptions> options = ArgumentCaptor.forClass(RequestOptions.class);
+        verify(this.messageDispatcher).castMessage(targets.capture(), any(Buffer.class), options.capture());
+        assertEquals(new HashSet<>(Arrays.asList(this.address1, this.address3)), new HashSet<>(targets.getValue()));
+        assertSame(ResponseMode.GET_NONE, options.getValue().mode());
+        assertEquals(new HashSet<>(Arrays.asList(this.localAddress, this.address2)), new HashSet<>(Arrays.asList(options.getValue().exclusionList())));
+        verify(this.localDispatcher).executeOnMember(this.command, this.localMember);
+        verify(this.correlator, never()).sendRequest(any(), any(), any(), any());
+    }
+
+    /**
+     * Verifies that a single multicast request was sent to the remote members, excluding the local member and the specified addresses.
+     */
+    @SuppressWarnings("unchecked")
+    private ServiceGroupRequest<String, Object> verifyMulticast(ResponseMode mode, Address... excluded) throws Exception {
+        ArgumentCaptor<Request> request = ArgumentCaptor.forClass(Request.class);
+        ArgumentCaptor<RequestOptions> options = ArgumentCaptor.forClass(RequestOptions.class);
+        verify(this.correlator).sendRequest(any(), any(Buffer.class), request.capture(), options.capture());
+        assertSame(mode, options.getValue().mode());
+        HashSet<Address> exclusions = new HashSet<>(Arrays.asList(excluded));
+        exclusions.add(this.localAddress);
+        assertEquals(exclusions, new HashSet<>(Arrays.asList(options.getValue().exclusionList())));
+        assertTrue(request.getValue() instanceof ServiceGroupRequest);
+        return (ServiceGroupRequest<String, Object>) request.getValue();
+    }
+
+    private static MarshalledValue<String, Object> response(String value) {
+        return context -> value;
+    }
+}
@@ -66,6 +66,10 @@ public class ManagedCommandDispatcherTestCase {
             when(dispatcher.executeOnMember(command, node)).thenReturn(stage);
 
             assertSame(stage, subject.executeOnMember(command, node));
+
+            subject.executeOnGroupWithoutResponse(command, nodes);
+
+            verify(dispatcher).executeOnGroupWithoutResponse(command, nodes);
         }
 
         verify(dispatcher, never()).close();
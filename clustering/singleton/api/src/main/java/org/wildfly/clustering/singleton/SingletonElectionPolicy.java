@@ -24,6 +24,7 @@ package org.wildfly.clustering.singleton;
 
 import java.util.List;
 
+import org.jboss.msc.service.ServiceName;
 import org.wildfly.clustering.group.Node;
 
 /**
@@ -37,4 +38,15 @@ public interface SingletonElectionPolicy {
      * @return the elected node
      */
     Node elect(List<Node> nodes);
+
+    /**
+     * Elect a single node from the specified list of candidate nodes, on behalf of the singleton service with the specified name.
+     * By default, the name of the singleton service does not influence the election.
+     * @param nodes a list of candidate nodes.
+     * @param name the name of the singleton service
+     * @return the elected node
+     */
+    default Node elect(List<Node> nodes, ServiceName name) {
+        return this.elect(nodes);
+    }
 }
@@ -0,0 +1,70 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.clustering.singleton.election;
+
+import java.util.List;
+
+import org.jboss.msc.service.ServiceName;
+import org.wildfly.clustering.group.Node;
+import org.wildfly.clustering.singleton.SingletonElectionPolicy;
+
+/**
+ * An election policy that distributes singleton services across the candidate nodes via rendezvous (i.e. highest random weight) hashing.
+ * Each singleton service elects the candidate whose name, combined with the name of the service, yields the highest hash.
+ * Consequently, the primary provider of a given service only changes when the current primary leaves the set of candidates,
+ * or when a joining candidate outranks it, which affects only a proportional share of services.
+ */
+public class ConsistentHashSingletonElectionPolicy implements SingletonElectionPolicy {
+
+    @Override
+    public Node elect(List<Node> candidates) {
+        // Without a service name, all singleton services hash to the same node
+        return this.elect(candidates, 0);
+    }
+
+    @Override
+    public Node elect(List<Node> candidates, ServiceName name) {
+        return this.elect(candidates, name.getCanonicalName().hashCode());
+    }
+
+    private Node elect(List<Node> candidates, int key) {
+        Node elected = null;
+        long highest = Long.MIN_VALUE;
+        for (Node candidate : candidates) {
+            long weight = weigh(key, candidate);
+            if ((elected == null) || (weight > highest)) {
+                elected = candidate;
+                highest = weight;
+            }
+        }
+        return elected;
+    }
+
+    private static long weigh(int key, Node candidate) {
+        long hash = (((long) key) << 32) | (candidate.getName().hashCode() & 0xFFFFFFFFL);
+        // Mix bits via the SplitMix64 finalizer, so that similar names do not yield similar weights
+        hash = (hash ^ (hash >>> 30)) * 0xBF58476D1CE4E5B9L;
+        hash = (hash ^ (hash >>> 27)) * 0x94D049BB133111EBL;
+        return hash ^ (hash >>> 31);
+    }
+}
@@ -24,6 +24,7 @@ package org.wildfly.clustering.singleton.election;
 import java.util.Arrays;
 import java.util.List;
 
+import org.jboss.msc.service.ServiceName;
 import org.wildfly.clustering.group.Node;
 import org.wildfly.clustering.singleton.SingletonElectionPolicy;
 
@@ -48,6 +49,17 @@ public class PreferredSingletonElectionPolicy implements SingletonElectionPolicy
 
     @Override
     public Node elect(List<Node> candidates) {
+        Node elected = this.preferred(candidates);
+        return (elected != null) ? elected : this.policy.elect(candidates);
+    }
+
+    @Override
+    public Node elect(List<Node> candidates, ServiceName name) {
+        Node elected = this.preferred(candidates);
+        return (elected != null) ? elected : this.policy.elect(candidates, name);
+    }
+
+    private Node preferred(List<Node> candidates) {
         for (Preference preference: this.preferences) {
             for (Node candidate: candidates) {
                 if (preference.preferred(candidate)) {
@@ -55,6 +67,6 @@ public class PreferredSingletonElectionPolicy implements SingletonElectionPolicy
                 }
             }
         }
-        return this.policy.elect(candidates);
+        return null;
     }
 }
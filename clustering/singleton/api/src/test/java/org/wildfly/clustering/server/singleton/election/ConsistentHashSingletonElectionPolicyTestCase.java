@@ -0,0 +1,87 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.clustering.server.singleton.election;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.jboss.msc.service.ServiceName;
+import org.junit.Test;
+import org.wildfly.clustering.group.Node;
+import org.wildfly.clustering.singleton.SingletonElectionPolicy;
+import org.wildfly.clustering.singleton.election.ConsistentHashSingletonElectionPolicy;
+
+public class ConsistentHashSingletonElectionPolicyTestCase {
+    private static final int NODES = 4;
+    private static final int SERVICES = 1000;
+
+    private final SingletonElectionPolicy policy = new ConsistentHashSingletonElectionPolicy();
+
+    @Test
+    public void elect() {
+        List<Node> nodes = new ArrayList<>(NODES);
+        for (int i = 0; i < NODES; ++i) {
+            Node node = mock(Node.class);
+            when(node.getName()).thenReturn("node" + i);
+            nodes.add(node);
+        }
+        List<Node> reversed = new ArrayList<>(nodes);
+        Collections.reverse(reversed);
+
+        Map<ServiceName, Node> elected = new HashMap<>();
+        Map<Node, Integer> primaries = new HashMap<>();
+        for (int i = 0; i < SERVICES; ++i) {
+            ServiceName name = ServiceName.JBOSS.append("service" + i);
+            Node node = this.policy.elect(nodes, name);
+            // Election must not depend on the order of candidates
+            assertSame(node, this.policy.elect(reversed, name));
+            elected.put(name, node);
+            primaries.merge(node, 1, Integer::sum);
+        }
+
+        // Services should be spread across all candidates
+        for (Node node : nodes) {
+            assertTrue(primaries.containsKey(node));
+            assertTrue(primaries.get(node) > SERVICES / (NODES * 2));
+        }
+
+        // Removing a candidate should only affect the services for which it was primary
+        Node removed = nodes.remove(0);
+        for (Map.Entry<ServiceName, Node> entry : elected.entrySet()) {
+            Node node = this.policy.elect(nodes, entry.getKey());
+            if (entry.getValue() == removed) {
+                assertNotSame(removed, node);
+            } else {
+                assertSame(entry.getValue(), node);
+            }
+        }
+
+        assertNull(this.policy.elect(Collections.emptyList(), ServiceName.JBOSS));
+    }
+}
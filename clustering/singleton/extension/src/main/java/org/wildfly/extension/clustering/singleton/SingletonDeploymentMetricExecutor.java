@@ -35,12 +35,14 @@ import org.wildfly.clustering.singleton.Singleton;
  */
 public class SingletonDeploymentMetricExecutor extends SingletonMetricExecutor {
 
+    static final Function<String, ServiceName> SERVICE_NAME_FACTORY = new Function<String, ServiceName>() {
+        @Override
+        public ServiceName apply(String deployment) {
+            return Services.deploymentUnitName(deployment).append("installer");
+        }
+    };
+
     public SingletonDeploymentMetricExecutor(FunctionExecutorRegistry<Singleton> executors) {
-        super(new Function<String, ServiceName>() {
-            @Override
-            public ServiceName apply(String deployment) {
-                return Services.deploymentUnitName(deployment).append("installer");
-            }
-        }, executors);
+        super(SERVICE_NAME_FACTORY, executors);
     }
 }
@@ -0,0 +1,70 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.extension.clustering.singleton;
+
+import java.util.LinkedList;
+import java.util.List;
+import java.util.function.Function;
+
+import org.jboss.as.clustering.controller.FunctionExecutor;
+import org.jboss.as.clustering.controller.FunctionExecutorRegistry;
+import org.jboss.as.clustering.controller.Metric;
+import org.jboss.as.clustering.controller.MetricExecutor;
+import org.jboss.as.controller.OperationContext;
+import org.jboss.as.controller.OperationFailedException;
+import org.jboss.as.controller.PathAddress;
+import org.jboss.as.controller.registry.Resource;
+import org.jboss.dmr.ModelNode;
+import org.jboss.msc.service.ServiceName;
+import org.wildfly.clustering.singleton.Singleton;
+
+/**
+ * Executes a metric against the singleton deployments and services of a singleton policy installed on the local member.
+ */
+public class SingletonPolicyMetricExecutor implements MetricExecutor<Iterable<Singleton>> {
+
+    private final FunctionExecutorRegistry<Singleton> executors;
+
+    public SingletonPolicyMetricExecutor(FunctionExecutorRegistry<Singleton> executors) {
+        this.executors = executors;
+    }
+
+    @Override
+    public ModelNode execute(OperationContext context, Metric<Iterable<Singleton>> metric) throws OperationFailedException {
+        Resource resource = context.readResource(PathAddress.EMPTY_ADDRESS);
+        List<Singleton> singletons = new LinkedList<>();
+        this.addSingletons(resource.getChildrenNames(SingletonDeploymentResourceDefinition.WILDCARD_PATH.getKey()), SingletonDeploymentMetricExecutor.SERVICE_NAME_FACTORY, singletons);
+        this.addSingletons(resource.getChildrenNames(SingletonServiceResourceDefinition.WILDCARD_PATH.getKey()), ServiceName::parse, singletons);
+        return metric.execute(singletons);
+    }
+
+    private void addSingletons(Iterable<String> names, Function<String, ServiceName> serviceNameFactory, List<Singleton> singletons) {
+        for (String name : names) {
+            FunctionExecutor<Singleton> executor = this.executors.get(serviceNameFactory.apply(name).append("singleton"));
+            Singleton singleton = (executor != null) ? executor.execute(value -> value) : null;
+            if (singleton != null) {
+                singletons.add(singleton);
+            }
+        }
+    }
+}
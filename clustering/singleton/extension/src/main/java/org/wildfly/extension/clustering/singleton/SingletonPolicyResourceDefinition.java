@@ -28,6 +28,7 @@ import org.jboss.as.clustering.controller.CapabilityProvider;
 import org.jboss.as.clustering.controller.CapabilityReference;
 import org.jboss.as.clustering.controller.ChildResourceDefinition;
 import org.jboss.as.clustering.controller.ManagementResourceRegistration;
+import org.jboss.as.clustering.controller.MetricHandler;
 import org.jboss.as.clustering.controller.ResourceDescriptor;
 import org.jboss.as.clustering.controller.ServiceValueExecutorRegistry;
 import org.jboss.as.clustering.controller.ResourceServiceHandler;
@@ -39,6 +40,7 @@ import org.jboss.as.controller.ModelVersion;
 import org.jboss.as.controller.PathElement;
 import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
 import org.jboss.as.controller.registry.AttributeAccess;
+import org.jboss.as.controller.transform.description.DiscardAttributeChecker;
 import org.jboss.as.controller.transform.description.RejectAttributeChecker;
 import org.jboss.as.controller.transform.description.ResourceTransformationDescriptionBuilder;
 import org.jboss.dmr.ModelNode;
@@ -128,6 +130,11 @@ public class SingletonPolicyResourceDefinition extends ChildResourceDefinition<M
                 .end();
         }
 
+        if (SingletonModel.VERSION_4_0_0.requiresTransformation(version)) {
+            builder.getAttributeBuilder().setDiscard(DiscardAttributeChecker.ALWAYS, SingletonPolicyMetric.PRIMARIES.getDefinition()).end();
+            builder.rejectChildResource(ConsistentHashElectionPolicyResourceDefinition.PATH);
+        }
+
         SingletonDeploymentResourceDefinition.buildTransformation(version, builder);
         SingletonServiceResourceDefinition.buildTransformation(version, builder);
     }
@@ -150,10 +157,13 @@ public class SingletonPolicyResourceDefinition extends ChildResourceDefinition<M
         ResourceServiceHandler handler = new SingletonPolicyServiceHandler(executors);
         new SimpleResourceRegistration(descriptor, handler).register(registration);
 
+        new ConsistentHashElectionPolicyResourceDefinition().register(registration);
         new RandomElectionPolicyResourceDefinition().register(registration);
         new SimpleElectionPolicyResourceDefinition().register(registration);
 
         if (registration.isRuntimeOnlyRegistrationValid()) {
+            new MetricHandler<>(new SingletonPolicyMetricExecutor(executors), SingletonPolicyMetric.class).register(registration);
+
             new SingletonDeploymentResourceDefinition(executors).register(registration);
             new SingletonServiceResourceDefinition(executors).register(registration);
         }
@@ -43,7 +43,6 @@ import org.jboss.staxmapper.XMLExtendedStreamReader;
  */
 public class SingletonXMLReader implements XMLElementReader<List<ModelNode>> {
 
-    @SuppressWarnings("unused")
     private final SingletonSchema schema;
 
     public SingletonXMLReader(SingletonSchema schema) {
@@ -139,6 +138,13 @@ public class SingletonXMLReader implements XMLElementReader<List<ModelNode>> {
         while (reader.hasNext() && reader.nextTag() != XMLStreamConstants.END_ELEMENT) {
             XMLElement element = XMLElement.forName(reader);
             switch (element) {
+                case CONSISTENT_HASH_ELECTION_POLICY: {
+                    if (this.schema.since(SingletonSchema.VERSION_2_0)) {
+                        this.parseConsistentHashElectionPolicy(reader, address, operations);
+                        break;
+                    }
+                    throw ParseUtils.unexpectedElement(reader);
+                }
                 case RANDOM_ELECTION_POLICY: {
                     this.parseRandomElectionPolicy(reader, address, operations);
                     break;
@@ -154,6 +160,17 @@ public class SingletonXMLReader implements XMLElementReader<List<ModelNode>> {
         }
     }
 
+    private void parseConsistentHashElectionPolicy(XMLExtendedStreamReader reader, PathAddress policyAddress, Map<PathAddress, ModelNode> operations) throws XMLStreamException {
+
+        PathAddress address = policyAddress.append(ConsistentHashElectionPolicyResourceDefinition.PATH);
+        ModelNode operation = Util.createAddOperation(address);
+        operations.put(address, operation);
+
+        ParseUtils.requireNoAttributes(reader);
+
+        this.parsePreferences(reader, operation);
+    }
+
     private void parseRandomElectionPolicy(XMLExtendedStreamReader reader, PathAddress policyAddress, Map<PathAddress, ModelNode> operations) throws XMLStreamException {
 
         PathAddress address = policyAddress.append(RandomElectionPolicyResourceDefinition.PATH);
@@ -74,6 +74,11 @@ public class SingletonXMLWriter implements XMLElementWriter<SubsystemMarshalling
 
     private static void writeElectionPolicy(XMLExtendedStreamWriter writer, String name, ModelNode policy) throws XMLStreamException {
         switch (name) {
+            case ConsistentHashElectionPolicyResourceDefinition.PATH_VALUE: {
+                writer.writeStartElement(XMLElement.CONSISTENT_HASH_ELECTION_POLICY.getLocalName());
+
+                break;
+            }
             case RandomElectionPolicyResourceDefinition.PATH_VALUE: {
                 writer.writeStartElement(XMLElement.RANDOM_ELECTION_POLICY.getLocalName());
 
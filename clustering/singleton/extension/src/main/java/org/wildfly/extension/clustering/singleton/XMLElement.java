@@ -40,6 +40,7 @@ public enum XMLElement {
 
     SINGLETON_POLICIES("singleton-policies"),
     SINGLETON_POLICY(SingletonPolicyResourceDefinition.WILDCARD_PATH),
+    CONSISTENT_HASH_ELECTION_POLICY("consistent-hash-election-policy"),
     NAME_PREFERENCES(ElectionPolicyResourceDefinition.Attribute.NAME_PREFERENCES),
     RANDOM_ELECTION_POLICY("random-election-policy"),
     SIMPLE_ELECTION_POLICY("simple-election-policy"),
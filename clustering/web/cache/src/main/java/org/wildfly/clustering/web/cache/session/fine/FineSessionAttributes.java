@@ -29,6 +29,7 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Function;
@@ -37,11 +38,15 @@ import org.wildfly.clustering.ee.Immutability;
 import org.wildfly.clustering.ee.MutatorFactory;
 import org.wildfly.clustering.ee.cache.CacheProperties;
 import org.wildfly.clustering.marshalling.spi.Marshaller;
+import org.wildfly.clustering.web.cache.logging.Logger;
 import org.wildfly.clustering.web.cache.session.SessionAttributeActivationNotifier;
 import org.wildfly.clustering.web.cache.session.SessionAttributes;
 
 /**
  * Exposes session attributes for fine granularity sessions.
+ * Attribute writes and removals are buffered and flushed to the attribute cache in a single batch on {@link #close()}.
+ * Attributes are marshalled when set, so that an attribute that cannot be marshalled is rejected by {@link #setAttribute(String, Object)}.
+ * Previous attribute values are only returned if already known to this request, so that writes never require a cache read.
  * @author Paul Ferraro
  */
 public class FineSessionAttributes<NK, K, V> implements SessionAttributes {
@@ -49,7 +54,10 @@ public class FineSessionAttributes<NK, K, V> implements SessionAttributes {
     private final Map<NK, Map<String, UUID>> namesCache;
     private final Function<UUID, K> keyFactory;
     private final Map<K, V> attributeCache;
-    private final Map<K, Optional<Object>> mutations = new HashMap<>();
+    // Buffered writes, where an empty value indicates a removal
+    private final Map<K, Optional<BufferedValue<V>>> updates = new ConcurrentHashMap<>();
+    // Mutable values read via getAttribute(...), which may need to be written on close
+    private final Map<K, Object> mutations = new ConcurrentHashMap<>();
     private final Marshaller<Object, V> marshaller;
     private final MutatorFactory<K, V> mutatorFactory;
     private final Immutability immutability;
@@ -75,21 +83,15 @@ public class FineSessionAttributes<NK, K, V> implements SessionAttributes {
         UUID attributeId = this.names.get().get(name);
         if (attributeId == null) return null;
 
-        synchronized (this.mutations) {
-            this.setNames(this.namesCache.compute(this.key, this.properties.isTransactional() ? new CopyOnWriteSessionAttributeMapRemoveFunction(name) : new ConcurrentSessionAttributeMapRemoveFunction(name)));
+        this.setNames(this.namesCache.compute(this.key, this.properties.isTransactional() ? new CopyOnWriteSessionAttributeMapRemoveFunction(name) : new ConcurrentSessionAttributeMapRemoveFunction(name)));
 
-            K key = this.keyFactory.apply(attributeId);
+        K key = this.keyFactory.apply(attributeId);
 
-            Object result = this.read(this.attributeCache.remove(key));
-            if (result != null) {
-                this.mutations.remove(key);
-
-                if (this.properties.isPersistent()) {
-                    this.notifier.postActivate(result);
-                }
-            }
-            return result;
+        Object result = this.getPreviousValue(key, this.updates.put(key, Optional.empty()));
+        if ((result != null) && this.properties.isPersistent()) {
+            this.notifier.postActivate(result);
         }
+        return result;
     }
 
     @Override
@@ -103,44 +105,48 @@ public class FineSessionAttributes<NK, K, V> implements SessionAttributes {
 
         UUID attributeId = this.names.get().get(name);
 
-        synchronized (this.mutations) {
-            if (attributeId == null) {
-                UUID newAttributeId = createUUID();
-                this.setNames(this.namesCache.compute(this.key, this.properties.isTransactional() ? new CopyOnWriteSessionAttributeMapPutFunction(name, newAttributeId) : new ConcurrentSessionAttributeMapPutFunction(name, newAttributeId)));
-                attributeId = this.names.get().get(name);
-            }
+        if (attributeId == null) {
+            UUID newAttributeId = createUUID();
+            this.setNames(this.namesCache.compute(this.key, this.properties.isTransactional() ? new CopyOnWriteSessionAttributeMapPutFunction(name, newAttributeId) : new ConcurrentSessionAttributeMapPutFunction(name, newAttributeId)));
+            attributeId = this.names.get().get(name);
+        }
 
-            K key = this.keyFactory.apply(attributeId);
-            V value = this.write(attribute);
+        K key = this.keyFactory.apply(attributeId);
 
-            if (this.properties.isPersistent()) {
-                this.notifier.prePassivate(attribute);
-            }
+        if (this.properties.isPersistent()) {
+            this.notifier.prePassivate(attribute);
+        }
 
-            Object result = this.read(this.attributeCache.put(key, value));
-
-            if (this.properties.isTransactional()) {
-                // Add an empty value to prevent any subsequent mutable getAttribute(...) from triggering a redundant mutation on close.
-                this.mutations.put(key, Optional.empty());
-            } else {
-                // If the object is mutable, we need to indicate trigger a mutation on close
-                if (this.immutability.test(attribute)) {
-                    this.mutations.remove(key);
-                } else {
-                    this.mutations.put(key, Optional.of(attribute));
-                }
-            }
+        // Marshal eagerly, so that close() need not marshal buffered writes
+        V value = this.write(attribute);
 
-            if (this.properties.isPersistent()) {
-                this.notifier.postActivate(attribute);
+        // Buffer the write, which also prevents any subsequent mutable getAttribute(...) from triggering a redundant mutation on close.
+        Object result = this.getPreviousValue(key, this.updates.put(key, Optional.of(new BufferedValue<>(attribute, value))));
 
-                if (result != attribute) {
-                    this.notifier.postActivate(result);
-                }
+        if (this.properties.isPersistent()) {
+            this.notifier.postActivate(attribute);
+
+            if ((result != null) && (result != attribute)) {
+                this.notifier.postActivate(result);
             }
+        }
+
+        return result;
+    }
 
-            return result;
+    /**
+     * Returns the previous value of the attribute with the specified key, if known to this request.
+     * The attribute cache is never read, consistent with writes to the attribute cache, which do not return previous values.
+     * @param key an attribute key
+     * @param update the previously buffered write of this attribute, or null if there was none
+     * @return the previous attribute value, or null if there was none or if it is not known to this request
+     */
+    private Object getPreviousValue(K key, Optional<BufferedValue<V>> update) {
+        Object mutableValue = this.mutations.remove(key);
+        if (update != null) {
+            return update.map(BufferedValue::getValue).orElse(null);
         }
+        return mutableValue;
     }
 
     @Override
@@ -148,28 +154,35 @@ public class FineSessionAttributes<NK, K, V> implements SessionAttributes {
         UUID attributeId = this.names.get().get(name);
         if (attributeId == null) return null;
 
-        synchronized (this.mutations) {
-            K key = this.keyFactory.apply(attributeId);
+        K key = this.keyFactory.apply(attributeId);
 
-            // Return mutable value if present, this preserves referential integrity when this member is not an owner.
-            Optional<Object> mutableValue = this.mutations.get(key);
-            if ((mutableValue != null) && mutableValue.isPresent()) {
-                return mutableValue.get();
+        // Return buffered or mutable value if present, this preserves referential integrity when this member is not an owner.
+        Optional<BufferedValue<V>> update = this.updates.get(key);
+        if (update != null) {
+            Object value = update.map(BufferedValue::getValue).orElse(null);
+            // If the object is mutable, it may have changed since it was marshalled, so we need to marshal it again on close
+            if ((value != null) && !this.immutability.test(value)) {
+                this.mutations.putIfAbsent(key, value);
             }
+            return value;
+        }
+        Object mutableValue = this.mutations.get(key);
+        if (mutableValue != null) {
+            return mutableValue;
+        }
 
-            Object result = this.read(this.attributeCache.get(key));
-            if (result != null) {
-                if (this.properties.isPersistent()) {
-                    this.notifier.postActivate(result);
-                }
+        Object result = this.read(this.attributeCache.get(key));
+        if (result != null) {
+            if (this.properties.isPersistent()) {
+                this.notifier.postActivate(result);
+            }
 
-                // If the object is mutable, we need to trigger a mutation on close
-                if (!this.immutability.test(result)) {
-                    this.mutations.putIfAbsent(key, Optional.of(result));
-                }
+            // If the object is mutable, we need to trigger a mutation on close
+            if (!this.immutability.test(result)) {
+                this.mutations.putIfAbsent(key, result);
             }
-            return result;
         }
+        return result;
     }
 
     @Override
@@ -179,17 +192,39 @@ public class FineSessionAttributes<NK, K, V> implements SessionAttributes {
 
     @Override
     public void close() {
-        synchronized (this.mutations) {
-            this.notifier.close();
-            for (Map.Entry<K, Optional<Object>> entry : this.mutations.entrySet()) {
-                Optional<Object> optional = entry.getValue();
-                if (optional.isPresent()) {
-                    K key = entry.getKey();
-                    V value = this.write(optional.get());
-                    this.mutatorFactory.createMutator(key, value).mutate();
+        this.notifier.close();
+        Map<K, V> puts = new HashMap<>();
+        try {
+            for (Map.Entry<K, Optional<BufferedValue<V>>> entry : this.updates.entrySet()) {
+                K key = entry.getKey();
+                Optional<BufferedValue<V>> update = entry.getValue();
+                // Only flush what we remove, in case a concurrent request buffers another write
+                if (this.updates.remove(key, update)) {
+                    Object mutableValue = this.mutations.remove(key);
+                    if (update.isPresent()) {
+                        V value = update.get().getMarshalledValue();
+                        puts.put(key, (mutableValue != null) ? this.tryWrite(key, mutableValue, value) : value);
+                    } else {
+                        this.attributeCache.remove(key);
+                    }
+                }
+            }
+        } finally {
+            // Flush buffered writes, even if a removal failed
+            if (!puts.isEmpty()) {
+                this.attributeCache.putAll(puts);
+            }
+        }
+        for (Map.Entry<K, Object> entry : this.mutations.entrySet()) {
+            K key = entry.getKey();
+            Object value = entry.getValue();
+            if (this.mutations.remove(key, value)) {
+                V marshalledValue = this.tryWrite(key, value, null);
+                // A mutated attribute that can no longer be marshalled retains its previous value
+                if (marshalledValue != null) {
+                    this.mutatorFactory.createMutator(key, marshalledValue).mutate();
                 }
             }
-            this.mutations.clear();
         }
     }
 
@@ -205,6 +240,22 @@ public class FineSessionAttributes<NK, K, V> implements SessionAttributes {
         }
     }
 
+    /**
+     * Marshals a mutated attribute value, logging any failure, so that the failure of one attribute does not prevent other attributes from being written.
+     * @param key an attribute key
+     * @param value an attribute value
+     * @param defaultValue the marshalled value to return if the specified value cannot be marshalled
+     * @return the marshalled value, or the specified default value if the specified value cannot be marshalled
+     */
+    private V tryWrite(K key, Object value, V defaultValue) {
+        try {
+            return this.write(value);
+        } catch (RuntimeException e) {
+            Logger.ROOT_LOGGER.failedToWriteSessionAttribute(e, key);
+            return defaultValue;
+        }
+    }
+
     private Object read(V value) {
         try {
             return this.marshaller.read(value);
@@ -231,4 +282,22 @@ public class FineSessionAttributes<NK, K, V> implements SessionAttributes {
         }
         return new UUID(msb, lsb);
     }
+
+    private static class BufferedValue<V> {
+        private final Object value;
+        private final V marshalledValue;
+
+        BufferedValue(Object value, V marshalledValue) {
+            this.value = value;
+            this.marshalledValue = marshalledValue;
+        }
+
+        Object getValue() {
+            return this.value;
+        }
+
+        V getMarshalledValue() {
+            return this.marshalledValue;
+        }
+    }
 }
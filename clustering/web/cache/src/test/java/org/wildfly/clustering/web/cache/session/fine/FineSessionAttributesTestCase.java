@@ -0,0 +1,231 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.wildfly.clustering.web.cache.session.fine;
+
+import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.wildfly.clustering.ee.Immutability;
+import org.wildfly.clustering.ee.Mutator;
+import org.wildfly.clustering.ee.MutatorFactory;
+import org.wildfly.clustering.ee.cache.CacheProperties;
+import org.wildfly.clustering.marshalling.spi.Marshaller;
+import org.wildfly.clustering.web.cache.session.SessionAttributeActivationNotifier;
+import org.wildfly.clustering.web.cache.session.SessionAttributes;
+
+/**
+ * Unit test for {@link FineSessionAttributes}.
+ */
+public class FineSessionAttributesTestCase {
+    private final String key = "session";
+    private final AtomicReference<Map<String, UUID>> names = new AtomicReference<>(Collections.emptyMap());
+    private final Map<String, Map<String, UUID>> namesCache = new HashMap<>();
+    private final Function<UUID, UUID> keyFactory = Function.identity();
+    private final Map<UUID, Object> attributeCache = spy(new HashMap<>());
+    private final Marshaller<Object, Object> marshaller = mock(Marshaller.class);
+    private final MutatorFactory<UUID, Object> mutatorFactory = mock(MutatorFactory.class);
+    private final Immutability immutability = mock(Immutability.class);
+    private final CacheProperties properties = mock(CacheProperties.class);
+    private final SessionAttributeActivationNotifier notifier = mock(SessionAttributeActivationNotifier.class);
+
+    private final SessionAttributes attributes = new FineSessionAttributes<>(this.key, this.names, this.namesCache, this.keyFactory, this.attributeCache, this.marshaller, this.mutatorFactory, this.immutability, this.properties, this.notifier);
+
+    @Before
+    public void init() throws IOException {
+        when(this.marshaller.write(any())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(this.marshaller.read(any())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(this.immutability.test(any())).thenReturn(true);
+    }
+
+    @Test
+    public void setAttribute() {
+        Object value = new Object();
+        Object newValue = new Object();
+
+        assertNull(this.attributes.setAttribute("foo", value));
+        assertEquals(Collections.singleton("foo"), this.attributes.getAttributeNames());
+        // Buffered write is visible to this request
+        assertSame(value, this.attributes.getAttribute("foo"));
+        assertSame(value, this.attributes.setAttribute("foo", newValue));
+        assertSame(newValue, this.attributes.getAttribute("foo"));
+
+        // Nothing was written yet
+        verify(this.attributeCache, never()).put(any(), any());
+        verify(this.attributeCache, never()).get(any());
+        assertTrue(this.attributeCache.isEmpty());
+
+        this.attributes.close();
+
+        verify(this.attributeCache).putAll(any());
+        verify(this.attributeCache, never()).put(any(), any());
+        assertEquals(1, this.attributeCache.size());
+        assertTrue(this.attributeCache.containsValue(newValue));
+        verify(this.mutatorFactory, never()).createMutator(any(), any());
+    }
+
+    @Test
+    public void replaceAttribute() {
+        Object value = new Object();
+        Object newValue = new Object();
+        UUID attributeId = UUID.randomUUID();
+        this.namesCache.put(this.key, new HashMap<>(Collections.singletonMap("foo", attributeId)));
+        this.names.set(Collections.singletonMap("foo", attributeId));
+        this.attributeCache.put(attributeId, value);
+
+        // Previous value is not read from the cache, since it was not previously known to this request
+        assertNull(this.attributes.setAttribute("foo", newValue));
+        verify(this.attributeCache, never()).get(any());
+        assertSame(value, this.attributeCache.get(attributeId));
+
+        this.attributes.close();
+
+        assertSame(newValue, this.attributeCache.get(attributeId));
+    }
+
+    @Test
+    public void replaceReadAttribute() {
+        Object value = new Object();
+        Object newValue = new Object();
+        UUID attributeId = UUID.randomUUID();
+        this.namesCache.put(this.key, new HashMap<>(Collections.singletonMap("foo", attributeId)));
+        this.names.set(Collections.singletonMap("foo", attributeId));
+        this.attributeCache.put(attributeId, value);
+
+        when(this.immutability.test(value)).thenReturn(false);
+
+        // Previous value is known to this request, since it was read previously
+        assertSame(value, this.attributes.getAttribute("foo"));
+        assertSame(value, this.attributes.setAttribute("foo", newValue));
+
+        this.attributes.close();
+
+        assertSame(newValue, this.attributeCache.get(attributeId));
+        verify(this.mutatorFactory, never()).createMutator(any(), any());
+    }
+
+    @Test
+    public void removeAttribute() {
+        Object value = new Object();
+        UUID attributeId = UUID.randomUUID();
+        this.namesCache.put(this.key, new HashMap<>(Collections.singletonMap("foo", attributeId)));
+        this.names.set(Collections.singletonMap("foo", attributeId));
+        this.attributeCache.put(attributeId, value);
+
+        assertNull(this.attributes.removeAttribute("bar"));
+        // Previous value is not read from the cache, since it was not previously known to this request
+        assertNull(this.attributes.removeAttribute("foo"));
+        verify(this.attributeCache, never()).get(any());
+        assertNull(this.attributes.getAttribute("foo"));
+        assertTrue(this.attributes.getAttributeNames().isEmpty());
+        assertTrue(this.attributeCache.containsKey(attributeId));
+
+        this.attributes.close();
+
+        assertFalse(this.attributeCache.containsKey(attributeId));
+    }
+
+    @Test
+    public void mutableAttribute() {
+        Object value = new Object();
+        UUID attributeId = UUID.randomUUID();
+        this.names.set(Collections.singletonMap("foo", attributeId));
+        this.attributeCache.put(attributeId, value);
+        Mutator mutator = mock(Mutator.class);
+
+        when(this.immutability.test(value)).thenReturn(false);
+        when(this.mutatorFactory.createMutator(attributeId, value)).thenReturn(mutator);
+
+        assertSame(value, this.attributes.getAttribute("foo"));
+        assertSame(value, this.attributes.getAttribute("foo"));
+
+        this.attributes.close();
+
+        verify(mutator).mutate();
+    }
+
+    @Test
+    public void notMarshallableAttribute() throws IOException {
+        Object value = new Object();
+
+        when(this.properties.isMarshalling()).thenReturn(true);
+        when(this.marshaller.isMarshallable(value)).thenReturn(false);
+
+        assertThrows(IllegalArgumentException.class, () -> this.attributes.setAttribute("foo", value));
+
+        when(this.marshaller.isMarshallable(value)).thenReturn(true);
+        doThrow(IOException.class).when(this.marshaller).write(value);
+
+        // Attribute is marshalled eagerly, so marshalling failures are reported to the caller
+        assertThrows(IllegalStateException.class, () -> this.attributes.setAttribute("foo", value));
+        assertNull(this.attributes.getAttribute("foo"));
+
+        this.attributes.close();
+
+        verify(this.attributeCache, never()).putAll(any());
+    }
+
+    @Test
+    public void mutatedAttributeNotMarshallable() throws IOException {
+        Object value = new Object();
+        Object mutableValue = new Object();
+        Object otherMutableValue = new Object();
+        UUID mutableAttributeId = UUID.randomUUID();
+        UUID otherMutableAttributeId = UUID.randomUUID();
+        Map<String, UUID> names = new HashMap<>();
+        names.put("bar", mutableAttributeId);
+        names.put("baz", otherMutableAttributeId);
+        this.namesCache.put(this.key, new HashMap<>(names));
+        this.names.set(names);
+        this.attributeCache.put(mutableAttributeId, mutableValue);
+        this.attributeCache.put(otherMutableAttributeId, otherMutableValue);
+        Mutator mutator = mock(Mutator.class);
+
+        when(this.immutability.test(mutableValue)).thenReturn(false);
+        when(this.immutability.test(otherMutableValue)).thenReturn(false);
+        when(this.mutatorFactory.createMutator(otherMutableAttributeId, otherMutableValue)).thenReturn(mutator);
+
+        assertNull(this.attributes.setAttribute("foo", value));
+        assertSame(mutableValue, this.attributes.getAttribute("bar"));
+        assertSame(otherMutableValue, this.attributes.getAttribute("baz"));
+
+        // Mutated attribute can no longer be marshalled
+        doThrow(IOException.class).when(this.marshaller).write(mutableValue);
+
+        this.attributes.close();
+
+        // Buffered write and remaining mutations are still flushed
+        assertSame(value, this.attributeCache.get(this.names.get().get("foo")));
+        verify(this.mutatorFactory, never()).createMutator(eq(mutableAttributeId), any());
+        verify(mutator).mutate();
+    }
+}
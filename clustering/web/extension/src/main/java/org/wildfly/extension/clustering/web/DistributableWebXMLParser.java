@@ -24,6 +24,8 @@ package org.wildfly.extension.clustering.web;
 
 import static org.jboss.as.controller.PersistentResourceXMLDescription.builder;
 
+import java.util.EnumSet;
+
 import org.jboss.as.clustering.controller.Schema;
 import org.jboss.as.clustering.controller.persistence.AttributeXMLBuilderOperator;
 import org.jboss.as.controller.PersistentResourceXMLDescription;
@@ -73,7 +75,7 @@ public class DistributableWebXMLParser extends PersistentResourceXMLParser {
 
     private PersistentResourceXMLBuilder getHotRodSessionManagementResourceXMLBuilder() {
         PersistentResourceXMLBuilder builder = new AttributeXMLBuilderOperator()
-                .addAttributes(HotRodSessionManagementResourceDefinition.Attribute.class)
+                .addAttributes(this.schema.since(DistributableWebSchema.VERSION_3_0) ? EnumSet.allOf(HotRodSessionManagementResourceDefinition.Attribute.class) : EnumSet.complementOf(EnumSet.of(HotRodSessionManagementResourceDefinition.Attribute.MAX_NEAR_CACHE_SIZE)))
                 .addAttributes(SessionManagementResourceDefinition.Attribute.class)
                 .apply(builder(HotRodSessionManagementResourceDefinition.WILDCARD_PATH));
         return this.addAffinityChildren(builder);
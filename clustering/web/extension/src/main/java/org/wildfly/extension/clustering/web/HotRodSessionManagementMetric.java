@@ -0,0 +1,85 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.extension.clustering.web;
+
+import java.util.function.ToLongFunction;
+
+import org.jboss.as.clustering.controller.Metric;
+import org.jboss.as.controller.AttributeDefinition;
+import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
+import org.jboss.as.controller.client.helpers.MeasurementUnit;
+import org.jboss.as.controller.registry.AttributeAccess;
+import org.jboss.dmr.ModelNode;
+import org.jboss.dmr.ModelType;
+import org.wildfly.clustering.web.hotrod.session.SessionManagerNearCacheStatistics;
+
+/**
+ * Enumerates the near cache metrics of a HotRod session management provider.
+ */
+public enum HotRodSessionManagementMetric implements Metric<SessionManagerNearCacheStatistics>, ToLongFunction<SessionManagerNearCacheStatistics> {
+
+    NEAR_CACHE_HITS("near-cache-hits", AttributeAccess.Flag.COUNTER_METRIC, MeasurementUnit.NONE) {
+        @Override
+        public long applyAsLong(SessionManagerNearCacheStatistics statistics) {
+            return statistics.getHitCount();
+        }
+    },
+    NEAR_CACHE_MISSES("near-cache-misses", AttributeAccess.Flag.COUNTER_METRIC, MeasurementUnit.NONE) {
+        @Override
+        public long applyAsLong(SessionManagerNearCacheStatistics statistics) {
+            return statistics.getMissCount();
+        }
+    },
+    NEAR_CACHE_EVICTIONS("near-cache-evictions", AttributeAccess.Flag.COUNTER_METRIC, MeasurementUnit.NONE) {
+        @Override
+        public long applyAsLong(SessionManagerNearCacheStatistics statistics) {
+            return statistics.getEvictionCount();
+        }
+    },
+    NEAR_CACHE_SIZE("near-cache-size", AttributeAccess.Flag.GAUGE_METRIC, MeasurementUnit.BYTES) {
+        @Override
+        public long applyAsLong(SessionManagerNearCacheStatistics statistics) {
+            return statistics.getSize();
+        }
+    },
+    ;
+    private final AttributeDefinition definition;
+
+    HotRodSessionManagementMetric(String name, AttributeAccess.Flag metricType, MeasurementUnit unit) {
+        this.definition = new SimpleAttributeDefinitionBuilder(name, ModelType.LONG)
+                .setFlags(metricType)
+                .setMeasurementUnit(unit)
+                .setStorageRuntime()
+                .build();
+    }
+
+    @Override
+    public AttributeDefinition getDefinition() {
+        return this.definition;
+    }
+
+    @Override
+    public ModelNode execute(SessionManagerNearCacheStatistics statistics) {
+        return new ModelNode(this.applyAsLong(statistics));
+    }
+}
@@ -25,13 +25,19 @@ package org.wildfly.extension.clustering.web;
 import java.util.function.UnaryOperator;
 
 import org.jboss.as.clustering.controller.CapabilityReference;
+import org.jboss.as.clustering.controller.MetricHandler;
+import org.jboss.as.clustering.controller.ServiceValueExecutorRegistry;
 import org.jboss.as.clustering.controller.SimpleResourceDescriptorConfigurator;
+import org.jboss.as.clustering.controller.validation.LongRangeValidatorBuilder;
 import org.jboss.as.controller.AttributeDefinition;
 import org.jboss.as.controller.PathElement;
 import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
+import org.jboss.as.controller.client.helpers.MeasurementUnit;
 import org.jboss.as.controller.registry.AttributeAccess.Flag;
+import org.jboss.as.controller.registry.ManagementResourceRegistration;
 import org.jboss.dmr.ModelType;
 import org.wildfly.clustering.infinispan.client.InfinispanClientRequirement;
+import org.wildfly.clustering.web.session.DistributableSessionManagementProvider;
 
 /**
  * @author Paul Ferraro
@@ -51,6 +57,14 @@ public class HotRodSessionManagementResourceDefinition extends SessionManagement
             }
         },
         CACHE_CONFIGURATION("cache-configuration", ModelType.STRING),
+        MAX_NEAR_CACHE_SIZE("max-near-cache-size", ModelType.LONG) {
+            @Override
+            public SimpleAttributeDefinitionBuilder apply(SimpleAttributeDefinitionBuilder builder) {
+                return builder.setMeasurementUnit(MeasurementUnit.BYTES)
+                        .setValidator(new LongRangeValidatorBuilder().min(1).configure(builder).build())
+                        ;
+            }
+        },
          ;
         private final AttributeDefinition definition;
 
@@ -73,7 +87,25 @@ public class HotRodSessionManagementResourceDefinition extends SessionManagement
         }
     }
 
+    private final ServiceValueExecutorRegistry<DistributableSessionManagementProvider> executors;
+
     HotRodSessionManagementResourceDefinition() {
-        super(WILDCARD_PATH, new SimpleResourceDescriptorConfigurator<>(Attribute.class), HotRodSessionManagementServiceConfigurator::new);
+        this(new ServiceValueExecutorRegistry<>());
+    }
+
+    private HotRodSessionManagementResourceDefinition(ServiceValueExecutorRegistry<DistributableSessionManagementProvider> executors) {
+        super(WILDCARD_PATH, new SimpleResourceDescriptorConfigurator<>(Attribute.class), new SessionManagementServiceHandler(HotRodSessionManagementServiceConfigurator::new, executors));
+        this.executors = executors;
+    }
+
+    @Override
+    public ManagementResourceRegistration register(ManagementResourceRegistration parent) {
+        ManagementResourceRegistration registration = super.register(parent);
+
+        if (registration.getProcessType().isServer()) {
+            new MetricHandler<>(new HotRodSessionManagementMetricExecutor(this.executors), HotRodSessionManagementMetric.class).register(registration);
+        }
+
+        return registration;
     }
 }
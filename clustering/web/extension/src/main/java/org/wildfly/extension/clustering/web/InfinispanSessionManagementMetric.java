@@ -0,0 +1,91 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.extension.clustering.web;
+
+import java.util.function.ToLongFunction;
+
+import org.jboss.as.clustering.controller.Metric;
+import org.jboss.as.controller.AttributeDefinition;
+import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
+import org.jboss.as.controller.client.helpers.MeasurementUnit;
+import org.jboss.as.controller.registry.AttributeAccess;
+import org.jboss.dmr.ModelNode;
+import org.jboss.dmr.ModelType;
+import org.wildfly.clustering.ee.cache.scheduler.LocalSchedulerStatistics;
+
+/**
+ * Enumerates the session expiration metrics of an Infinispan session management provider.
+ */
+public enum InfinispanSessionManagementMetric implements Metric<LocalSchedulerStatistics>, ToLongFunction<LocalSchedulerStatistics> {
+
+    EXPIRED_SESSIONS("expired-sessions", AttributeAccess.Flag.COUNTER_METRIC, MeasurementUnit.NONE) {
+        @Override
+        public long applyAsLong(LocalSchedulerStatistics statistics) {
+            return statistics.getProcessedCount();
+        }
+    },
+    EXPIRATION_BATCHES("expiration-batches", AttributeAccess.Flag.COUNTER_METRIC, MeasurementUnit.NONE) {
+        @Override
+        public long applyAsLong(LocalSchedulerStatistics statistics) {
+            return statistics.getBatchCount();
+        }
+    },
+    MAX_EXPIRATION_BATCH_SIZE("max-expiration-batch-size", AttributeAccess.Flag.GAUGE_METRIC, MeasurementUnit.NONE) {
+        @Override
+        public long applyAsLong(LocalSchedulerStatistics statistics) {
+            return statistics.getMaxBatchSize();
+        }
+    },
+    MEAN_EXPIRATION_LAG("mean-expiration-lag", AttributeAccess.Flag.GAUGE_METRIC, MeasurementUnit.MILLISECONDS) {
+        @Override
+        public long applyAsLong(LocalSchedulerStatistics statistics) {
+            return statistics.getMeanLag().toMillis();
+        }
+    },
+    MAX_EXPIRATION_LAG("max-expiration-lag", AttributeAccess.Flag.GAUGE_METRIC, MeasurementUnit.MILLISECONDS) {
+        @Override
+        public long applyAsLong(LocalSchedulerStatistics statistics) {
+            return statistics.getMaxLag().toMillis();
+        }
+    },
+    ;
+    private final AttributeDefinition definition;
+
+    InfinispanSessionManagementMetric(String name, AttributeAccess.Flag metricType, MeasurementUnit unit) {
+        this.definition = new SimpleAttributeDefinitionBuilder(name, ModelType.LONG)
+                .setFlags(metricType)
+                .setMeasurementUnit(unit)
+                .setStorageRuntime()
+                .build();
+    }
+
+    @Override
+    public AttributeDefinition getDefinition() {
+        return this.definition;
+    }
+
+    @Override
+    public ModelNode execute(LocalSchedulerStatistics statistics) {
+        return new ModelNode(this.applyAsLong(statistics));
+    }
+}
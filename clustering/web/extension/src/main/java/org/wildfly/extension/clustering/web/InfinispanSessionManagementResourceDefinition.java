@@ -25,7 +25,9 @@ package org.wildfly.extension.clustering.web;
 import java.util.function.UnaryOperator;
 
 import org.jboss.as.clustering.controller.CapabilityReference;
+import org.jboss.as.clustering.controller.MetricHandler;
 import org.jboss.as.clustering.controller.ResourceDescriptor;
+import org.jboss.as.clustering.controller.ServiceValueExecutorRegistry;
 import org.jboss.as.controller.AttributeDefinition;
 import org.jboss.as.controller.PathElement;
 import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
@@ -34,6 +36,7 @@ import org.jboss.as.controller.registry.ManagementResourceRegistration;
 import org.jboss.dmr.ModelType;
 import org.wildfly.clustering.infinispan.spi.InfinispanCacheRequirement;
 import org.wildfly.clustering.infinispan.spi.InfinispanDefaultCacheRequirement;
+import org.wildfly.clustering.web.session.DistributableSessionManagementProvider;
 
 /**
  * Definition of the /subsystem=distributable-web/infinispan-session-management=* resource.
@@ -87,8 +90,15 @@ public class InfinispanSessionManagementResourceDefinition extends SessionManage
         }
     };
 
+    private final ServiceValueExecutorRegistry<DistributableSessionManagementProvider> executors;
+
     InfinispanSessionManagementResourceDefinition() {
-        super(WILDCARD_PATH, CONFIGURATOR, InfinispanSessionManagementServiceConfigurator::new);
+        this(new ServiceValueExecutorRegistry<>());
+    }
+
+    private InfinispanSessionManagementResourceDefinition(ServiceValueExecutorRegistry<DistributableSessionManagementProvider> executors) {
+        super(WILDCARD_PATH, CONFIGURATOR, new SessionManagementServiceHandler(InfinispanSessionManagementServiceConfigurator::new, executors));
+        this.executors = executors;
     }
 
     @Override
@@ -98,6 +108,10 @@ public class InfinispanSessionManagementResourceDefinition extends SessionManage
         new PrimaryOwnerAffinityResourceDefinition().register(registration);
         new RankedAffinityResourceDefinition().register(registration);
 
+        if (registration.getProcessType().isServer()) {
+            new MetricHandler<>(new InfinispanSessionManagementMetricExecutor(this.executors), InfinispanSessionManagementMetric.class).register(registration);
+        }
+
         return registration;
     }
 }
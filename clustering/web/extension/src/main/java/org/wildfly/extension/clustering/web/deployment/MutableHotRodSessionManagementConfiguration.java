@@ -59,4 +59,10 @@ public class MutableHotRodSessionManagementConfiguration extends MutableSessionM
     public void setConfigurationName(String configurationName) {
         this.configurationName = configurationName;
     }
+
+    @Override
+    public Long getMaxNearCacheSize() {
+        // Deployment descriptors do not support a size-bound near cache
+        return null;
+    }
 }
@@ -30,4 +30,10 @@ import org.wildfly.clustering.web.session.DistributableSessionManagementConfigur
  * @author Paul Ferraro
  */
 public interface HotRodSessionManagementConfiguration extends DistributableSessionManagementConfiguration, HotRodConfiguration {
+
+    /**
+     * Returns the maximum approximate size, in bytes, of the near cache of a session manager.
+     * @return a number of bytes, or null, if the near cache should instead be bounded by max-active-sessions.
+     */
+    Long getMaxNearCacheSize();
 }
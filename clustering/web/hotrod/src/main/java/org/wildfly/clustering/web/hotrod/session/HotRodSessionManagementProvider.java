@@ -34,6 +34,7 @@ import org.wildfly.clustering.web.session.SessionManagerFactoryConfiguration;
 public class HotRodSessionManagementProvider implements DistributableSessionManagementProvider {
 
     private final HotRodSessionManagementConfiguration configuration;
+    private final SessionManagerNearCacheStatistics statistics = new SessionManagerNearCacheStatistics();
 
     public HotRodSessionManagementProvider(HotRodSessionManagementConfiguration configuration) {
         this.configuration = configuration;
@@ -41,7 +42,7 @@ public class HotRodSessionManagementProvider implements DistributableSessionMana
 
     @Override
     public <S, SC, AL, MC, LC> CapabilityServiceConfigurator getSessionManagerFactoryServiceConfigurator(SessionManagerFactoryConfiguration<S, SC, AL, MC, LC> config) {
-        return new HotRodSessionManagerFactoryServiceConfigurator<>(this.configuration, config);
+        return new HotRodSessionManagerFactoryServiceConfigurator<>(this.configuration, config, this.statistics);
     }
 
     @Override
@@ -52,4 +53,8 @@ public class HotRodSessionManagementProvider implements DistributableSessionMana
     public HotRodSessionManagementConfiguration getSessionManagementConfiguration() {
         return this.configuration;
     }
+
+    public SessionManagerNearCacheStatistics getNearCacheStatistics() {
+        return this.statistics;
+    }
 }
@@ -0,0 +1,42 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.clustering.web.hotrod.session;
+
+import org.infinispan.client.hotrod.MetadataValue;
+import org.wildfly.clustering.marshalling.spi.ByteBufferMarshalledValue;
+
+import com.github.benmanes.caffeine.cache.Weigher;
+
+/**
+ * Weigher that approximates the memory footprint of a near cache entry via the size of its marshalled form.
+ * Entries whose marshalled size is unknown, e.g. session meta data, are given a nominal weight.
+ */
+public class MarshalledValueWeigher implements Weigher<Object, MetadataValue<?>> {
+    static final int DEFAULT_WEIGHT = 64;
+
+    @Override
+    public int weigh(Object key, MetadataValue<?> value) {
+        Object object = value.getValue();
+        return (object instanceof ByteBufferMarshalledValue) ? ((ByteBufferMarshalledValue<?>) object).size().orElse(DEFAULT_WEIGHT) : DEFAULT_WEIGHT;
+    }
+}
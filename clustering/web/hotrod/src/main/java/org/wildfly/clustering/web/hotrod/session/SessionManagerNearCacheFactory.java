@@ -35,6 +35,7 @@ import org.infinispan.client.hotrod.event.impl.ClientListenerNotifier;
 import org.infinispan.client.hotrod.near.NearCacheService;
 import org.wildfly.clustering.infinispan.client.NearCacheFactory;
 import org.wildfly.clustering.infinispan.client.near.CaffeineNearCacheService;
+import org.wildfly.clustering.infinispan.client.near.MaxIdleExpiry;
 import org.wildfly.clustering.infinispan.client.near.SimpleKeyWeigher;
 import org.wildfly.clustering.web.hotrod.session.coarse.SessionAttributesKey;
 import org.wildfly.clustering.web.hotrod.session.fine.SessionAttributeKey;
@@ -47,18 +48,23 @@ import com.github.benmanes.caffeine.cache.RemovalCause;
 import com.github.benmanes.caffeine.cache.RemovalListener;
 
 /**
- * A near-cache factory based on max-active-sessions.
+ * A near-cache factory bounded either by the approximate size of its marshalled entries, if specified, or otherwise by max-active-sessions.
+ * Entries expire locally following the max-idle of their remote entry.
  * @author Paul Ferraro
  */
 public class SessionManagerNearCacheFactory<K, V> implements NearCacheFactory<K, V>, Supplier<Cache<K, MetadataValue<V>>>, RemovalListener<Object, Object> {
 
     private final Integer maxActiveSessions;
+    private final Long maxSize;
     private final SessionAttributePersistenceStrategy strategy;
+    private final SessionManagerNearCacheStatistics statistics;
     private final AtomicReference<Cache<K, MetadataValue<V>>> cache = new AtomicReference<>();
 
-    public SessionManagerNearCacheFactory(Integer maxActiveSessions, SessionAttributePersistenceStrategy strategy) {
+    public SessionManagerNearCacheFactory(Integer maxActiveSessions, Long maxSize, SessionAttributePersistenceStrategy strategy, SessionManagerNearCacheStatistics statistics) {
         this.maxActiveSessions = maxActiveSessions;
+        this.maxSize = maxSize;
         this.strategy = strategy;
+        this.statistics = statistics;
     }
 
     @Override
@@ -73,23 +79,30 @@ public class SessionManagerNearCacheFactory<K, V> implements NearCacheFactory<K,
 
     @Override
     public Cache<K, MetadataValue<V>> get() {
-        Caffeine<Object, Object> builder = Caffeine.newBuilder();
-        if (this.maxActiveSessions != null) {
-            builder.executor(Runnable::run)
-                    .maximumWeight(this.maxActiveSessions.longValue())
-                    .weigher(new SimpleKeyWeigher(SessionCreationMetaDataKey.class::isInstance))
-                    .removalListener(this);
+        Caffeine<Object, Object> builder = Caffeine.newBuilder()
+                .executor(Runnable::run)
+                .recordStats(this.statistics)
+                .removalListener(this);
+        if (this.maxSize != null) {
+            builder.maximumWeight(this.maxSize.longValue()).weigher(new MarshalledValueWeigher());
+        } else if (this.maxActiveSessions != null) {
+            builder.maximumWeight(this.maxActiveSessions.longValue()).weigher(new SimpleKeyWeigher(SessionCreationMetaDataKey.class::isInstance));
         }
-        Cache<K, MetadataValue<V>> cache = builder.build();
+        Cache<K, MetadataValue<V>> cache = builder.expireAfter(new MaxIdleExpiry<K, V>()).build();
         // Set reference for use by removal listener
         this.cache.set(cache);
+        if (this.maxSize != null) {
+            // Only caches weighed by marshalled size contribute to the size statistic
+            this.statistics.register(cache);
+        }
         return cache;
     }
 
     @Override
     public void onRemoval(Object key, Object value, RemovalCause cause) {
-        // Cascade invalidation to dependent entries
-        if ((cause == RemovalCause.SIZE) && (key instanceof SessionCreationMetaDataKey)) {
+        // Cascade invalidation to dependent entries, so that all entries of a session are evicted together
+        // Invalidation of a dependent entry does not cascade, since local writes are also propagated via invalidation
+        if ((cause != RemovalCause.REPLACED) && (key instanceof SessionCreationMetaDataKey)) {
             String id = ((SessionCreationMetaDataKey) key).getId();
             Cache<K, MetadataValue<V>> cache = this.cache.get();
             List<Object> keys = new LinkedList<>();
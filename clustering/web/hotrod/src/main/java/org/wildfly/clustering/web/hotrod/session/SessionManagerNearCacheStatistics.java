@@ -0,0 +1,100 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.clustering.web.hotrod.session;
+
+import java.util.Collections;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.function.Supplier;
+
+import org.infinispan.client.hotrod.MetadataValue;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.github.benmanes.caffeine.cache.stats.ConcurrentStatsCounter;
+import com.github.benmanes.caffeine.cache.stats.StatsCounter;
+
+/**
+ * Statistics aggregated across the session manager near caches created by a given session management provider.
+ */
+public class SessionManagerNearCacheStatistics implements Supplier<StatsCounter> {
+
+    private final StatsCounter counter = new ConcurrentStatsCounter();
+    // Near caches are discarded along with their deployment
+    private final Set<Cache<?, ? extends MetadataValue<?>>> caches = Collections.synchronizedSet(Collections.newSetFromMap(new WeakHashMap<>()));
+
+    @Override
+    public StatsCounter get() {
+        return this.counter;
+    }
+
+    /**
+     * Registers the specified near cache, whose size will contribute to these statistics.
+     * @param cache a near cache weighed by the marshalled size of its entries
+     */
+    public void register(Cache<?, ? extends MetadataValue<?>> cache) {
+        this.caches.add(cache);
+    }
+
+    /**
+     * Returns the number of near cache lookups that found a cached entry.
+     * @return a number of hits
+     */
+    public long getHitCount() {
+        return this.snapshot().hitCount();
+    }
+
+    /**
+     * Returns the number of near cache lookups that did not find a cached entry.
+     * @return a number of misses
+     */
+    public long getMissCount() {
+        return this.snapshot().missCount();
+    }
+
+    /**
+     * Returns the number of near cache entries evicted due to size, or expired due to inactivity.
+     * @return a number of evictions
+     */
+    public long getEvictionCount() {
+        return this.snapshot().evictionCount();
+    }
+
+    /**
+     * Returns the approximate size, in bytes, of the marshalled form of all near cache entries, as tracked by the eviction policy of each near cache bounded by size.
+     * @return a number of bytes
+     */
+    public long getSize() {
+        long size = 0;
+        synchronized (this.caches) {
+            for (Cache<?, ? extends MetadataValue<?>> cache : this.caches) {
+                size += cache.policy().eviction().map(eviction -> eviction.weightedSize().orElse(0L)).orElse(0L);
+            }
+        }
+        return size;
+    }
+
+    private CacheStats snapshot() {
+        return this.counter.snapshot();
+    }
+}
@@ -53,11 +53,23 @@ public class ExpiredSessionRemover<SC, MV, AV, LC> implements Remover<String>, R
 
     @Override
     public boolean remove(String id) {
+        return this.remove(id, true);
+    }
+
+    /**
+     * Like {@link #remove(String)}, but does not notify expiration listeners, e.g. if listeners were already notified of the expiration of this session.
+     */
+    @Override
+    public boolean purge(String id) {
+        return this.remove(id, false);
+    }
+
+    private boolean remove(String id, boolean notify) {
         MV metaDataValue = this.factory.getMetaDataFactory().tryValue(id);
         if (metaDataValue != null) {
             ImmutableSessionMetaData metaData = this.factory.getMetaDataFactory().createImmutableSessionMetaData(id, metaDataValue);
             if (metaData.isExpired()) {
-                AV attributesValue = this.factory.getAttributesFactory().findValue(id);
+                AV attributesValue = notify ? this.factory.getAttributesFactory().findValue(id) : null;
                 if (attributesValue != null) {
                     ImmutableSessionAttributes attributes = this.factory.getAttributesFactory().createImmutableSessionAttributes(id, attributesValue);
                     ImmutableSession session = this.factory.createImmutableSession(id, metaData, attributes);
@@ -23,6 +23,7 @@
 package org.wildfly.clustering.web.infinispan.session;
 
 import org.jboss.as.clustering.controller.CapabilityServiceConfigurator;
+import org.wildfly.clustering.ee.cache.scheduler.LocalSchedulerStatistics;
 import org.wildfly.clustering.web.WebDeploymentConfiguration;
 import org.wildfly.clustering.web.routing.RouteLocatorServiceConfiguratorFactory;
 import org.wildfly.clustering.web.session.DistributableSessionManagementProvider;
@@ -36,6 +37,7 @@ public class InfinispanSessionManagementProvider implements DistributableSession
 
     private final InfinispanSessionManagementConfiguration configuration;
     private final RouteLocatorServiceConfiguratorFactory<InfinispanSessionManagementConfiguration> factory;
+    private final LocalSchedulerStatistics expirationStatistics = new LocalSchedulerStatistics();
 
     public InfinispanSessionManagementProvider(InfinispanSessionManagementConfiguration configuration, RouteLocatorServiceConfiguratorFactory<InfinispanSessionManagementConfiguration> factory) {
         this.configuration = configuration;
@@ -44,7 +46,7 @@ public class InfinispanSessionManagementProvider implements DistributableSession
 
     @Override
     public <S, SC, AL, MC, LC> CapabilityServiceConfigurator getSessionManagerFactoryServiceConfigurator(SessionManagerFactoryConfiguration<S, SC, AL, MC, LC> config) {
-        return new InfinispanSessionManagerFactoryServiceConfigurator<>(this.configuration, config);
+        return new InfinispanSessionManagerFactoryServiceConfigurator<>(this.configuration, config, this.expirationStatistics);
     }
 
     @Override
@@ -59,4 +61,8 @@ public class InfinispanSessionManagementProvider implements DistributableSession
     public RouteLocatorServiceConfiguratorFactory<InfinispanSessionManagementConfiguration> getRouteLocatorServiceConfiguratorFactory() {
         return this.factory;
     }
+
+    public LocalSchedulerStatistics getExpirationStatistics() {
+        return this.expirationStatistics;
+    }
 }
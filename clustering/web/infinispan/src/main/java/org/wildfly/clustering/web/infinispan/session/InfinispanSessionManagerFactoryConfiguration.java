@@ -22,6 +22,7 @@
 package org.wildfly.clustering.web.infinispan.session;
 
 import org.infinispan.remoting.transport.Address;
+import org.wildfly.clustering.ee.cache.scheduler.LocalSchedulerStatistics;
 import org.wildfly.clustering.infinispan.spi.affinity.KeyAffinityServiceFactory;
 import org.wildfly.clustering.spi.NodeFactory;
 import org.wildfly.clustering.spi.dispatcher.CommandDispatcherFactory;
@@ -43,4 +44,10 @@ public interface InfinispanSessionManagerFactoryConfiguration<S, SC, AL, MC, LC>
     CommandDispatcherFactory getCommandDispatcherFactory();
 
     NodeFactory<Address> getMemberFactory();
+
+    /**
+     * Returns the statistics to which session expiration is recorded, which may be shared by the session manager factories of multiple deployments.
+     * @return the session expiration statistics
+     */
+    LocalSchedulerStatistics getExpirationStatistics();
 }
@@ -46,6 +46,7 @@ import org.jboss.msc.service.ServiceController;
 import org.jboss.msc.service.ServiceName;
 import org.jboss.msc.service.ServiceTarget;
 import org.wildfly.clustering.ee.Immutability;
+import org.wildfly.clustering.ee.cache.scheduler.LocalSchedulerStatistics;
 import org.wildfly.clustering.ee.cache.tx.TransactionBatch;
 import org.wildfly.clustering.infinispan.spi.DataContainerConfigurationBuilder;
 import org.wildfly.clustering.infinispan.spi.InfinispanCacheRequirement;
@@ -87,6 +88,7 @@ public class InfinispanSessionManagerFactoryServiceConfigurator<S, SC, AL, MC, L
 
     private final InfinispanSessionManagementConfiguration configuration;
     private final SessionManagerFactoryConfiguration<S, SC, AL, MC, LC> factoryConfiguration;
+    private final LocalSchedulerStatistics expirationStatistics;
     private final Collection<ServiceConfigurator> configurators = new LinkedList<>();
 
     private volatile ServiceConfigurator configurationConfigurator;
@@ -98,10 +100,11 @@ public class InfinispanSessionManagerFactoryServiceConfigurator<S, SC, AL, MC, L
     @SuppressWarnings("rawtypes")
     private volatile Supplier<Cache> cache;
 
-    public InfinispanSessionManagerFactoryServiceConfigurator(InfinispanSessionManagementConfiguration configuration, SessionManagerFactoryConfiguration<S, SC, AL, MC, LC> factoryConfiguration) {
+    public InfinispanSessionManagerFactoryServiceConfigurator(InfinispanSessionManagementConfiguration configuration, SessionManagerFactoryConfiguration<S, SC, AL, MC, LC> factoryConfiguration, LocalSchedulerStatistics expirationStatistics) {
         super(ServiceName.JBOSS.append("clustering", "web", factoryConfiguration.getDeploymentName()));
         this.configuration = configuration;
         this.factoryConfiguration = factoryConfiguration;
+        this.expirationStatistics = expirationStatistics;
     }
 
     @Override
@@ -190,6 +193,11 @@ public class InfinispanSessionManagerFactoryServiceConfigurator<S, SC, AL, MC, L
         return this.group.get();
     }
 
+    @Override
+    public LocalSchedulerStatistics getExpirationStatistics() {
+        return this.expirationStatistics;
+    }
+
     @Override
     public SessionAttributePersistenceStrategy getAttributePersistenceStrategy() {
         return this.configuration.getAttributePersistenceStrategy();
@@ -22,13 +22,21 @@
 package org.wildfly.clustering.web.infinispan.session;
 
 import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
 import java.util.function.Predicate;
 
 import org.wildfly.clustering.ee.Batch;
 import org.wildfly.clustering.ee.Batcher;
 import org.wildfly.clustering.ee.Remover;
 import org.wildfly.clustering.ee.cache.scheduler.LocalScheduler;
+import org.wildfly.clustering.ee.cache.scheduler.LocalSchedulerStatistics;
+import org.wildfly.clustering.ee.cache.scheduler.ScheduledEntries;
 import org.wildfly.clustering.ee.cache.scheduler.SortedScheduledEntries;
+import org.wildfly.clustering.ee.cache.scheduler.TimingWheelScheduledEntries;
 import org.wildfly.clustering.ee.cache.tx.TransactionBatch;
 import org.wildfly.clustering.ee.infinispan.GroupedKey;
 import org.wildfly.clustering.ee.infinispan.scheduler.Scheduler;
@@ -36,6 +44,7 @@ import org.wildfly.clustering.infinispan.spi.distribution.Locality;
 import org.wildfly.clustering.web.cache.session.ImmutableSessionMetaDataFactory;
 import org.wildfly.clustering.web.infinispan.logging.InfinispanWebLogger;
 import org.wildfly.clustering.web.session.ImmutableSessionMetaData;
+import org.wildfly.security.manager.WildFlySecurityManager;
 
 /**
  * Session expiration scheduler that eagerly expires sessions as soon as they are eligible.
@@ -43,6 +52,14 @@ import org.wildfly.clustering.web.session.ImmutableSessionMetaData;
  * @author Paul Ferraro
  */
 public class SessionExpirationScheduler<MV> implements Scheduler<String, ImmutableSessionMetaData>, Predicate<String> {
+    /** System property specifying the maximum number of sessions removed within a single batch, 100 by default. */
+    static final String BATCH_SIZE_PROPERTY = "org.wildfly.clustering.web.session.expiration.batch-size";
+    /** System property specifying the maximum number of batches removed concurrently, 1 by default. */
+    static final String BATCH_PARALLELISM_PROPERTY = "org.wildfly.clustering.web.session.expiration.batch-parallelism";
+    /** System property specifying the tick duration, in milliseconds, of a timing wheel used to schedule session expiration, in lieu of a sorted set. Undefined by default. */
+    static final String TICK_PROPERTY = "org.wildfly.clustering.web.session.expiration.tick";
+    static final int DEFAULT_BATCH_SIZE = 100;
+    static final int DEFAULT_BATCH_PARALLELISM = 1;
 
     private final LocalScheduler<String> scheduler;
     private final Batcher<TransactionBatch> batcher;
@@ -50,7 +67,30 @@ public class SessionExpirationScheduler<MV> implements Scheduler<String, Immutab
     private final ImmutableSessionMetaDataFactory<MV> metaDataFactory;
 
     public SessionExpirationScheduler(Batcher<TransactionBatch> batcher, ImmutableSessionMetaDataFactory<MV> metaDataFactory, Remover<String> remover, Duration closeTimeout) {
-        this.scheduler = new LocalScheduler<>(new SortedScheduledEntries<>(), this, closeTimeout);
+        this(batcher, metaDataFactory, remover, closeTimeout, new LocalSchedulerStatistics());
+    }
+
+    public SessionExpirationScheduler(Batcher<TransactionBatch> batcher, ImmutableSessionMetaDataFactory<MV> metaDataFactory, Remover<String> remover, Duration closeTimeout, LocalSchedulerStatistics statistics) {
+        this(batcher, metaDataFactory, remover, closeTimeout, TimingWheelScheduledEntries.<String>fromSystemProperty(TICK_PROPERTY).orElseGet(SortedScheduledEntries::new), statistics);
+    }
+
+    public SessionExpirationScheduler(Batcher<TransactionBatch> batcher, ImmutableSessionMetaDataFactory<MV> metaDataFactory, Remover<String> remover, Duration closeTimeout, ScheduledEntries<String, Instant> entries) {
+        this(batcher, metaDataFactory, remover, closeTimeout, entries, new LocalSchedulerStatistics());
+    }
+
+    private SessionExpirationScheduler(Batcher<TransactionBatch> batcher, ImmutableSessionMetaDataFactory<MV> metaDataFactory, Remover<String> remover, Duration closeTimeout, ScheduledEntries<String, Instant> entries, LocalSchedulerStatistics statistics) {
+        this(batcher, metaDataFactory, remover, closeTimeout, entries, getPositiveInteger(BATCH_SIZE_PROPERTY, DEFAULT_BATCH_SIZE), getPositiveInteger(BATCH_PARALLELISM_PROPERTY, DEFAULT_BATCH_PARALLELISM), statistics);
+    }
+
+    /**
+     * Creates a session expiration scheduler that removes sessions expiring at the same time in bounded batches.
+     * By default, the batch size and parallelism are configured via the {@value #BATCH_SIZE_PROPERTY} and {@value #BATCH_PARALLELISM_PROPERTY} system properties.
+     * @param batchSize the maximum number of sessions removed within a single batch
+     * @param parallelism the maximum number of batches removed concurrently
+     * @param statistics the expiration statistics, possibly shared with the schedulers of other deployments
+     */
+    public SessionExpirationScheduler(Batcher<TransactionBatch> batcher, ImmutableSessionMetaDataFactory<MV> metaDataFactory, Remover<String> remover, Duration closeTimeout, ScheduledEntries<String, Instant> entries, int batchSize, int parallelism, LocalSchedulerStatistics statistics) {
+        this.scheduler = new LocalScheduler<>(entries, this::expire, batchSize, parallelism, closeTimeout, statistics);
         this.batcher = batcher;
         this.metaDataFactory = metaDataFactory;
         this.remover = remover;
@@ -93,12 +133,24 @@ public class SessionExpirationScheduler<MV> implements Scheduler<String, Immutab
         this.scheduler.close();
     }
 
+    /**
+     * Returns the expiration statistics of this scheduler, e.g. expiration lag and batch size.
+     * @return the expiration statistics of this scheduler
+     */
+    public LocalSchedulerStatistics getStatistics() {
+        return this.scheduler.getStatistics();
+    }
+
     @Override
     public boolean test(String sessionId) {
+        return this.expire(sessionId, this.remover::remove);
+    }
+
+    private boolean expire(String sessionId, Predicate<String> remover) {
         InfinispanWebLogger.ROOT_LOGGER.debugf("Expiring web session %s", sessionId);
         try (Batch batch = this.batcher.createBatch()) {
             try {
-                this.remover.remove(sessionId);
+                remover.test(sessionId);
                 return true;
             } catch (RuntimeException e) {
                 batch.discard();
@@ -109,4 +161,54 @@ public class SessionExpirationScheduler<MV> implements Scheduler<String, Immutab
             return false;
         }
     }
+
+    /**
+     * Removes the specified expired sessions within a single batch.
+     * If the batch fails, sessions are expired individually.
+     * Since expiration listeners cannot be rolled back, sessions of the failed batch for which listeners may already have been notified are purged, rather than removed, so that no listener is notified twice.
+     * @param sessionIds a collection of session identifiers
+     * @return the identifiers of those sessions that could not be expired
+     */
+    Collection<String> expire(Collection<String> sessionIds) {
+        InfinispanWebLogger.ROOT_LOGGER.debugf("Expiring %d web sessions", sessionIds.size());
+        // Number of sessions whose expiration listeners may have been notified
+        int notified = 0;
+        try (Batch batch = this.batcher.createBatch()) {
+            try {
+                for (String sessionId : sessionIds) {
+                    notified += 1;
+                    this.remover.remove(sessionId);
+                }
+                return Collections.emptySet();
+            } catch (RuntimeException e) {
+                batch.discard();
+                throw e;
+            }
+        } catch (RuntimeException e) {
+            InfinispanWebLogger.ROOT_LOGGER.debugf(e, "Failed to expire batch of %d web sessions", sessionIds.size());
+            Set<String> failed = new HashSet<>();
+            int index = 0;
+            for (String sessionId : sessionIds) {
+                Predicate<String> remover = (index++ < notified) ? this.remover::purge : this.remover::remove;
+                if (!this.expire(sessionId, remover)) {
+                    failed.add(sessionId);
+                }
+            }
+            return failed;
+        }
+    }
+
+    private static int getPositiveInteger(String name, int defaultValue) {
+        String value = WildFlySecurityManager.getPropertyPrivileged(name, null);
+        if (value != null) {
+            try {
+                int result = Integer.parseInt(value.trim());
+                if (result > 0) return result;
+            } catch (NumberFormatException e) {
+                // Fall through
+            }
+            InfinispanWebLogger.ROOT_LOGGER.debugf("Ignoring invalid value of %s: %s", name, value);
+        }
+        return defaultValue;
+    }
 }
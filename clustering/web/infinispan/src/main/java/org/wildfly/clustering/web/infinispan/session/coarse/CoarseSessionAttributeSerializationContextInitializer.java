@@ -37,5 +37,6 @@ public class CoarseSessionAttributeSerializationContextInitializer extends Abstr
     @Override
     public void registerMarshallers(SerializationContext context) {
         context.registerMarshaller(new SessionKeyMarshaller<>(SessionAttributesKey.class, SessionAttributesKey::new));
+        context.registerMarshaller(new SessionAttributesDeltaFunctionMarshaller());
     }
 }
@@ -23,6 +23,8 @@
 package org.wildfly.clustering.web.infinispan.session.coarse;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.AbstractMap.SimpleImmutableEntry;
 import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.Map;
@@ -32,6 +34,9 @@ import java.util.function.Function;
 
 import org.infinispan.Cache;
 import org.infinispan.context.Flag;
+import org.infinispan.functional.FunctionalMap;
+import org.infinispan.functional.impl.FunctionalMapImpl;
+import org.infinispan.functional.impl.ReadWriteMapImpl;
 import org.wildfly.clustering.ee.Immutability;
 import org.wildfly.clustering.ee.Mutator;
 import org.wildfly.clustering.ee.MutatorFactory;
@@ -40,6 +45,7 @@ import org.wildfly.clustering.ee.infinispan.InfinispanMutatorFactory;
 import org.wildfly.clustering.infinispan.spi.PredicateKeyFilter;
 import org.wildfly.clustering.infinispan.spi.listener.PostActivateListener;
 import org.wildfly.clustering.infinispan.spi.listener.PrePassivateListener;
+import org.wildfly.clustering.marshalling.spi.ByteBufferMarshalledValue;
 import org.wildfly.clustering.marshalling.spi.Marshaller;
 import org.wildfly.clustering.web.cache.session.CompositeImmutableSession;
 import org.wildfly.clustering.web.cache.session.ImmutableSessionActivationNotifier;
@@ -59,11 +65,13 @@ import org.wildfly.clustering.web.session.ImmutableSessionMetaData;
 
 /**
  * {@link SessionAttributesFactory} for coarse granularity sessions, where all session attributes are stored in a single cache entry.
+ * The marshalled form of the session attributes, as read from the cache, is retained alongside the session attributes, so that subsequent mutations need only replicate the changed portion.
  * @author Paul Ferraro
  */
-public class CoarseSessionAttributesFactory<S, C, L, V> implements SessionAttributesFactory<C, Map<String, Object>> {
+public class CoarseSessionAttributesFactory<S, C, L, V> implements SessionAttributesFactory<C, Map.Entry<Map<String, Object>, ByteBuffer>> {
 
     private final Cache<SessionAttributesKey, V> cache;
+    private final FunctionalMap.ReadWriteMap<SessionAttributesKey, V> deltaMap;
     private final Marshaller<Map<String, Object>, V> marshaller;
     private final CacheProperties properties;
     private final Immutability immutability;
@@ -80,6 +88,8 @@ public class CoarseSessionAttributesFactory<S, C, L, V> implements SessionAttrib
         this.immutability = configuration.getImmutability();
         this.properties = configuration.getCacheProperties();
         this.mutatorFactory = new InfinispanMutatorFactory<>(this.cache, this.properties);
+        // Use FAIL_SILENTLY to prevent mutation from failing locally due to remote exceptions
+        this.deltaMap = this.properties.isPersistent() ? ReadWriteMapImpl.create(FunctionalMapImpl.create(this.cache.getAdvancedCache().withFlags(Flag.FAIL_SILENTLY))) : null;
         this.provider = configuration.getHttpSessionActivationListenerProvider();
         this.notifierFactory = configuration.getActivationNotifierFactory();
         this.prePassivateListener = !this.properties.isPersistent() ? new PrePassivateListener<>(this::prePassivate, configuration.getExecutor()) : null;
@@ -106,32 +116,35 @@ public class CoarseSessionAttributesFactory<S, C, L, V> implements SessionAttrib
     }
 
     @Override
-    public Map<String, Object> createValue(String id, Void context) {
+    public Map.Entry<Map<String, Object>, ByteBuffer> createValue(String id, Void context) {
         Map<String, Object> attributes = this.properties.isLockOnRead() ? new HashMap<>() : new ConcurrentHashMap<>();
         try {
             V value = this.marshaller.write(attributes);
+            ByteBuffer buffer = this.getBuffer(value);
             this.cache.getAdvancedCache().withFlags(Flag.IGNORE_RETURN_VALUES).put(new SessionAttributesKey(id), value);
-            return attributes;
+            return new SimpleImmutableEntry<>(attributes, buffer);
         } catch (IOException e) {
             throw new IllegalStateException(e);
         }
     }
 
     @Override
-    public Map<String, Object> findValue(String id) {
+    public Map.Entry<Map<String, Object>, ByteBuffer> findValue(String id) {
         return this.getValue(id, true);
     }
 
     @Override
-    public Map<String, Object> tryValue(String id) {
+    public Map.Entry<Map<String, Object>, ByteBuffer> tryValue(String id) {
         return this.getValue(id, false);
     }
 
-    private Map<String, Object> getValue(String id, boolean purgeIfInvalid) {
+    private Map.Entry<Map<String, Object>, ByteBuffer> getValue(String id, boolean purgeIfInvalid) {
         V value = this.cache.get(new SessionAttributesKey(id));
         if (value != null) {
             try {
-                return this.marshaller.read(value);
+                // Capture marshalled form before reading, which may discard it
+                ByteBuffer buffer = this.getBuffer(value);
+                return new SimpleImmutableEntry<>(this.marshaller.read(value), buffer);
             } catch (IOException e) {
                 InfinispanWebLogger.ROOT_LOGGER.failedToActivateSession(e, id);
                 if (purgeIfInvalid) {
@@ -158,10 +171,12 @@ public class CoarseSessionAttributesFactory<S, C, L, V> implements SessionAttrib
     }
 
     @Override
-    public SessionAttributes createSessionAttributes(String id, Map<String, Object> attributes, ImmutableSessionMetaData metaData, C context) {
+    public SessionAttributes createSessionAttributes(String id, Map.Entry<Map<String, Object>, ByteBuffer> entry, ImmutableSessionMetaData metaData, C context) {
+        Map<String, Object> attributes = entry.getKey();
+        ByteBuffer buffer = entry.getValue();
         try {
-            Mutator mutator = (this.properties.isTransactional() && metaData.isNew()) ? Mutator.PASSIVE : this.mutatorFactory.createMutator(new SessionAttributesKey(id), this.marshaller.write(attributes));
-            SessionActivationNotifier notifier = this.properties.isPersistent() ? new ImmutableSessionActivationNotifier<>(this.provider, new CompositeImmutableSession(id, metaData, this.createImmutableSessionAttributes(id, attributes)), context) : null;
+            Mutator mutator = (this.properties.isTransactional() && metaData.isNew()) ? Mutator.PASSIVE : this.createMutator(new SessionAttributesKey(id), attributes, buffer);
+            SessionActivationNotifier notifier = this.properties.isPersistent() ? new ImmutableSessionActivationNotifier<>(this.provider, new CompositeImmutableSession(id, metaData, this.createImmutableSessionAttributes(id, entry)), context) : null;
             return new CoarseSessionAttributes(attributes, mutator, this.marshaller, this.immutability, this.properties, notifier);
         } catch (IOException e) {
             throw new IllegalStateException(e);
@@ -169,8 +184,18 @@ public class CoarseSessionAttributesFactory<S, C, L, V> implements SessionAttrib
     }
 
     @Override
-    public ImmutableSessionAttributes createImmutableSessionAttributes(String id, Map<String, Object> values) {
-        return new CoarseImmutableSessionAttributes(values);
+    public ImmutableSessionAttributes createImmutableSessionAttributes(String id, Map.Entry<Map<String, Object>, ByteBuffer> entry) {
+        return new CoarseImmutableSessionAttributes(entry.getKey());
+    }
+
+    private Mutator createMutator(SessionAttributesKey key, Map<String, Object> attributes, ByteBuffer buffer) throws IOException {
+        // Replicate deltas only if we know the marshalled form last replicated
+        return this.properties.isPersistent() && (buffer != null) ? new SessionAttributesDeltaMutator<>(this.cache, this.deltaMap, key, attributes, buffer, this.marshaller) : this.mutatorFactory.createMutator(key, this.marshaller.write(attributes));
+    }
+
+    private ByteBuffer getBuffer(V value) {
+        // Only retain a marshalled form that already exists, i.e. never marshal solely for the purpose of computing a future delta
+        return this.properties.isPersistent() && (value instanceof ByteBufferMarshalledValue) ? ((ByteBufferMarshalledValue<?>) value).peekBuffer() : null;
     }
 
     private void cascadeEvict(SessionCreationMetaDataKey key, Object value) {
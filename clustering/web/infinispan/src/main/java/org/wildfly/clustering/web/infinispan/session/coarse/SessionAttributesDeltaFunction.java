@@ -0,0 +1,158 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.clustering.web.infinispan.session.coarse;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.function.Function;
+import java.util.zip.CRC32;
+
+import org.infinispan.functional.EntryView;
+import org.wildfly.clustering.marshalling.spi.ByteBufferMarshalledValue;
+
+/**
+ * Function that applies a binary delta to the marshalled form of the session attributes of a coarse granularity session.
+ * The delta replaces a single contiguous range of the previously replicated bytes, i.e. those bytes between the common prefix and common suffix of the previous and current marshalled forms.
+ * The delta is only applied if the current value of the cache entry matches the marshalled form from which the delta was computed.
+ * Otherwise, the cache entry was either already updated by this delta, was concurrently replaced by another writer, or was removed, and is left unchanged.
+ * Only an indication of whether or not the delta was applied is returned to the caller, never the value of the cache entry, i.e. true if applied, false if not applied, or null if there was no entry.
+ */
+public class SessionAttributesDeltaFunction<V> implements Function<EntryView.ReadWriteEntryView<SessionAttributesKey, V>, Boolean> {
+
+    private final int baseSize;
+    private final int baseChecksum;
+    private final int offset;
+    private final int length;
+    private final byte[] replacement;
+
+    /**
+     * Computes the delta between the specified previous and current marshalled forms.
+     * @param base the previously replicated marshalled form
+     * @param target the current marshalled form
+     */
+    public SessionAttributesDeltaFunction(ByteBuffer base, ByteBuffer target) {
+        int baseSize = base.remaining();
+        int targetSize = target.remaining();
+        int limit = Math.min(baseSize, targetSize);
+        int prefix = 0;
+        while ((prefix < limit) && (base.get(base.position() + prefix) == target.get(target.position() + prefix))) {
+            prefix += 1;
+        }
+        int suffix = 0;
+        while ((suffix < limit - prefix) && (base.get(base.limit() - suffix - 1) == target.get(target.limit() - suffix - 1))) {
+            suffix += 1;
+        }
+        this.baseSize = baseSize;
+        this.baseChecksum = checksum(base);
+        this.offset = prefix;
+        this.length = baseSize - prefix - suffix;
+        this.replacement = new byte[targetSize - prefix - suffix];
+        ByteBuffer source = target.duplicate();
+        source.position(target.position() + prefix);
+        source.get(this.replacement);
+    }
+
+    SessionAttributesDeltaFunction(int baseSize, int baseChecksum, int offset, int length, byte[] replacement) {
+        this.baseSize = baseSize;
+        this.baseChecksum = baseChecksum;
+        this.offset = offset;
+        this.length = length;
+        this.replacement = replacement;
+    }
+
+    int getBaseSize() {
+        return this.baseSize;
+    }
+
+    int getBaseChecksum() {
+        return this.baseChecksum;
+    }
+
+    int getOffset() {
+        return this.offset;
+    }
+
+    int getLength() {
+        return this.length;
+    }
+
+    byte[] getReplacement() {
+        return this.replacement;
+    }
+
+    /**
+     * Indicates whether or not this delta changes anything.
+     * @return true, if this delta is empty, false otherwise
+     */
+    public boolean isEmpty() {
+        return (this.length == 0) && (this.replacement.length == 0);
+    }
+
+    /**
+     * Returns the number of bytes replaced by this delta, i.e. its payload.
+     * @return the number of bytes replaced by this delta
+     */
+    public int size() {
+        return this.replacement.length;
+    }
+
+    @Override
+    public Boolean apply(EntryView.ReadWriteEntryView<SessionAttributesKey, V> entry) {
+        V value = entry.find().orElse(null);
+        if (value == null) return null;
+        V patched = this.patch(value);
+        if (patched == null) return Boolean.FALSE;
+        entry.set(patched);
+        return Boolean.TRUE;
+    }
+
+    /**
+     * Applies this delta to the specified value.
+     * @param value the current value of the cache entry
+     * @return the patched value, or null, if this delta does not apply to the specified value
+     */
+    V patch(V value) {
+        if (!(value instanceof ByteBufferMarshalledValue)) return null;
+        try {
+            ByteBuffer buffer = ((ByteBufferMarshalledValue<?>) value).getBuffer();
+            if ((buffer == null) || (buffer.remaining() != this.baseSize) || (checksum(buffer) != this.baseChecksum)) return null;
+            byte[] result = new byte[this.baseSize - this.length + this.replacement.length];
+            ByteBuffer source = buffer.duplicate();
+            source.get(result, 0, this.offset);
+            System.arraycopy(this.replacement, 0, result, this.offset, this.replacement.length);
+            source.position(source.position() + this.length);
+            source.get(result, this.offset + this.replacement.length, source.remaining());
+            @SuppressWarnings("unchecked")
+            V patched = (V) new ByteBufferMarshalledValue<>(ByteBuffer.wrap(result));
+            return patched;
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private static int checksum(ByteBuffer buffer) {
+        CRC32 checksum = new CRC32();
+        checksum.update(buffer.duplicate());
+        return (int) checksum.getValue();
+    }
+}
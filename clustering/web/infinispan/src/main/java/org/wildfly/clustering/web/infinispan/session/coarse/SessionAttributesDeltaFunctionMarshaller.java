@@ -0,0 +1,106 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.clustering.web.infinispan.session.coarse;
+
+import java.io.IOException;
+
+import org.infinispan.protostream.descriptors.WireType;
+import org.wildfly.clustering.marshalling.protostream.ProtoStreamMarshaller;
+import org.wildfly.clustering.marshalling.protostream.ProtoStreamReader;
+import org.wildfly.clustering.marshalling.protostream.ProtoStreamWriter;
+
+/**
+ * {@link ProtoStreamMarshaller} for a {@link SessionAttributesDeltaFunction}.
+ */
+public class SessionAttributesDeltaFunctionMarshaller implements ProtoStreamMarshaller<SessionAttributesDeltaFunction<Object>> {
+
+    private static final byte[] EMPTY = new byte[0];
+
+    private static final int BASE_SIZE_INDEX = 1;
+    private static final int BASE_CHECKSUM_INDEX = 2;
+    private static final int OFFSET_INDEX = 3;
+    private static final int LENGTH_INDEX = 4;
+    private static final int REPLACEMENT_INDEX = 5;
+
+    @Override
+    public SessionAttributesDeltaFunction<Object> readFrom(ProtoStreamReader reader) throws IOException {
+        int baseSize = 0;
+        int baseChecksum = 0;
+        int offset = 0;
+        int length = 0;
+        byte[] replacement = EMPTY;
+        while (!reader.isAtEnd()) {
+            int tag = reader.readTag();
+            switch (WireType.getTagFieldNumber(tag)) {
+                case BASE_SIZE_INDEX:
+                    baseSize = reader.readUInt32();
+                    break;
+                case BASE_CHECKSUM_INDEX:
+                    baseChecksum = reader.readSFixed32();
+                    break;
+                case OFFSET_INDEX:
+                    offset = reader.readUInt32();
+                    break;
+                case LENGTH_INDEX:
+                    length = reader.readUInt32();
+                    break;
+                case REPLACEMENT_INDEX:
+                    replacement = reader.readByteArray();
+                    break;
+                default:
+                    reader.skipField(tag);
+            }
+        }
+        return new SessionAttributesDeltaFunction<>(baseSize, baseChecksum, offset, length, replacement);
+    }
+
+    @Override
+    public void writeTo(ProtoStreamWriter writer, SessionAttributesDeltaFunction<Object> function) throws IOException {
+        int baseSize = function.getBaseSize();
+        if (baseSize != 0) {
+            writer.writeUInt32(BASE_SIZE_INDEX, baseSize);
+        }
+        int baseChecksum = function.getBaseChecksum();
+        if (baseChecksum != 0) {
+            writer.writeSFixed32(BASE_CHECKSUM_INDEX, baseChecksum);
+        }
+        int offset = function.getOffset();
+        if (offset != 0) {
+            writer.writeUInt32(OFFSET_INDEX, offset);
+        }
+        int length = function.getLength();
+        if (length != 0) {
+            writer.writeUInt32(LENGTH_INDEX, length);
+        }
+        byte[] replacement = function.getReplacement();
+        if (replacement.length > 0) {
+            writer.writeBytes(REPLACEMENT_INDEX, replacement);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public Class<? extends SessionAttributesDeltaFunction<Object>> getJavaClass() {
+        return (Class<SessionAttributesDeltaFunction<Object>>) (Class<?>) SessionAttributesDeltaFunction.class;
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.clustering.web.infinispan.session.coarse;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Map;
+
+import org.infinispan.Cache;
+import org.infinispan.context.Flag;
+import org.infinispan.functional.FunctionalMap;
+import org.wildfly.clustering.ee.Mutator;
+import org.wildfly.clustering.marshalling.spi.ByteBufferMarshalledValue;
+import org.wildfly.clustering.marshalling.spi.Marshaller;
+
+/**
+ * Mutator for the session attributes of a coarse granularity session that replicates only the portion of the marshalled form that changed since it was last replicated.
+ * If the attributes did not change, no mutation is performed.
+ * If the delta is not significantly smaller than the marshalled form itself, the complete marshalled form is replicated instead.
+ * The complete marshalled form is likewise replicated if the cache entry no longer matched the marshalled form from which the delta was computed, e.g. due to a concurrent writer.
+ * Deltas are applied via a functional read-write command that returns only whether or not the delta was applied, so that the cache entry is never transferred back to the caller.
+ */
+public class SessionAttributesDeltaMutator<V> implements Mutator {
+
+    private final Cache<SessionAttributesKey, V> cache;
+    private final FunctionalMap.ReadWriteMap<SessionAttributesKey, V> deltaMap;
+    private final SessionAttributesKey key;
+    private final Map<String, Object> attributes;
+    private final Marshaller<Map<String, Object>, V> marshaller;
+    private ByteBuffer base;
+
+    /**
+     * Creates a new delta mutator.
+     * @param cache the session attributes cache
+     * @param deltaMap a functional view of the session attributes cache with which to apply deltas
+     * @param key the cache key of the session attributes
+     * @param attributes the session attributes
+     * @param base the marshalled form of the session attributes, as last replicated
+     * @param marshaller the session attributes marshaller
+     */
+    public SessionAttributesDeltaMutator(Cache<SessionAttributesKey, V> cache, FunctionalMap.ReadWriteMap<SessionAttributesKey, V> deltaMap, SessionAttributesKey key, Map<String, Object> attributes, ByteBuffer base, Marshaller<Map<String, Object>, V> marshaller) {
+        this.cache = cache;
+        this.deltaMap = deltaMap;
+        this.key = key;
+        this.attributes = attributes;
+        this.base = base;
+        this.marshaller = marshaller;
+    }
+
+    @Override
+    public synchronized void mutate() {
+        try {
+            ByteBuffer target = ((ByteBufferMarshalledValue<?>) this.marshaller.write(this.attributes)).getBuffer();
+            SessionAttributesDeltaFunction<V> delta = new SessionAttributesDeltaFunction<>(this.base, target);
+            if (delta.isEmpty()) return;
+            // Replicate the complete marshalled form if the delta would save less than half of it
+            if (delta.size() <= target.remaining() / 2) {
+                Boolean applied = this.deltaMap.eval(this.key, delta).join();
+                // Entry was removed concurrently, or the mutation failed
+                if (applied == null) return;
+                if (applied.booleanValue()) {
+                    this.base = target;
+                    return;
+                }
+                // Otherwise, the entry no longer matched our base
+            }
+            @SuppressWarnings("unchecked")
+            V value = (V) new ByteBufferMarshalledValue<>(target);
+            // Use FAIL_SILENTLY to prevent mutation from failing locally due to remote exceptions
+            this.cache.getAdvancedCache().withFlags(Flag.FAIL_SILENTLY, Flag.IGNORE_RETURN_VALUES).put(this.key, value);
+            this.base = target;
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -28,8 +28,12 @@ import static org.mockito.Mockito.when;
 
 import java.time.Duration;
 import java.time.Instant;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.concurrent.TimeUnit;
 
+import org.junit.Assert;
 import org.junit.Test;
 import org.wildfly.clustering.ee.Batcher;
 import org.wildfly.clustering.ee.Remover;
@@ -83,4 +87,37 @@ public class SessionExpirationSchedulerTestCase {
         verify(batch).close();
     }
 
+    @Test
+    public void failedBatch() {
+        Batcher<TransactionBatch> batcher = mock(Batcher.class);
+        TransactionBatch batch = mock(TransactionBatch.class);
+        Remover<String> remover = mock(Remover.class);
+        ImmutableSessionMetaDataFactory<Object> metaDataFactory = mock(ImmutableSessionMetaDataFactory.class);
+        String expiredSessionId = "expired";
+        String failingSessionId = "failing";
+        String pendingSessionId = "pending";
+
+        when(batcher.createBatch()).thenReturn(batch);
+        when(remover.remove(expiredSessionId)).thenReturn(true);
+        // Fail within the batch, but not individually
+        when(remover.remove(failingSessionId)).thenThrow(new IllegalStateException()).thenReturn(true);
+        when(remover.purge(failingSessionId)).thenThrow(new IllegalStateException());
+        when(remover.remove(pendingSessionId)).thenReturn(true);
+
+        try (SessionExpirationScheduler<Object> scheduler = new SessionExpirationScheduler<>(batcher, metaDataFactory, remover, Duration.ZERO)) {
+            Collection<String> failed = scheduler.expire(Arrays.asList(expiredSessionId, failingSessionId, pendingSessionId));
+
+            // Listeners of sessions attempted by the failed batch were possibly notified, so these must be purged
+            verify(remover).remove(expiredSessionId);
+            verify(remover).purge(expiredSessionId);
+            verify(remover).remove(failingSessionId);
+            verify(remover).purge(failingSessionId);
+            // Sessions not yet attempted by the failed batch are removed normally
+            verify(remover).remove(pendingSessionId);
+            verify(remover, never()).purge(pendingSessionId);
+
+            Assert.assertEquals(Collections.singleton(failingSessionId), failed);
+        }
+    }
+
 }
@@ -0,0 +1,109 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.clustering.web.infinispan.session.coarse;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+
+import org.infinispan.functional.EntryView;
+import org.junit.Assert;
+import org.junit.Test;
+import org.wildfly.clustering.marshalling.MarshallingTester;
+import org.wildfly.clustering.marshalling.protostream.ProtoStreamTesterFactory;
+import org.wildfly.clustering.marshalling.spi.ByteBufferMarshalledValue;
+
+/**
+ * Unit test for {@link SessionAttributesDeltaFunction}.
+ */
+public class SessionAttributesDeltaFunctionTestCase {
+
+    @Test
+    public void test() throws IOException {
+        test("0123456789", "0123456789");
+        test("0123456789", "01234abc56789");
+        test("0123456789", "012389");
+        test("0123456789", "0123x56789");
+        test("0123456789", "abc");
+        test("", "0123456789");
+        test("0123456789", "");
+        test("aaaa", "aaaaaa");
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void test(String base, String target) throws IOException {
+        SessionAttributesDeltaFunction<ByteBufferMarshalledValue<Object>> function = new SessionAttributesDeltaFunction<>(buffer(base), buffer(target));
+
+        Assert.assertEquals(base.equals(target), function.isEmpty());
+
+        ByteBufferMarshalledValue<Object> result = function.patch(new ByteBufferMarshalledValue<>(buffer(base)));
+        Assert.assertEquals(buffer(target), result.getBuffer());
+
+        // Delta should not apply to a value whose marshalled form no longer matches
+        Assert.assertNull(function.patch(new ByteBufferMarshalledValue<>(buffer(base + "?"))));
+
+        // Nor to a non-existent value
+        Assert.assertNull(function.patch(null));
+
+        // Verify that only the applied flag is returned from the entry view
+        EntryView.ReadWriteEntryView<SessionAttributesKey, ByteBufferMarshalledValue<Object>> entry = mock(EntryView.ReadWriteEntryView.class);
+        when(entry.find()).thenReturn(Optional.of(new ByteBufferMarshalledValue<>(buffer(base))));
+        Assert.assertSame(Boolean.TRUE, function.apply(entry));
+        verify(entry).set(argThat(value -> {
+            try {
+                return buffer(target).equals(value.getBuffer());
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+        }));
+
+        entry = mock(EntryView.ReadWriteEntryView.class);
+        when(entry.find()).thenReturn(Optional.of(new ByteBufferMarshalledValue<>(buffer(base + "?"))));
+        Assert.assertSame(Boolean.FALSE, function.apply(entry));
+        verify(entry, never()).set(any());
+
+        entry = mock(EntryView.ReadWriteEntryView.class);
+        when(entry.find()).thenReturn(Optional.empty());
+        Assert.assertNull(function.apply(entry));
+        verify(entry, never()).set(any());
+
+        MarshallingTester<SessionAttributesDeltaFunction<ByteBufferMarshalledValue<Object>>> tester = ProtoStreamTesterFactory.INSTANCE.createTester();
+        tester.test(function, SessionAttributesDeltaFunctionTestCase::assertEquals);
+    }
+
+    private static ByteBuffer buffer(String value) {
+        return ByteBuffer.wrap(value.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    static void assertEquals(SessionAttributesDeltaFunction<?> function1, SessionAttributesDeltaFunction<?> function2) {
+        Assert.assertEquals(function1.getBaseSize(), function2.getBaseSize());
+        Assert.assertEquals(function1.getBaseChecksum(), function2.getBaseChecksum());
+        Assert.assertEquals(function1.getOffset(), function2.getOffset());
+        Assert.assertEquals(function1.getLength(), function2.getLength());
+        Assert.assertArrayEquals(function1.getReplacement(), function2.getReplacement());
+    }
+}
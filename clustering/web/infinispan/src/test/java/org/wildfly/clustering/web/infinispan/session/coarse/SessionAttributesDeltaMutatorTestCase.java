@@ -0,0 +1,202 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.clustering.web.infinispan.session.coarse;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.infinispan.AdvancedCache;
+import org.infinispan.context.Flag;
+import org.infinispan.functional.FunctionalMap;
+import org.junit.Assert;
+import org.junit.Test;
+import org.wildfly.clustering.marshalling.spi.ByteBufferMarshalledValue;
+import org.wildfly.clustering.marshalling.spi.Marshaller;
+
+/**
+ * Unit test for {@link SessionAttributesDeltaMutator}.
+ */
+public class SessionAttributesDeltaMutatorTestCase {
+
+    private final SessionAttributesKey key = new SessionAttributesKey("session");
+    private final AtomicReference<ByteBufferMarshalledValue<Map<String, Object>>> entry = new AtomicReference<>();
+    private final AdvancedCache<SessionAttributesKey, ByteBufferMarshalledValue<Map<String, Object>>> cache = mock(AdvancedCache.class);
+    private final FunctionalMap.ReadWriteMap<SessionAttributesKey, ByteBufferMarshalledValue<Map<String, Object>>> deltaMap = mock(FunctionalMap.ReadWriteMap.class);
+    private final Marshaller<Map<String, Object>, ByteBufferMarshalledValue<Map<String, Object>>> marshaller = new TextMarshaller();
+
+    @SuppressWarnings("unchecked")
+    public SessionAttributesDeltaMutatorTestCase() {
+        when(this.cache.getAdvancedCache()).thenReturn(this.cache);
+        when(this.cache.withFlags(any(Flag[].class))).thenReturn(this.cache);
+        when(this.cache.withFlags(any(Flag.class))).thenReturn(this.cache);
+        when(this.cache.withFlags(any(Flag.class), any(Flag.class))).thenReturn(this.cache);
+        when(this.cache.put(eq(this.key), any())).then(invocation -> this.entry.getAndSet(invocation.getArgument(1)));
+        when(this.deltaMap.eval(eq(this.key), any(SessionAttributesDeltaFunction.class))).then(invocation -> {
+            SessionAttributesDeltaFunction<ByteBufferMarshalledValue<Map<String, Object>>> function = invocation.getArgument(1);
+            ByteBufferMarshalledValue<Map<String, Object>> value = this.entry.get();
+            if (value == null) return CompletableFuture.completedFuture(null);
+            ByteBufferMarshalledValue<Map<String, Object>> result = function.patch(value);
+            if (result != null) {
+                this.entry.set(result);
+            }
+            return CompletableFuture.completedFuture(result != null);
+        });
+    }
+
+    @Test
+    public void unchanged() throws IOException {
+        Map<String, Object> attributes = attributes("a", "0123456789", "b", "0123456789");
+        ByteBuffer base = this.store(attributes);
+
+        new SessionAttributesDeltaMutator<>(this.cache, this.deltaMap, this.key, attributes, base, this.marshaller).mutate();
+
+        verify(this.deltaMap, never()).eval(any(), any(SessionAttributesDeltaFunction.class));
+        verify(this.cache, never()).put(any(), any());
+    }
+
+    @Test
+    public void delta() throws IOException {
+        Map<String, Object> attributes = attributes("a", "0123456789", "b", "0123456789");
+        ByteBuffer base = this.store(attributes);
+        SessionAttributesDeltaMutator<ByteBufferMarshalledValue<Map<String, Object>>> mutator = new SessionAttributesDeltaMutator<>(this.cache, this.deltaMap, this.key, attributes, base, this.marshaller);
+
+        attributes.put("a", "012345678x");
+        mutator.mutate();
+
+        verify(this.deltaMap).eval(eq(this.key), any(SessionAttributesDeltaFunction.class));
+        verify(this.cache, never()).put(any(), any());
+        Assert.assertEquals(attributes, this.read());
+
+        // Subsequent delta should be computed against the updated entry
+        attributes.put("b", "012345678y");
+        mutator.mutate();
+
+        verify(this.deltaMap, times(2)).eval(eq(this.key), any(SessionAttributesDeltaFunction.class));
+        verify(this.cache, never()).put(any(), any());
+        Assert.assertEquals(attributes, this.read());
+    }
+
+    @Test
+    public void sharedBase() throws IOException {
+        Map<String, Object> attributes1 = attributes("a", "0123456789", "b", "0123456789");
+        Map<String, Object> attributes2 = new TreeMap<>(attributes1);
+        ByteBuffer base = this.store(attributes1);
+        SessionAttributesDeltaMutator<ByteBufferMarshalledValue<Map<String, Object>>> mutator1 = new SessionAttributesDeltaMutator<>(this.cache, this.deltaMap, this.key, attributes1, base, this.marshaller);
+        SessionAttributesDeltaMutator<ByteBufferMarshalledValue<Map<String, Object>>> mutator2 = new SessionAttributesDeltaMutator<>(this.cache, this.deltaMap, this.key, attributes2, base, this.marshaller);
+
+        attributes1.put("a", "012345678x");
+        mutator1.mutate();
+        Assert.assertEquals(attributes1, this.read());
+
+        // Delta of second mutator no longer matches the entry, and must fall back to replicating its complete marshalled form
+        attributes2.put("b", "012345678y");
+        mutator2.mutate();
+        verify(this.deltaMap, times(2)).eval(eq(this.key), any(SessionAttributesDeltaFunction.class));
+        verify(this.cache).put(eq(this.key), any());
+        Assert.assertEquals(attributes2, this.read());
+
+        // Subsequent delta of second mutator should apply against its complete marshalled form
+        attributes2.put("a", "012345678z");
+        mutator2.mutate();
+        verify(this.deltaMap, times(3)).eval(eq(this.key), any(SessionAttributesDeltaFunction.class));
+        verify(this.cache).put(eq(this.key), any());
+        Assert.assertEquals(attributes2, this.read());
+    }
+
+    @Test
+    public void removed() throws IOException {
+        Map<String, Object> attributes = attributes("a", "0123456789", "b", "0123456789");
+        ByteBuffer base = this.store(attributes);
+        this.entry.set(null);
+
+        attributes.put("a", "012345678x");
+        new SessionAttributesDeltaMutator<>(this.cache, this.deltaMap, this.key, attributes, base, this.marshaller).mutate();
+
+        // Must not resurrect a removed entry
+        verify(this.deltaMap).eval(eq(this.key), any(SessionAttributesDeltaFunction.class));
+        verify(this.cache, never()).put(any(), any());
+        Assert.assertNull(this.entry.get());
+    }
+
+    private ByteBuffer store(Map<String, Object> attributes) throws IOException {
+        ByteBuffer buffer = this.marshaller.write(attributes).getBuffer();
+        this.entry.set(new ByteBufferMarshalledValue<>(buffer));
+        return buffer;
+    }
+
+    private Map<String, Object> read() throws IOException {
+        return this.marshaller.read(new ByteBufferMarshalledValue<>(this.entry.get().getBuffer()));
+    }
+
+    private static Map<String, Object> attributes(String... entries) {
+        Map<String, Object> attributes = new TreeMap<>();
+        for (int i = 0; i < entries.length; i += 2) {
+            attributes.put(entries[i], entries[i + 1]);
+        }
+        return attributes;
+    }
+
+    /**
+     * Marshals string attributes to a deterministic textual form.
+     */
+    static class TextMarshaller implements Marshaller<Map<String, Object>, ByteBufferMarshalledValue<Map<String, Object>>> {
+
+        @Override
+        public boolean isMarshallable(Object object) {
+            return object instanceof String;
+        }
+
+        @Override
+        public Map<String, Object> read(ByteBufferMarshalledValue<Map<String, Object>> value) throws IOException {
+            ByteBuffer buffer = value.getBuffer().duplicate();
+            byte[] bytes = new byte[buffer.remaining()];
+            buffer.get(bytes);
+            Map<String, Object> attributes = new TreeMap<>();
+            for (String entry : new String(bytes, StandardCharsets.UTF_8).split("\n")) {
+                if (!entry.isEmpty()) {
+                    int index = entry.indexOf('=');
+                    attributes.put(entry.substring(0, index), entry.substring(index + 1));
+                }
+            }
+            return attributes;
+        }
+
+        @Override
+        public ByteBufferMarshalledValue<Map<String, Object>> write(Map<String, Object> attributes) throws IOException {
+            StringBuilder builder = new StringBuilder();
+            for (Map.Entry<String, Object> entry : new TreeMap<>(attributes).entrySet()) {
+                builder.append(entry.getKey()).append('=').append(entry.getValue()).append('\n');
+            }
+            return new ByteBufferMarshalledValue<>(ByteBuffer.wrap(builder.toString().getBytes(StandardCharsets.UTF_8)));
+        }
+    }
+}
@@ -953,4 +953,12 @@ public interface ConnectorLogger extends BasicLogger {
 
     @Message(id = 122, value = "Thread pool name %s(type: %s) must match the workmanager name %s.")
     OperationFailedException threadPoolNameMustMatchWorkManagerName(String threadPoolName, String threadPoolType, String workManagerName);
+
+    @LogMessage(level = WARN)
+    @Message(id = 123, value = "Ignoring invalid value '%s' of system property %s, using %s instead")
+    void invalidSystemProperty(String value, String property, Object defaultValue);
+
+    @LogMessage(level = WARN)
+    @Message(id = 124, value = "Failed to send distributed work manager statistics")
+    void failedToSendStatistics(@Cause Throwable cause);
 }
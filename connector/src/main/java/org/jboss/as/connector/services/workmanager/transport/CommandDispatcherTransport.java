@@ -23,14 +23,24 @@
 package org.jboss.as.connector.services.workmanager.transport;
 
 import java.io.Serializable;
+import java.security.PrivilegedAction;
+import java.time.Duration;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.CancellationException;
 import java.util.concurrent.CompletionException;
 import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerArray;
 
 import javax.resource.spi.work.DistributableWork;
 import javax.resource.spi.work.WorkException;
@@ -40,6 +50,7 @@ import org.jboss.jca.core.api.workmanager.DistributedWorkManager;
 import org.jboss.jca.core.spi.workmanager.Address;
 import org.jboss.jca.core.workmanager.transport.remote.AbstractRemoteTransport;
 import org.jboss.jca.core.workmanager.transport.remote.ProtocolMessages.Request;
+import org.jboss.threads.JBossThreadFactory;
 import org.wildfly.clustering.Registration;
 import org.wildfly.clustering.dispatcher.Command;
 import org.wildfly.clustering.dispatcher.CommandDispatcher;
@@ -56,22 +67,41 @@ import org.wildfly.security.manager.WildFlySecurityManager;
 
 /**
  * {@link DistributedWorkManager}-specific transport based on a {@link CommandDispatcher}.
- * The current implementation is a direct translation of {@link org.jboss.jca.core.workmanager.transport.remote.jgroups.JGroupsTransport}.
+ * The current implementation is a direct translation of {@link org.jboss.jca.core.workmanager.transport.remote.jgroups.JGroupsTransport},
+ * except that statistics deltas and free thread counts are accumulated locally and sent to each member as a single command per statistics interval.
  * @author Paul Ferraro
  */
 public class CommandDispatcherTransport extends AbstractRemoteTransport<Node> implements GroupListener {
 
+    static final String STATISTICS_INTERVAL_PROPERTY = "jboss.jca.distributed-workmanager.statistics-interval";
+    static final Duration DEFAULT_STATISTICS_INTERVAL = Duration.ofMillis(500);
+
     private final ServiceExecutor executor = new StampedLockServiceExecutor();
     private final CommandDispatcherFactory dispatcherFactory;
     private final String name;
+    private final Duration statisticsInterval;
+    // Pending statistics deltas, indexed by WorkStatistic ordinal, per remote work manager
+    private final Map<Address, AtomicIntegerArray> deltas = new ConcurrentHashMap<>();
+    // Latest free thread counts of local work managers
+    private final Map<Address, Long> shortRunningFree = new ConcurrentHashMap<>();
+    private final Map<Address, Long> longRunningFree = new ConcurrentHashMap<>();
+    // Free thread counts last sent to the group, guarded by this object
+    private final Map<Address, Long> sentShortRunningFree = new HashMap<>();
+    private final Map<Address, Long> sentLongRunningFree = new HashMap<>();
 
     private volatile CommandDispatcher<CommandDispatcherTransport> dispatcher;
     private volatile Registration groupListenerRegistration;
+    private volatile ScheduledExecutorService statisticsExecutor;
     private volatile boolean initialized = false;
 
     public CommandDispatcherTransport(CommandDispatcherFactory dispatcherFactory, String name) {
+        this(dispatcherFactory, name, getStatisticsInterval(WildFlySecurityManager.getPropertyPrivileged(STATISTICS_INTERVAL_PROPERTY, null)));
+    }
+
+    public CommandDispatcherTransport(CommandDispatcherFactory dispatcherFactory, String name, Duration statisticsInterval) {
         this.dispatcherFactory = dispatcherFactory;
         this.name = name;
+        this.statisticsInterval = statisticsInterval;
     }
 
     @Override
@@ -84,12 +114,54 @@ public class CommandDispatcherTransport extends AbstractRemoteTransport<Node> im
         this.dispatcher = this.dispatcherFactory.createCommandDispatcher(this.name, this, WildFlySecurityManager.getClassLoaderPrivileged(this.getClass()));
         this.groupListenerRegistration = this.dispatcherFactory.getGroup().register(this);
         this.broadcast(new JoinCommand());
+        ThreadFactory threadFactory = WildFlySecurityManager.doUnchecked(new PrivilegedAction<ThreadFactory>() {
+            @Override
+            public ThreadFactory run() {
+                return new JBossThreadFactory(new ThreadGroup(CommandDispatcherTransport.class.getSimpleName()), Boolean.TRUE, null, "%G - %t", null, null);
+            }
+        });
+        this.statisticsExecutor = Executors.newSingleThreadScheduledExecutor(threadFactory);
+        long interval = this.statisticsInterval.toMillis();
+        Runnable task = this::sendStatistics;
+        this.statisticsExecutor.scheduleWithFixedDelay(() -> {
+            // An uncaught exception would suppress all subsequent executions
+            try {
+                this.executor.execute(task);
+            } catch (RuntimeException e) {
+                ConnectorLogger.ROOT_LOGGER.failedToSendStatistics(e);
+            }
+        }, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Parses the interval at which statistics are sent, in milliseconds, falling back to {@link #DEFAULT_STATISTICS_INTERVAL} if unspecified or invalid.
+     * @param value the value of the {@value #STATISTICS_INTERVAL_PROPERTY} system property, or null if undefined
+     * @return the statistics interval
+     */
+    static Duration getStatisticsInterval(String value) {
+        if (value != null) {
+            try {
+                long interval = Long.parseLong(value.trim());
+                if (interval > 0) {
+                    return Duration.ofMillis(interval);
+                }
+            } catch (NumberFormatException e) {
+                // Fall through
+            }
+            ConnectorLogger.ROOT_LOGGER.invalidSystemProperty(value, STATISTICS_INTERVAL_PROPERTY, DEFAULT_STATISTICS_INTERVAL.toMillis());
+        }
+        return DEFAULT_STATISTICS_INTERVAL;
     }
 
     @Override
     public void shutdown() {
         this.executor.close(() -> {
             try {
+                if (this.statisticsExecutor != null) {
+                    this.statisticsExecutor.shutdownNow();
+                }
+                // Send any statistics accumulated since the last interval
+                this.sendStatistics();
                 this.broadcast(new LeaveCommand(this.getOwnAddress()));
             } catch (WorkException e) {
                 ConnectorLogger.ROOT_LOGGER.warn(e.getLocalizedMessage(), e);
@@ -135,6 +207,142 @@ public class CommandDispatcherTransport extends AbstractRemoteTransport<Node> im
         return this.executor.execute(task).orElse(null).orElse(null);
     }
 
+    @Override
+    public void deltaDoWorkAccepted(Address address) {
+        this.delta(address, WorkStatistic.DO_WORK_ACCEPTED);
+    }
+
+    @Override
+    public void deltaDoWorkRejected(Address address) {
+        this.delta(address, WorkStatistic.DO_WORK_REJECTED);
+    }
+
+    @Override
+    public void deltaScheduleWorkAccepted(Address address) {
+        this.delta(address, WorkStatistic.SCHEDULE_WORK_ACCEPTED);
+    }
+
+    @Override
+    public void deltaScheduleWorkRejected(Address address) {
+        this.delta(address, WorkStatistic.SCHEDULE_WORK_REJECTED);
+    }
+
+    @Override
+    public void deltaStartWorkAccepted(Address address) {
+        this.delta(address, WorkStatistic.START_WORK_ACCEPTED);
+    }
+
+    @Override
+    public void deltaStartWorkRejected(Address address) {
+        this.delta(address, WorkStatistic.START_WORK_REJECTED);
+    }
+
+    @Override
+    public void deltaWorkSuccessful(Address address) {
+        this.delta(address, WorkStatistic.WORK_SUCCESSFUL);
+    }
+
+    @Override
+    public void deltaWorkFailed(Address address) {
+        this.delta(address, WorkStatistic.WORK_FAILED);
+    }
+
+    private void delta(Address address, WorkStatistic statistic) {
+        // Only deltas for work managers of other members need to be sent
+        if ((address.getTransportId() != null) && !this.getId().equals(address.getTransportId())) {
+            this.deltas.computeIfAbsent(address, key -> new AtomicIntegerArray(WorkStatistic.values().length)).incrementAndGet(statistic.ordinal());
+        }
+    }
+
+    @Override
+    public void updateShortRunningFree(Address address, long free) {
+        this.localUpdateShortRunningFree(address, free);
+        if (this.getId().equals(address.getTransportId())) {
+            this.shortRunningFree.put(address, free);
+        }
+    }
+
+    @Override
+    public void updateLongRunningFree(Address address, long free) {
+        this.localUpdateLongRunningFree(address, free);
+        if (this.getId().equals(address.getTransportId())) {
+            this.longRunningFree.put(address, free);
+        }
+    }
+
+    @Override
+    public void clearDistributedStatistics(Address address) {
+        // Discard deltas that precede the clear
+        AtomicIntegerArray counts = this.deltas.get(address);
+        if (counts != null) {
+            for (int i = 0; i < counts.length(); ++i) {
+                counts.set(i, 0);
+            }
+        }
+        super.clearDistributedStatistics(address);
+    }
+
+    /**
+     * Sends the statistics deltas and changed free thread counts accumulated since the previous invocation.
+     * Each member receives a single command containing the deltas of its own work managers and the free thread counts of ours.
+     * Commands are sent asynchronously, so that the calling thread does not wait for member responses.
+     */
+    synchronized void sendStatistics() {
+        Node localMember = this.getOwnAddress();
+        Map<Node, Map<Address, int[]>> memberDeltas = new HashMap<>();
+        Iterator<Map.Entry<Address, AtomicIntegerArray>> entries = this.deltas.entrySet().iterator();
+        while (entries.hasNext()) {
+            Map.Entry<Address, AtomicIntegerArray> entry = entries.next();
+            Node member = this.nodes.get(entry.getKey());
+            if (member == null) {
+                // Work manager has left the group
+                entries.remove();
+                continue;
+            }
+            AtomicIntegerArray counts = entry.getValue();
+            int[] values = new int[counts.length()];
+            boolean empty = true;
+            for (int i = 0; i < values.length; ++i) {
+                values[i] = counts.getAndSet(i, 0);
+                empty &= (values[i] == 0);
+            }
+            if (!empty) {
+                memberDeltas.computeIfAbsent(member, key -> new HashMap<>()).put(entry.getKey(), values);
+            }
+        }
+        Map<Address, Long> shortRunningFree = changes(this.shortRunningFree, this.sentShortRunningFree);
+        Map<Address, Long> longRunningFree = changes(this.longRunningFree, this.sentLongRunningFree);
+
+        Set<Node> members = new HashSet<>(memberDeltas.keySet());
+        if (!shortRunningFree.isEmpty() || !longRunningFree.isEmpty()) {
+            members.addAll(this.nodes.values());
+        }
+        members.remove(localMember);
+
+        for (Node member : members) {
+            Command<Void, CommandDispatcherTransport> command = new UpdateDistributedStatisticsCommand(memberDeltas.getOrDefault(member, Collections.emptyMap()), shortRunningFree, longRunningFree);
+            try {
+                this.dispatcher.executeOnMember(command, member).whenComplete((result, exception) -> {
+                    if ((exception != null) && !(exception instanceof CancellationException)) {
+                        ConnectorLogger.ROOT_LOGGER.debug(exception.getLocalizedMessage(), exception);
+                    }
+                });
+            } catch (CommandDispatcherException e) {
+                ConnectorLogger.ROOT_LOGGER.debug(e.getLocalizedMessage(), e);
+            }
+        }
+    }
+
+    private static Map<Address, Long> changes(Map<Address, Long> current, Map<Address, Long> sent) {
+        Map<Address, Long> changes = new HashMap<>();
+        for (Map.Entry<Address, Long> entry : current.entrySet()) {
+            if (!entry.getValue().equals(sent.put(entry.getKey(), entry.getValue()))) {
+                changes.put(entry.getKey(), entry.getValue());
+            }
+        }
+        return changes;
+    }
+
     private void broadcast(Command<Void, CommandDispatcherTransport> command) throws WorkException {
         CommandDispatcher<CommandDispatcherTransport> dispatcher = this.dispatcher;
         ExceptionRunnable<WorkException> task = new ExceptionRunnable<WorkException>() {
@@ -52,6 +52,6 @@ public class CommandDispatcherTransportClassTableContributor implements ClassTab
                 PingCommand.class, LongRunningFreeCommand.class, ShortRunningFreeCommand.class,
                 DoWorkCommand.class, StartWorkCommand.class, ScheduleWorkCommand.class,
                 UpdateLongRunningFreeCommand.class, UpdateShortRunningFreeCommand.class,
-                JoinCommand.class, LeaveCommand.class);
+                JoinCommand.class, LeaveCommand.class, UpdateDistributedStatisticsCommand.class);
     }
 }
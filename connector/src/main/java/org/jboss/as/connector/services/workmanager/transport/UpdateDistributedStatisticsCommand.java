@@ -0,0 +1,69 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.connector.services.workmanager.transport;
+
+import java.util.Map;
+
+import org.jboss.jca.core.spi.workmanager.Address;
+import org.wildfly.clustering.dispatcher.Command;
+
+/**
+ * Applies the statistics deltas and free thread counts accumulated by a member since its previous update.
+ * Replaces individual delta and free thread update commands.
+ */
+public class UpdateDistributedStatisticsCommand implements Command<Void, CommandDispatcherTransport> {
+    private static final long serialVersionUID = 2905307493829557632L;
+
+    private final Map<Address, int[]> deltas;
+    private final Map<Address, Long> shortRunningFree;
+    private final Map<Address, Long> longRunningFree;
+
+    /**
+     * Creates a new statistics update command.
+     * @param deltas the number of increments of each {@link WorkStatistic}, indexed by ordinal, per target work manager
+     * @param shortRunningFree the changed number of free short running threads, per source work manager
+     * @param longRunningFree the changed number of free long running threads, per source work manager
+     */
+    public UpdateDistributedStatisticsCommand(Map<Address, int[]> deltas, Map<Address, Long> shortRunningFree, Map<Address, Long> longRunningFree) {
+        this.deltas = deltas;
+        this.shortRunningFree = shortRunningFree;
+        this.longRunningFree = longRunningFree;
+    }
+
+    @Override
+    public Void execute(CommandDispatcherTransport transport) {
+        WorkStatistic[] statistics = WorkStatistic.values();
+        for (Map.Entry<Address, int[]> entry : this.deltas.entrySet()) {
+            int[] counts = entry.getValue();
+            for (WorkStatistic statistic : statistics) {
+                statistic.apply(transport, entry.getKey(), counts[statistic.ordinal()]);
+            }
+        }
+        for (Map.Entry<Address, Long> entry : this.shortRunningFree.entrySet()) {
+            transport.localUpdateShortRunningFree(entry.getKey(), entry.getValue());
+        }
+        for (Map.Entry<Address, Long> entry : this.longRunningFree.entrySet()) {
+            transport.localUpdateLongRunningFree(entry.getKey(), entry.getValue());
+        }
+        return null;
+    }
+}
@@ -0,0 +1,55 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.connector.services.workmanager.transport;
+
+import java.util.function.BiConsumer;
+
+import org.jboss.jca.core.spi.workmanager.Address;
+
+/**
+ * Enumerates the distributed work manager statistics that are communicated as deltas.
+ */
+enum WorkStatistic {
+    DO_WORK_ACCEPTED(CommandDispatcherTransport::localDeltaDoWorkAccepted),
+    DO_WORK_REJECTED(CommandDispatcherTransport::localDeltaDoWorkRejected),
+    SCHEDULE_WORK_ACCEPTED(CommandDispatcherTransport::localDeltaScheduleWorkAccepted),
+    SCHEDULE_WORK_REJECTED(CommandDispatcherTransport::localDeltaScheduleWorkRejected),
+    START_WORK_ACCEPTED(CommandDispatcherTransport::localDeltaStartWorkAccepted),
+    START_WORK_REJECTED(CommandDispatcherTransport::localDeltaStartWorkRejected),
+    WORK_SUCCESSFUL(CommandDispatcherTransport::localDeltaWorkSuccessful),
+    WORK_FAILED(CommandDispatcherTransport::localDeltaWorkFailed),
+    ;
+    private final BiConsumer<CommandDispatcherTransport, Address> delta;
+
+    WorkStatistic(BiConsumer<CommandDispatcherTransport, Address> delta) {
+        this.delta = delta;
+    }
+
+    /**
+     * Applies the specified number of increments of this statistic to the specified local work manager.
+     */
+    void apply(CommandDispatcherTransport transport, Address address, int count) {
+        for (int i = 0; i < count; ++i) {
+            this.delta.accept(transport, address);
+        }
+    }
+}
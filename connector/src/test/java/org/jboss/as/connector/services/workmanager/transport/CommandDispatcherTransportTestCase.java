@@ -0,0 +1,198 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.connector.services.workmanager.transport;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeast;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.reset;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
+
+import org.jboss.jca.core.spi.workmanager.Address;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.wildfly.clustering.Registration;
+import org.wildfly.clustering.dispatcher.Command;
+import org.wildfly.clustering.dispatcher.CommandDispatcher;
+import org.wildfly.clustering.group.Group;
+import org.wildfly.clustering.group.GroupListener;
+import org.wildfly.clustering.group.Node;
+import org.wildfly.clustering.spi.dispatcher.CommandDispatcherFactory;
+
+/**
+ * Unit test for the statistics coalescing of {@link CommandDispatcherTransport}.
+ */
+public class CommandDispatcherTransportTestCase {
+
+    private final CommandDispatcherFactory factory = mock(CommandDispatcherFactory.class);
+    private final CommandDispatcher<CommandDispatcherTransport> dispatcher = mock(CommandDispatcher.class);
+    private final Group group = mock(Group.class);
+    private final Node localMember = mock(Node.class);
+    private final Node remoteMember = mock(Node.class);
+    private final Address localAddress = new Address("local", "default", "local");
+    private final Address remoteAddress = new Address("remote", "default", "remote");
+
+    private CommandDispatcherTransport transport;
+
+    @Before
+    public void init() throws Exception {
+        when(this.localMember.getName()).thenReturn("local");
+        when(this.remoteMember.getName()).thenReturn("remote");
+        when(this.factory.getGroup()).thenReturn(this.group);
+        when(this.group.getLocalMember()).thenReturn(this.localMember);
+        when(this.group.register(any(GroupListener.class))).thenReturn(mock(Registration.class));
+        when(this.factory.createCommandDispatcher(eq("test"), any(CommandDispatcherTransport.class), any(ClassLoader.class))).thenReturn(this.dispatcher);
+        when(this.dispatcher.executeOnGroup(any())).thenReturn(Collections.emptyMap());
+        when(this.dispatcher.executeOnMember(any(), any())).thenReturn(CompletableFuture.completedFuture(null));
+    }
+
+    @After
+    public void destroy() {
+        if (this.transport != null) {
+            this.transport.shutdown();
+        }
+    }
+
+    @Test
+    public void statisticsInterval() {
+        Assert.assertEquals(CommandDispatcherTransport.DEFAULT_STATISTICS_INTERVAL, CommandDispatcherTransport.getStatisticsInterval(null));
+        Assert.assertEquals(Duration.ofMillis(100), CommandDispatcherTransport.getStatisticsInterval("100"));
+        Assert.assertEquals(Duration.ofMillis(100), CommandDispatcherTransport.getStatisticsInterval(" 100 "));
+        Assert.assertEquals(CommandDispatcherTransport.DEFAULT_STATISTICS_INTERVAL, CommandDispatcherTransport.getStatisticsInterval("invalid"));
+        Assert.assertEquals(CommandDispatcherTransport.DEFAULT_STATISTICS_INTERVAL, CommandDispatcherTransport.getStatisticsInterval("0"));
+        Assert.assertEquals(CommandDispatcherTransport.DEFAULT_STATISTICS_INTERVAL, CommandDispatcherTransport.getStatisticsInterval("-1"));
+    }
+
+    @Test
+    public void deltas() throws Exception {
+        this.start(Duration.ofHours(1));
+
+        this.transport.deltaDoWorkAccepted(this.remoteAddress);
+        this.transport.deltaDoWorkAccepted(this.remoteAddress);
+        this.transport.deltaWorkSuccessful(this.remoteAddress);
+        // Deltas of local work managers are not sent
+        this.transport.deltaWorkFailed(this.localAddress);
+
+        this.transport.sendStatistics();
+
+        // All deltas should be coalesced into a single command
+        CommandDispatcherTransport target = this.executeSentCommand();
+        verify(target, times(2)).localDeltaDoWorkAccepted(this.remoteAddress);
+        verify(target).localDeltaWorkSuccessful(this.remoteAddress);
+        verify(target, never()).localDeltaWorkFailed(any());
+
+        // Nothing to send
+        this.transport.sendStatistics();
+        verify(this.dispatcher, never()).executeOnMember(any(), any());
+
+        // Cleared deltas should not be sent
+        this.transport.deltaDoWorkRejected(this.remoteAddress);
+        this.transport.clearDistributedStatistics(this.remoteAddress);
+        this.transport.sendStatistics();
+        verify(this.dispatcher, never()).executeOnMember(any(), any());
+    }
+
+    @Test
+    public void freeCounts() throws Exception {
+        this.start(Duration.ofHours(1));
+
+        this.transport.updateShortRunningFree(this.localAddress, 5L);
+        this.transport.updateLongRunningFree(this.localAddress, 7L);
+        this.transport.updateShortRunningFree(this.localAddress, 4L);
+        this.transport.sendStatistics();
+
+        // Only the latest free counts should be sent
+        CommandDispatcherTransport target = this.executeSentCommand();
+        verify(target).localUpdateShortRunningFree(this.localAddress, 4L);
+        verify(target).localUpdateLongRunningFree(this.localAddress, 7L);
+
+        // Unchanged free counts should not be sent
+        this.transport.updateShortRunningFree(this.localAddress, 4L);
+        this.transport.sendStatistics();
+        verify(this.dispatcher, never()).executeOnMember(any(), any());
+
+        // Only changed free counts should be sent
+        this.transport.updateLongRunningFree(this.localAddress, 6L);
+        this.transport.sendStatistics();
+
+        target = this.executeSentCommand();
+        verify(target, never()).localUpdateShortRunningFree(any(), any());
+        verify(target).localUpdateLongRunningFree(this.localAddress, 6L);
+
+        // Free counts of remote work managers are never sent
+        this.transport.updateShortRunningFree(this.remoteAddress, 1L);
+        this.transport.sendStatistics();
+        verify(this.dispatcher, never()).executeOnMember(any(), any());
+    }
+
+    @Test
+    public void failure() throws Exception {
+        when(this.dispatcher.executeOnMember(any(), any())).thenThrow(new IllegalStateException()).thenReturn(CompletableFuture.completedFuture(null));
+
+        this.start(Duration.ofMillis(10));
+
+        this.transport.deltaDoWorkAccepted(this.remoteAddress);
+        verify(this.dispatcher, timeout(5000)).executeOnMember(any(), eq(this.remoteMember));
+
+        // A failed send must not cancel subsequent sends
+        this.transport.deltaDoWorkAccepted(this.remoteAddress);
+        verify(this.dispatcher, timeout(5000).times(2)).executeOnMember(any(), eq(this.remoteMember));
+    }
+
+    private void start(Duration interval) throws Exception {
+        this.transport = new CommandDispatcherTransport(this.factory, "test", interval);
+        this.transport.startup();
+        this.transport.join(this.localAddress, this.localMember);
+        this.transport.join(this.remoteAddress, this.remoteMember);
+    }
+
+    /**
+     * Captures the single command sent to the remote member, executes it against a mock transport, and resets the dispatcher.
+     */
+    private CommandDispatcherTransport executeSentCommand() throws Exception {
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Command<Void, CommandDispatcherTransport>> captor = ArgumentCaptor.forClass(Command.class);
+        verify(this.dispatcher, atLeast(1)).executeOnMember(captor.capture(), eq(this.remoteMember));
+        verify(this.dispatcher, never()).executeOnMember(any(), eq(this.localMember));
+        Assert.assertEquals(1, captor.getAllValues().size());
+        Command<Void, CommandDispatcherTransport> command = captor.getValue();
+        Assert.assertTrue(command instanceof UpdateDistributedStatisticsCommand);
+        CommandDispatcherTransport target = mock(CommandDispatcherTransport.class);
+        command.execute(target);
+        reset(this.dispatcher);
+        when(this.dispatcher.executeOnGroup(any())).thenReturn(Collections.emptyMap());
+        when(this.dispatcher.executeOnMember(any(), any())).thenReturn(CompletableFuture.completedFuture(null));
+        return target;
+    }
+}
@@ -0,0 +1,79 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.connector.services.workmanager.transport;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.jboss.jca.core.spi.workmanager.Address;
+import org.junit.Test;
+
+/**
+ * Unit test for {@link UpdateDistributedStatisticsCommand}.
+ */
+public class UpdateDistributedStatisticsCommandTestCase {
+
+    @Test
+    public void execute() {
+        Address address1 = new Address("id1", "name", "transport1");
+        Address address2 = new Address("id2", "name", "transport1");
+        Address remote = new Address("id3", "name", "transport2");
+        int[] counts1 = new int[WorkStatistic.values().length];
+        counts1[WorkStatistic.DO_WORK_ACCEPTED.ordinal()] = 2;
+        counts1[WorkStatistic.WORK_FAILED.ordinal()] = 1;
+        int[] counts2 = new int[WorkStatistic.values().length];
+        counts2[WorkStatistic.START_WORK_REJECTED.ordinal()] = 3;
+        Map<Address, int[]> deltas = new HashMap<>();
+        deltas.put(address1, counts1);
+        deltas.put(address2, counts2);
+
+        CommandDispatcherTransport transport = mock(CommandDispatcherTransport.class);
+
+        new UpdateDistributedStatisticsCommand(deltas, Collections.singletonMap(remote, 5L), Collections.singletonMap(remote, 7L)).execute(transport);
+
+        verify(transport, times(2)).localDeltaDoWorkAccepted(address1);
+        verify(transport).localDeltaWorkFailed(address1);
+        verify(transport, times(3)).localDeltaStartWorkRejected(address2);
+        verify(transport).localUpdateShortRunningFree(remote, 5L);
+        verify(transport).localUpdateLongRunningFree(remote, 7L);
+        verifyNoMoreInteractions(transport);
+    }
+
+    @Test
+    public void executeEmpty() {
+        CommandDispatcherTransport transport = mock(CommandDispatcherTransport.class);
+
+        new UpdateDistributedStatisticsCommand(Collections.emptyMap(), Collections.emptyMap(), Collections.emptyMap()).execute(transport);
+
+        verify(transport, never()).localUpdateShortRunningFree(any(), any());
+        verify(transport, never()).localUpdateLongRunningFree(any(), any());
+        verifyNoMoreInteractions(transport);
+    }
+}
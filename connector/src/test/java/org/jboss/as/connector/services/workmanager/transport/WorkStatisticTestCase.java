@@ -0,0 +1,92 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.connector.services.workmanager.transport;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import org.jboss.jca.core.spi.workmanager.Address;
+import org.junit.Test;
+import org.mockito.verification.VerificationMode;
+
+/**
+ * Unit test for {@link WorkStatistic}.
+ */
+public class WorkStatisticTestCase {
+
+    @Test
+    public void apply() {
+        Address address = new Address("id", "name", "transport");
+
+        for (WorkStatistic statistic : WorkStatistic.values()) {
+            CommandDispatcherTransport transport = mock(CommandDispatcherTransport.class);
+
+            statistic.apply(transport, address, 0);
+            verifyDelta(statistic, transport, never());
+
+            statistic.apply(transport, address, 3);
+            verifyDelta(statistic, transport, times(3));
+
+            // Verify that no other statistic was updated
+            for (WorkStatistic other : WorkStatistic.values()) {
+                if (other != statistic) {
+                    verifyDelta(other, transport, never());
+                }
+            }
+        }
+    }
+
+    static void verifyDelta(WorkStatistic statistic, CommandDispatcherTransport transport, VerificationMode mode) {
+        CommandDispatcherTransport verifier = verify(transport, mode);
+        switch (statistic) {
+            case DO_WORK_ACCEPTED:
+                verifier.localDeltaDoWorkAccepted(any());
+                break;
+            case DO_WORK_REJECTED:
+                verifier.localDeltaDoWorkRejected(any());
+                break;
+            case SCHEDULE_WORK_ACCEPTED:
+                verifier.localDeltaScheduleWorkAccepted(any());
+                break;
+            case SCHEDULE_WORK_REJECTED:
+                verifier.localDeltaScheduleWorkRejected(any());
+                break;
+            case START_WORK_ACCEPTED:
+                verifier.localDeltaStartWorkAccepted(any());
+                break;
+            case START_WORK_REJECTED:
+                verifier.localDeltaStartWorkRejected(any());
+                break;
+            case WORK_SUCCESSFUL:
+                verifier.localDeltaWorkSuccessful(any());
+                break;
+            case WORK_FAILED:
+                verifier.localDeltaWorkFailed(any());
+                break;
+            default:
+                throw new IllegalArgumentException(statistic.name());
+        }
+    }
+}
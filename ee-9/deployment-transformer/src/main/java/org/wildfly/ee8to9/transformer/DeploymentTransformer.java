@@ -21,30 +21,30 @@ package org.wildfly.ee8to9.transformer;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.file.Path;
+import java.nio.file.Paths;
 
 import org.jboss.logging.Logger;
-import org.wildfly.galleon.plugin.transformer.JakartaTransformer;
 import org.wildfly.security.manager.WildFlySecurityManager;
 
 /**
  * WildFly Core DeploymentTransformer implementation that uses the WF Galleon integration with Eclipse Transformer to
  * transform.
+ * Transformed deployments are cached within the server data directory, and nested archives are transformed concurrently.
  */
 public final class DeploymentTransformer implements org.jboss.as.server.deployment.transformation.DeploymentTransformer {
 
     private static final Logger logger = Logger.getLogger(DeploymentTransformer.class.getPackage().getName());
+    // Maximum size of the transformed deployment cache in megabytes, where 0 disables the cache
+    private static final String CACHE_MAX_SIZE_PROPERTY = "org.wildfly.unsupported.jakarta.transformer.cache.max-size";
+    private static final long DEFAULT_CACHE_MAX_SIZE = 1024;
+    private static final long CACHE_MAX_SIZE = getCacheMaxSize(WildFlySecurityManager.getPropertyPrivileged(CACHE_MAX_SIZE_PROPERTY, null)) * 1024 * 1024;
+
+    private final ParallelArchiveTransformer transformer = new ParallelArchiveTransformer(logger);
+    private final TransformedArchiveCache cache = createCache(this.transformer);
 
     public InputStream transform(InputStream in, String name) throws IOException {
-        final boolean verbose = logger.isTraceEnabled();
         if (isEnabled()) {
-            // first parameter represents external configs directory - null indicates use provided transformation defaults
-            // The name captures the type of file.
-            return JakartaTransformer.transform(null, in, name, verbose, new JakartaTransformer.LogHandler() {
-                @Override
-                public void print(String format, Object... args) {
-                    logger.tracef(format, args);
-                }
-            });
+            return (this.cache != null) ? this.cache.transform(in, name) : this.transformer.transform(in, name);
         }
         logger.tracef("Skipping processing of %s", name);
         return in;
@@ -63,6 +63,32 @@ public final class DeploymentTransformer implements org.jboss.as.server.deployme
         */
     }
 
+    /**
+     * Parses the maximum size of the transformed deployment cache, falling back to the default size if the specified value is invalid.
+     * @param value a size in megabytes, or null if unspecified
+     * @return a size in megabytes
+     */
+    static long getCacheMaxSize(String value) {
+        if (value != null) {
+            try {
+                long size = Long.parseLong(value.trim());
+                // Guard against overflow when converting to bytes
+                if ((size >= 0) && (size <= Long.MAX_VALUE / (1024 * 1024))) {
+                    return size;
+                }
+            } catch (NumberFormatException e) {
+                // Fall through
+            }
+            logger.warnf("Invalid value '%s' for system property %s, using default of %d", value, CACHE_MAX_SIZE_PROPERTY, DEFAULT_CACHE_MAX_SIZE);
+        }
+        return DEFAULT_CACHE_MAX_SIZE;
+    }
+
+    private static TransformedArchiveCache createCache(ParallelArchiveTransformer transformer) {
+        String dataDir = WildFlySecurityManager.getPropertyPrivileged("jboss.server.data.dir", null);
+        return (dataDir != null) && (CACHE_MAX_SIZE > 0) ? new TransformedArchiveCache(Paths.get(dataDir, "jakarta-transformer"), CACHE_MAX_SIZE, transformer, logger) : null;
+    }
+
     private boolean isEnabled() {
         final String value = WildFlySecurityManager.getPropertyPrivileged("org.wildfly.unsupported.skip.jakarta.transformer", "false");
         return !Boolean.parseBoolean(value);
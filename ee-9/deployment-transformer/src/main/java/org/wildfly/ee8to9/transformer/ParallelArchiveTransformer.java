@@ -0,0 +1,208 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.wildfly.ee8to9.transformer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import java.util.zip.ZipInputStream;
+import java.util.zip.ZipOutputStream;
+
+import org.jboss.logging.Logger;
+import org.wildfly.galleon.plugin.transformer.JakartaTransformer;
+
+/**
+ * Transforms an archive by transforming each of its nested archives concurrently, followed by the remaining entries of the archive itself.
+ * Since the Eclipse transformer processes nested archives independently of their enclosing archive, the result is equivalent to transforming the archive as a whole.
+ */
+class ParallelArchiveTransformer {
+
+    private static final String[] ARCHIVE_SUFFIXES = new String[] { ".ear", ".war", ".rar", ".jar" };
+    // Shared by all deployments, whose threads are only retained while in use
+    private static final ExecutorService EXECUTOR = createExecutor();
+
+    private final Logger logger;
+    private final JakartaTransformer.LogHandler handler;
+
+    ParallelArchiveTransformer(Logger logger) {
+        this.logger = logger;
+        this.handler = new JakartaTransformer.LogHandler() {
+            @Override
+            public void print(String format, Object... args) {
+                logger.tracef(format, args);
+            }
+        };
+    }
+
+    /**
+     * Transforms the specified source file into the specified target file.
+     * @param source the file to transform
+     * @param name the deployment name, which determines the type of transformation
+     * @param target the file to which to write the transformed content
+     * @param directory a directory for intermediate files
+     */
+    void transform(Path source, String name, Path target, Path directory) throws IOException {
+        Map<String, Future<Path>> archives = new LinkedHashMap<>();
+        List<Path> files = new ArrayList<>();
+        try (ZipFile zip = isArchive(name) ? open(source) : null) {
+            if (zip != null) {
+                for (Enumeration<? extends ZipEntry> entries = zip.entries(); entries.hasMoreElements(); ) {
+                    ZipEntry entry = entries.nextElement();
+                    if (!entry.isDirectory() && isArchive(entry.getName())) {
+                        Path file = Files.createTempFile(directory, "nested", ".tmp");
+                        files.add(file);
+                        archives.put(entry.getName(), EXECUTOR.submit(() -> this.transform(zip, entry, file)));
+                    }
+                }
+            }
+            if (archives.isEmpty()) {
+                // Nothing to parallelize
+                this.transform(source, name, target);
+                return;
+            }
+            // Transform the remaining entries while nested archives are transformed
+            Path remainder = Files.createTempFile(directory, "remainder", ".tmp");
+            files.add(remainder);
+            try (ZipOutputStream output = new ZipOutputStream(Files.newOutputStream(remainder))) {
+                for (Enumeration<? extends ZipEntry> entries = zip.entries(); entries.hasMoreElements(); ) {
+                    ZipEntry entry = entries.nextElement();
+                    if (!archives.containsKey(entry.getName())) {
+                        output.putNextEntry(new ZipEntry(entry.getName()));
+                        try (InputStream input = zip.getInputStream(entry)) {
+                            copy(input, output);
+                        }
+                        output.closeEntry();
+                    }
+                }
+            }
+            try (ZipOutputStream output = new ZipOutputStream(Files.newOutputStream(target))) {
+                try (InputStream transformed = this.transform(Files.newInputStream(remainder), name); ZipInputStream input = new ZipInputStream(transformed)) {
+                    for (ZipEntry entry = input.getNextEntry(); entry != null; entry = input.getNextEntry()) {
+                        output.putNextEntry(new ZipEntry(entry.getName()));
+                        copy(input, output);
+                        output.closeEntry();
+                    }
+                }
+                for (Map.Entry<String, Future<Path>> entry : archives.entrySet()) {
+                    Path file = entry.getValue().get();
+                    output.putNextEntry(new ZipEntry(entry.getKey()));
+                    Files.copy(file, output);
+                    output.closeEntry();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException(e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            throw (cause instanceof IOException) ? (IOException) cause : new IOException(cause);
+        } finally {
+            // Cancel any outstanding transformations, e.g. if another failed
+            for (Future<Path> future : archives.values()) {
+                future.cancel(true);
+            }
+            for (Path file : files) {
+                Files.deleteIfExists(file);
+            }
+        }
+    }
+
+    private Path transform(ZipFile zip, ZipEntry entry, Path target) throws IOException {
+        String name = entry.getName();
+        // The transformer creates an intermediate file using this name
+        String simpleName = name.substring(name.lastIndexOf('/') + 1);
+        try (InputStream input = this.transform(zip.getInputStream(entry), simpleName); OutputStream output = Files.newOutputStream(target)) {
+            copy(input, output);
+        }
+        return target;
+    }
+
+    private void transform(Path source, String name, Path target) throws IOException {
+        try (InputStream input = this.transform(Files.newInputStream(source), name); OutputStream output = Files.newOutputStream(target)) {
+            copy(input, output);
+        }
+    }
+
+    InputStream transform(InputStream input, String name) throws IOException {
+        try {
+            // first parameter represents external configs directory - null indicates use provided transformation defaults
+            // The name captures the type of file.
+            return JakartaTransformer.transform(null, input, name, this.logger.isTraceEnabled(), this.handler);
+        } finally {
+            input.close();
+        }
+    }
+
+    private static ExecutorService createExecutor() {
+        int threads = Runtime.getRuntime().availableProcessors();
+        AtomicInteger count = new AtomicInteger();
+        ThreadFactory factory = new ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable task) {
+                Thread thread = new Thread(task, "jakarta-transformer-" + count.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            }
+        };
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 60L, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), factory);
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    private static ZipFile open(Path file) {
+        try {
+            return new ZipFile(file.toFile());
+        } catch (IOException e) {
+            // Not a valid archive, let the transformer decide how to handle it
+            return null;
+        }
+    }
+
+    private static boolean isArchive(String name) {
+        for (String suffix : ARCHIVE_SUFFIXES) {
+            if (name.endsWith(suffix)) return true;
+        }
+        return false;
+    }
+
+    private static void copy(InputStream input, OutputStream output) throws IOException {
+        byte[] buffer = new byte[8192];
+        int read;
+        while ((read = input.read(buffer)) > 0) {
+            output.write(buffer, 0, read);
+        }
+    }
+}
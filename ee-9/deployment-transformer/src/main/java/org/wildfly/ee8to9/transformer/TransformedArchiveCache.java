@@ -0,0 +1,212 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.wildfly.ee8to9.transformer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Properties;
+
+import org.jboss.logging.Logger;
+import org.wildfly.galleon.plugin.transformer.JakartaTransformer;
+
+/**
+ * Cache of transformed deployments, stored within a directory and keyed by the content hash of the untransformed deployment and the transformer version.
+ * Deployments whose content is unchanged, e.g. on server restart or redeploy, are therefore only transformed once.
+ * The total size of the cache is bounded, evicting the least recently used entries first.
+ * Temporary files left behind by a previous server process, e.g. one that crashed mid-transformation, are removed on first use.
+ */
+class TransformedArchiveCache {
+
+    private static final String SUFFIX = ".transformed";
+    private static final String TEMP_SUFFIX = ".tmp";
+    private static final String VERSION = transformerVersion();
+
+    private final Path directory;
+    private final long maxSize;
+    private final ParallelArchiveTransformer transformer;
+    private final Logger logger;
+    // Guarded by this object
+    private boolean initialized = false;
+
+    TransformedArchiveCache(Path directory, long maxSize, ParallelArchiveTransformer transformer, Logger logger) {
+        this.directory = directory;
+        this.maxSize = maxSize;
+        this.transformer = transformer;
+        this.logger = logger;
+    }
+
+    /**
+     * Returns the transformed content of the specified deployment, transforming it only if not already cached.
+     * @param in the untransformed deployment content
+     * @param name the deployment name
+     * @return the transformed deployment content
+     */
+    InputStream transform(InputStream in, String name) throws IOException {
+        this.initialize();
+        Path source = Files.createTempFile(this.directory, "source", TEMP_SUFFIX);
+        try {
+            MessageDigest digest = createDigest();
+            try (InputStream input = new DigestInputStream(in, digest)) {
+                Files.copy(input, source, StandardCopyOption.REPLACE_EXISTING);
+            }
+            // The deployment name determines the type of transformation
+            int index = name.lastIndexOf('.');
+            digest.update(((index >= 0) ? name.substring(index) : "").getBytes(StandardCharsets.UTF_8));
+            digest.update(VERSION.getBytes(StandardCharsets.UTF_8));
+            Path entry = this.directory.resolve(toHex(digest.digest()) + SUFFIX);
+
+            try {
+                InputStream result = Files.newInputStream(entry);
+                this.touch(entry);
+                this.logger.debugf("Using cached transformation of %s", name);
+                return result;
+            } catch (NoSuchFileException e) {
+                this.logger.debugf("Transforming %s", name);
+            }
+
+            Path target = Files.createTempFile(this.directory, "target", TEMP_SUFFIX);
+            try {
+                this.transformer.transform(source, name, target, this.directory);
+                try {
+                    Files.move(target, entry, StandardCopyOption.ATOMIC_MOVE);
+                } catch (FileAlreadyExistsException e) {
+                    // Concurrently transformed by another thread
+                }
+            } finally {
+                Files.deleteIfExists(target);
+            }
+            InputStream result = Files.newInputStream(entry);
+            try {
+                this.evict(entry);
+            } catch (IOException e) {
+                // Failure to evict should not fail the deployment
+                this.logger.warnf(e, "Failed to evict entries from %s", this.directory);
+            }
+            return result;
+        } finally {
+            Files.deleteIfExists(source);
+        }
+    }
+
+    /**
+     * Creates the cache directory, if necessary, and removes any stale temporary files, prior to creating any temporary files of this cache.
+     */
+    private synchronized void initialize() throws IOException {
+        if (this.initialized) return;
+        Files.createDirectories(this.directory);
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(this.directory, "*" + TEMP_SUFFIX)) {
+            for (Path file : stream) {
+                try {
+                    Files.deleteIfExists(file);
+                } catch (IOException e) {
+                    this.logger.debugf(e, "Failed to delete stale temporary file %s", file);
+                }
+            }
+        }
+        this.initialized = true;
+    }
+
+    /**
+     * Records access to the specified entry, for the purpose of LRU eviction.
+     */
+    private void touch(Path entry) {
+        try {
+            Files.setLastModifiedTime(entry, FileTime.fromMillis(System.currentTimeMillis()));
+        } catch (IOException e) {
+            this.logger.debugf(e, "Failed to update last modified time of %s", entry);
+        }
+    }
+
+    /**
+     * Removes the least recently used cache entries until the cache fits within its maximum size.
+     * @param retain an entry that must not be evicted
+     */
+    private void evict(Path retain) throws IOException {
+        List<Path> entries = new ArrayList<>();
+        long size = 0;
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(this.directory, "*" + SUFFIX)) {
+            for (Path entry : stream) {
+                entries.add(entry);
+                size += Files.size(entry);
+            }
+        }
+        if (size <= this.maxSize) return;
+        entries.sort(Comparator.comparing(TransformedArchiveCache::lastModified));
+        for (Path entry : entries) {
+            if (size <= this.maxSize) break;
+            if (!entry.equals(retain)) {
+                long entrySize = Files.size(entry);
+                if (Files.deleteIfExists(entry)) {
+                    size -= entrySize;
+                }
+            }
+        }
+    }
+
+    private static FileTime lastModified(Path entry) {
+        try {
+            return Files.readAttributes(entry, BasicFileAttributes.class).lastModifiedTime();
+        } catch (IOException e) {
+            return FileTime.fromMillis(0);
+        }
+    }
+
+    private static MessageDigest createDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String toHex(byte[] bytes) {
+        StringBuilder builder = new StringBuilder(bytes.length * 2);
+        for (byte b : bytes) {
+            builder.append(Character.forDigit((b >> 4) & 0xf, 16)).append(Character.forDigit(b & 0xf, 16));
+        }
+        return builder.toString();
+    }
+
+    private static String transformerVersion() {
+        Properties properties = new Properties();
+        try (InputStream input = JakartaTransformer.class.getResourceAsStream("/META-INF/maven/org.wildfly.galleon-plugins/transformer/pom.properties")) {
+            if (input != null) {
+                properties.load(input);
+            }
+        } catch (IOException e) {
+            // Fall through
+        }
+        return properties.getProperty("version", "unknown");
+    }
+}
@@ -0,0 +1,266 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.wildfly.ee8to9.transformer;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+import java.util.zip.ZipOutputStream;
+
+import org.jboss.logging.Logger;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Unit test for {@link TransformedArchiveCache} and {@link ParallelArchiveTransformer}, using a stub transformation.
+ */
+public class TransformedArchiveCacheTestCase {
+
+    private static final Logger LOGGER = Logger.getLogger(TransformedArchiveCacheTestCase.class);
+
+    private final StubTransformer transformer = new StubTransformer();
+    private Path directory;
+
+    @Before
+    public void init() throws IOException {
+        this.directory = Files.createTempDirectory("transformed");
+    }
+
+    @After
+    public void destroy() throws IOException {
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(this.directory)) {
+            for (Path file : stream) {
+                Files.delete(file);
+            }
+        }
+        Files.delete(this.directory);
+    }
+
+    @Test
+    public void hit() throws IOException {
+        TransformedArchiveCache cache = new TransformedArchiveCache(this.directory, Long.MAX_VALUE, this.transformer, LOGGER);
+        byte[] content = "content".getBytes(StandardCharsets.UTF_8);
+
+        Assert.assertArrayEquals(content, read(cache.transform(new ByteArrayInputStream(content), "a.xml")));
+        Assert.assertEquals(1, this.transformer.getCount("a.xml"));
+
+        // Same content should be served from cache
+        Assert.assertArrayEquals(content, read(cache.transform(new ByteArrayInputStream(content), "a.xml")));
+        Assert.assertEquals(1, this.transformer.getCount("a.xml"));
+
+        // Different content is a cache miss
+        byte[] otherContent = "other".getBytes(StandardCharsets.UTF_8);
+        Assert.assertArrayEquals(otherContent, read(cache.transform(new ByteArrayInputStream(otherContent), "a.xml")));
+        Assert.assertEquals(2, this.transformer.getCount("a.xml"));
+
+        // Same content, but different type of deployment is a cache miss
+        Assert.assertArrayEquals(content, read(cache.transform(new ByteArrayInputStream(content), "a.txt")));
+        Assert.assertEquals(1, this.transformer.getCount("a.txt"));
+
+        this.assertNoTemporaryFiles(3);
+    }
+
+    @Test
+    public void nested() throws IOException {
+        TransformedArchiveCache cache = new TransformedArchiveCache(this.directory, Long.MAX_VALUE, this.transformer, LOGGER);
+        Map<String, byte[]> jar1 = Collections.singletonMap("META-INF/MANIFEST.MF", bytes("jar1"));
+        Map<String, byte[]> jar2 = Collections.singletonMap("META-INF/MANIFEST.MF", bytes("jar2"));
+        Map<String, byte[]> war = new TreeMap<>();
+        war.put("WEB-INF/lib/jar2.jar", zip(jar2));
+        war.put("WEB-INF/web.xml", bytes("web"));
+        Map<String, byte[]> ear = new TreeMap<>();
+        ear.put("META-INF/application.xml", bytes("application"));
+        ear.put("lib/jar1.jar", zip(jar1));
+        ear.put("web.war", zip(war));
+
+        Map<String, byte[]> result = unzip(read(cache.transform(new ByteArrayInputStream(zip(ear)), "test.ear")));
+
+        Assert.assertEquals(ear.keySet(), result.keySet());
+        Assert.assertArrayEquals(ear.get("META-INF/application.xml"), result.get("META-INF/application.xml"));
+        Assert.assertArrayEquals(ear.get("lib/jar1.jar"), result.get("lib/jar1.jar"));
+        Assert.assertArrayEquals(ear.get("web.war"), result.get("web.war"));
+        // Nested archives are transformed individually, followed by the remainder of the archive
+        Assert.assertEquals(1, this.transformer.getCount("jar1.jar"));
+        Assert.assertEquals(1, this.transformer.getCount("web.war"));
+        Assert.assertEquals(1, this.transformer.getCount("test.ear"));
+
+        this.assertNoTemporaryFiles(1);
+    }
+
+    @Test
+    public void eviction() throws Exception {
+        byte[] a = new byte[100];
+        byte[] b = new byte[100];
+        byte[] c = new byte[100];
+        b[0] = 1;
+        c[0] = 2;
+        // Large enough for 2 entries
+        TransformedArchiveCache cache = new TransformedArchiveCache(this.directory, 250, this.transformer, LOGGER);
+
+        read(cache.transform(new ByteArrayInputStream(a), "a.xml"));
+        Thread.sleep(50);
+        read(cache.transform(new ByteArrayInputStream(b), "a.xml"));
+        Thread.sleep(50);
+        // Access a, such that b becomes least recently used
+        read(cache.transform(new ByteArrayInputStream(a), "a.xml"));
+        Assert.assertEquals(2, this.transformer.getCount("a.xml"));
+        Thread.sleep(50);
+        read(cache.transform(new ByteArrayInputStream(c), "a.xml"));
+        Assert.assertEquals(3, this.transformer.getCount("a.xml"));
+        this.assertNoTemporaryFiles(2);
+
+        // a and c are cached, b was evicted
+        read(cache.transform(new ByteArrayInputStream(a), "a.xml"));
+        read(cache.transform(new ByteArrayInputStream(c), "a.xml"));
+        Assert.assertEquals(3, this.transformer.getCount("a.xml"));
+        read(cache.transform(new ByteArrayInputStream(b), "a.xml"));
+        Assert.assertEquals(4, this.transformer.getCount("a.xml"));
+        this.assertNoTemporaryFiles(2);
+    }
+
+    @Test
+    public void failure() throws IOException {
+        TransformedArchiveCache cache = new TransformedArchiveCache(this.directory, Long.MAX_VALUE, this.transformer, LOGGER);
+        Map<String, byte[]> ear = new TreeMap<>();
+        ear.put("META-INF/application.xml", bytes("application"));
+        ear.put("lib/failing.jar", zip(Collections.singletonMap("META-INF/MANIFEST.MF", bytes("jar"))));
+
+        try {
+            cache.transform(new ByteArrayInputStream(zip(ear)), "test.ear");
+            Assert.fail("Transformation should have failed");
+        } catch (IOException e) {
+            // Expected
+        }
+        // Failed transformations must not leave any files behind
+        this.assertNoTemporaryFiles(0);
+    }
+
+    @Test
+    public void staleTemporaryFiles() throws IOException {
+        // Simulate temporary files left behind by a crashed server
+        Files.createTempFile(this.directory, "source", ".tmp");
+        Files.createTempFile(this.directory, "nested", ".tmp");
+        TransformedArchiveCache cache = new TransformedArchiveCache(this.directory, Long.MAX_VALUE, this.transformer, LOGGER);
+        byte[] content = bytes("content");
+
+        Assert.assertArrayEquals(content, read(cache.transform(new ByteArrayInputStream(content), "a.xml")));
+
+        this.assertNoTemporaryFiles(1);
+    }
+
+    private void assertNoTemporaryFiles(int entries) throws IOException {
+        List<String> files = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(this.directory)) {
+            for (Path file : stream) {
+                files.add(file.getFileName().toString());
+            }
+        }
+        Assert.assertEquals(files.toString(), entries, files.size());
+        for (String file : files) {
+            Assert.assertTrue(file, file.endsWith(".transformed"));
+        }
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static byte[] read(InputStream input) throws IOException {
+        try (InputStream in = input) {
+            ByteArrayOutputStream output = new ByteArrayOutputStream();
+            byte[] buffer = new byte[256];
+            int read;
+            while ((read = in.read(buffer)) > 0) {
+                output.write(buffer, 0, read);
+            }
+            return output.toByteArray();
+        }
+    }
+
+    private static byte[] zip(Map<String, byte[]> entries) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ZipOutputStream output = new ZipOutputStream(bytes)) {
+            for (Map.Entry<String, byte[]> entry : entries.entrySet()) {
+                output.putNextEntry(new ZipEntry(entry.getKey()));
+                output.write(entry.getValue());
+                output.closeEntry();
+            }
+        }
+        return bytes.toByteArray();
+    }
+
+    private static Map<String, byte[]> unzip(byte[] bytes) throws IOException {
+        Map<String, byte[]> entries = new TreeMap<>();
+        try (ZipInputStream input = new ZipInputStream(new ByteArrayInputStream(bytes))) {
+            for (ZipEntry entry = input.getNextEntry(); entry != null; entry = input.getNextEntry()) {
+                ByteArrayOutputStream output = new ByteArrayOutputStream();
+                byte[] buffer = new byte[256];
+                int read;
+                while ((read = input.read(buffer)) > 0) {
+                    output.write(buffer, 0, read);
+                }
+                entries.put(entry.getName(), output.toByteArray());
+            }
+        }
+        return entries;
+    }
+
+    /**
+     * Transformer that returns its input unchanged, recording the number of transformations per name, and failing for names containing "failing".
+     */
+    static class StubTransformer extends ParallelArchiveTransformer {
+        private final Map<String, AtomicInteger> counts = new ConcurrentHashMap<>();
+
+        StubTransformer() {
+            super(LOGGER);
+        }
+
+        int getCount(String name) {
+            AtomicInteger count = this.counts.get(name);
+            return (count != null) ? count.get() : 0;
+        }
+
+        @Override
+        InputStream transform(InputStream input, String name) throws IOException {
+            try (InputStream in = input) {
+                this.counts.computeIfAbsent(name, key -> new AtomicInteger()).incrementAndGet();
+                if (name.contains("failing")) {
+                    throw new IOException(name);
+                }
+                return new ByteArrayInputStream(read(in));
+            }
+        }
+    }
+}
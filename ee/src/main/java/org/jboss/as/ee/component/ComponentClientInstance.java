@@ -4,6 +4,7 @@ import org.jboss.as.ee.logging.EeLogger;
 import org.jboss.invocation.InterceptorContext;
 
 import java.io.Serializable;
+import java.util.AbstractMap;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -26,6 +27,8 @@ public class ComponentClientInstance implements Serializable {
 
     private final Map<Object, Object> contextInformation = new HashMap<Object, Object>();
     private volatile boolean constructionComplete = false;
+    // Snapshot of the context information, taken once construction is complete, so invocations need not iterate the map
+    private transient volatile Map.Entry<Object, Object>[] entries = null;
 
     public Object getViewInstanceData(final Object key) {
         return contextInformation.get(key);
@@ -39,13 +42,22 @@ public class ComponentClientInstance implements Serializable {
     }
 
     void prepareInterceptorContext(InterceptorContext interceptorContext){
-        for(Map.Entry<Object, Object> entry : contextInformation.entrySet()) {
-            interceptorContext.putPrivateData(entry.getKey(), entry.getValue());
+        final Map.Entry<Object, Object>[] entries = this.entries;
+        if (entries != null) {
+            for (Map.Entry<Object, Object> entry : entries) {
+                interceptorContext.putPrivateData(entry.getKey(), entry.getValue());
+            }
+        } else {
+            for(Map.Entry<Object, Object> entry : contextInformation.entrySet()) {
+                interceptorContext.putPrivateData(entry.getKey(), entry.getValue());
+            }
         }
     }
 
+    @SuppressWarnings("unchecked")
     void constructionComplete() {
         constructionComplete = true;
+        entries = contextInformation.entrySet().stream().map(AbstractMap.SimpleImmutableEntry::new).toArray(Map.Entry[]::new);
     }
 
 }
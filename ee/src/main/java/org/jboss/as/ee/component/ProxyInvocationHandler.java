@@ -41,9 +41,13 @@ import org.wildfly.security.manager.WildFlySecurityManager;
  */
 public final class ProxyInvocationHandler implements InvocationHandler {
 
+    private static final PrivilegedAction<SecurityDomain> GET_CURRENT_SECURITY_DOMAIN = SecurityDomain::getCurrent;
+
     private final Map<Method, Interceptor> interceptors;
+    private final Component component;
     private final ComponentView componentView;
     private final ComponentClientInstance instance;
+    private final boolean callerSecurityDomainRequired;
 
     /**
      * Construct a new instance.
@@ -53,9 +57,23 @@ public final class ProxyInvocationHandler implements InvocationHandler {
      * @param componentView The component view
      */
     public ProxyInvocationHandler(final Map<Method, Interceptor> interceptors, ComponentClientInstance instance, ComponentView componentView) {
+        this(interceptors, instance, componentView, true);
+    }
+
+    /**
+     * Construct a new instance.
+     *
+     * @param interceptors the interceptors map to use
+     * @param instance The view instane data
+     * @param componentView The component view
+     * @param callerSecurityDomainRequired whether each invocation must capture the security domain of the caller
+     */
+    public ProxyInvocationHandler(final Map<Method, Interceptor> interceptors, ComponentClientInstance instance, ComponentView componentView, boolean callerSecurityDomainRequired) {
         this.interceptors = interceptors;
         this.instance = instance;
         this.componentView = componentView;
+        this.component = componentView.getComponent();
+        this.callerSecurityDomainRequired = callerSecurityDomainRequired;
     }
 
     /** {@inheritDoc} */
@@ -67,11 +85,13 @@ public final class ProxyInvocationHandler implements InvocationHandler {
         final InterceptorContext context = new InterceptorContext();
         // special location for original proxy
         context.putPrivateData(Object.class, proxy);
-        context.putPrivateData(Component.class, componentView.getComponent());
+        context.putPrivateData(Component.class, component);
         context.putPrivateData(ComponentView.class, componentView);
-        context.putPrivateData(SecurityDomain.class, WildFlySecurityManager.isChecking() ?
-                AccessController.doPrivileged((PrivilegedAction<SecurityDomain>) SecurityDomain::getCurrent) :
-                SecurityDomain.getCurrent());
+        if (callerSecurityDomainRequired) {
+            context.putPrivateData(SecurityDomain.class, WildFlySecurityManager.isChecking() ?
+                    AccessController.doPrivileged(GET_CURRENT_SECURITY_DOMAIN) :
+                    SecurityDomain.getCurrent());
+        }
         instance.prepareInterceptorContext(context);
         context.setParameters(args);
         context.setMethod(method);
@@ -58,6 +58,7 @@ public class ViewConfiguration {
     private final List<DependencyConfigurator<ViewService>> dependencies = new ArrayList<DependencyConfigurator<ViewService>>();
     private final Map<Method, Method> viewToComponentMethodMap = new HashMap<>();
     private ViewInstanceFactory viewInstanceFactory;
+    private boolean callerSecurityDomainRequired = true;
 
     /**
      * Construct a new instance.
@@ -278,6 +279,26 @@ public class ViewConfiguration {
         this.viewInstanceFactory = viewInstanceFactory;
     }
 
+    /**
+     * Indicates whether proxy invocations of this view must capture the security domain of the caller.
+     *
+     * @return true, if the security domain of the caller is stored in the private data of each proxy invocation
+     */
+    public boolean isCallerSecurityDomainRequired() {
+        return callerSecurityDomainRequired;
+    }
+
+    /**
+     * Sets whether proxy invocations of this view must capture the security domain of the caller.
+     * Views whose interceptors never read the {@link org.wildfly.security.auth.server.SecurityDomain} private data of the caller
+     * can disable this to avoid a security domain lookup per invocation.
+     *
+     * @param callerSecurityDomainRequired false, if no interceptor of this view reads the security domain of the caller
+     */
+    public void setCallerSecurityDomainRequired(final boolean callerSecurityDomainRequired) {
+        this.callerSecurityDomainRequired = callerSecurityDomainRequired;
+    }
+
     /**
      * Attaches arbitrary private data to this view instance
      *
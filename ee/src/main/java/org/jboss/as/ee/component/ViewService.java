@@ -64,6 +64,7 @@ public final class ViewService implements Service<ComponentView> {
     private final Set<Method> asyncMethods;
     private final ViewInstanceFactory viewInstanceFactory;
     private final Map<Class<?>, Object> privateData;
+    private final boolean callerSecurityDomainRequired;
     private volatile ComponentView view;
 
     private volatile Interceptor clientPostConstructInterceptor;
@@ -92,6 +93,7 @@ public final class ViewService implements Service<ComponentView> {
         this.viewInterceptorFactories = viewInterceptorFactories;
         this.clientInterceptorFactories = clientInterceptorFactories;
         this.asyncMethods = viewConfiguration.getAsyncMethods();
+        this.callerSecurityDomainRequired = viewConfiguration.isCallerSecurityDomainRequired();
         if (viewConfiguration.getViewInstanceFactory() == null) {
             viewInstanceFactory = new DefaultViewInstanceFactory();
         } else {
@@ -281,7 +283,7 @@ public final class ViewService implements Service<ComponentView> {
             final Component component = componentView.getComponent();
             final ComponentClientInstance instance = new ComponentClientInstance();
             try {
-                proxy = proxyFactory.newInstance(new ProxyInvocationHandler(clientInterceptors, instance, componentView));
+                proxy = proxyFactory.newInstance(new ProxyInvocationHandler(clientInterceptors, instance, componentView, callerSecurityDomainRequired));
             } catch (InstantiationException e) {
                 InstantiationError error = new InstantiationError(e.getMessage());
                 Throwable cause = e.getCause();
@@ -41,6 +41,7 @@ import org.jboss.ejb.client.NodeAffinity;
 import org.wildfly.clustering.ee.Scheduler;
 import org.wildfly.clustering.ee.cache.scheduler.LinkedScheduledEntries;
 import org.wildfly.clustering.ee.cache.scheduler.LocalScheduler;
+import org.wildfly.clustering.ee.cache.scheduler.TimingWheelScheduledEntries;
 import org.wildfly.clustering.ejb.IdentifierFactory;
 
 /**
@@ -51,13 +52,15 @@ import org.wildfly.clustering.ejb.IdentifierFactory;
  * @author Paul Ferraro
  */
 public class SimpleCache<K, V extends Identifiable<K>> implements Cache<K, V>, Predicate<K> {
+    /** System property specifying the tick duration, in milliseconds, of a timing wheel used to schedule bean expiration, in lieu of a linked set. Undefined by default. */
+    static final String TICK_PROPERTY = "org.wildfly.ejb3.cache.simple.expiration.tick";
 
     private final ConcurrentMap<K, Entry<V>> entries = new ConcurrentHashMap<>();
     private final StatefulObjectFactory<V> factory;
     private final IdentifierFactory<K> identifierFactory;
     private final Duration timeout;
     private final ServerEnvironment environment;
-    private final Scheduler<K, Instant> scheduler = new LocalScheduler<>(new LinkedScheduledEntries<>(), this, Duration.ZERO);
+    private final Scheduler<K, Instant> scheduler = new LocalScheduler<>(TimingWheelScheduledEntries.<K>fromSystemProperty(TICK_PROPERTY).orElseGet(LinkedScheduledEntries::new), this, Duration.ZERO);
 
     public SimpleCache(StatefulObjectFactory<V> factory, IdentifierFactory<K> identifierFactory, StatefulTimeoutInfo timeout, ServerEnvironment environment) {
         this.factory = factory;
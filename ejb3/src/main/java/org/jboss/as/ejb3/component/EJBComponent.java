@@ -30,6 +30,7 @@ import java.security.Principal;
 import java.security.PrivilegedAction;
 import java.security.PrivilegedExceptionAction;
 import java.security.ProtectionDomain;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Map;
@@ -117,7 +118,7 @@ public abstract class EJBComponent extends BasicComponent implements ServerActiv
     private final String distinctName;
     private final String policyContextID;
 
-    private final InvocationMetrics invocationMetrics = new InvocationMetrics();
+    private final InvocationMetrics invocationMetrics = new InvocationMetrics(Arrays.asList(this.getComponentClass().getMethods()));
     private final EJBSuspendHandlerService ejbSuspendHandlerService;
     private final ShutDownInterceptorFactory shutDownInterceptorFactory;
     private final TransactionSynchronizationRegistry transactionSynchronizationRegistry;
@@ -573,6 +574,8 @@ public abstract class EJBComponent extends BasicComponent implements ServerActiv
     }
 
     public InvocationMetrics getInvocationMetrics() {
+        // Discard metrics recorded before statistics were last enabled
+        invocationMetrics.synchronize(EJBStatistics.getInstance().getGeneration());
         return invocationMetrics;
     }
 
@@ -42,14 +42,15 @@ public class ExecutionTimeInterceptor extends AbstractEJBInterceptor {
         if (!component.isStatisticsEnabled())
             return context.proceed();
         final Long startWaitTime = (Long) context.getPrivateData(WaitTimeInterceptor.START_WAIT_TIME);
-        final long waitTime = startWaitTime != null && startWaitTime != 0L ? System.currentTimeMillis() - startWaitTime : 0L;
-        component.getInvocationMetrics().startInvocation();
-        final long start = System.currentTimeMillis();
+        final long start = System.nanoTime();
+        final long waitTime = startWaitTime != null ? start - startWaitTime : 0L;
+        final InvocationMetrics metrics = component.getInvocationMetrics();
+        metrics.startInvocation();
         try {
             return context.proceed();
         } finally {
-            final long executionTime = System.currentTimeMillis() - start;
-            component.getInvocationMetrics().finishInvocation(context.getMethod(), waitTime, executionTime);
+            final long executionTime = System.nanoTime() - start;
+            metrics.finishInvocation(context.getMethod(), waitTime, executionTime);
         }
     }
 }
@@ -22,17 +22,19 @@
 package org.jboss.as.ejb3.component.invocationmetrics;
 
 import java.lang.reflect.Method;
-import java.util.AbstractMap;
-import java.util.AbstractSet;
-import java.util.Iterator;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.Map;
-import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
-import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
+ * Invocation metrics of a component, recorded using striped counters to avoid contention between concurrent invocations.
+ * Per-method metrics are kept in slots keyed by {@link Method}, where the slots of the component methods are resolved up front.
+ * Times are recorded in nanoseconds, but cumulative times are reported in milliseconds.
  * @author <a href="mailto:cdewolf@redhat.com">Carlo de Wolf</a>
  */
 public class InvocationMetrics {
@@ -48,7 +50,7 @@ public class InvocationMetrics {
         }
 
         public long getExecutionTime() {
-            return executionTime;
+            return TimeUnit.NANOSECONDS.toMillis(executionTime);
         }
 
         public long getInvocations() {
@@ -56,42 +58,105 @@ public class InvocationMetrics {
         }
 
         public long getWaitTime() {
-            return waitTime;
+            return TimeUnit.NANOSECONDS.toMillis(waitTime);
         }
     }
 
-    private final AtomicReference<Values> values = new AtomicReference<Values>(new Values(0, 0, 0));
+    private static class Counters {
+        final LongAdder invocations = new LongAdder();
+        final LongAdder executionTime = new LongAdder();
+        final LongAdder waitTime = new LongAdder();
+
+        void record(final long invocationWaitTime, final long invocationExecutionTime) {
+            invocations.increment();
+            waitTime.add(invocationWaitTime);
+            executionTime.add(invocationExecutionTime);
+        }
+
+        Values getValues() {
+            return new Values(invocations.sum(), waitTime.sum(), executionTime.sum());
+        }
+
+        void reset() {
+            invocations.reset();
+            waitTime.reset();
+            executionTime.reset();
+        }
+    }
+
+    private final Counters values = new Counters();
     private final AtomicLong concurrent = new AtomicLong(0);
     private final AtomicLong peakConcurrent = new AtomicLong(0);
+    private final LatencyHistogram waitTimeHistogram = new LatencyHistogram();
+    private final LatencyHistogram executionTimeHistogram = new LatencyHistogram();
+    // The statistics generation in which these metrics were last reset
+    private volatile long generation = 0;
+
+    // Immutable after construction, so lookups never contend
+    private final Map<Method, Counters> methods;
+    // Slots of methods not known at construction, e.g. non-public lifecycle or timeout methods
+    private final ConcurrentMap<Method, Counters> additionalMethods = new ConcurrentHashMap<Method, Counters>();
+
+    public InvocationMetrics() {
+        this(Collections.<Method>emptyList());
+    }
 
-    private final ConcurrentMap<String, AtomicReference<Values>> methods = new ConcurrentHashMap<String, AtomicReference<Values>>();
-
-    void finishInvocation(final Method method, final long invocationWaitTime, final long invocationExecutionTime) {
-        concurrent.decrementAndGet();
-        for(;;) {
-            final Values oldv = values.get();
-            final Values newv = new Values(oldv.invocations + 1, oldv.waitTime + invocationWaitTime, oldv.executionTime + invocationExecutionTime);
-            if (values.compareAndSet(oldv, newv))
-                break;
+    /**
+     * Creates invocation metrics whose per-method slots are resolved for the specified methods.
+     * @param methods the methods expected to be invoked
+     */
+    public InvocationMetrics(final Iterable<Method> methods) {
+        final Map<Method, Counters> slots = new HashMap<Method, Counters>();
+        for (Method method : methods) {
+            slots.put(method, new Counters());
         }
-        final AtomicReference<Values> methodValues = ref(methods, method.getName());
-        for (;;) {
-            final Values oldv = methodValues.get();
-            final Values newv = new Values(oldv.invocations + 1, oldv.waitTime + invocationWaitTime, oldv.executionTime + invocationExecutionTime);
-            if (methodValues.compareAndSet(oldv, newv))
-                break;
+        this.methods = slots;
+    }
+
+    /**
+     * Resets these metrics if they were last reset in a statistics generation prior to the specified generation.
+     * @param generation the current statistics generation
+     */
+    public void synchronize(final long generation) {
+        // Only a volatile read, unless statistics were re-enabled since the last invocation
+        if (this.generation < generation) {
+            synchronized (this) {
+                if (this.generation < generation) {
+                    reset();
+                    this.generation = generation;
+                }
+            }
         }
     }
 
-    private static AtomicReference<Values> ref(final ConcurrentMap<String, AtomicReference<Values>> map, final String key) {
-        AtomicReference<Values> ref = map.get(key);
-        if (ref == null) {
-            ref = new AtomicReference<Values>(new Values(0, 0, 0));
-            final AtomicReference<Values> prevRef = map.putIfAbsent(key, ref);
-            if (prevRef != null)
-                ref = prevRef;
+    /**
+     * Resets all cumulative metrics, including the per-method metrics and the latency histograms.
+     * The number of concurrent invocations is retained.
+     */
+    public void reset() {
+        values.reset();
+        for (Counters counters : methods.values()) {
+            counters.reset();
+        }
+        for (Counters counters : additionalMethods.values()) {
+            counters.reset();
         }
-        return ref;
+        waitTimeHistogram.reset();
+        executionTimeHistogram.reset();
+        peakConcurrent.set(concurrent.get());
+    }
+
+    void finishInvocation(final Method method, final long invocationWaitTime, final long invocationExecutionTime) {
+        concurrent.decrementAndGet();
+        values.record(invocationWaitTime, invocationExecutionTime);
+        waitTimeHistogram.record(invocationWaitTime);
+        executionTimeHistogram.record(invocationExecutionTime);
+        slot(method).record(invocationWaitTime, invocationExecutionTime);
+    }
+
+    private Counters slot(final Method method) {
+        final Counters counters = methods.get(method);
+        return (counters != null) ? counters : additionalMethods.computeIfAbsent(method, key -> new Counters());
     }
 
     public long getConcurrent() {
@@ -99,62 +164,31 @@ public class InvocationMetrics {
     }
 
     public long getExecutionTime() {
-        return values.get().executionTime;
+        return TimeUnit.NANOSECONDS.toMillis(values.executionTime.sum());
     }
 
     public long getInvocations() {
-        return values.get().invocations;
-    }
-
-    public Map<String, Values> getMethods() {
-        return new AbstractMap<String, Values>() {
-            @Override
-            public Set<Entry<String, Values>> entrySet() {
-                return new AbstractSet<Entry<String, Values>>() {
-                    @Override
-                    public Iterator<Entry<String, Values>> iterator() {
-                        final Iterator<Entry<String, AtomicReference<Values>>> delegate = methods.entrySet().iterator();
-                        return new Iterator<Entry<String, Values>>() {
-                            @Override
-                            public boolean hasNext() {
-                                return delegate.hasNext();
-                            }
-
-                            @Override
-                            public Entry<String, Values> next() {
-                                final Entry<String, AtomicReference<Values>> next = delegate.next();
-                                return new Entry<String, Values>() {
-                                    @Override
-                                    public String getKey() {
-                                        return next.getKey();
-                                    }
-
-                                    @Override
-                                    public Values getValue() {
-                                        return next.getValue().get();
-                                    }
-
-                                    @Override
-                                    public Values setValue(final Values value) {
-                                        throw new UnsupportedOperationException("NYI");
-                                    }
-                                };
-                            }
-
-                            @Override
-                            public void remove() {
-                                throw new UnsupportedOperationException("NYI");
-                            }
-                        };
-                    }
-
-                    @Override
-                    public int size() {
-                        return methods.size();
-                    }
-                };
+        return values.invocations.sum();
+    }
+
+    /**
+     * Returns the metrics of each invoked method.
+     * @return a snapshot of the per-method metrics
+     */
+    public Map<Method, Values> getMethods() {
+        final Map<Method, Values> result = new HashMap<Method, Values>();
+        collect(methods, result);
+        collect(additionalMethods, result);
+        return Collections.unmodifiableMap(result);
+    }
+
+    private static void collect(final Map<Method, Counters> slots, final Map<Method, Values> result) {
+        for (Map.Entry<Method, Counters> entry : slots.entrySet()) {
+            final Values values = entry.getValue().getValues();
+            if (values.invocations > 0) {
+                result.put(entry.getKey(), values);
             }
-        };
+        }
     }
 
     public long getPeakConcurrent() {
@@ -162,13 +196,29 @@ public class InvocationMetrics {
     }
 
     public long getWaitTime() {
-        return values.get().waitTime;
+        return TimeUnit.NANOSECONDS.toMillis(values.waitTime.sum());
+    }
+
+    /**
+     * Returns the histogram of invocation execution times, in nanoseconds.
+     * @return a latency histogram
+     */
+    public LatencyHistogram getExecutionTimeHistogram() {
+        return executionTimeHistogram;
+    }
+
+    /**
+     * Returns the histogram of times spent waiting to obtain an instance, in nanoseconds.
+     * @return a latency histogram
+     */
+    public LatencyHistogram getWaitTimeHistogram() {
+        return waitTimeHistogram;
     }
 
     void startInvocation() {
         final long v = concurrent.incrementAndGet();
-        // concurrent might decrement here, but we take that missing peak for granted.
+        // Only update the peak when exceeded, to avoid contention on the common path
         if (peakConcurrent.get() < v)
-            peakConcurrent.incrementAndGet();
+            peakConcurrent.accumulateAndGet(v, Math::max);
     }
 }
@@ -0,0 +1,113 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.ejb3.component.invocationmetrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A fixed-memory histogram of latencies, in nanoseconds, using log-linear buckets.
+ * Each power of 2 is split into {@value #SUB_BUCKETS} linear sub-buckets, bounding the relative error of a reported percentile to 1/{@value #SUB_BUCKETS}.
+ * Buckets are striped counters, so recording never contends on a shared value.
+ */
+public class LatencyHistogram {
+    private static final int SUB_BUCKET_BITS = 3;
+    static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    // Latencies beyond 2^45 ns (~9.8 hours) are recorded in the last bucket
+    private static final int MAX_EXPONENT = 44;
+    static final long MAX_VALUE = (1L << (MAX_EXPONENT + 1)) - 1;
+
+    private final LongAdder[] buckets = new LongAdder[index(MAX_VALUE) + 1];
+
+    public LatencyHistogram() {
+        for (int i = 0; i < this.buckets.length; ++i) {
+            this.buckets[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * Records the specified latency.
+     * @param value a latency in nanoseconds
+     */
+    public void record(long value) {
+        this.buckets[index(Math.min(Math.max(value, 0L), MAX_VALUE))].increment();
+    }
+
+    /**
+     * Discards all recorded latencies.
+     * Latencies recorded concurrently with a reset may or may not be retained.
+     */
+    public void reset() {
+        for (LongAdder bucket : this.buckets) {
+            bucket.reset();
+        }
+    }
+
+    /**
+     * Returns the number of recorded latencies.
+     * @return the number of recorded latencies
+     */
+    public long getCount() {
+        long count = 0;
+        for (LongAdder bucket : this.buckets) {
+            count += bucket.sum();
+        }
+        return count;
+    }
+
+    /**
+     * Returns the latency at or below which the specified fraction of recorded latencies fall.
+     * @param quantile a fraction between 0 and 1
+     * @return the upper bound of the bucket containing the specified quantile, or 0 if no latencies were recorded.
+     */
+    public long getPercentile(double quantile) {
+        long[] counts = new long[this.buckets.length];
+        long total = 0;
+        for (int i = 0; i < counts.length; ++i) {
+            counts[i] = this.buckets[i].sum();
+            total += counts[i];
+        }
+        if (total == 0) return 0L;
+        long rank = Math.max((long) Math.ceil(quantile * total), 1L);
+        long cumulative = 0;
+        for (int i = 0; i < counts.length; ++i) {
+            cumulative += counts[i];
+            if (cumulative >= rank) {
+                return upperBound(i);
+            }
+        }
+        return upperBound(counts.length - 1);
+    }
+
+    static int index(long value) {
+        if (value < SUB_BUCKETS) return (int) value;
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int shift = exponent - SUB_BUCKET_BITS;
+        return ((shift + 1) << SUB_BUCKET_BITS) + (int) ((value >>> shift) & (SUB_BUCKETS - 1));
+    }
+
+    static long upperBound(int index) {
+        if (index < SUB_BUCKETS) return index;
+        int shift = (index >>> SUB_BUCKET_BITS) - 1;
+        long lowerBound = ((long) (SUB_BUCKETS + (index & (SUB_BUCKETS - 1)))) << shift;
+        return lowerBound + (1L << shift) - 1;
+    }
+}
@@ -25,6 +25,7 @@ package org.jboss.as.ejb3.component.pool;
 import org.jboss.as.ejb3.pool.Pool;
 import org.jboss.as.ejb3.pool.StatelessObjectFactory;
 import org.jboss.as.ejb3.pool.strictmax.StrictMaxPool;
+import org.jboss.as.ejb3.pool.strictmax.StripedStrictMaxPool;
 
 import java.util.concurrent.TimeUnit;
 
@@ -39,6 +40,13 @@ public class StrictMaxPoolConfig extends PoolConfig {
 
     public static final TimeUnit DEFAULT_TIMEOUT_UNIT = TimeUnit.MINUTES;
 
+    /**
+     * By default, a pool uses a single stripe, i.e. a {@link StrictMaxPool}.
+     */
+    public static final int DEFAULT_STRIPES = 1;
+
+    public static final int MAX_STRIPES = 1024;
+
 
     private volatile int maxPoolSize;
 
@@ -46,15 +54,25 @@ public class StrictMaxPoolConfig extends PoolConfig {
 
     private volatile long timeout;
 
+    private volatile int stripes;
+
     public StrictMaxPoolConfig(final String poolName, int maxSize, long timeout, TimeUnit timeUnit) {
+        this(poolName, maxSize, timeout, timeUnit, DEFAULT_STRIPES);
+    }
+
+    public StrictMaxPoolConfig(final String poolName, int maxSize, long timeout, TimeUnit timeUnit, int stripes) {
         super(poolName);
         this.maxPoolSize = maxSize;
         this.timeout = timeout;
         this.timeoutUnit = timeUnit;
+        this.stripes = stripes;
     }
 
     @Override
     public <T> Pool<T> createPool(final StatelessObjectFactory<T> statelessObjectFactory) {
+        if (this.stripes > 1) {
+            return new StripedStrictMaxPool<T>(statelessObjectFactory, this.maxPoolSize, this.stripes, this.timeout, this.timeoutUnit);
+        }
         return new StrictMaxPool<T>(statelessObjectFactory, this.maxPoolSize, this.timeout, this.timeoutUnit);
     }
 
@@ -82,6 +100,14 @@ public class StrictMaxPoolConfig extends PoolConfig {
         this.timeout = timeout;
     }
 
+    public int getStripes() {
+        return stripes;
+    }
+
+    public void setStripes(int stripes) {
+        this.stripes = stripes;
+    }
+
     @Override
     public String toString() {
         return "StrictMaxPoolConfig{" +
@@ -89,6 +115,7 @@ public class StrictMaxPoolConfig extends PoolConfig {
                 ", maxPoolSize=" + maxPoolSize +
                 ", timeoutUnit=" + timeoutUnit +
                 ", timeout=" + timeout +
+                ", stripes=" + stripes +
                 '}';
     }
 }
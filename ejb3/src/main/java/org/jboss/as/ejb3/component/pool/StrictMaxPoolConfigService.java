@@ -49,9 +49,13 @@ public class StrictMaxPoolConfigService implements Service<StrictMaxPoolConfig>
 
 
     public StrictMaxPoolConfigService(final String poolName, int declaredMaxSize, Derive derive, long timeout, TimeUnit timeUnit) {
+        this(poolName, declaredMaxSize, derive, timeout, timeUnit, StrictMaxPoolConfig.DEFAULT_STRIPES);
+    }
+
+    public StrictMaxPoolConfigService(final String poolName, int declaredMaxSize, Derive derive, long timeout, TimeUnit timeUnit, int stripes) {
         this.declaredMaxSize = declaredMaxSize;
         this.derive = derive;
-        this.poolConfig = new StrictMaxPoolConfig(poolName, declaredMaxSize, timeout, timeUnit);
+        this.poolConfig = new StrictMaxPoolConfig(poolName, declaredMaxSize, timeout, timeUnit, stripes);
     }
 
     @Override
@@ -106,6 +110,10 @@ public class StrictMaxPoolConfigService implements Service<StrictMaxPoolConfig>
         poolConfig.setTimeoutUnit(timeUnit);
     }
 
+    public void setStripes(int stripes) {
+        poolConfig.setStripes(stripes);
+    }
+
     @Override
     public void stop(StopContext context) {
 
@@ -54,9 +54,19 @@ public interface DeploymentRepository {
 
     /**
      * Returns all deployments that are in a started state, i.e. all components are ready to receive invocations.
+     * The returned map is an unmodifiable snapshot and is not copied on each call.
      *
      * @return all started deployments
      */
     Map<DeploymentModuleIdentifier, ModuleDeployment> getStartedModules();
 
+    /**
+     * Returns the deployment information of the specified Jakarta Enterprise Bean, if its module is in a started state.
+     *
+     * @param identifier the module identifier
+     * @param beanName the bean name
+     * @return the deployment information of the bean, or null if no such bean exists within a started module
+     */
+    EjbDeploymentInformation getStartedEjb(DeploymentModuleIdentifier identifier, String beanName);
+
 }
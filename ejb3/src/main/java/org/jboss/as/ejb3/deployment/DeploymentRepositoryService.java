@@ -52,6 +52,12 @@ public class DeploymentRepositoryService implements DeploymentRepository, Servic
      */
     private volatile Map<DeploymentModuleIdentifier, DeploymentHolder> modules;
 
+    /**
+     * Index of started modules, rebuilt whenever a module is added, started or removed.
+     * This allows the invocation path to look up a started Jakarta Enterprise Bean without copying the set of modules.
+     */
+    private volatile Map<DeploymentModuleIdentifier, ModuleDeployment> startedModules = Collections.emptyMap();
+
     private final List<DeploymentRepositoryListener> listeners = new ArrayList<DeploymentRepositoryListener>();
 
     /**
@@ -63,11 +69,13 @@ public class DeploymentRepositoryService implements DeploymentRepository, Servic
     @Override
     public void start(StartContext context) throws StartException {
         modules = Collections.emptyMap();
+        startedModules = Collections.emptyMap();
     }
 
     @Override
     public void stop(StopContext context) {
         modules = Collections.emptyMap();
+        startedModules = Collections.emptyMap();
     }
 
     @Override
@@ -83,6 +91,7 @@ public class DeploymentRepositoryService implements DeploymentRepository, Servic
             final Map<DeploymentModuleIdentifier, DeploymentHolder> modules = new HashMap<DeploymentModuleIdentifier, DeploymentHolder>(this.modules);
             modules.put(identifier, new DeploymentHolder(deployment));
             this.modules = Collections.unmodifiableMap(modules);
+            this.updateStartedModules();
             listeners = new ArrayList<DeploymentRepositoryListener>(this.listeners);
             suspended = this.suspended;
         }
@@ -106,6 +115,7 @@ public class DeploymentRepositoryService implements DeploymentRepository, Servic
             deployment = modules.get(identifier);
             if (deployment == null) return false;
             deployment.started = true;
+            this.updateStartedModules();
             listeners = new ArrayList<DeploymentRepositoryListener>(this.listeners);
         }
         for (final DeploymentRepositoryListener listener : listeners) {
@@ -138,6 +148,7 @@ public class DeploymentRepositoryService implements DeploymentRepository, Servic
             final Map<DeploymentModuleIdentifier, DeploymentHolder> modules = new HashMap<DeploymentModuleIdentifier, DeploymentHolder>(this.modules);
             modules.remove(identifier);
             this.modules = Collections.unmodifiableMap(modules);
+            this.updateStartedModules();
             listeners = new ArrayList<DeploymentRepositoryListener>(this.listeners);
         }
         for (final DeploymentRepositoryListener listener : listeners) {
@@ -203,13 +214,26 @@ public class DeploymentRepositoryService implements DeploymentRepository, Servic
 
     @Override
     public Map<DeploymentModuleIdentifier, ModuleDeployment> getStartedModules() {
-        Map<DeploymentModuleIdentifier, ModuleDeployment> modules = new HashMap<DeploymentModuleIdentifier, ModuleDeployment>();
-        for(Map.Entry<DeploymentModuleIdentifier, DeploymentHolder> entry : this.modules.entrySet()) {
-            if(entry.getValue().started) {
-                modules.put(entry.getKey(), entry.getValue().deployment);
+        return this.startedModules;
+    }
+
+    @Override
+    public EjbDeploymentInformation getStartedEjb(DeploymentModuleIdentifier identifier, String beanName) {
+        final ModuleDeployment deployment = this.startedModules.get(identifier);
+        return (deployment != null) ? deployment.getEjbs().get(beanName) : null;
+    }
+
+    /**
+     * Rebuilds the index of started modules. Must be called while holding the monitor of this repository.
+     */
+    private void updateStartedModules() {
+        final Map<DeploymentModuleIdentifier, ModuleDeployment> startedModules = new HashMap<DeploymentModuleIdentifier, ModuleDeployment>();
+        for (Map.Entry<DeploymentModuleIdentifier, DeploymentHolder> entry : this.modules.entrySet()) {
+            if (entry.getValue().started) {
+                startedModules.put(entry.getKey(), entry.getValue().deployment);
             }
         }
-        return modules;
+        this.startedModules = startedModules.isEmpty() ? Collections.emptyMap() : Collections.unmodifiableMap(startedModules);
     }
 
     private class DeploymentHolder {
@@ -3244,4 +3244,27 @@ public interface EjbLogger extends BasicLogger {
     @LogMessage(level = ERROR)
     @Message(id = 527, value = "Remoting connector (address %s, port %s) is not correctly configured for EJB client invocations, the connector must be listed in <remote/> 'connectors' attribute to receive EJB client invocations")
     void connectorNotConfiguredForEJBClientInvocations(String address, int port);
+
+    @LogMessage(level = WARN)
+    @Message(id = 528, value = "Discarding %d bytes of incomplete or corrupt records from timer journal %s")
+    void timerJournalTruncated(long bytes, File file);
+
+    @LogMessage(level = INFO)
+    @Message(id = 529, value = "Migrated %d persistent timers of %s from %s to the timer journal")
+    void timersMigratedToJournal(int count, String timedObjectId, File directory);
+
+    @LogMessage(level = ERROR)
+    @Message(id = 530, value = "Failed to resolve the info of timer %s of %s")
+    void timerInfoResolutionFailed(@Cause Throwable cause, String timerId, String timedObjectId);
+
+    @Message(id = 531, value = "Info of timer %s could not be resolved")
+    EJBException timerInfoUnavailable(@Cause Exception cause, String timerId);
+
+    @LogMessage(level = WARN)
+    @Message(id = 532, value = "Failed to compact timer journal %s")
+    void timerJournalCompactionFailed(@Cause Throwable cause, File directory);
+
+    @LogMessage(level = ERROR)
+    @Message(id = 533, value = "Failed to run scheduled task %s")
+    void scheduledTaskFailed(@Cause Throwable cause, Runnable task);
 }
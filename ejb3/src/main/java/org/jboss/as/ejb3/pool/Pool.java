@@ -57,6 +57,33 @@ public interface Pool<T> {
 
     int getRemoveCount();
 
+    /**
+     * Returns the number of times an existing instance was obtained from the pool, rather than created.
+     *
+     * @return the number of pool hits
+     */
+    default long getHitCount() {
+        return 0L;
+    }
+
+    /**
+     * Returns the number of times a caller had to wait for an instance to become available.
+     *
+     * @return the number of waits
+     */
+    default long getWaitCount() {
+        return 0L;
+    }
+
+    /**
+     * Returns the cumulative time, in milliseconds, that callers waited for an instance to become available.
+     *
+     * @return the total wait time in milliseconds
+     */
+    default long getWaitTime() {
+        return 0L;
+    }
+
     /**
      * Release the object from use.
      *
@@ -31,6 +31,7 @@ import java.util.Queue;
 import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * A pool with a maximum size.
@@ -61,6 +62,10 @@ public class StrictMaxPool<T> extends AbstractPool<T> {
      */
     private final Queue<T> pool = new ConcurrentLinkedQueue<T>();
 
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder waitCount = new LongAdder();
+    private final LongAdder waitTime = new LongAdder();
+
     public StrictMaxPool(StatelessObjectFactory<T> factory, int maxSize, long timeout, TimeUnit timeUnit) {
         super(factory);
         this.maxSize = maxSize;
@@ -97,6 +102,21 @@ public class StrictMaxPool<T> extends AbstractPool<T> {
         throw EjbLogger.ROOT_LOGGER.methodNotImplemented();
     }
 
+    @Override
+    public long getHitCount() {
+        return hitCount.sum();
+    }
+
+    @Override
+    public long getWaitCount() {
+        return waitCount.sum();
+    }
+
+    @Override
+    public long getWaitTime() {
+        return TimeUnit.NANOSECONDS.toMillis(waitTime.sum());
+    }
+
     /**
      * Get an instance without identity.
      * Can be used by finders,create-methods, and activation
@@ -104,18 +124,26 @@ public class StrictMaxPool<T> extends AbstractPool<T> {
      * @return Context /w instance
      */
     public T get() {
-        try {
-            boolean acquired = semaphore.tryAcquire(timeout, timeUnit);
-            if (!acquired)
-                throw EjbLogger.ROOT_LOGGER.failedToAcquirePermit(timeout, timeUnit);
-        } catch (InterruptedException e) {
-            throw EjbLogger.ROOT_LOGGER.acquireSemaphoreInterrupted();
+        if (!semaphore.tryAcquire()) {
+            // No permit immediately available, wait for one
+            long start = System.nanoTime();
+            waitCount.increment();
+            try {
+                boolean acquired = semaphore.tryAcquire(timeout, timeUnit);
+                if (!acquired)
+                    throw EjbLogger.ROOT_LOGGER.failedToAcquirePermit(timeout, timeUnit);
+            } catch (InterruptedException e) {
+                throw EjbLogger.ROOT_LOGGER.acquireSemaphoreInterrupted();
+            } finally {
+                waitTime.add(System.nanoTime() - start);
+            }
         }
 
         T bean = pool.poll();
 
         if( bean !=null) {
             //we found a bean instance in the pool, return it
+            hitCount.increment();
             return bean;
         }
 
@@ -0,0 +1,291 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.ejb3.pool.strictmax;
+
+import static org.jboss.as.ejb3.logging.EjbLogger.ROOT_LOGGER;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.jboss.as.ejb3.logging.EjbLogger;
+import org.jboss.as.ejb3.pool.AbstractPool;
+import org.jboss.as.ejb3.pool.StatelessObjectFactory;
+
+/**
+ * A pool with a maximum size, whose permits and instances are partitioned into stripes.
+ * Each thread acquires its permit and instance from its own stripe, stealing from other stripes if its own stripe is exhausted.
+ * Threads only block, up to the acquisition timeout, if all stripes are exhausted.
+ * This reduces contention on the permits and instances of a heavily used pool,
+ * and improves the likelihood that a thread reuses the same instance across invocations.
+ */
+public class StripedStrictMaxPool<T> extends AbstractPool<T> {
+
+    private final Stripe<T>[] stripes;
+    private final int mask;
+    private final int maxSize;
+    private final long timeout;
+    private final TimeUnit timeUnit;
+
+    // Used only when all stripes are exhausted
+    private final Lock lock = new ReentrantLock();
+    private final Condition available = this.lock.newCondition();
+    private final AtomicInteger waiters = new AtomicInteger();
+
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder waitCount = new LongAdder();
+    private final LongAdder waitTime = new LongAdder();
+
+    @SuppressWarnings("unchecked")
+    public StripedStrictMaxPool(StatelessObjectFactory<T> factory, int maxSize, int stripes, long timeout, TimeUnit timeUnit) {
+        super(factory);
+        // Round up to the next power of 2
+        int size = Integer.highestOneBit(Math.max(stripes, 1));
+        if (size < stripes) {
+            size <<= 1;
+        }
+        this.stripes = new Stripe[size];
+        for (int i = 0; i < size; ++i) {
+            // Distribute permits as evenly as possible
+            this.stripes[i] = new Stripe<>((maxSize / size) + ((i < (maxSize % size)) ? 1 : 0));
+        }
+        this.mask = size - 1;
+        this.maxSize = maxSize;
+        this.timeout = timeout;
+        this.timeUnit = timeUnit;
+    }
+
+    public void discard(T ctx) {
+        if (ROOT_LOGGER.isTraceEnabled()) {
+            ROOT_LOGGER.tracef("Discard instance %s#%s", this, ctx);
+        }
+
+        this.releasePermit(this.stripe());
+
+        super.doRemove(ctx);
+    }
+
+    public int getCurrentSize() {
+        return getCreateCount() - getRemoveCount();
+    }
+
+    public int getAvailableCount() {
+        int count = 0;
+        for (Stripe<T> stripe : this.stripes) {
+            count += stripe.permits.get();
+        }
+        return count;
+    }
+
+    public int getMaxSize() {
+        return this.maxSize;
+    }
+
+    public void setMaxSize(int maxSize) {
+        throw EjbLogger.ROOT_LOGGER.methodNotImplemented();
+    }
+
+    @Override
+    public long getHitCount() {
+        return this.hitCount.sum();
+    }
+
+    @Override
+    public long getWaitCount() {
+        return this.waitCount.sum();
+    }
+
+    @Override
+    public long getWaitTime() {
+        return TimeUnit.NANOSECONDS.toMillis(this.waitTime.sum());
+    }
+
+    /**
+     * Get an instance without identity.
+     * Can be used by finders,create-methods, and activation
+     *
+     * @return Context /w instance
+     */
+    public T get() {
+        int index = this.index();
+        if (!this.tryAcquirePermit(index)) {
+            this.acquirePermit(index);
+        }
+
+        T bean = this.poll(index);
+
+        if (bean != null) {
+            this.hitCount.increment();
+            return bean;
+        }
+
+        try {
+            // Pool is empty, create an instance
+            bean = create();
+        } finally {
+            if (bean == null) {
+                this.releasePermit(this.stripes[index]);
+            }
+        }
+        return bean;
+    }
+
+    /**
+     * Return an instance after invocation.
+     * The instance and its permit are returned to the stripe of the current thread.
+     *
+     * @param obj
+     */
+    public void release(T obj) {
+        if (ROOT_LOGGER.isTraceEnabled()) {
+            ROOT_LOGGER.tracef("%s/%s Free instance: %s", this.maxSize - this.getAvailableCount(), this.maxSize, this);
+        }
+
+        Stripe<T> stripe = this.stripe();
+        stripe.instances.add(obj);
+
+        this.releasePermit(stripe);
+    }
+
+    @Override
+    @Deprecated
+    public void remove(T ctx) {
+        if (ROOT_LOGGER.isTraceEnabled()) {
+            ROOT_LOGGER.tracef("Removing instance: %s#%s", this, ctx);
+        }
+
+        this.releasePermit(this.stripe());
+        super.doRemove(ctx);
+    }
+
+    public void start() {
+    }
+
+    public void stop() {
+        for (Stripe<T> stripe : this.stripes) {
+            for (T obj = stripe.instances.poll(); obj != null; obj = stripe.instances.poll()) {
+                destroy(obj);
+            }
+        }
+    }
+
+    private int index() {
+        return (int) Thread.currentThread().getId() & this.mask;
+    }
+
+    private Stripe<T> stripe() {
+        return this.stripes[this.index()];
+    }
+
+    /**
+     * Attempts to acquire a permit from the specified stripe, or, failing that, from any other stripe.
+     */
+    private boolean tryAcquirePermit(int index) {
+        for (int i = 0; i < this.stripes.length; ++i) {
+            if (this.stripes[(index + i) & this.mask].tryAcquire()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Blocks until a permit is released to any stripe, or until the acquisition timeout elapses.
+     */
+    private void acquirePermit(int index) {
+        long start = System.nanoTime();
+        long remaining = this.timeUnit.toNanos(this.timeout);
+        this.waitCount.increment();
+        this.lock.lock();
+        try {
+            // Register as waiter before retrying, so that a concurrent release will signal us
+            this.waiters.incrementAndGet();
+            try {
+                while (!this.tryAcquirePermit(index)) {
+                    if (remaining <= 0L) {
+                        throw EjbLogger.ROOT_LOGGER.failedToAcquirePermit(this.timeout, this.timeUnit);
+                    }
+                    remaining = this.available.awaitNanos(remaining);
+                }
+            } finally {
+                this.waiters.decrementAndGet();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw EjbLogger.ROOT_LOGGER.acquireSemaphoreInterrupted();
+        } finally {
+            this.lock.unlock();
+            this.waitTime.add(System.nanoTime() - start);
+        }
+    }
+
+    private void releasePermit(Stripe<T> stripe) {
+        stripe.permits.incrementAndGet();
+        if (this.waiters.get() > 0) {
+            this.lock.lock();
+            try {
+                this.available.signal();
+            } finally {
+                this.lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Polls an instance from the specified stripe, or, failing that, steals an instance from another stripe.
+     */
+    private T poll(int index) {
+        for (int i = 0; i < this.stripes.length; ++i) {
+            T bean = this.stripes[(index + i) & this.mask].instances.poll();
+            if (bean != null) {
+                return bean;
+            }
+        }
+        return null;
+    }
+
+    private static class Stripe<T> {
+        final AtomicInteger permits;
+        final Queue<T> instances = new ConcurrentLinkedQueue<>();
+
+        Stripe(int permits) {
+            this.permits = new AtomicInteger(permits);
+        }
+
+        boolean tryAcquire() {
+            int current = this.permits.get();
+            while (current > 0) {
+                if (this.permits.compareAndSet(current, current - 1)) {
+                    return true;
+                }
+                current = this.permits.get();
+            }
+            return false;
+        }
+    }
+}
@@ -73,6 +73,9 @@ public class EJBSecurityViewConfigurator implements ViewConfigurator {
             throw EjbLogger.ROOT_LOGGER.invalidEjbComponent(componentConfiguration.getComponentName(), componentConfiguration.getComponentClass());
         }
 
+        // The security interceptors of an EJB view only read the security domain associated by the SECURITY_CONTEXT interceptor,
+        // so proxy invocations need not look up the security domain of the caller
+        viewConfiguration.setCallerSecurityDomainRequired(false);
         final DeploymentUnit deploymentUnit = context.getDeploymentUnit();
         final EJBComponentDescription ejbComponentDescription = (EJBComponentDescription) componentConfiguration.getComponentDescription();
         final boolean elytronSecurityDomain = ejbComponentDescription.getSecurityDomainServiceName() != null;
@@ -228,7 +228,7 @@ public class EJB3Subsystem40Parser extends EJB3Subsystem30Parser {
                     StrictMaxPoolResourceDefinition.INSTANCE_ACQUISITION_TIMEOUT_UNIT.parseAndSetParameter(value, operation, reader);
                     break;
                 default:
-                    throw unexpectedAttribute(reader, i);
+                    this.parseStrictMaxPoolAttribute(reader, i, attribute, value, operation);
             }
         }
         requireNoContent(reader);
@@ -242,6 +242,14 @@ public class EJB3Subsystem40Parser extends EJB3Subsystem30Parser {
         operations.add(operation);
     }
 
+    /**
+     * Parses an attribute of a strict-max-bean-instance-pool element that is not recognized by this version of the schema.
+     * Parsers of later schema versions override this to parse additional attributes.
+     */
+    void parseStrictMaxPoolAttribute(final XMLExtendedStreamReader reader, final int index, final EJB3SubsystemXMLAttribute attribute, final String value, final ModelNode operation) throws XMLStreamException {
+        throw unexpectedAttribute(reader, index);
+    }
+
     private XMLStreamException mutuallyExclusiveAttributes(XMLExtendedStreamReader reader) {
         return EjbLogger.ROOT_LOGGER.mutuallyExclusiveAttributes(reader.getLocation(), MAX_POOL_SIZE, DERIVE_SIZE);
     }
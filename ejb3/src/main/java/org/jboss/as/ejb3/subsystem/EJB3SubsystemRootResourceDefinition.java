@@ -399,7 +399,7 @@ public class EJB3SubsystemRootResourceDefinition extends SimpleResourceDefinitio
         subsystemRegistration.registerSubModel(ClusterPassivationStoreResourceDefinition.INSTANCE);
 
         // subsystem=ejb3/service=timerservice
-        subsystemRegistration.registerSubModel(new TimerServiceResourceDefinition(pathManager));
+        subsystemRegistration.registerSubModel(new TimerServiceResourceDefinition(pathManager, registerRuntimeOnly));
 
         // subsystem=ejb3/thread-pool=*
         subsystemRegistration.registerSubModel(EnhancedQueueExecutorResourceDefinition.create(
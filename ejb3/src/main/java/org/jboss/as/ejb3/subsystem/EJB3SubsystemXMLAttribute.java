@@ -92,6 +92,7 @@ public enum EJB3SubsystemXMLAttribute {
     @Deprecated SESSIONS_PATH("sessions-path"),
     STATIC_URLS("static-urls"),
     @Deprecated SUBDIRECTORY_COUNT("subdirectory-count"),
+    STRIPES("stripes"),
 
     THREAD_POOL_NAME("thread-pool-name"),
     TYPE("type"),
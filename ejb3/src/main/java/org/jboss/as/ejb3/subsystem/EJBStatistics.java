@@ -22,6 +22,8 @@
 
 package org.jboss.as.ejb3.subsystem;
 
+import java.util.concurrent.atomic.AtomicLong;
+
 /**
  * @author <a href="mailto:ropalka@redhat.com">Richard Opalka</a>
  */
@@ -29,6 +31,8 @@ public final class EJBStatistics {
 
     private static final EJBStatistics INSTANCE = new EJBStatistics();
     private volatile boolean enabled;
+    // Incremented whenever statistics are enabled, so that components discard statistics recorded prior to being disabled
+    private final AtomicLong generation = new AtomicLong(0);
 
     private EJBStatistics() {}
 
@@ -37,9 +41,20 @@ public final class EJBStatistics {
     }
 
     void setEnabled(final boolean enabled) {
+        if (enabled && !this.enabled) {
+            generation.incrementAndGet();
+        }
         this.enabled = enabled;
     }
 
+    /**
+     * Returns the current statistics generation, which changes whenever statistics are enabled.
+     * @return a statistics generation
+     */
+    public long getGeneration() {
+        return generation.get();
+    }
+
     public static EJBStatistics getInstance() {
         return INSTANCE;
     }
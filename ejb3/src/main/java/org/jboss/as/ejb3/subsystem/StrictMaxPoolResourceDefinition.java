@@ -93,12 +93,19 @@ public class StrictMaxPoolResourceDefinition extends SimpleResourceDefinition {
                     .setFlags(AttributeAccess.Flag.RESTART_NONE)
                     .setAllowExpression(true)
                     .build();
+    public static final SimpleAttributeDefinition STRIPES =
+            new SimpleAttributeDefinitionBuilder(EJB3SubsystemModel.STRIPES, ModelType.INT, true)
+                    .setDefaultValue(new ModelNode().set(StrictMaxPoolConfig.DEFAULT_STRIPES))
+                    .setAllowExpression(true)
+                    .setValidator(new IntRangeValidator(1, StrictMaxPoolConfig.MAX_STRIPES, true, true))
+                    .setFlags(AttributeAccess.Flag.RESTART_NONE)
+                    .build();
     public static final SimpleAttributeDefinition DERIVED_SIZE =
             new SimpleAttributeDefinitionBuilder(EJB3SubsystemModel.DERIVED_SIZE, ModelType.INT, true)
                     .setFlags(AttributeAccess.Flag.STORAGE_RUNTIME)
                     .build();
 
-    private static final AttributeDefinition[] ATTRIBUTES = new AttributeDefinition[] { MAX_POOL_SIZE, DERIVE_SIZE, INSTANCE_ACQUISITION_TIMEOUT, INSTANCE_ACQUISITION_TIMEOUT_UNIT };
+    private static final AttributeDefinition[] ATTRIBUTES = new AttributeDefinition[] { MAX_POOL_SIZE, DERIVE_SIZE, INSTANCE_ACQUISITION_TIMEOUT, INSTANCE_ACQUISITION_TIMEOUT_UNIT, STRIPES };
     private static final StrictMaxPoolAdd ADD_HANDLER = new StrictMaxPoolAdd(ATTRIBUTES);
     public static final StrictMaxPoolResourceDefinition INSTANCE = new StrictMaxPoolResourceDefinition();
 
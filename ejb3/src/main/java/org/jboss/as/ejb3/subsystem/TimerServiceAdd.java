@@ -24,9 +24,9 @@ package org.jboss.as.ejb3.subsystem;
 
 import static org.jboss.as.ejb3.logging.EjbLogger.ROOT_LOGGER;
 
-import java.util.Timer;
 import java.util.concurrent.Executor;
 
+import org.jboss.as.clustering.context.DefaultThreadFactory;
 import org.jboss.as.controller.AbstractBoottimeAddStepHandler;
 import org.jboss.as.controller.OperationContext;
 import org.jboss.as.controller.OperationFailedException;
@@ -34,6 +34,7 @@ import org.jboss.as.ejb3.deployment.processors.AroundTimeoutAnnotationParsingPro
 import org.jboss.as.ejb3.deployment.processors.TimerServiceDeploymentProcessor;
 import org.jboss.as.ejb3.deployment.processors.annotation.TimerServiceAnnotationProcessor;
 import org.jboss.as.ejb3.deployment.processors.merging.TimerMethodMergingProcessor;
+import org.jboss.as.ejb3.timerservice.TimeoutScheduler;
 import org.jboss.as.server.AbstractDeploymentChainStep;
 import org.jboss.as.server.DeploymentProcessorTarget;
 import org.jboss.as.server.deployment.Phase;
@@ -79,23 +80,24 @@ public class TimerServiceAdd extends AbstractBoottimeAddStepHandler {
         context.getCapabilityServiceTarget().addCapability(TimerServiceResourceDefinition.TIMER_SERVICE_CAPABILITY, new TimerValueService()).install();
     }
 
-    private static final class TimerValueService implements Service<Timer> {
+    private static final class TimerValueService implements Service<TimeoutScheduler> {
 
-        private Timer timer;
+        private TimeoutScheduler timer;
 
         @Override
         public synchronized void start(final StartContext context) throws StartException {
-            timer = new Timer();
+            timer = new TimeoutScheduler(new DefaultThreadFactory(TimeoutScheduler.class));
+            timer.start();
         }
 
         @Override
         public synchronized void stop(final StopContext context) {
-            timer.cancel();
+            timer.stop();
             timer = null;
         }
 
         @Override
-        public synchronized Timer getValue() throws IllegalStateException, IllegalArgumentException {
+        public synchronized TimeoutScheduler getValue() throws IllegalStateException, IllegalArgumentException {
             return timer;
         }
     }
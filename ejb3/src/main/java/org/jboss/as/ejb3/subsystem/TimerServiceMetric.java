@@ -0,0 +1,86 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.ejb3.subsystem;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.jboss.as.controller.AttributeDefinition;
+import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
+import org.jboss.as.controller.client.helpers.MeasurementUnit;
+import org.jboss.as.controller.registry.AttributeAccess;
+import org.jboss.as.ejb3.timerservice.TimeoutScheduler;
+import org.jboss.dmr.ModelNode;
+import org.jboss.dmr.ModelType;
+
+/**
+ * Runtime metrics of the scheduler of the timer service.
+ */
+enum TimerServiceMetric {
+
+    TIMEOUT_COUNT("timeout-count", AttributeAccess.Flag.COUNTER_METRIC, MeasurementUnit.NONE) {
+        @Override
+        ModelNode execute(TimeoutScheduler scheduler) {
+            return new ModelNode(scheduler.getDispatchedCount());
+        }
+    },
+    AVERAGE_TIMEOUT_LAG("average-timeout-lag", AttributeAccess.Flag.GAUGE_METRIC, MeasurementUnit.MILLISECONDS) {
+        @Override
+        ModelNode execute(TimeoutScheduler scheduler) {
+            return new ModelNode(scheduler.getAverageLag());
+        }
+    },
+    MAX_TIMEOUT_LAG("max-timeout-lag", AttributeAccess.Flag.GAUGE_METRIC, MeasurementUnit.MILLISECONDS) {
+        @Override
+        ModelNode execute(TimeoutScheduler scheduler) {
+            return new ModelNode(scheduler.getMaxLag());
+        }
+    },
+    ;
+    private static final Map<String, TimerServiceMetric> METRICS = new HashMap<>();
+    static {
+        for (TimerServiceMetric metric : values()) {
+            METRICS.put(metric.definition.getName(), metric);
+        }
+    }
+
+    private final AttributeDefinition definition;
+
+    TimerServiceMetric(String name, AttributeAccess.Flag type, MeasurementUnit unit) {
+        this.definition = new SimpleAttributeDefinitionBuilder(name, ModelType.LONG)
+                .setUndefinedMetricValue(ModelNode.ZERO_LONG)
+                .setMeasurementUnit(unit)
+                .setFlags(type)
+                .setStorageRuntime()
+                .build();
+    }
+
+    AttributeDefinition getDefinition() {
+        return this.definition;
+    }
+
+    abstract ModelNode execute(TimeoutScheduler scheduler);
+
+    static TimerServiceMetric forName(String name) {
+        return METRICS.get(name);
+    }
+}
@@ -23,18 +23,25 @@
 package org.jboss.as.ejb3.subsystem;
 
 import org.jboss.as.controller.AttributeDefinition;
+import org.jboss.as.controller.OperationContext;
+import org.jboss.as.controller.OperationFailedException;
+import org.jboss.as.controller.OperationStepHandler;
 import org.jboss.as.controller.ReloadRequiredRemoveStepHandler;
 import org.jboss.as.controller.ReloadRequiredWriteAttributeHandler;
 import org.jboss.as.controller.SimpleAttributeDefinition;
 import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
 import org.jboss.as.controller.SimpleResourceDefinition;
 import org.jboss.as.controller.capability.RuntimeCapability;
+import org.jboss.as.controller.descriptions.ModelDescriptionConstants;
 import org.jboss.as.controller.registry.AttributeAccess;
 import org.jboss.as.controller.registry.ManagementResourceRegistration;
 import org.jboss.as.controller.registry.OperationEntry;
 import org.jboss.as.controller.services.path.PathManager;
+import org.jboss.as.ejb3.timerservice.TimeoutScheduler;
 import org.jboss.as.threads.ThreadsServices;
+import org.jboss.dmr.ModelNode;
 import org.jboss.dmr.ModelType;
+import org.jboss.msc.service.ServiceController;
 
 import java.util.concurrent.ExecutorService;
 
@@ -52,7 +59,7 @@ public class TimerServiceResourceDefinition extends SimpleResourceDefinition {
 
     public static final String TIMER_SERVICE_CAPABILITY_NAME = "org.wildfly.ejb3.timer-service";
     public static final RuntimeCapability<Void> TIMER_SERVICE_CAPABILITY =
-            RuntimeCapability.Builder.of(TIMER_SERVICE_CAPABILITY_NAME, java.util.Timer.class).build();
+            RuntimeCapability.Builder.of(TIMER_SERVICE_CAPABILITY_NAME, TimeoutScheduler.class).build();
 
     static final SimpleAttributeDefinition THREAD_POOL_NAME =
             new SimpleAttributeDefinitionBuilder(EJB3SubsystemModel.THREAD_POOL_NAME, ModelType.STRING, false)
@@ -71,8 +78,9 @@ public class TimerServiceResourceDefinition extends SimpleResourceDefinition {
     static final AttributeDefinition[] ATTRIBUTES = new AttributeDefinition[] { THREAD_POOL_NAME, DEFAULT_DATA_STORE };
 
     private final PathManager pathManager;
+    private final boolean registerRuntimeOnly;
 
-    public TimerServiceResourceDefinition(final PathManager pathManager) {
+    public TimerServiceResourceDefinition(final PathManager pathManager, final boolean registerRuntimeOnly) {
         super(new SimpleResourceDefinition.Parameters(EJB3SubsystemModel.TIMER_SERVICE_PATH, EJB3Extension.getResourceDescriptionResolver(EJB3SubsystemModel.TIMER_SERVICE))
                 .setAddHandler(TimerServiceAdd.INSTANCE)
                 .setRemoveHandler(ReloadRequiredRemoveStepHandler.INSTANCE)
@@ -80,6 +88,7 @@ public class TimerServiceResourceDefinition extends SimpleResourceDefinition {
                 .setRemoveRestartLevel(OperationEntry.Flag.RESTART_ALL_SERVICES)
                 .setCapabilities(TIMER_SERVICE_CAPABILITY));
         this.pathManager = pathManager;
+        this.registerRuntimeOnly = registerRuntimeOnly;
     }
 
     @Override
@@ -87,6 +96,11 @@ public class TimerServiceResourceDefinition extends SimpleResourceDefinition {
         for (AttributeDefinition attr : ATTRIBUTES) {
             resourceRegistration.registerReadWriteAttribute(attr, null, new ReloadRequiredWriteAttributeHandler(attr));
         }
+        if (registerRuntimeOnly) {
+            for (TimerServiceMetric metric : TimerServiceMetric.values()) {
+                resourceRegistration.registerMetric(metric.getDefinition(), TimerServiceMetricHandler.INSTANCE);
+            }
+        }
     }
 
     @Override
@@ -95,4 +109,20 @@ public class TimerServiceResourceDefinition extends SimpleResourceDefinition {
         resourceRegistration.registerSubModel(DatabaseDataStoreResourceDefinition.INSTANCE);
     }
 
+    private static class TimerServiceMetricHandler implements OperationStepHandler {
+        static final TimerServiceMetricHandler INSTANCE = new TimerServiceMetricHandler();
+
+        @Override
+        public void execute(OperationContext context, ModelNode operation) throws OperationFailedException {
+            ServiceController<?> controller = context.getServiceRegistry(false).getService(TIMER_SERVICE_CAPABILITY.getCapabilityServiceName());
+            if (controller == null || controller.getState() != ServiceController.State.UP) {
+                return;
+            }
+            TimeoutScheduler scheduler = (TimeoutScheduler) controller.getValue();
+            if (scheduler != null) {
+                TimerServiceMetric metric = TimerServiceMetric.forName(operation.get(ModelDescriptionConstants.NAME).asString());
+                context.getResult().set(metric.execute(scheduler));
+            }
+        }
+    }
 }
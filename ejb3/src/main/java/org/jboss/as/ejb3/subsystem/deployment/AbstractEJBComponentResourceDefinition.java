@@ -22,7 +22,11 @@
 
 package org.jboss.as.ejb3.subsystem.deployment;
 
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.EnumSet;
 import java.util.Map;
+import java.util.stream.Collectors;
 
 import org.jboss.as.controller.AttributeDefinition;
 import org.jboss.as.controller.ObjectMapAttributeDefinition;
@@ -34,6 +38,7 @@ import org.jboss.as.controller.SimpleAttributeDefinition;
 import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
 import org.jboss.as.controller.SimpleResourceDefinition;
 import org.jboss.as.controller.StringListAttributeDefinition;
+import org.jboss.as.controller.client.helpers.MeasurementUnit;
 import org.jboss.as.controller.operations.validation.StringLengthValidator;
 import org.jboss.as.controller.registry.AttributeAccess;
 import org.jboss.as.controller.registry.ManagementResourceRegistration;
@@ -154,6 +159,13 @@ public abstract class AbstractEJBComponentResourceDefinition extends SimpleResou
             .setFlags(AttributeAccess.Flag.STORAGE_RUNTIME, AttributeAccess.Flag.COUNTER_METRIC).build();
     public static final SimpleAttributeDefinition POOL_MAX_SIZE = new SimpleAttributeDefinitionBuilder("pool-max-size", ModelType.INT, false)
             .setFlags(AttributeAccess.Flag.STORAGE_RUNTIME).build();
+    public static final SimpleAttributeDefinition POOL_HIT_COUNT = new SimpleAttributeDefinitionBuilder("pool-hit-count", ModelType.LONG, false)
+            .setFlags(AttributeAccess.Flag.STORAGE_RUNTIME, AttributeAccess.Flag.COUNTER_METRIC).build();
+    public static final SimpleAttributeDefinition POOL_WAIT_COUNT = new SimpleAttributeDefinitionBuilder("pool-wait-count", ModelType.LONG, false)
+            .setFlags(AttributeAccess.Flag.STORAGE_RUNTIME, AttributeAccess.Flag.COUNTER_METRIC).build();
+    public static final SimpleAttributeDefinition POOL_WAIT_TIME = new SimpleAttributeDefinitionBuilder("pool-wait-time", ModelType.LONG, false)
+            .setMeasurementUnit(MeasurementUnit.MILLISECONDS)
+            .setFlags(AttributeAccess.Flag.STORAGE_RUNTIME, AttributeAccess.Flag.COUNTER_METRIC).build();
 
     final EJBComponentType componentType;
 
@@ -191,6 +203,9 @@ public abstract class AbstractEJBComponentResourceDefinition extends SimpleResou
             resourceRegistration.registerReadOnlyAttribute(POOL_REMOVE_COUNT, handler);
             resourceRegistration.registerReadOnlyAttribute(POOL_CURRENT_SIZE, handler);
             resourceRegistration.registerReadWriteAttribute(POOL_MAX_SIZE, handler, handler);
+            resourceRegistration.registerReadOnlyAttribute(POOL_HIT_COUNT, handler);
+            resourceRegistration.registerReadOnlyAttribute(POOL_WAIT_COUNT, handler);
+            resourceRegistration.registerReadOnlyAttribute(POOL_WAIT_TIME, handler);
         }
 
         if (componentType.equals(EJBComponentType.STATEFUL)) {
@@ -238,22 +253,34 @@ public abstract class AbstractEJBComponentResourceDefinition extends SimpleResou
                 context.getResult().set(component.getInvocationMetrics().getWaitTime());
             }
         });
+        for (InvocationPercentileMetric metric : EnumSet.allOf(InvocationPercentileMetric.class)) {
+            resourceRegistration.registerMetric(metric.getDefinition(), new InvocationPercentileMetricHandler(metric));
+        }
         resourceRegistration.registerMetric(METHODS, new AbstractRuntimeMetricsHandler() {
             @Override
             protected void executeReadMetricStep(final OperationContext context, final ModelNode operation, final EJBComponent component) throws OperationFailedException {
                 context.getResult().setEmptyObject();
-                for (final Map.Entry<String, InvocationMetrics.Values> entry : component.getInvocationMetrics().getMethods().entrySet()) {
+                final Map<Method, InvocationMetrics.Values> methods = component.getInvocationMetrics().getMethods();
+                final Map<String, Long> names = methods.keySet().stream().collect(Collectors.groupingBy(Method::getName, Collectors.counting()));
+                for (final Map.Entry<Method, InvocationMetrics.Values> entry : methods.entrySet()) {
+                    final Method method = entry.getKey();
                     final InvocationMetrics.Values values = entry.getValue();
                     final ModelNode result = new ModelNode();
                     result.get("execution-time").set(values.getExecutionTime());
                     result.get("invocations").set(values.getInvocations());
                     result.get("wait-time").set(values.getWaitTime());
-                    context.getResult().get(entry.getKey()).set(result);
+                    // Overloaded methods are distinguished by their parameter types, e.g. foo(java.lang.String,int)
+                    final String name = (names.get(method.getName()) > 1) ? signature(method) : method.getName();
+                    context.getResult().get(name).set(result);
                 }
             }
         });
     }
 
+    private static String signature(final Method method) {
+        return Arrays.stream(method.getParameterTypes()).map(Class::getName).collect(Collectors.joining(",", method.getName() + "(", ")"));
+    }
+
     /* (non-Javadoc)
      * @see org.jboss.as.controller.SimpleResourceDefinition#registerChildren(org.jboss.as.controller.registry.ManagementResourceRegistration)
      */
@@ -264,4 +291,17 @@ public abstract class AbstractEJBComponentResourceDefinition extends SimpleResou
         final AbstractEJBComponentRuntimeHandler<?> handler = componentType.getRuntimeHandler();
         resourceRegistration.registerSubModel(new TimerServiceResourceDefinition(handler));
     }
+
+    private static class InvocationPercentileMetricHandler extends AbstractRuntimeMetricsHandler {
+        private final InvocationPercentileMetric metric;
+
+        InvocationPercentileMetricHandler(final InvocationPercentileMetric metric) {
+            this.metric = metric;
+        }
+
+        @Override
+        protected void executeReadMetricStep(final OperationContext context, final ModelNode operation, final EJBComponent component) throws OperationFailedException {
+            context.getResult().set(this.metric.execute(component.getInvocationMetrics()));
+        }
+    }
 }
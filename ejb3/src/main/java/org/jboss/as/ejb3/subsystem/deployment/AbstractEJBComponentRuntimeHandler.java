@@ -32,9 +32,12 @@ import static org.jboss.as.ejb3.subsystem.deployment.AbstractEJBComponentResourc
 import static org.jboss.as.ejb3.subsystem.deployment.AbstractEJBComponentResourceDefinition.POOL_AVAILABLE_COUNT;
 import static org.jboss.as.ejb3.subsystem.deployment.AbstractEJBComponentResourceDefinition.POOL_CREATE_COUNT;
 import static org.jboss.as.ejb3.subsystem.deployment.AbstractEJBComponentResourceDefinition.POOL_CURRENT_SIZE;
+import static org.jboss.as.ejb3.subsystem.deployment.AbstractEJBComponentResourceDefinition.POOL_HIT_COUNT;
 import static org.jboss.as.ejb3.subsystem.deployment.AbstractEJBComponentResourceDefinition.POOL_MAX_SIZE;
 import static org.jboss.as.ejb3.subsystem.deployment.AbstractEJBComponentResourceDefinition.POOL_NAME;
 import static org.jboss.as.ejb3.subsystem.deployment.AbstractEJBComponentResourceDefinition.POOL_REMOVE_COUNT;
+import static org.jboss.as.ejb3.subsystem.deployment.AbstractEJBComponentResourceDefinition.POOL_WAIT_COUNT;
+import static org.jboss.as.ejb3.subsystem.deployment.AbstractEJBComponentResourceDefinition.POOL_WAIT_TIME;
 import static org.jboss.as.ejb3.subsystem.deployment.AbstractEJBComponentResourceDefinition.RUN_AS_ROLE;
 import static org.jboss.as.ejb3.subsystem.deployment.AbstractEJBComponentResourceDefinition.SECURITY_DOMAIN;
 import static org.jboss.as.ejb3.subsystem.deployment.AbstractEJBComponentResourceDefinition.TIMEOUT_METHOD;
@@ -206,6 +209,21 @@ public abstract class AbstractEJBComponentRuntimeHandler<T extends EJBComponent>
             if (pool != null) {
                 result.set(pool.getMaxSize());
             }
+        } else if (hasPool && POOL_HIT_COUNT.getName().equals(attributeName)) {
+            final Pool<?> pool = componentType.getPool(component);
+            if (pool != null) {
+                result.set(pool.getHitCount());
+            }
+        } else if (hasPool && POOL_WAIT_COUNT.getName().equals(attributeName)) {
+            final Pool<?> pool = componentType.getPool(component);
+            if (pool != null) {
+                result.set(pool.getWaitCount());
+            }
+        } else if (hasPool && POOL_WAIT_TIME.getName().equals(attributeName)) {
+            final Pool<?> pool = componentType.getPool(component);
+            if (pool != null) {
+                result.set(pool.getWaitTime());
+            }
         } else {
             // Bug; we were registered for an attribute but there is no code for handling it
             throw EjbLogger.ROOT_LOGGER.unknownAttribute(attributeName);
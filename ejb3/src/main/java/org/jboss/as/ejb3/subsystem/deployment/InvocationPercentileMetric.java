@@ -0,0 +1,68 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.ejb3.subsystem.deployment;
+
+import java.util.function.Function;
+
+import org.jboss.as.controller.AttributeDefinition;
+import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
+import org.jboss.as.controller.client.helpers.MeasurementUnit;
+import org.jboss.as.controller.registry.AttributeAccess;
+import org.jboss.as.ejb3.component.invocationmetrics.InvocationMetrics;
+import org.jboss.as.ejb3.component.invocationmetrics.LatencyHistogram;
+import org.jboss.dmr.ModelNode;
+import org.jboss.dmr.ModelType;
+
+/**
+ * Runtime metrics of the percentiles of the invocation latencies of an EJB component.
+ */
+enum InvocationPercentileMetric {
+
+    EXECUTION_TIME_P50("execution-time-p50", InvocationMetrics::getExecutionTimeHistogram, 0.5),
+    EXECUTION_TIME_P99("execution-time-p99", InvocationMetrics::getExecutionTimeHistogram, 0.99),
+    EXECUTION_TIME_P999("execution-time-p999", InvocationMetrics::getExecutionTimeHistogram, 0.999),
+    WAIT_TIME_P50("wait-time-p50", InvocationMetrics::getWaitTimeHistogram, 0.5),
+    WAIT_TIME_P99("wait-time-p99", InvocationMetrics::getWaitTimeHistogram, 0.99),
+    WAIT_TIME_P999("wait-time-p999", InvocationMetrics::getWaitTimeHistogram, 0.999),
+    ;
+    private final AttributeDefinition definition;
+    private final Function<InvocationMetrics, LatencyHistogram> histogram;
+    private final double quantile;
+
+    InvocationPercentileMetric(String name, Function<InvocationMetrics, LatencyHistogram> histogram, double quantile) {
+        this.definition = new SimpleAttributeDefinitionBuilder(name, ModelType.LONG)
+                .setUndefinedMetricValue(ModelNode.ZERO)
+                .setMeasurementUnit(MeasurementUnit.NANOSECONDS)
+                .setFlags(AttributeAccess.Flag.STORAGE_RUNTIME)
+                .build();
+        this.histogram = histogram;
+        this.quantile = quantile;
+    }
+
+    AttributeDefinition getDefinition() {
+        return this.definition;
+    }
+
+    ModelNode execute(InvocationMetrics metrics) {
+        return new ModelNode(this.histogram.apply(metrics).getPercentile(this.quantile));
+    }
+}
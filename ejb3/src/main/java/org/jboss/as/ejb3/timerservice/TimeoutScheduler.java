@@ -0,0 +1,384 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.ejb3.timerservice;
+
+import static org.jboss.as.ejb3.logging.EjbLogger.EJB3_TIMER_LOGGER;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Schedules timeouts of the timer service using a hashed timing wheel.
+ * Unlike {@link java.util.Timer}, whose binary heap is guarded by a single lock, scheduling and cancelling a timeout run in O(1) time and never contend with the thread that advances the wheel.
+ * Like {@link java.util.Timer}, the tasks of expired timeouts run on the thread that advances the wheel, so tasks should be brief, e.g. by handing off to an executor.
+ * Unlike {@link java.util.Timer}, a task that throws an exception does not terminate the scheduler.
+ * Timeouts expire with the granularity of a tick.
+ */
+public class TimeoutScheduler implements Runnable {
+    static final long DEFAULT_TICK_MILLIS = 10;
+    static final int DEFAULT_TICKS_PER_WHEEL = 512;
+    // Bounds the number of pending timeouts transferred into the wheel per tick, so that a burst of scheduling cannot stall expiration
+    private static final int MAX_TRANSFERS_PER_TICK = 100000;
+
+    private final long tickNanos;
+    private final int mask;
+    private final Bucket[] wheel;
+    private final Queue<Timeout> pending = new ConcurrentLinkedQueue<>();
+    private final Queue<Timeout> cancelled = new ConcurrentLinkedQueue<>();
+    private final ThreadFactory threadFactory;
+    private final LongAdder dispatchedCount = new LongAdder();
+    private final LongAdder totalLag = new LongAdder();
+    private final AtomicLong maxLag = new AtomicLong();
+
+    private volatile boolean running = false;
+    private volatile long startTime;
+    private Thread worker;
+    // Accessed only by the worker thread
+    private long tick = 0;
+
+    /**
+     * Creates a new scheduler using a default tick duration and wheel size.
+     * @param threadFactory the factory of the thread advancing the wheel
+     */
+    public TimeoutScheduler(ThreadFactory threadFactory) {
+        this(threadFactory, DEFAULT_TICK_MILLIS, TimeUnit.MILLISECONDS, DEFAULT_TICKS_PER_WHEEL);
+    }
+
+    /**
+     * Creates a new scheduler using the specified tick duration and wheel size.
+     * @param threadFactory the factory of the thread advancing the wheel
+     * @param tick the granularity of this scheduler
+     * @param unit the unit of the tick
+     * @param ticksPerWheel the number of buckets of the wheel, rounded up to the next power of 2
+     */
+    public TimeoutScheduler(ThreadFactory threadFactory, long tick, TimeUnit unit, int ticksPerWheel) {
+        if (tick <= 0) {
+            throw new IllegalArgumentException(Long.toString(tick));
+        }
+        if (ticksPerWheel <= 0) {
+            throw new IllegalArgumentException(Integer.toString(ticksPerWheel));
+        }
+        this.tickNanos = unit.toNanos(tick);
+        int size = Integer.highestOneBit(ticksPerWheel);
+        if (size < ticksPerWheel) {
+            size <<= 1;
+        }
+        this.mask = size - 1;
+        this.wheel = new Bucket[size];
+        for (int i = 0; i < size; ++i) {
+            this.wheel[i] = new Bucket();
+        }
+        this.threadFactory = threadFactory;
+    }
+
+    public synchronized void start() {
+        this.startTime = System.nanoTime();
+        this.running = true;
+        this.worker = this.threadFactory.newThread(this);
+        this.worker.start();
+    }
+
+    /**
+     * Stops this scheduler, discarding any scheduled timeouts.
+     * Like {@link java.util.Timer#cancel()}, a task that is currently running is allowed to complete.
+     */
+    public synchronized void stop() {
+        this.running = false;
+        Thread worker = this.worker;
+        this.worker = null;
+        // A task stopping its own scheduler cannot await itself
+        if ((worker != null) && (worker != Thread.currentThread())) {
+            worker.interrupt();
+            try {
+                worker.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        this.pending.clear();
+        this.cancelled.clear();
+        for (Bucket bucket : this.wheel) {
+            bucket.clear();
+        }
+    }
+
+    /**
+     * Schedules the specified task for execution after the specified delay.
+     * @param task a task
+     * @param delay a delay in milliseconds
+     * @return a handle with which to cancel the task
+     * @throws IllegalStateException if this scheduler is not running
+     */
+    public Timeout schedule(Runnable task, long delay) {
+        return this.schedule(task, delay, 0);
+    }
+
+    /**
+     * Schedules the specified task for repeated execution at a fixed rate, starting after the specified delay.
+     * @param task a task
+     * @param delay a delay in milliseconds
+     * @param period the period between successive executions in milliseconds
+     * @return a handle with which to cancel the task
+     * @throws IllegalStateException if this scheduler is not running
+     */
+    public Timeout scheduleAtFixedRate(Runnable task, long delay, long period) {
+        if (period <= 0) {
+            throw new IllegalArgumentException(Long.toString(period));
+        }
+        return this.schedule(task, delay, period);
+    }
+
+    private Timeout schedule(Runnable task, long delay, long period) {
+        if (!this.running) {
+            throw new IllegalStateException();
+        }
+        long delayNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(delay, 0));
+        long deadline = System.nanoTime() - this.startTime + delayNanos;
+        // Guard against overflow
+        if ((delayNanos > 0) && (deadline < 0)) {
+            deadline = Long.MAX_VALUE;
+        }
+        Timeout timeout = new Timeout(task, deadline, TimeUnit.MILLISECONDS.toNanos(period));
+        this.pending.add(timeout);
+        return timeout;
+    }
+
+    /**
+     * Returns the number of timeouts dispatched by this scheduler.
+     * @return a number of timeouts
+     */
+    public long getDispatchedCount() {
+        return this.dispatchedCount.sum();
+    }
+
+    /**
+     * Returns the average lag, i.e. the duration between the scheduled time of a timeout and the time its task started to run.
+     * @return a duration in milliseconds
+     */
+    public long getAverageLag() {
+        long count = this.dispatchedCount.sum();
+        return (count > 0) ? TimeUnit.NANOSECONDS.toMillis(this.totalLag.sum() / count) : 0L;
+    }
+
+    /**
+     * Returns the maximum lag, i.e. the duration between the scheduled time of a timeout and the time its task started to run.
+     * @return a duration in milliseconds
+     */
+    public long getMaxLag() {
+        return TimeUnit.NANOSECONDS.toMillis(this.maxLag.get());
+    }
+
+    @Override
+    public void run() {
+        while (this.running) {
+            long now = this.awaitNextTick();
+            if (now < 0) continue;
+            this.removeCancelled();
+            this.transferPending();
+            this.wheel[(int) (this.tick & this.mask)].expire(now);
+            this.tick += 1;
+        }
+    }
+
+    private long awaitNextTick() {
+        long deadline = this.tickNanos * (this.tick + 1);
+        while (true) {
+            long now = System.nanoTime() - this.startTime;
+            long sleep = deadline - now;
+            if (sleep <= 0) {
+                return now;
+            }
+            try {
+                TimeUnit.NANOSECONDS.sleep(sleep);
+            } catch (InterruptedException e) {
+                if (!this.running) {
+                    return -1;
+                }
+            }
+        }
+    }
+
+    private void removeCancelled() {
+        Timeout timeout = this.cancelled.poll();
+        while (timeout != null) {
+            Bucket bucket = timeout.bucket;
+            if (bucket != null) {
+                bucket.remove(timeout);
+            }
+            timeout = this.cancelled.poll();
+        }
+    }
+
+    private void transferPending() {
+        for (int i = 0; i < MAX_TRANSFERS_PER_TICK; ++i) {
+            Timeout timeout = this.pending.poll();
+            if (timeout == null) return;
+            if (timeout.isCancelled()) continue;
+            long ticks = timeout.deadline / this.tickNanos;
+            timeout.remainingRounds = (ticks - this.tick) / this.wheel.length;
+            // Timeouts already due expire on the current tick
+            this.wheel[(int) (Math.max(ticks, this.tick) & this.mask)].add(timeout);
+        }
+    }
+
+    void dispatch(Timeout timeout, long deadline) {
+        long lag = Math.max(System.nanoTime() - this.startTime - deadline, 0L);
+        this.dispatchedCount.increment();
+        this.totalLag.add(lag);
+        if (lag > this.maxLag.get()) {
+            this.maxLag.accumulateAndGet(lag, Math::max);
+        }
+        try {
+            timeout.task.run();
+        } catch (Throwable e) {
+            EJB3_TIMER_LOGGER.scheduledTaskFailed(e, timeout.task);
+        }
+    }
+
+    /**
+     * A handle to a scheduled task.
+     */
+    public final class Timeout {
+        private static final int SCHEDULED = 0;
+        private static final int EXPIRED = 1;
+        private static final int CANCELLED = 2;
+
+        final Runnable task;
+        private final long period;
+        // Relative to the start time of the scheduler, modified only by the worker thread
+        long deadline;
+        long remainingRounds;
+        // Linkage within a bucket of the wheel, accessed only by the worker thread
+        Bucket bucket;
+        Timeout next;
+        Timeout previous;
+
+        volatile int state = SCHEDULED;
+
+        Timeout(Runnable task, long deadline, long period) {
+            this.task = task;
+            this.deadline = deadline;
+            this.period = period;
+        }
+
+        /**
+         * Cancels this timeout, preventing any future execution of its task.
+         * @return true, if this timeout was cancelled, false if it already expired or was already cancelled.
+         */
+        public boolean cancel() {
+            if (!STATE_UPDATER.compareAndSet(this, SCHEDULED, CANCELLED)) {
+                return false;
+            }
+            // Unlink lazily via the worker thread
+            TimeoutScheduler.this.cancelled.add(this);
+            return true;
+        }
+
+        public boolean isCancelled() {
+            return this.state == CANCELLED;
+        }
+
+        void expire() {
+            long deadline = this.deadline;
+            if (this.period > 0) {
+                if (this.isCancelled()) return;
+                // Re-arm for the next period, relative to the scheduled, rather than actual, time of this expiration
+                this.deadline = deadline + this.period;
+                TimeoutScheduler.this.pending.add(this);
+            } else if (!STATE_UPDATER.compareAndSet(this, SCHEDULED, EXPIRED)) {
+                return;
+            }
+            TimeoutScheduler.this.dispatch(this, deadline);
+        }
+    }
+
+    static final AtomicIntegerFieldUpdater<Timeout> STATE_UPDATER = AtomicIntegerFieldUpdater.newUpdater(Timeout.class, "state");
+
+    /**
+     * A doubly-linked list of the timeouts sharing a slot of the wheel, accessed only by the worker thread.
+     */
+    private final class Bucket {
+        private Timeout head;
+        private Timeout tail;
+
+        void add(Timeout timeout) {
+            timeout.bucket = this;
+            timeout.next = null;
+            timeout.previous = this.tail;
+            if (this.tail == null) {
+                this.head = timeout;
+            } else {
+                this.tail.next = timeout;
+            }
+            this.tail = timeout;
+        }
+
+        void remove(Timeout timeout) {
+            Timeout next = timeout.next;
+            Timeout previous = timeout.previous;
+            if (previous == null) {
+                this.head = next;
+            } else {
+                previous.next = next;
+            }
+            if (next == null) {
+                this.tail = previous;
+            } else {
+                next.previous = previous;
+            }
+            timeout.bucket = null;
+            timeout.next = null;
+            timeout.previous = null;
+        }
+
+        void expire(long now) {
+            Timeout timeout = this.head;
+            while (timeout != null) {
+                Timeout next = timeout.next;
+                if (timeout.isCancelled()) {
+                    this.remove(timeout);
+                } else if (timeout.remainingRounds <= 0) {
+                    this.remove(timeout);
+                    if (timeout.deadline <= now) {
+                        timeout.expire();
+                    } else {
+                        // Not yet due, e.g. if scheduled during this tick
+                        TimeoutScheduler.this.pending.add(timeout);
+                    }
+                } else {
+                    timeout.remainingRounds -= 1;
+                }
+                timeout = next;
+            }
+        }
+
+        void clear() {
+            this.head = null;
+            this.tail = null;
+        }
+    }
+}
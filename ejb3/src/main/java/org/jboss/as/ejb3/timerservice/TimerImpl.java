@@ -24,6 +24,7 @@ package org.jboss.as.ejb3.timerservice;
 import java.io.Serializable;
 import java.util.Date;
 import java.util.concurrent.Semaphore;
+import java.util.function.Supplier;
 
 import javax.ejb.EJBException;
 import javax.ejb.ScheduleExpression;
@@ -69,7 +70,18 @@ public class TimerImpl implements Timer {
     /**
      * The info which was passed while creating the timer.
      */
-    protected final Serializable info;
+    private volatile Serializable info;
+
+    /**
+     * Resolves the info of this timer on first access, e.g. by deserializing it from persistent storage.
+     * Null if this timer was created with its info.
+     */
+    private final Supplier<Serializable> infoResolver;
+
+    /**
+     * Indicates whether the info of this timer was already resolved via its {@link #infoResolver}.
+     */
+    private volatile boolean infoResolved;
 
     /**
      * Indicates whether the timer is persistent
@@ -137,6 +149,7 @@ public class TimerImpl implements Timer {
         this.id = builder.id;
         this.timedObjectId = builder.timedObjectId;
         this.info = builder.info;
+        this.infoResolver = builder.infoResolver;
         this.persistent = builder.persistent;
         this.initialExpiration = builder.initialDate;
         this.intervalDuration = builder.repeatInterval;
@@ -240,20 +253,56 @@ public class TimerImpl implements Timer {
     public Serializable getInfo() throws IllegalStateException, EJBException {
         // make sure this call is allowed
         this.assertTimerState();
-        return this.info;
+        return this.getTimerInfo();
     }
 
     /**
      * This method is similar to {@link #getInfo()}, except that this method does <i>not</i> check the timer state
      * and hence does <i>not</i> throw either {@link IllegalStateException} or {@link javax.ejb.NoSuchObjectLocalException}
-     * or {@link javax.ejb.EJBException}.
+     * or {@link javax.ejb.EJBException} due to the timer state.
      *
      * @return
+     * @throws EJBException if the deferred info of this timer could not be resolved, e.g. deserialized
      */
     public Serializable getTimerInfo() {
+        Supplier<Serializable> resolver = this.infoResolver;
+        if ((resolver != null) && !this.infoResolved) {
+            synchronized (resolver) {
+                if (!this.infoResolved) {
+                    try {
+                        this.info = resolver.get();
+                    } catch (RuntimeException e) {
+                        // Leave unresolved, so that a subsequent call can retry, e.g. once the class of the info is available
+                        EjbLogger.EJB3_TIMER_LOGGER.timerInfoResolutionFailed(e, this.id, this.timedObjectId);
+                        throw EjbLogger.EJB3_TIMER_LOGGER.timerInfoUnavailable(e, this.id);
+                    }
+                    this.infoResolved = true;
+                }
+            }
+        }
         return this.info;
     }
 
+    /**
+     * Returns the resolver of the info of this timer, if this timer was created with one.
+     * This allows a persistence implementation to recover the persistent form of the info without resolving it.
+     *
+     * @return the resolver of the info of this timer, or null if this timer was created with its info
+     */
+    public Supplier<Serializable> getInfoResolver() {
+        return this.infoResolver;
+    }
+
+    /**
+     * Indicates whether the info of this timer was resolved via its resolver.
+     * Once resolved, the info may have been modified, such that its persistent form can no longer be recovered from its resolver.
+     *
+     * @return true, if the info of this timer was resolved, false if it was not, or if this timer was created with its info
+     */
+    public boolean isInfoResolved() {
+        return this.infoResolved;
+    }
+
     /**
      * {@inheritDoc}
      *
@@ -613,8 +662,11 @@ public class TimerImpl implements Timer {
         sb.append(this.nextExpiration);
         sb.append(" timerState=");
         sb.append(this.timerState);
-        sb.append(" info=");
-        sb.append(this.info);
+        // Avoid resolving the info just for logging
+        if ((this.infoResolver == null) || this.infoResolved) {
+            sb.append(" info=");
+            sb.append(this.info);
+        }
         sb.append("]");
         return sb.toString();
    }
@@ -635,6 +687,7 @@ public class TimerImpl implements Timer {
         protected Date nextDate;
         protected Date previousRun;
         protected Serializable info;
+        protected Supplier<Serializable> infoResolver;
         protected Object primaryKey;
         protected TimerState timerState;
         protected boolean persistent;
@@ -672,6 +725,19 @@ public class TimerImpl implements Timer {
 
         public Builder setInfo(final Serializable info) {
             this.info = info;
+            this.infoResolver = null;
+            return this;
+        }
+
+        /**
+         * Defers the resolution of the timer info until first accessed.
+         *
+         * @param infoResolver resolves the info of the timer, e.g. by deserializing it
+         * @return this builder
+         */
+        public Builder setInfoResolver(final Supplier<Serializable> infoResolver) {
+            this.info = null;
+            this.infoResolver = infoResolver;
             return this;
         }
 
@@ -38,6 +38,8 @@ import java.util.ListIterator;
 import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.ExecutorService;
 import javax.ejb.EJBException;
 import javax.ejb.ScheduleExpression;
@@ -106,7 +108,7 @@ public class TimerServiceImpl implements TimerService, Service<TimerService> {
 
     private final InjectedValue<ExecutorService> executorServiceInjectedValue = new InjectedValue<ExecutorService>();
 
-    private final InjectedValue<java.util.Timer> timerInjectedValue = new InjectedValue<java.util.Timer>();
+    private final InjectedValue<TimeoutScheduler> timerInjectedValue = new InjectedValue<TimeoutScheduler>();
 
     private final InjectedValue<TimedObjectInvoker> timedObjectInvoker = new InjectedValue<TimedObjectInvoker>();
 
@@ -126,9 +128,9 @@ public class TimerServiceImpl implements TimerService, Service<TimerService> {
     private final Map<String, TimerImpl> timers = new HashMap<String, TimerImpl>();
 
     /**
-     * Holds the {@link java.util.concurrent.Future} of each of the timer tasks that have been scheduled
+     * Holds each of the timer tasks that have been scheduled, keyed by timer id
      */
-    private final Map<String, java.util.TimerTask> scheduledTimerFutures = new HashMap<String, java.util.TimerTask>();
+    private final ConcurrentMap<String, Task> scheduledTimerFutures = new ConcurrentHashMap<String, Task>();
 
     /**
      * Key that is used to store timers that are waiting on transaction completion in the transaction local
@@ -216,7 +218,6 @@ public class TimerServiceImpl implements TimerService, Service<TimerService> {
         started = false;
         IoUtils.safeClose(listenerHandle);
         listenerHandle = null;
-        timerInjectedValue.getValue().purge(); //WFLY-3823
     }
 
 
@@ -910,16 +911,17 @@ public class TimerServiceImpl implements TimerService, Service<TimerService> {
      * Creates and schedules a {@link TimerTask} for the next timeout of the passed <code>timer</code>
      */
     protected void scheduleTimeout(TimerImpl timer, boolean newTimer) {
-        synchronized (scheduledTimerFutures) {
-            if (!newTimer && !scheduledTimerFutures.containsKey(timer.getId())) {
+        // Schedule atomically per timer, rather than under a lock shared by all timers of this timer service
+        this.scheduledTimerFutures.compute(timer.getId(), (id, existing) -> {
+            if (!newTimer && (existing == null)) {
                 //this timer has been cancelled by another thread. We just return
-                return;
+                return null;
             }
 
             Date nextExpiration = timer.getNextExpiration();
             if (nextExpiration == null) {
                 EJB3_TIMER_LOGGER.nextExpirationIsNull(timer);
-                return;
+                return existing;
             }
             // create the timer task
             final TimerTask<?> timerTask = timer.getTimerTask();
@@ -935,18 +937,15 @@ public class TimerServiceImpl implements TimerService, Service<TimerService> {
                 EJB3_TIMER_LOGGER.debugv("Scheduling timer {0} at fixed rate, starting at {1} milliseconds from now with repeated interval={2}",
                         timer, delay, intervalDuration);
                 // schedule the task
-                this.timerInjectedValue.getValue().scheduleAtFixedRate(task, delay, intervalDuration);
-                // maintain it in timerservice for future use (like cancellation)
-                this.scheduledTimerFutures.put(timer.getId(), task);
+                task.setTimeout(this.timerInjectedValue.getValue().scheduleAtFixedRate(task, delay, intervalDuration));
             } else {
                 EJB3_TIMER_LOGGER.debugv("Scheduling a single action timer {0} starting at {1} milliseconds from now", timer, delay);
                 // schedule the task
-                this.timerInjectedValue.getValue().schedule(task, delay);
-                // maintain it in timerservice for future use (like cancellation)
-                this.scheduledTimerFutures.put(timer.getId(), task);
-
+                task.setTimeout(this.timerInjectedValue.getValue().schedule(task, delay));
             }
-        }
+            // maintain it in timerservice for future use (like cancellation)
+            return task;
+        });
     }
 
     /**
@@ -955,19 +954,15 @@ public class TimerServiceImpl implements TimerService, Service<TimerService> {
      * @param timer
      */
     protected void cancelTimeout(final TimerImpl timer) {
-        synchronized (this.scheduledTimerFutures) {
-            java.util.TimerTask timerTask = this.scheduledTimerFutures.remove(timer.getId());
-            if (timerTask != null) {
-                timerTask.cancel();
-            }
+        Task task = this.scheduledTimerFutures.remove(timer.getId());
+        if (task != null) {
+            task.cancel();
         }
     }
 
 
     public boolean isScheduled(final String tid) {
-        synchronized (this.scheduledTimerFutures) {
-            return this.scheduledTimerFutures.containsKey(tid);
-        }
+        return this.scheduledTimerFutures.containsKey(tid);
     }
 
     /**
@@ -1135,7 +1130,7 @@ public class TimerServiceImpl implements TimerService, Service<TimerService> {
         return executorServiceInjectedValue;
     }
 
-    public InjectedValue<java.util.Timer> getTimerInjectedValue() {
+    public InjectedValue<TimeoutScheduler> getTimerInjectedValue() {
         return timerInjectedValue;
     }
 
@@ -1264,7 +1259,7 @@ public class TimerServiceImpl implements TimerService, Service<TimerService> {
         }
     }
 
-    private class TaskPostPersist extends java.util.TimerTask {
+    private class TaskPostPersist implements Runnable {
         private final TimerImpl timer;
         private long delta = 0;
         private long nextExpirationPristine = 0;
@@ -1316,10 +1311,11 @@ public class TimerServiceImpl implements TimerService, Service<TimerService> {
         }
     }
 
-    private class Task extends java.util.TimerTask {
+    private class Task implements Runnable {
 
         private final TimerTask<?> delegate;
         private final ControlPoint controlPoint;
+        private volatile TimeoutScheduler.Timeout timeout;
         /**
          * This is true if a task is queued up to be run by the request controller,
          * used to stop timer tasks banking up when the container is suspended.
@@ -1352,10 +1348,14 @@ public class TimerServiceImpl implements TimerService, Service<TimerService> {
             }
         }
 
-        @Override
+        void setTimeout(TimeoutScheduler.Timeout timeout) {
+            this.timeout = timeout;
+        }
+
         public boolean cancel() {
             delegate.cancel();
-            return super.cancel();
+            TimeoutScheduler.Timeout timeout = this.timeout;
+            return (timeout != null) && timeout.cancel();
         }
     }
 
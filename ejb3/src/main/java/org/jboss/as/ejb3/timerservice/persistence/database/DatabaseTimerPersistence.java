@@ -50,8 +50,6 @@ import java.util.List;
 import java.util.Map;
 import java.util.Properties;
 import java.util.Set;
-import java.util.Timer;
-import java.util.TimerTask;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.regex.Pattern;
 
@@ -66,6 +64,7 @@ import javax.transaction.TransactionManager;
 import org.jboss.as.ejb3.logging.EjbLogger;
 import org.jboss.as.ejb3.timerservice.CalendarTimer;
 import org.jboss.as.ejb3.timerservice.TimerImpl;
+import org.jboss.as.ejb3.timerservice.TimeoutScheduler;
 import org.jboss.as.ejb3.timerservice.TimerServiceImpl;
 import org.jboss.as.ejb3.timerservice.TimerState;
 import org.jboss.as.ejb3.timerservice.persistence.TimeoutMethod;
@@ -103,7 +102,7 @@ public class DatabaseTimerPersistence implements TimerPersistence, Service<Datab
     private final InjectedValue<ModuleLoader> moduleLoader = new InjectedValue<ModuleLoader>();
     private final Map<String, TimerChangeListener> changeListeners = Collections.synchronizedMap(new HashMap<String, TimerChangeListener>());
 
-    private final InjectedValue<java.util.Timer> timerInjectedValue = new InjectedValue<java.util.Timer>();
+    private final InjectedValue<TimeoutScheduler> timerInjectedValue = new InjectedValue<TimeoutScheduler>();
 
     private final Map<String, Set<String>> knownTimerIds = new HashMap<>();
 
@@ -124,20 +123,27 @@ public class DatabaseTimerPersistence implements TimerPersistence, Service<Datab
     private volatile Properties sql;
     private MarshallerFactory factory;
     private MarshallingConfiguration configuration;
-    private RefreshTask refreshTask;
+    private final RefreshTask refreshTask = new RefreshTask();
+    private TimeoutScheduler.Timeout refreshTimeout;
 
     /** Names for the different SQL commands stored in the properties*/
     private static final String CREATE_TABLE = "create-table";
     private static final String CREATE_TIMER = "create-timer";
     private static final String UPDATE_TIMER = "update-timer";
     private static final String LOAD_ALL_TIMERS = "load-all-timers";
+    private static final String LOAD_ALL_TIMER_STATES = "load-all-timer-states";
     private static final String LOAD_TIMER = "load-timer";
+    private static final String LOAD_TIMERS = "load-timers";
     private static final String DELETE_TIMER = "delete-timer";
     private static final String UPDATE_RUNNING = "update-running";
     /** The format for scheduler start and end date*/
     private static final String SCHEDULER_DATE_FORMAT = "yyyy-MM-dd HH:mm:ss";
     /** Pattern to pickout MSSQL */
     private static final Pattern MSSQL_PATTERN = Pattern.compile("(sqlserver|microsoft|mssql)");
+    /** Maximum number of timers loaded by a single load-timers query, which must remain below the IN-list limit of all supported databases */
+    private static final int LOAD_TIMERS_BATCH_SIZE = 100;
+    /** Timer states for which a timer is considered valid, when synchronizing in-memory timers with the database */
+    private static final Set<TimerState> VALID_STATES = Collections.unmodifiableSet(EnumSet.of(TimerState.IN_TIMEOUT, TimerState.RETRY_TIMEOUT, TimerState.CREATED, TimerState.ACTIVE));
 
     public DatabaseTimerPersistence(final String database, String partition, String nodeName, int refreshInterval, boolean allowExecution) {
         this.database = database;
@@ -168,15 +174,17 @@ public class DatabaseTimerPersistence implements TimerPersistence, Service<Datab
         extractDialects();
         investigateDialect();
         checkDatabase();
-        refreshTask = new RefreshTask();
         if (refreshInterval > 0) {
-            timerInjectedValue.getValue().schedule(refreshTask, refreshInterval, refreshInterval);
+            refreshTimeout = timerInjectedValue.getValue().scheduleAtFixedRate(refreshTask, refreshInterval, refreshInterval);
         }
     }
 
     @Override
     public synchronized void stop(final StopContext context) {
-        refreshTask.cancel();
+        if (refreshTimeout != null) {
+            refreshTimeout.cancel();
+            refreshTimeout = null;
+        }
         knownTimerIds.clear();
         managedReference.release();
         managedReference = null;
@@ -553,6 +561,45 @@ public class DatabaseTimerPersistence implements TimerPersistence, Service<Datab
         refreshTask.run();
     }
 
+    /**
+     * Loads the specified timers using the specified connection, in batches of at most {@value #LOAD_TIMERS_BATCH_SIZE} timers per query.
+     * Timers that no longer exist, or that could not be reinstated, are omitted from the result.
+     *
+     * @return the loaded timers, keyed by timer id
+     */
+    private Map<String, Holder> loadTimers(final Connection connection, final String timedObjectId, final List<String> ids, final TimerServiceImpl timerService) throws SQLException {
+        final Map<String, Holder> result = new HashMap<>();
+        final String loadTimers = sql(LOAD_TIMERS);
+        for (int offset = 0; offset < ids.size(); offset += LOAD_TIMERS_BATCH_SIZE) {
+            final List<String> batch = ids.subList(offset, Math.min(offset + LOAD_TIMERS_BATCH_SIZE, ids.size()));
+            final StringBuilder parameters = new StringBuilder("?");
+            for (int i = 1; i < batch.size(); i++) {
+                parameters.append(", ?");
+            }
+            try (PreparedStatement statement = connection.prepareStatement(String.format(loadTimers, parameters))) {
+                statement.setString(1, timedObjectId);
+                statement.setString(2, partition);
+                for (int i = 0; i < batch.size(); i++) {
+                    statement.setString(i + 3, batch.get(i));
+                }
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    while (resultSet.next()) {
+                        final String id = resultSet.getString(1);
+                        try {
+                            final Holder holder = timerFromResult(resultSet, timerService);
+                            if (holder != null) {
+                                result.put(id, holder);
+                            }
+                        } catch (Exception e) {
+                            EjbLogger.EJB3_TIMER_LOGGER.timerReinstatementFailed(timedObjectId, id, e);
+                        }
+                    }
+                }
+            }
+        }
+        return result;
+    }
+
     private Holder timerFromResult(final ResultSet resultSet, final TimerServiceImpl timerService) throws SQLException {
         boolean calendarTimer = resultSet.getBoolean(24);
         final String nodeName = resultSet.getString(25);
@@ -600,7 +647,11 @@ public class DatabaseTimerPersistence implements TimerPersistence, Service<Datab
         builder.setNextDate(resultSet.getTimestamp(5));
         builder.setPreviousRun(resultSet.getTimestamp(6));
         builder.setPrimaryKey(deSerialize(resultSet.getString(7)));
-        builder.setInfo((Serializable) deSerialize(resultSet.getString(8)));
+        final String info = resultSet.getString(8);
+        if (info != null) {
+            // defer deserialization until the info is first accessed, most timers loaded by a refresh never are
+            builder.setInfoResolver(() -> (Serializable) deSerialize(info));
+        }
         builder.setTimerState(TimerState.valueOf(resultSet.getString(9)));
         builder.setPersistent(true);
 
@@ -696,7 +747,7 @@ public class DatabaseTimerPersistence implements TimerPersistence, Service<Datab
         return Base64.getEncoder().encodeToString(out.toByteArray());
     }
 
-    public Object deSerialize(final String data) throws SQLException {
+    public Object deSerialize(final String data) {
         if (data == null) {
             return null;
         }
@@ -771,7 +822,7 @@ public class DatabaseTimerPersistence implements TimerPersistence, Service<Datab
         return moduleLoader;
     }
 
-    public InjectedValue<Timer> getTimerInjectedValue() {
+    public InjectedValue<TimeoutScheduler> getTimerInjectedValue() {
         return timerInjectedValue;
     }
 
@@ -815,7 +866,7 @@ public class DatabaseTimerPersistence implements TimerPersistence, Service<Datab
         }
     }
 
-    private class RefreshTask extends TimerTask {
+    private class RefreshTask implements Runnable {
 
         private volatile AtomicBoolean running = new AtomicBoolean();
 
@@ -836,49 +887,67 @@ public class DatabaseTimerPersistence implements TimerPersistence, Service<Datab
                         synchronized (DatabaseTimerPersistence.this) {
                             existing = new HashSet<>(knownTimerIds.get(timedObjectId));
                         }
-                        String loadTimer = sql(LOAD_ALL_TIMERS);
+                        // Only load the id and state of each timer, the complete timer is loaded only if added or out of sync
+                        String loadTimerStates = sql(LOAD_ALL_TIMER_STATES);
                         Connection connection = null;
                         PreparedStatement statement = null;
                         ResultSet resultSet = null;
                         try {
                             connection = dataSource.getConnection();
-                            statement = connection.prepareStatement(loadTimer);
+                            statement = connection.prepareStatement(loadTimerStates);
                             statement.setString(1, timedObjectId);
                             statement.setString(2, partition);
                             resultSet = statement.executeQuery();
                             final TimerServiceImpl timerService = listener.getTimerService();
+                            final List<String> added = new ArrayList<>();
+                            final List<String> unsynchronized = new ArrayList<>();
                             while (resultSet.next()) {
-                                try {
-                                    String id = resultSet.getString(1);
-                                    if (!existing.remove(id)) {
-                                        final Holder holder = timerFromResult(resultSet, timerService);
-                                        if(holder != null) {
-                                            synchronized (DatabaseTimerPersistence.this) {
-                                                knownTimerIds.get(timedObjectId).add(id);
-                                                listener.timerAdded(holder.timer);
-                                            }
-                                        }
-                                    } else {
-                                        final Holder holder = timerFromResult(resultSet, listener.getTimerService());
-                                        if (holder != null) {
-                                            TimerImpl oldTimer = listener.getTimerService().getTimer(id);
-                                            // if it is already in memory but it is not in sync we have a problem
-                                            // remove and add -> the probable cause is db glitch
-                                            EnumSet<TimerState> valid = EnumSet.of(TimerState.IN_TIMEOUT, TimerState.RETRY_TIMEOUT, TimerState.CREATED, TimerState.ACTIVE);
-                                            boolean validDBTimer = valid.contains(holder.timer.getState());
-                                            boolean validMemoryTimer = oldTimer != null && !valid.contains(oldTimer.getState());
-                                            // if timers memory - db are in non intersect subsets of valid/invalid states. we put them in sync
-                                            if (validMemoryTimer && validDBTimer) {
-                                                synchronized (DatabaseTimerPersistence.this) {
-                                                    knownTimerIds.get(timedObjectId).add(holder.timer.getId());
-                                                    listener.timerSync(oldTimer, holder.timer);
-                                                }
-
-                                            }
+                                String id = resultSet.getString(1);
+                                if (!existing.remove(id)) {
+                                    added.add(id);
+                                } else {
+                                    TimerImpl oldTimer = timerService.getTimer(id);
+                                    // if it is already in memory but it is not in sync we have a problem
+                                    // remove and add -> the probable cause is db glitch
+                                    boolean validDBTimer = VALID_STATES.contains(TimerState.valueOf(resultSet.getString(2)));
+                                    boolean validMemoryTimer = oldTimer != null && !VALID_STATES.contains(oldTimer.getState());
+                                    // if timers memory - db are in non intersect subsets of valid/invalid states. we put them in sync
+                                    if (validMemoryTimer && validDBTimer) {
+                                        unsynchronized.add(id);
+                                    }
+                                }
+                            }
+                            safeClose(resultSet);
+                            resultSet = null;
+                            safeClose(statement);
+                            statement = null;
+
+                            // Load the complete rows of all added and out of sync timers in as few queries as possible
+                            final List<String> ids = new ArrayList<>(added.size() + unsynchronized.size());
+                            ids.addAll(added);
+                            ids.addAll(unsynchronized);
+                            final Map<String, Holder> holders = ids.isEmpty() ? Collections.emptyMap() : loadTimers(connection, timedObjectId, ids, timerService);
+
+                            for (String id : added) {
+                                final Holder holder = holders.get(id);
+                                if (holder != null) {
+                                    synchronized (DatabaseTimerPersistence.this) {
+                                        knownTimerIds.get(timedObjectId).add(id);
+                                        listener.timerAdded(holder.timer);
+                                    }
+                                }
+                            }
+                            for (String id : unsynchronized) {
+                                final Holder holder = holders.get(id);
+                                // Re-verify, in case the timer changed since its state was loaded
+                                if (holder != null && VALID_STATES.contains(holder.timer.getState())) {
+                                    TimerImpl oldTimer = timerService.getTimer(id);
+                                    if (oldTimer != null && !VALID_STATES.contains(oldTimer.getState())) {
+                                        synchronized (DatabaseTimerPersistence.this) {
+                                            knownTimerIds.get(timedObjectId).add(holder.timer.getId());
+                                            listener.timerSync(oldTimer, holder.timer);
                                         }
                                     }
-                                } catch (Exception e) {
-                                    EjbLogger.EJB3_TIMER_LOGGER.timerReinstatementFailed(resultSet.getString(2), resultSet.getString(1), e);
                                 }
                             }
 
@@ -0,0 +1,252 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.ejb3.timerservice.persistence.filestore;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.Serializable;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.util.Date;
+import java.util.function.Supplier;
+
+import org.jboss.as.ejb3.timerservice.CalendarTimer;
+import org.jboss.as.ejb3.timerservice.TimerImpl;
+import org.jboss.as.ejb3.timerservice.TimerServiceImpl;
+import org.jboss.as.ejb3.timerservice.TimerState;
+import org.jboss.as.ejb3.timerservice.persistence.TimeoutMethod;
+import org.jboss.marshalling.ByteBufferInput;
+import org.jboss.marshalling.Marshaller;
+import org.jboss.marshalling.MarshallerFactory;
+import org.jboss.marshalling.MarshallingConfiguration;
+import org.jboss.marshalling.OutputStreamByteOutput;
+import org.jboss.marshalling.Unmarshaller;
+
+/**
+ * Compact binary format of a persistent timer, as stored in a {@link TimerJournal} record.
+ * The timed object and timer identifiers are not included, since these are already part of the journal record.
+ * The timer info is only unmarshalled on demand.
+ */
+class BinaryTimerMarshaller {
+
+    private static final byte VERSION = 1;
+    private static final long NULL_DATE = Long.MIN_VALUE;
+    private static final int NULL_OBJECT = -1;
+
+    private final MarshallerFactory factory;
+    private final MarshallingConfiguration configuration;
+
+    BinaryTimerMarshaller(MarshallerFactory factory, MarshallingConfiguration configuration) {
+        this.factory = factory;
+        this.configuration = configuration;
+    }
+
+    byte[] write(TimerImpl timer) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+        try (DataOutputStream output = new DataOutputStream(bytes)) {
+            output.writeByte(VERSION);
+            boolean calendar = timer instanceof CalendarTimer;
+            output.writeBoolean(calendar);
+            output.writeUTF(timer.getState().name());
+            writeDate(output, timer.getInitialExpiration());
+            writeDate(output, timer.getNextExpiration());
+            writeDate(output, timer.getPreviousRun());
+            output.writeLong(timer.getInterval());
+            this.writeObject(output, timer.getPrimaryKey());
+            // Write back the marshalled info of a timer read from the journal, rather than resolving and marshalling it again
+            // Once resolved, the info may have been mutated, so it must be marshalled again
+            Supplier<Serializable> infoResolver = timer.getInfoResolver();
+            if ((infoResolver instanceof MarshalledInfo) && !timer.isInfoResolved()) {
+                writeBytes(output, ((MarshalledInfo) infoResolver).getBytes());
+            } else {
+                this.writeObject(output, timer.getTimerInfo());
+            }
+            if (calendar) {
+                CalendarTimer calendarTimer = (CalendarTimer) timer;
+                writeString(output, calendarTimer.getScheduleExpression().getSecond());
+                writeString(output, calendarTimer.getScheduleExpression().getMinute());
+                writeString(output, calendarTimer.getScheduleExpression().getHour());
+                writeString(output, calendarTimer.getScheduleExpression().getDayOfWeek());
+                writeString(output, calendarTimer.getScheduleExpression().getDayOfMonth());
+                writeString(output, calendarTimer.getScheduleExpression().getMonth());
+                writeString(output, calendarTimer.getScheduleExpression().getYear());
+                writeDate(output, calendarTimer.getScheduleExpression().getStart());
+                writeDate(output, calendarTimer.getScheduleExpression().getEnd());
+                writeString(output, calendarTimer.getScheduleExpression().getTimezone());
+                output.writeBoolean(calendarTimer.isAutoTimer());
+                if (calendarTimer.isAutoTimer()) {
+                    Method method = calendarTimer.getTimeoutMethod();
+                    output.writeUTF(method.getDeclaringClass().getName());
+                    output.writeUTF(method.getName());
+                    Class<?>[] parameterTypes = method.getParameterTypes();
+                    output.writeByte(parameterTypes.length);
+                    for (Class<?> parameterType : parameterTypes) {
+                        output.writeUTF(parameterType.getName());
+                    }
+                }
+            }
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Reads a timer from the specified payload.
+     * @return a timer, or null, if the timeout method of an automatic timer no longer exists
+     */
+    TimerImpl read(String timedObjectId, String timerId, byte[] payload, TimerServiceImpl timerService) throws IOException, ClassNotFoundException {
+        try (DataInputStream input = new DataInputStream(new ByteArrayInputStream(payload))) {
+            byte version = input.readByte();
+            if (version != VERSION) {
+                throw new IOException(Byte.toString(version));
+            }
+            boolean calendar = input.readBoolean();
+            TimerImpl.Builder builder = calendar ? CalendarTimer.builder() : TimerImpl.builder();
+            builder.setId(timerId);
+            builder.setTimedObjectId(timedObjectId);
+            builder.setPersistent(true);
+            builder.setTimerState(TimerState.valueOf(input.readUTF()));
+            builder.setInitialDate(readDate(input));
+            builder.setNextDate(readDate(input));
+            builder.setPreviousRun(readDate(input));
+            builder.setRepeatInterval(input.readLong());
+            byte[] primaryKey = readBytes(input);
+            if (primaryKey != null) {
+                builder.setPrimaryKey(this.readObject(primaryKey));
+            }
+            byte[] info = readBytes(input);
+            if (info != null) {
+                builder.setInfoResolver(new MarshalledInfo(info));
+            }
+            if (calendar) {
+                CalendarTimer.Builder calendarBuilder = (CalendarTimer.Builder) builder;
+                calendarBuilder.setScheduleExprSecond(readString(input));
+                calendarBuilder.setScheduleExprMinute(readString(input));
+                calendarBuilder.setScheduleExprHour(readString(input));
+                calendarBuilder.setScheduleExprDayOfWeek(readString(input));
+                calendarBuilder.setScheduleExprDayOfMonth(readString(input));
+                calendarBuilder.setScheduleExprMonth(readString(input));
+                calendarBuilder.setScheduleExprYear(readString(input));
+                calendarBuilder.setScheduleExprStartDate(readDate(input));
+                calendarBuilder.setScheduleExprEndDate(readDate(input));
+                calendarBuilder.setScheduleExprTimezone(readString(input));
+                boolean autoTimer = input.readBoolean();
+                calendarBuilder.setAutoTimer(autoTimer);
+                if (autoTimer) {
+                    String className = input.readUTF();
+                    String methodName = input.readUTF();
+                    String[] parameterTypes = new String[input.readByte()];
+                    for (int i = 0; i < parameterTypes.length; ++i) {
+                        parameterTypes[i] = input.readUTF();
+                    }
+                    Method method = CalendarTimer.getTimeoutMethod(new TimeoutMethod(className, methodName, parameterTypes), timerService.getTimedObjectInvoker().getValue().getClassLoader());
+                    if (method == null) return null;
+                    calendarBuilder.setTimeoutMethod(method);
+                }
+            }
+            return builder.build(timerService);
+        }
+    }
+
+    private void writeObject(DataOutputStream output, Object object) throws IOException {
+        if (object == null) {
+            output.writeInt(NULL_OBJECT);
+            return;
+        }
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (Marshaller marshaller = this.factory.createMarshaller(this.configuration)) {
+            marshaller.start(new OutputStreamByteOutput(bytes));
+            marshaller.writeObject(object);
+            marshaller.finish();
+        }
+        output.writeInt(bytes.size());
+        bytes.writeTo(output);
+    }
+
+    private static void writeBytes(DataOutputStream output, byte[] bytes) throws IOException {
+        output.writeInt(bytes.length);
+        output.write(bytes);
+    }
+
+    private Object readObject(byte[] bytes) throws IOException, ClassNotFoundException {
+        try (Unmarshaller unmarshaller = this.factory.createUnmarshaller(this.configuration)) {
+            unmarshaller.start(new ByteBufferInput(ByteBuffer.wrap(bytes)));
+            Object result = unmarshaller.readObject();
+            unmarshaller.finish();
+            return result;
+        }
+    }
+
+    private static byte[] readBytes(DataInputStream input) throws IOException {
+        int length = input.readInt();
+        if (length == NULL_OBJECT) return null;
+        byte[] bytes = new byte[length];
+        input.readFully(bytes);
+        return bytes;
+    }
+
+    private static void writeDate(DataOutputStream output, Date date) throws IOException {
+        output.writeLong((date != null) ? date.getTime() : NULL_DATE);
+    }
+
+    private static Date readDate(DataInputStream input) throws IOException {
+        long time = input.readLong();
+        return (time != NULL_DATE) ? new Date(time) : null;
+    }
+
+    private static void writeString(DataOutputStream output, String value) throws IOException {
+        output.writeBoolean(value != null);
+        if (value != null) {
+            output.writeUTF(value);
+        }
+    }
+
+    private static String readString(DataInputStream input) throws IOException {
+        return input.readBoolean() ? input.readUTF() : null;
+    }
+
+    /**
+     * Resolves the timer info from its marshalled form, which is retained so that it can be written back unchanged.
+     */
+    private class MarshalledInfo implements Supplier<Serializable> {
+        private final byte[] bytes;
+
+        MarshalledInfo(byte[] bytes) {
+            this.bytes = bytes;
+        }
+
+        byte[] getBytes() {
+            return this.bytes;
+        }
+
+        @Override
+        public Serializable get() {
+            try {
+                return (Serializable) BinaryTimerMarshaller.this.readObject(this.bytes);
+            } catch (IOException | ClassNotFoundException e) {
+                throw new RuntimeException(e);
+            }
+        }
+    }
+}
@@ -21,6 +21,7 @@
  */
 package org.jboss.as.ejb3.timerservice.persistence.filestore;
 
+import org.jboss.as.clustering.context.DefaultThreadFactory;
 import org.jboss.as.controller.services.path.PathManager;
 import org.jboss.as.ejb3.component.stateful.CurrentSynchronizationCallback;
 import org.jboss.as.ejb3.timerservice.TimerImpl;
@@ -48,24 +49,23 @@ import javax.transaction.TransactionManager;
 import javax.transaction.TransactionSynchronizationRegistry;
 import javax.xml.namespace.QName;
 import javax.xml.stream.XMLInputFactory;
-import javax.xml.stream.XMLOutputFactory;
 import javax.xml.stream.XMLStreamReader;
 import javax.xml.stream.XMLStreamWriter;
 import java.io.Closeable;
 import java.io.File;
 import java.io.FileInputStream;
-import java.io.FileOutputStream;
 import java.io.FilePermission;
 import java.io.IOException;
 import java.lang.reflect.Constructor;
 import java.security.PrivilegedAction;
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
 
@@ -73,7 +73,8 @@ import static java.security.AccessController.doPrivileged;
 import static org.jboss.as.ejb3.logging.EjbLogger.EJB3_TIMER_LOGGER;
 
 /**
- * File based persistent timer store.
+ * File based persistent timer store, backed by a {@link TimerJournal}.
+ * Timers previously persisted as one XML file per timer are migrated into the journal when first loaded.
  * <p/>
  * TODO: this is fairly hackey at the moment, it should be registered as an XA resource to support proper XA semantics
  *
@@ -83,6 +84,7 @@ public class FileTimerPersistence implements TimerPersistence, Service<FileTimer
 
     private static final FilePermission FILE_PERMISSION = new FilePermission("<<ALL FILES>>", "read,write,delete");
     private static final XMLInputFactory INPUT_FACTORY = XMLInputFactory.newInstance();
+    private static final boolean SYNC = Boolean.parseBoolean(WildFlySecurityManager.getPropertyPrivileged("jboss.timer.file-store.sync", "true"));
 
     private final boolean createIfNotExists;
     private MarshallerFactory factory;
@@ -94,9 +96,11 @@ public class FileTimerPersistence implements TimerPersistence, Service<FileTimer
     private final String pathRelativeTo;
     private File baseDir;
     private PathManager.Callback.Handle callbackHandle;
+    private BinaryTimerMarshaller marshaller;
+    private TimerJournal journal;
+    private ExecutorService compactor;
 
     private final ConcurrentMap<String, Lock> locks = new ConcurrentHashMap<String, Lock>();
-    private final ConcurrentMap<String, String> directories = new ConcurrentHashMap<String, String>();
 
     public FileTimerPersistence(final boolean createIfNotExists, final String path, final String pathRelativeTo) {
         final SecurityManager sm = System.getSecurityManager();
@@ -146,15 +150,31 @@ public class FileTimerPersistence implements TimerPersistence, Service<FileTimer
         if (!baseDir.isDirectory()) {
             throw EJB3_TIMER_LOGGER.invalidTimerFileStoreDir(baseDir);
         }
+        this.marshaller = new BinaryTimerMarshaller(factory, configuration);
+        this.compactor = Executors.newSingleThreadExecutor(new DefaultThreadFactory(TimerJournal.class));
+        this.journal = new TimerJournal(baseDir, TimerJournal.DEFAULT_MAX_SEGMENT_SIZE, SYNC, this.compactor);
+        try {
+            this.journal.open();
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
     }
 
     @Override
     public void stop(final StopContext context) {
         locks.clear();
-        directories.clear();
         if (callbackHandle != null) {
             callbackHandle.remove();
         }
+        try {
+            journal.close();
+        } catch (IOException e) {
+            EJB3_TIMER_LOGGER.failToCloseFile(e);
+        }
+        journal = null;
+        compactor.shutdown();
+        compactor = null;
+        marshaller = null;
         factory = null;
         configuration = null;
     }
@@ -213,15 +233,12 @@ public class FileTimerPersistence implements TimerPersistence, Service<FileTimer
             if (status == Status.STATUS_NO_TRANSACTION ||
                     status == Status.STATUS_UNKNOWN || isBeforeCompletion()
                     || status == Status.STATUS_COMMITTED) {
-                Map<String, TimerImpl> map = getTimers(timer.getTimedObjectId(), timer.getTimerService());
                 if (timer.getState() == TimerState.CANCELED ||
                         timer.getState() == TimerState.EXPIRED) {
-                    map.remove(timer.getId());
                     writeFile(timer);
-                } else if (newTimer || map.containsKey(timer.getId())) {
-                    //if it is not a new timer and is not in the map then it has
+                } else if (newTimer || journal.contains(timer.getTimedObjectId(), timer.getId())) {
+                    //if it is not a new timer and is not in the journal then it has
                     //been removed by another thread.
-                    map.put(timer.getId(), timer);
                     writeFile(timer);
                 }
             } else {
@@ -252,7 +269,6 @@ public class FileTimerPersistence implements TimerPersistence, Service<FileTimer
         try {
             lock.lock();
             locks.remove(timedObjectId);
-            directories.remove(timedObjectId);
         } finally {
             lock.unlock();
         }
@@ -272,13 +288,28 @@ public class FileTimerPersistence implements TimerPersistence, Service<FileTimer
         final Lock lock = getLock(timedObjectId);
         try {
             lock.lock();
-            final Map<String, TimerImpl> timers = getTimers(timedObjectId, timerService);
+            migrateTimers(timedObjectId, timerService);
 
             final List<TimerImpl> entities = new ArrayList<TimerImpl>();
-            for (Map.Entry<String, TimerImpl> entry : timers.entrySet()) {
-                entities.add(mostRecentEntityVersion(entry.getValue()));
+            for (Map.Entry<String, byte[]> entry : journal.read(timedObjectId).entrySet()) {
+                final String id = entry.getKey();
+                TimerImpl timer = null;
+                try {
+                    timer = marshaller.read(timedObjectId, id, entry.getValue(), timerService);
+                    if (timer == null) {
+                        EJB3_TIMER_LOGGER.timerReinstatementFailed(timedObjectId, id, null);
+                    }
+                } catch (Exception e) {
+                    EJB3_TIMER_LOGGER.timerReinstatementFailed(timedObjectId, id, e);
+                }
+                // Skip, but retain, the record of a timer that cannot be reinstated, e.g. due to a missing class
+                if (timer != null) {
+                    entities.add(mostRecentEntityVersion(timer));
+                }
             }
             return entities;
+        } catch (IOException e) {
+            throw new RuntimeException(e);
         } finally {
             lock.unlock();
         }
@@ -325,36 +356,33 @@ public class FileTimerPersistence implements TimerPersistence, Service<FileTimer
     }
 
     /**
-     * Gets the timer map, loading from the persistent store if necessary. Should be called under lock
+     * Migrates any timers of the specified timed object persisted using the previous file per timer layout into the journal.
+     * Should be called under lock.
      *
      * @param timedObjectId The timed object id
-     * @return The timers for the object
      */
-    private Map<String, TimerImpl> getTimers(final String timedObjectId, final TimerServiceImpl timerService) {
-        return loadTimersFromFile(timedObjectId, timerService);
-    }
-
-    private Map<String, TimerImpl> loadTimersFromFile(String timedObjectId, TimerServiceImpl timerService) {
-        Map<String, TimerImpl> timers = new HashMap<>();
-        String directory = getDirectory(timedObjectId);
-
-        timers.putAll(LegacyFileStore.loadTimersFromFile(timedObjectId, timerService, directory, factory, configuration));
-        for(Map.Entry<String, TimerImpl> entry : timers.entrySet()) {
-            writeFile(entry.getValue()); //write legacy timers into the new format
-            //the legacy code handling code will write a marker file, to make sure that the old timers will not be loaded on next restart.
+    private void migrateTimers(String timedObjectId, TimerServiceImpl timerService) {
+        final File directory = new File(baseDir, timedObjectId.replace(File.separator, "-"));
+        if (!directory.exists()) {
+            return;
+        } else if (!directory.isDirectory()) {
+            EJB3_TIMER_LOGGER.failToRestoreTimers(directory);
+            return;
         }
-        final File file = new File(directory);
-        if (!file.exists()) {
-            //no timers exist yet
-            return timers;
-        } else if (!file.isDirectory()) {
-            EJB3_TIMER_LOGGER.failToRestoreTimers(file);
-            return timers;
+        final Map<String, TimerImpl> timers = new HashMap<>(LegacyFileStore.loadTimersFromFile(timedObjectId, timerService, directory.getAbsolutePath(), factory, configuration));
+        final List<File> migratedFiles = new ArrayList<>();
+        // The legacy store writes a marker once its timers were loaded, after which its files are obsolete
+        if (new File(directory, LegacyFileStore.MIGRATION_MARKER).exists()) {
+            for (File file : directory.listFiles()) {
+                if (!file.getName().endsWith(".xml")) {
+                    migratedFiles.add(file);
+                }
+            }
         }
 
         final XMLMapper mapper = createMapper(timerService);
 
-        for (File timerFile : file.listFiles()) {
+        for (File timerFile : directory.listFiles()) {
             if (!timerFile.getName().endsWith(".xml")) {
                 continue;
             }
@@ -370,12 +398,11 @@ public class FileTimerPersistence implements TimerPersistence, Service<FileTimer
                     List<TimerImpl> timerList = new ArrayList<>();
                     mapper.parseDocument(timerList, streamReader);
                     for (TimerImpl timer : timerList) {
-                        if (timer.getId().equals("deleted-timer")) {
-                            timerFile.delete();
-                            break;
+                        if (!timer.getId().equals("deleted-timer")) {
+                            timers.put(timer.getId(), timer);
                         }
-                        timers.put(timer.getId(), timer);
                     }
+                    migratedFiles.add(timerFile);
                 } finally {
                     safeClose(in);
                 }
@@ -392,7 +419,18 @@ public class FileTimerPersistence implements TimerPersistence, Service<FileTimer
                 }
             }
         }
-        return timers;
+        for (TimerImpl timer : timers.values()) {
+            writeFile(timer);
+        }
+        // Timers are now durable within the journal, so remove their files
+        for (File file : migratedFiles) {
+            file.delete();
+        }
+        // Retain any files that could not be parsed
+        directory.delete();
+        if (!timers.isEmpty()) {
+            EJB3_TIMER_LOGGER.timersMigratedToJournal(timers.size(), timedObjectId, directory);
+        }
     }
 
     private XMLMapper createMapper(TimerServiceImpl timerService) {
@@ -402,30 +440,6 @@ public class FileTimerPersistence implements TimerPersistence, Service<FileTimer
     }
 
 
-    private File fileName(String timedObjectId, String timerId) {
-        return new File(getDirectory(timedObjectId) + File.separator + timerId.replace(File.separator, "-") + ".xml");
-    }
-
-    /**
-     * Gets the directory for a given timed object, making sure it exists.
-     *
-     * @param timedObjectId The timed object
-     * @return The directory
-     */
-    private String getDirectory(String timedObjectId) {
-        String dirName = directories.get(timedObjectId);
-        if (dirName == null) {
-            dirName = baseDir.getAbsolutePath() + File.separator + timedObjectId.replace(File.separator, "-");
-            File file = new File(dirName);
-            if (!file.exists() && !file.mkdirs()) {
-                EJB3_TIMER_LOGGER.failToCreateDirectoryForPersistTimers(file);
-            }
-            directories.put(timedObjectId, dirName);
-        }
-        return dirName;
-    }
-
-
     private final class PersistTransactionSynchronization implements Synchronization {
 
         private final String transactionKey;
@@ -458,17 +472,12 @@ public class FileTimerPersistence implements TimerPersistence, Service<FileTimer
                     try {
                         lock.lock();
                         if (status == Status.STATUS_COMMITTED) {
-                            final Map<String, TimerImpl> map = getTimers(timer.getTimedObjectId(), timer.getTimerService());
                             if (timer.getState() == TimerState.CANCELED ||
-                                    timer.getState() == TimerState.EXPIRED) {
-                                map.remove(timer.getId());
-                            } else {
-                                if (newTimer || map.containsKey(timer.getId())) {
-                                    //if an existing timer is not in the map it has been cancelled by another thread
-                                    map.put(timer.getId(), timer);
-                                }
+                                    timer.getState() == TimerState.EXPIRED ||
+                                    newTimer || journal.contains(timer.getTimedObjectId(), timer.getId())) {
+                                //if an existing timer is not in the journal it has been cancelled by another thread
+                                writeFile(timer);
                             }
-                            writeFile(timer);
                         }
                     } finally {
                         lock.unlock();
@@ -482,29 +491,15 @@ public class FileTimerPersistence implements TimerPersistence, Service<FileTimer
     }
 
     private void writeFile(TimerImpl timer) {
-        final File file = fileName(timer.getTimedObjectId(), timer.getId());
-
-        //if the timer is expired or cancelled delete the file
-        if (timer.getState() == TimerState.CANCELED ||
-                timer.getState() == TimerState.EXPIRED) {
-            if (file.exists()) {
-                file.delete();
-            }
-            return;
-        }
         try {
-            FileOutputStream out = new FileOutputStream(file);
-
-            try {
-                XMLStreamWriter writer = XMLOutputFactory.newInstance().createXMLStreamWriter(out);
-                XMLMapper mapper = createMapper(timer.getTimerService());
-                mapper.deparseDocument(new EjbTimerXmlPersister(factory, configuration), Collections.singletonList(timer), writer);
-                writer.flush();
-                writer.close();
-            } finally {
-                safeClose(out);
+            //if the timer is expired or cancelled remove it from the journal
+            if (timer.getState() == TimerState.CANCELED ||
+                    timer.getState() == TimerState.EXPIRED) {
+                journal.remove(timer.getTimedObjectId(), timer.getId());
+            } else {
+                journal.put(timer.getTimedObjectId(), timer.getId(), marshaller.write(timer));
             }
-        } catch (Exception e) {
+        } catch (IOException e) {
             throw new RuntimeException(e);
         }
     }
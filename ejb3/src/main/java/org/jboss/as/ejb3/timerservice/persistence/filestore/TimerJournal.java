@@ -0,0 +1,470 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.ejb3.timerservice.persistence.filestore;
+
+import static org.jboss.as.ejb3.logging.EjbLogger.EJB3_TIMER_LOGGER;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.CRC32;
+
+/**
+ * A segmented, append-only journal of timer records, replacing a file per timer.
+ * Each record either puts the current state of a timer, or removes it; the last record of a given timer wins.
+ * On open, each segment is read sequentially to index the location of the last record of each live timer.
+ * Incomplete or corrupt records, e.g. from a crash during a write, are truncated.
+ * Once superseded records outweigh live records, the live records of all but the active segment are compacted into a new segment in the background,
+ * after which the compacted segments are deleted.
+ * Concurrent appends share a single fsync, i.e. group commit.
+ */
+class TimerJournal implements Closeable {
+
+    static final long DEFAULT_MAX_SEGMENT_SIZE = 16L * 1024 * 1024;
+
+    private static final String PREFIX = "timers-";
+    private static final String SUFFIX = ".journal";
+    private static final byte PUT = 1;
+    private static final byte REMOVE = 2;
+    // Record length + checksum
+    private static final int HEADER_SIZE = Integer.BYTES * 2;
+
+    private final File directory;
+    private final long maxSegmentSize;
+    private final boolean sync;
+    private final Executor executor;
+    private final NavigableMap<Long, Segment> segments = new TreeMap<>();
+    // Location of the last record of each live timer, by timed object and timer id
+    private final Map<String, Map<String, Location>> index = new HashMap<>();
+    private Segment active;
+    private long liveBytes = 0;
+    private long totalBytes = 0;
+    // Most recently scheduled compaction, if any
+    private CompletableFuture<Void> compaction;
+    private boolean closing = false;
+
+    // Total bytes appended, guarded by this object
+    private long appended = 0;
+    // Total bytes appended that are known to be durable
+    private final AtomicLong synced = new AtomicLong();
+    private final Object syncLock = new Object();
+
+    TimerJournal(File directory, long maxSegmentSize, boolean sync, Executor executor) {
+        this.directory = directory;
+        this.maxSegmentSize = maxSegmentSize;
+        this.sync = sync;
+        this.executor = executor;
+    }
+
+    /**
+     * Opens this journal, indexing the records of any existing segments.
+     */
+    synchronized void open() throws IOException {
+        this.closing = false;
+        File[] files = this.directory.listFiles((dir, name) -> name.startsWith(PREFIX) && name.endsWith(SUFFIX));
+        if (files != null) {
+            for (File file : files) {
+                String name = file.getName();
+                try {
+                    long id = Long.parseLong(name.substring(PREFIX.length(), name.length() - SUFFIX.length()), 16);
+                    this.segments.put(id, new Segment(id, file));
+                } catch (NumberFormatException e) {
+                    // Not a segment of this journal
+                }
+            }
+        }
+        for (Segment segment : this.segments.values()) {
+            this.load(segment);
+        }
+        this.active = this.segments.isEmpty() ? this.createSegment(1L) : this.segments.lastEntry().getValue();
+    }
+
+    @Override
+    public void close() throws IOException {
+        CompletableFuture<Void> compaction;
+        synchronized (this) {
+            this.closing = true;
+            compaction = this.compaction;
+        }
+        // Wait for any compaction in progress, since it reads from the segments closed below
+        if (compaction != null) {
+            compaction.join();
+        }
+        synchronized (this) {
+            if (this.sync && (this.active != null)) {
+                this.active.channel.force(false);
+            }
+            for (Segment segment : this.segments.values()) {
+                segment.close();
+            }
+            this.segments.clear();
+            this.index.clear();
+            this.active = null;
+        }
+    }
+
+    /**
+     * Indicates whether this journal contains a live record of the specified timer.
+     */
+    synchronized boolean contains(String timedObjectId, String timerId) {
+        Map<String, Location> locations = this.index.get(timedObjectId);
+        return (locations != null) && locations.containsKey(timerId);
+    }
+
+    /**
+     * Reads the payload of the last record of each live timer of the specified timed object.
+     * @return the payload of each live timer, by timer id
+     */
+    synchronized Map<String, byte[]> read(String timedObjectId) throws IOException {
+        Map<String, Location> locations = this.index.get(timedObjectId);
+        if (locations == null) return Collections.emptyMap();
+        Map<String, byte[]> result = new LinkedHashMap<>();
+        for (Map.Entry<String, Location> entry : locations.entrySet()) {
+            Location location = entry.getValue();
+            byte[] record = location.segment.read(location.position, location.length);
+            // Skip the header and the type and ids of the record body
+            try (DataInputStream input = new DataInputStream(new ByteArrayInputStream(record, HEADER_SIZE, record.length - HEADER_SIZE))) {
+                input.readByte();
+                input.readUTF();
+                input.readUTF();
+                result.put(entry.getKey(), Arrays.copyOfRange(record, record.length - input.available(), record.length));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Durably records the current state of the specified timer.
+     */
+    void put(String timedObjectId, String timerId, byte[] payload) throws IOException {
+        this.sync(this.append(PUT, timedObjectId, timerId, payload));
+    }
+
+    /**
+     * Durably records the removal of the specified timer, if it exists.
+     */
+    void remove(String timedObjectId, String timerId) throws IOException {
+        long position;
+        synchronized (this) {
+            if (!this.contains(timedObjectId, timerId)) return;
+            position = this.append(REMOVE, timedObjectId, timerId, new byte[0]);
+        }
+        this.sync(position);
+    }
+
+    private synchronized long append(byte type, String timedObjectId, String timerId, byte[] payload) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(HEADER_SIZE + payload.length + 64);
+        try (DataOutputStream output = new DataOutputStream(bytes)) {
+            // Reserve space for header
+            output.writeLong(0L);
+            output.writeByte(type);
+            output.writeUTF(timedObjectId);
+            output.writeUTF(timerId);
+            output.write(payload);
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(bytes.toByteArray());
+        int length = buffer.capacity() - HEADER_SIZE;
+        CRC32 checksum = new CRC32();
+        checksum.update(buffer.array(), HEADER_SIZE, length);
+        buffer.putInt(0, length);
+        buffer.putInt(Integer.BYTES, (int) checksum.getValue());
+
+        Segment segment = this.active;
+        long position = segment.size;
+        segment.write(buffer, position);
+        this.apply(type, timedObjectId, timerId, new Location(segment, position, buffer.capacity()));
+        this.appended += buffer.capacity();
+        long result = this.appended;
+
+        if (segment.size >= this.maxSegmentSize) {
+            this.roll();
+        }
+        return result;
+    }
+
+    /**
+     * Ensures that all records appended up to the specified position are durable.
+     * Threads waiting for the same fsync are satisfied by a single call to {@link FileChannel#force(boolean)}.
+     */
+    private void sync(long position) throws IOException {
+        if (!this.sync || this.synced.get() >= position) return;
+        synchronized (this.syncLock) {
+            // Another thread may have synced our append while we waited
+            if (this.synced.get() >= position) return;
+            Segment segment;
+            long target;
+            synchronized (this) {
+                segment = this.active;
+                target = this.appended;
+            }
+            // Segments are forced when rolled, so only the active segment can contain unsynced records
+            if (segment == null) throw new ClosedChannelException();
+            try {
+                segment.channel.force(false);
+            } catch (ClosedChannelException e) {
+                // Segment was concurrently rolled, which implies a sync, or this journal was closed
+                if (this.synced.get() >= position) return;
+                throw e;
+            }
+            this.synced.accumulateAndGet(target, Math::max);
+        }
+    }
+
+    private void apply(byte type, String timedObjectId, String timerId, Location location) {
+        this.totalBytes += location.length;
+        Location previous;
+        if (type == PUT) {
+            previous = this.index.computeIfAbsent(timedObjectId, key -> new HashMap<>()).put(timerId, location);
+            this.liveBytes += location.length;
+        } else {
+            Map<String, Location> locations = this.index.get(timedObjectId);
+            previous = (locations != null) ? locations.remove(timerId) : null;
+            if ((locations != null) && locations.isEmpty()) {
+                this.index.remove(timedObjectId);
+            }
+        }
+        if (previous != null) {
+            this.liveBytes -= previous.length;
+        }
+    }
+
+    private void load(Segment segment) throws IOException {
+        long size = segment.channel.size();
+        long position = 0;
+        try (DataInputStream input = new DataInputStream(new BufferedInputStream(Channels.newInputStream(segment.channel.position(0)), 64 * 1024))) {
+            CRC32 checksum = new CRC32();
+            while (size - position >= HEADER_SIZE) {
+                int length = input.readInt();
+                int expected = input.readInt();
+                if ((length <= 0) || (position + HEADER_SIZE + length > size)) break;
+                byte[] body = new byte[length];
+                input.readFully(body);
+                checksum.reset();
+                checksum.update(body, 0, length);
+                if ((int) checksum.getValue() != expected) break;
+                try (DataInputStream record = new DataInputStream(new ByteArrayInputStream(body))) {
+                    byte type = record.readByte();
+                    this.apply(type, record.readUTF(), record.readUTF(), new Location(segment, position, HEADER_SIZE + length));
+                }
+                position += HEADER_SIZE + length;
+            }
+        } catch (EOFException e) {
+            // Incomplete record
+        }
+        // The input stream closed the channel, so reopen it
+        segment.open();
+        if (position < size) {
+            EJB3_TIMER_LOGGER.timerJournalTruncated(size - position, segment.file);
+            segment.channel.truncate(position);
+            segment.channel.force(true);
+        }
+        segment.size = position;
+    }
+
+    private Segment createSegment(long id) throws IOException {
+        Segment segment = this.newSegment(id);
+        this.segments.put(id, segment);
+        return segment;
+    }
+
+    private Segment newSegment(long id) throws IOException {
+        Segment segment = new Segment(id, new File(this.directory, String.format("%s%016x%s", PREFIX, id, SUFFIX)));
+        segment.size = 0;
+        return segment;
+    }
+
+    private void roll() throws IOException {
+        // Make the records of the current segment durable, since sync only forces the active segment
+        if (this.sync) {
+            this.active.channel.force(false);
+            this.synced.accumulateAndGet(this.appended, Math::max);
+        }
+        long id = this.segments.lastKey() + 1;
+        if (((this.compaction == null) || this.compaction.isDone()) && !this.closing && (this.totalBytes - this.liveBytes > Math.max(this.liveBytes, this.maxSegmentSize))) {
+            // Reserve the preceding id for the compacted segment, so that its records are loaded before those of the new active segment
+            this.active = this.createSegment(id + 1);
+            this.compact(id);
+        } else {
+            this.active = this.createSegment(id);
+        }
+    }
+
+    /**
+     * Schedules the compaction of the live records of all but the active segment into a new segment with the specified id.
+     */
+    private void compact(long id) {
+        List<Segment> sources = new ArrayList<>(this.segments.headMap(id, false).values());
+        List<Record> records = new ArrayList<>(this.index.size());
+        for (Map.Entry<String, Map<String, Location>> entry : this.index.entrySet()) {
+            for (Map.Entry<String, Location> location : entry.getValue().entrySet()) {
+                records.add(new Record(entry.getKey(), location.getKey(), location.getValue()));
+            }
+        }
+        try {
+            this.compaction = CompletableFuture.runAsync(() -> this.compact(id, sources, records), this.executor);
+        } catch (RejectedExecutionException e) {
+            // Compaction will be attempted again on the next roll
+        }
+    }
+
+    /**
+     * Rewrites the specified records into a new segment, and deletes the specified source segments.
+     * Records are copied without holding the monitor of this journal, so that appends are not blocked by compaction.
+     */
+    private void compact(long id, Collection<Segment> sources, List<Record> records) {
+        Segment target = null;
+        try {
+            target = this.newSegment(id);
+            List<Location> locations = new ArrayList<>(records.size());
+            for (Record record : records) {
+                Location location = record.location;
+                ByteBuffer buffer = ByteBuffer.wrap(location.segment.read(location.position, location.length));
+                long position = target.size;
+                target.write(buffer, position);
+                locations.add(new Location(target, position, location.length));
+            }
+            // Compacted records must be durable before deleting their source
+            target.channel.force(true);
+            synchronized (this) {
+                this.segments.put(id, target);
+                for (int i = 0; i < records.size(); ++i) {
+                    Record record = records.get(i);
+                    Map<String, Location> index = this.index.get(record.timedObjectId);
+                    // Skip records superseded since compaction was scheduled
+                    if ((index != null) && (index.get(record.timerId) == record.location)) {
+                        index.put(record.timerId, locations.get(i));
+                    }
+                }
+                for (Segment source : sources) {
+                    this.segments.remove(source.id);
+                    this.totalBytes -= source.size;
+                    source.close();
+                    Files.deleteIfExists(source.file.toPath());
+                }
+                this.totalBytes += target.size;
+            }
+        } catch (IOException | RuntimeException e) {
+            EJB3_TIMER_LOGGER.timerJournalCompactionFailed(e, this.directory);
+            synchronized (this) {
+                if ((target != null) && !this.segments.containsKey(id)) {
+                    // Discard the incomplete segment, whose records are superseded by its sources
+                    try {
+                        target.close();
+                        Files.deleteIfExists(target.file.toPath());
+                    } catch (IOException ignored) {
+                        // Any remaining records will be superseded on load
+                    }
+                }
+            }
+        }
+    }
+
+    private static class Segment {
+        final long id;
+        final File file;
+        FileChannel channel;
+        long size;
+
+        Segment(long id, File file) throws IOException {
+            this.id = id;
+            this.file = file;
+            this.open();
+        }
+
+        void open() throws IOException {
+            this.channel = FileChannel.open(this.file.toPath(), StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        }
+
+        void write(ByteBuffer buffer, long position) throws IOException {
+            long offset = position;
+            while (buffer.hasRemaining()) {
+                offset += this.channel.write(buffer, offset);
+            }
+            this.size = offset;
+        }
+
+        byte[] read(long position, int length) throws IOException {
+            ByteBuffer buffer = ByteBuffer.allocate(length);
+            long offset = position;
+            while (buffer.hasRemaining()) {
+                int read = this.channel.read(buffer, offset);
+                if (read < 0) throw new EOFException();
+                offset += read;
+            }
+            return buffer.array();
+        }
+
+        void close() throws IOException {
+            this.channel.close();
+        }
+    }
+
+    private static class Location {
+        final Segment segment;
+        final long position;
+        final int length;
+
+        Location(Segment segment, long position, int length) {
+            this.segment = segment;
+            this.position = position;
+            this.length = length;
+        }
+    }
+
+    private static class Record {
+        final String timedObjectId;
+        final String timerId;
+        final Location location;
+
+        Record(String timedObjectId, String timerId, Location location) {
+            this.timedObjectId = timedObjectId;
+            this.timerId = timerId;
+            this.location = location;
+        }
+    }
+}
@@ -0,0 +1,177 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.ejb3.component.invocationmetrics;
+
+import static org.junit.Assert.*;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+/**
+ * Unit test for {@link InvocationMetrics}.
+ */
+public class InvocationMetricsTestCase {
+
+    @Test
+    public void methods() throws NoSuchMethodException {
+        Method foo = Bean.class.getMethod("foo");
+        Method bar = Bean.class.getMethod("bar", String.class);
+        Method overloadedBar = Bean.class.getMethod("bar", String.class, int.class);
+        Method toString = Bean.class.getMethod("toString");
+
+        InvocationMetrics metrics = new InvocationMetrics(Arrays.asList(foo, bar, overloadedBar));
+
+        assertTrue(metrics.getMethods().isEmpty());
+
+        metrics.startInvocation();
+        metrics.startInvocation();
+        assertEquals(2L, metrics.getConcurrent());
+        metrics.finishInvocation(foo, millis(1), millis(10));
+        metrics.finishInvocation(foo, millis(2), millis(20));
+        metrics.startInvocation();
+        metrics.finishInvocation(bar, millis(3), millis(30));
+        metrics.startInvocation();
+        metrics.finishInvocation(overloadedBar, millis(4), millis(40));
+        // Method not resolved up front
+        metrics.startInvocation();
+        metrics.finishInvocation(toString, millis(5), millis(50));
+
+        assertEquals(0L, metrics.getConcurrent());
+        assertEquals(2L, metrics.getPeakConcurrent());
+        assertEquals(5L, metrics.getInvocations());
+        assertEquals(15L, metrics.getWaitTime());
+        assertEquals(150L, metrics.getExecutionTime());
+
+        Map<Method, InvocationMetrics.Values> methods = metrics.getMethods();
+        assertEquals(4, methods.size());
+
+        InvocationMetrics.Values values = methods.get(foo);
+        assertEquals(2L, values.getInvocations());
+        assertEquals(3L, values.getWaitTime());
+        assertEquals(30L, values.getExecutionTime());
+
+        values = methods.get(bar);
+        assertEquals(1L, values.getInvocations());
+        assertEquals(30L, values.getExecutionTime());
+
+        values = methods.get(overloadedBar);
+        assertEquals(1L, values.getInvocations());
+        assertEquals(40L, values.getExecutionTime());
+
+        values = methods.get(toString);
+        assertEquals(1L, values.getInvocations());
+        assertEquals(50L, values.getExecutionTime());
+    }
+
+    @Test
+    public void histogram() {
+        LatencyHistogram histogram = new LatencyHistogram();
+
+        assertEquals(0L, histogram.getCount());
+        assertEquals(0L, histogram.getPercentile(0.99));
+
+        for (long i = 1; i <= 1000; ++i) {
+            histogram.record(i);
+        }
+        assertEquals(1000L, histogram.getCount());
+
+        assertPercentile(500L, histogram.getPercentile(0.5));
+        assertPercentile(990L, histogram.getPercentile(0.99));
+        assertPercentile(999L, histogram.getPercentile(0.999));
+        assertPercentile(1000L, histogram.getPercentile(1.0));
+
+        // Out of range values are clamped
+        histogram.record(-1L);
+        histogram.record(Long.MAX_VALUE);
+        assertEquals(1002L, histogram.getCount());
+        assertEquals(LatencyHistogram.MAX_VALUE, histogram.getPercentile(1.0));
+    }
+
+    @Test
+    public void buckets() {
+        for (long value = 0; value < 100000; ++value) {
+            int index = LatencyHistogram.index(value);
+            long upperBound = LatencyHistogram.upperBound(index);
+            assertTrue(upperBound >= value);
+            assertTrue(value == 0 || (upperBound - value) * LatencyHistogram.SUB_BUCKETS <= value);
+            assertEquals(index, LatencyHistogram.index(upperBound));
+        }
+        assertEquals(LatencyHistogram.MAX_VALUE, LatencyHistogram.upperBound(LatencyHistogram.index(LatencyHistogram.MAX_VALUE)));
+    }
+
+    @Test
+    public void reset() throws NoSuchMethodException {
+        Method foo = Bean.class.getMethod("foo");
+        InvocationMetrics metrics = new InvocationMetrics(Arrays.asList(foo));
+
+        metrics.startInvocation();
+        metrics.startInvocation();
+        metrics.finishInvocation(foo, millis(1), millis(10));
+
+        // Metrics of the current generation are retained
+        metrics.synchronize(0L);
+        assertEquals(1L, metrics.getInvocations());
+
+        metrics.synchronize(1L);
+        assertEquals(0L, metrics.getInvocations());
+        assertEquals(0L, metrics.getWaitTime());
+        assertEquals(0L, metrics.getExecutionTime());
+        assertEquals(0L, metrics.getExecutionTimeHistogram().getCount());
+        assertEquals(0L, metrics.getWaitTimeHistogram().getCount());
+        assertTrue(metrics.getMethods().isEmpty());
+        // In-flight invocations are retained
+        assertEquals(1L, metrics.getConcurrent());
+        assertEquals(1L, metrics.getPeakConcurrent());
+
+        metrics.finishInvocation(foo, millis(2), millis(20));
+        assertEquals(1L, metrics.getInvocations());
+        assertEquals(20L, metrics.getExecutionTime());
+
+        // Metrics are only reset once per generation
+        metrics.synchronize(1L);
+        assertEquals(1L, metrics.getInvocations());
+    }
+
+    private static long millis(long value) {
+        return TimeUnit.MILLISECONDS.toNanos(value);
+    }
+
+    private static void assertPercentile(long expected, long actual) {
+        assertTrue(String.valueOf(actual), actual >= expected);
+        assertTrue(String.valueOf(actual), actual - expected <= expected / LatencyHistogram.SUB_BUCKETS);
+    }
+
+    public static class Bean {
+        public void foo() {
+        }
+
+        public void bar(String value) {
+        }
+
+        public void bar(String value, int count) {
+        }
+    }
+}
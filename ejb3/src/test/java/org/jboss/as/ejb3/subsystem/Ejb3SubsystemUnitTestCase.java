@@ -80,7 +80,7 @@ public class Ejb3SubsystemUnitTestCase extends AbstractSubsystemBaseTest {
 
     @Override
     protected String getSubsystemXsdPath() throws Exception {
-        return "schema/wildfly-ejb3_9_0.xsd";
+        return "schema/wildfly-ejb3_10_0.xsd";
     }
 
     @Test
@@ -283,6 +283,7 @@ public class Ejb3SubsystemUnitTestCase extends AbstractSubsystemBaseTest {
 
         final ModelNode strictMaxBeanInstancePool2 = ejb3.get("strict-max-bean-instance-pool").asPropertyList().get(1).getValue();
         assertEquals(20, strictMaxBeanInstancePool2.get("max-pool-size").resolve().asInt());
+        assertEquals(4, strictMaxBeanInstancePool2.get("stripes").resolve().asInt());
 
         final ModelNode threadPool = ejb3.get("thread-pool").asPropertyList().get(0).getValue();
         assertEquals(10, threadPool.get("max-threads").resolve().asInt());
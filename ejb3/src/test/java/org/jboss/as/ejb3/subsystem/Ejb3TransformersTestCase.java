@@ -89,7 +89,7 @@ public class Ejb3TransformersTestCase extends AbstractSubsystemBaseTest {
 
     @Override
     protected String getSubsystemXsdPath() throws Exception {
-        return "schema/wildfly-ejb3_9_0.xsd";
+        return "schema/wildfly-ejb3_10_0.xsd";
     }
 
     /*
@@ -322,6 +322,10 @@ public class Ejb3TransformersTestCase extends AbstractSubsystemBaseTest {
         FailedOperationTransformationConfig config = new FailedOperationTransformationConfig();
         PathAddress subsystemAddress = PathAddress.pathAddress(EJB3Extension.SUBSYSTEM_PATH);
 
+        // register rejections for changes in 10.0.0, which apply to all legacy versions
+        config.addFailedAttribute(subsystemAddress.append(EJB3SubsystemModel.STRICT_MAX_BEAN_INSTANCE_POOL_PATH),
+                new FailedOperationTransformationConfig.NewAttributesConfig(StrictMaxPoolResourceDefinition.STRIPES));
+
         // EAP 6.4.0
         if (EJB3Model.VERSION_1_2_1.matches(version)) {
 
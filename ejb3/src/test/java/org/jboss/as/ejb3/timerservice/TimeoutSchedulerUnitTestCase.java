@@ -0,0 +1,106 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.ejb3.timerservice;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Unit test for {@link TimeoutScheduler}.
+ */
+public class TimeoutSchedulerUnitTestCase {
+
+    // Use a small wheel, so that timeouts span multiple revolutions
+    private final TimeoutScheduler scheduler = new TimeoutScheduler(Executors.defaultThreadFactory(), 5, TimeUnit.MILLISECONDS, 8);
+
+    @Before
+    public void start() {
+        this.scheduler.start();
+    }
+
+    @After
+    public void stop() {
+        this.scheduler.stop();
+    }
+
+    @Test
+    public void schedule() throws InterruptedException {
+        CountDownLatch latch = new CountDownLatch(1);
+        long start = System.nanoTime();
+        this.scheduler.schedule(latch::countDown, 100);
+
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) >= 100);
+
+        // Statistics are recorded before the task runs
+        assertEquals(1L, this.scheduler.getDispatchedCount());
+        assertTrue(this.scheduler.getMaxLag() >= this.scheduler.getAverageLag());
+    }
+
+    @Test
+    public void cancel() throws InterruptedException {
+        AtomicInteger count = new AtomicInteger();
+        TimeoutScheduler.Timeout timeout = this.scheduler.schedule(count::incrementAndGet, 50);
+
+        assertTrue(timeout.cancel());
+        assertTrue(timeout.isCancelled());
+        assertFalse(timeout.cancel());
+
+        CountDownLatch latch = new CountDownLatch(1);
+        this.scheduler.schedule(latch::countDown, 100);
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+
+        assertEquals(0, count.get());
+    }
+
+    @Test
+    public void scheduleAtFixedRate() throws InterruptedException {
+        CountDownLatch latch = new CountDownLatch(5);
+        TimeoutScheduler.Timeout timeout = this.scheduler.scheduleAtFixedRate(latch::countDown, 0, 20);
+
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        assertTrue(timeout.cancel());
+
+        // Allow any in-flight dispatch to complete
+        Thread.sleep(50);
+        long count = this.scheduler.getDispatchedCount();
+        Thread.sleep(100);
+
+        assertEquals(count, this.scheduler.getDispatchedCount());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void scheduleAfterStop() {
+        this.scheduler.stop();
+        this.scheduler.schedule(() -> { }, 0);
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.ejb3.timerservice;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.Serializable;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import javax.ejb.EJBException;
+
+import org.jboss.as.ejb3.timerservice.spi.TimedObjectInvoker;
+import org.jboss.msc.service.ServiceName;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Unit test for the deferred resolution of the info of a {@link TimerImpl}.
+ */
+public class TimerImplTestCase {
+
+    @Test
+    public void info() {
+        TimerImpl timer = TimerImpl.builder().setId("timer").setTimedObjectId("bean").setInfo("info").build(createTimerService());
+
+        Assert.assertNull(timer.getInfoResolver());
+        Assert.assertEquals("info", timer.getTimerInfo());
+        Assert.assertTrue(timer.toString(), timer.toString().contains("info=info"));
+    }
+
+    @Test
+    public void infoResolver() {
+        AtomicInteger resolutions = new AtomicInteger();
+        Supplier<Serializable> resolver = () -> {
+            resolutions.incrementAndGet();
+            return "info";
+        };
+        TimerImpl timer = TimerImpl.builder().setId("timer").setTimedObjectId("bean").setInfoResolver(resolver).build(createTimerService());
+
+        Assert.assertSame(resolver, timer.getInfoResolver());
+        // Info should not be resolved just for logging
+        Assert.assertFalse(timer.toString(), timer.toString().contains("info="));
+        Assert.assertEquals(0, resolutions.get());
+
+        Assert.assertEquals("info", timer.getTimerInfo());
+        Assert.assertEquals("info", timer.getTimerInfo());
+        Assert.assertEquals(1, resolutions.get());
+        Assert.assertTrue(timer.toString(), timer.toString().contains("info=info"));
+        // Resolver remains available to persistence implementations
+        Assert.assertSame(resolver, timer.getInfoResolver());
+    }
+
+    @Test
+    public void nullInfoResolver() {
+        AtomicInteger resolutions = new AtomicInteger();
+        TimerImpl timer = TimerImpl.builder().setId("timer").setTimedObjectId("bean").setInfoResolver(() -> {
+            resolutions.incrementAndGet();
+            return null;
+        }).build(createTimerService());
+
+        Assert.assertNull(timer.getTimerInfo());
+        Assert.assertNull(timer.getTimerInfo());
+        Assert.assertEquals(1, resolutions.get());
+    }
+
+    @Test
+    public void failedInfoResolver() {
+        AtomicInteger resolutions = new AtomicInteger();
+        RuntimeException exception = new IllegalStateException();
+        TimerImpl timer = TimerImpl.builder().setId("timer").setTimedObjectId("bean").setInfoResolver(() -> {
+            if (resolutions.incrementAndGet() == 1) {
+                throw exception;
+            }
+            return "info";
+        }).build(createTimerService());
+
+        try {
+            timer.getTimerInfo();
+            Assert.fail("Info resolution should have failed");
+        } catch (EJBException e) {
+            Assert.assertSame(exception, e.getCause());
+        }
+        // A failed resolution should be retried
+        Assert.assertEquals("info", timer.getTimerInfo());
+        Assert.assertEquals(2, resolutions.get());
+    }
+
+    private static TimerServiceImpl createTimerService() {
+        TimerServiceImpl service = mock(TimerServiceImpl.class);
+        TimedObjectInvoker invoker = mock(TimedObjectInvoker.class);
+        when(service.getInvoker()).thenReturn(invoker);
+        when(service.getServiceName()).thenReturn(ServiceName.of("bean", "timer-service"));
+        when(invoker.getTimedObjectId()).thenReturn("bean");
+        return service;
+    }
+}
@@ -0,0 +1,275 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.ejb3.timerservice.persistence.database;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.same;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.Serializable;
+import java.lang.reflect.Field;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+import javax.ejb.EJBException;
+import javax.sql.DataSource;
+
+import org.jboss.as.ejb3.timerservice.TimerImpl;
+import org.jboss.as.ejb3.timerservice.TimerServiceImpl;
+import org.jboss.as.ejb3.timerservice.TimerState;
+import org.jboss.as.ejb3.timerservice.persistence.TimerPersistence.TimerChangeListener;
+import org.jboss.as.ejb3.timerservice.spi.TimedObjectInvoker;
+import org.jboss.marshalling.Marshaller;
+import org.jboss.marshalling.MarshallerFactory;
+import org.jboss.marshalling.MarshallingConfiguration;
+import org.jboss.marshalling.OutputStreamByteOutput;
+import org.jboss.marshalling.river.RiverMarshallerFactory;
+import org.jboss.msc.service.ServiceName;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+/**
+ * Unit test for the periodic refresh of {@link DatabaseTimerPersistence}, using a mocked data source.
+ */
+public class DatabaseTimerPersistenceRefreshTestCase {
+
+    private static final String TIMED_OBJECT_ID = "bean";
+    private static final String TIMER_ID = "timer";
+    private static final String LOAD_ALL_TIMER_STATES = "load-all-timer-states";
+    private static final String LOAD_TIMERS = "load-timers";
+
+    private final DatabaseTimerPersistence persistence = new DatabaseTimerPersistence("test", "partition", "node", 0, true);
+    private final MarshallerFactory factory = new RiverMarshallerFactory();
+    private final MarshallingConfiguration configuration = new MarshallingConfiguration();
+    private final DataSource dataSource = mock(DataSource.class);
+    private final Connection connection = mock(Connection.class);
+    private final TimerChangeListener listener = mock(TimerChangeListener.class);
+    private final TimerServiceImpl timerService = mock(TimerServiceImpl.class);
+    // Rows returned by the load-all-timer-states query, as timer id -> state
+    private volatile Map<String, TimerState> states = Collections.emptyMap();
+    // Serialized info of the timers returned by the load-timers query
+    private volatile String info = null;
+
+    @Before
+    public void init() throws Exception {
+        Properties sql = new Properties();
+        sql.setProperty(LOAD_ALL_TIMER_STATES, LOAD_ALL_TIMER_STATES);
+        sql.setProperty(LOAD_TIMERS, LOAD_TIMERS + " (%s)");
+        setField("sql", sql);
+        setField("dataSource", this.dataSource);
+        setField("factory", this.factory);
+        setField("configuration", this.configuration);
+
+        TimedObjectInvoker invoker = mock(TimedObjectInvoker.class);
+        when(invoker.getTimedObjectId()).thenReturn(TIMED_OBJECT_ID);
+        when(this.timerService.getInvoker()).thenReturn(invoker);
+        when(this.timerService.getServiceName()).thenReturn(ServiceName.of(TIMED_OBJECT_ID, "timer-service"));
+        when(this.listener.getTimerService()).thenReturn(this.timerService);
+        when(this.dataSource.getConnection()).thenReturn(this.connection);
+        when(this.connection.prepareStatement(LOAD_ALL_TIMER_STATES)).thenAnswer(invocation -> this.createStatesStatement());
+        when(this.connection.prepareStatement(startsWith(LOAD_TIMERS))).thenAnswer(invocation -> this.createTimersStatement());
+
+        this.persistence.timerDeployed(TIMED_OBJECT_ID);
+        this.persistence.registerChangeListener(TIMED_OBJECT_ID, this.listener);
+    }
+
+    @Test
+    public void refresh() throws Exception {
+        // Refresh should only load the complete row of a new timer
+        this.states = Collections.singletonMap(TIMER_ID, TimerState.ACTIVE);
+        this.persistence.refreshTimers();
+
+        ArgumentCaptor<TimerImpl> captor = ArgumentCaptor.forClass(TimerImpl.class);
+        verify(this.listener).timerAdded(captor.capture());
+        TimerImpl timer = captor.getValue();
+        Assert.assertEquals(TIMER_ID, timer.getId());
+        Assert.assertEquals(TimerState.ACTIVE, timer.getState());
+        Assert.assertNull(timer.getTimerInfo());
+        verify(this.connection, times(1)).prepareStatement(startsWith(LOAD_TIMERS));
+
+        // Refresh of a known timer in sync with the database should only load its state
+        when(this.timerService.getTimer(TIMER_ID)).thenReturn(timer);
+        this.persistence.refreshTimers();
+
+        verify(this.connection, times(2)).prepareStatement(LOAD_ALL_TIMER_STATES);
+        verify(this.connection, times(1)).prepareStatement(startsWith(LOAD_TIMERS));
+        verify(this.listener, times(1)).timerAdded(any());
+        verify(this.listener, never()).timerSync(any(), any());
+        verify(this.listener, never()).timerRemoved(anyString());
+
+        // Refresh of a known timer that is no longer valid in memory, but still valid in the database, should reload it
+        TimerImpl expiredTimer = mock(TimerImpl.class);
+        when(expiredTimer.getState()).thenReturn(TimerState.EXPIRED);
+        when(this.timerService.getTimer(TIMER_ID)).thenReturn(expiredTimer);
+        this.persistence.refreshTimers();
+
+        verify(this.connection, times(2)).prepareStatement(startsWith(LOAD_TIMERS));
+        verify(this.listener).timerSync(same(expiredTimer), captor.capture());
+        Assert.assertEquals(TIMER_ID, captor.getValue().getId());
+        Assert.assertEquals(TimerState.ACTIVE, captor.getValue().getState());
+
+        // Refresh of a known timer that is also invalid in the database should not reload it
+        this.states = Collections.singletonMap(TIMER_ID, TimerState.CANCELED);
+        this.persistence.refreshTimers();
+
+        verify(this.connection, times(2)).prepareStatement(startsWith(LOAD_TIMERS));
+        verify(this.listener, times(1)).timerSync(any(), any());
+
+        // Refresh of a timer removed from the database
+        when(this.timerService.getTimer(TIMER_ID)).thenReturn(timer);
+        this.states = Collections.emptyMap();
+        this.persistence.refreshTimers();
+
+        verify(this.connection, times(2)).prepareStatement(startsWith(LOAD_TIMERS));
+        verify(this.listener).timerRemoved(TIMER_ID);
+    }
+
+    @Test
+    public void batch() throws Exception {
+        // Added timers should be loaded in batches, rather than one query per timer
+        Map<String, TimerState> states = new HashMap<>();
+        for (int i = 0; i < 150; i++) {
+            states.put(TIMER_ID + i, TimerState.ACTIVE);
+        }
+        this.states = states;
+        this.persistence.refreshTimers();
+
+        verify(this.connection, times(1)).prepareStatement(LOAD_ALL_TIMER_STATES);
+        verify(this.connection, times(2)).prepareStatement(startsWith(LOAD_TIMERS));
+        verify(this.listener, times(150)).timerAdded(any());
+    }
+
+    @Test
+    public void info() throws Exception {
+        this.states = Collections.singletonMap(TIMER_ID, TimerState.ACTIVE);
+        this.info = this.serialize("info");
+        this.persistence.refreshTimers();
+
+        ArgumentCaptor<TimerImpl> captor = ArgumentCaptor.forClass(TimerImpl.class);
+        verify(this.listener).timerAdded(captor.capture());
+        TimerImpl timer = captor.getValue();
+        // Info should be resolved lazily
+        Assert.assertNotNull(timer.getInfoResolver());
+        Assert.assertEquals("info", timer.getTimerInfo());
+    }
+
+    @Test
+    public void undecodableInfo() throws Exception {
+        this.states = Collections.singletonMap(TIMER_ID, TimerState.ACTIVE);
+        this.info = Base64.getEncoder().encodeToString(new byte[] { 1, 2, 3 });
+        this.persistence.refreshTimers();
+
+        // Timer should still be added, since its info was not yet accessed
+        ArgumentCaptor<TimerImpl> captor = ArgumentCaptor.forClass(TimerImpl.class);
+        verify(this.listener).timerAdded(captor.capture());
+        TimerImpl timer = captor.getValue();
+        try {
+            timer.getTimerInfo();
+            Assert.fail("Info of timer should not be resolvable");
+        } catch (EJBException e) {
+            Assert.assertNotNull(e.getCause());
+        }
+    }
+
+    private PreparedStatement createStatesStatement() throws SQLException {
+        List<Map.Entry<String, TimerState>> rows = new ArrayList<>(this.states.entrySet());
+        ResultSet resultSet = mock(ResultSet.class);
+        int[] row = new int[] { -1 };
+        when(resultSet.next()).thenAnswer(invocation -> ++row[0] < rows.size());
+        when(resultSet.getString(1)).thenAnswer(invocation -> rows.get(row[0]).getKey());
+        when(resultSet.getString(2)).thenAnswer(invocation -> rows.get(row[0]).getValue().name());
+        PreparedStatement statement = mock(PreparedStatement.class);
+        when(statement.executeQuery()).thenReturn(resultSet);
+        return statement;
+    }
+
+    private PreparedStatement createTimersStatement() throws SQLException {
+        List<String> ids = new ArrayList<>();
+        PreparedStatement statement = mock(PreparedStatement.class);
+        doAnswer(invocation -> {
+            int index = invocation.getArgument(0);
+            // Parameters 1 and 2 are the timed object id and partition, followed by the timer ids
+            if (index > 2) {
+                ids.add(invocation.getArgument(1));
+            }
+            return null;
+        }).when(statement).setString(anyInt(), anyString());
+        when(statement.executeQuery()).thenAnswer(invocation -> {
+            List<String> rows = new ArrayList<>();
+            for (String id : ids) {
+                if (this.states.containsKey(id)) {
+                    rows.add(id);
+                }
+            }
+            ResultSet resultSet = mock(ResultSet.class);
+            int[] row = new int[] { -1 };
+            when(resultSet.next()).thenAnswer(next -> ++row[0] < rows.size());
+            when(resultSet.getBoolean(24)).thenReturn(false);
+            when(resultSet.getString(25)).thenReturn("node");
+            when(resultSet.getString(1)).thenAnswer(get -> rows.get(row[0]));
+            when(resultSet.getString(2)).thenReturn(TIMED_OBJECT_ID);
+            when(resultSet.getTimestamp(3)).thenReturn(new Timestamp(System.currentTimeMillis()));
+            when(resultSet.getTimestamp(5)).thenReturn(new Timestamp(System.currentTimeMillis()));
+            when(resultSet.getString(8)).thenReturn(this.info);
+            when(resultSet.getString(9)).thenAnswer(get -> this.states.get(rows.get(row[0])).name());
+            return resultSet;
+        });
+        return statement;
+    }
+
+    private String serialize(Serializable value) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        Marshaller marshaller = this.factory.createMarshaller(this.configuration);
+        marshaller.start(new OutputStreamByteOutput(out));
+        marshaller.writeObject(value);
+        marshaller.finish();
+        return Base64.getEncoder().encodeToString(out.toByteArray());
+    }
+
+    private void setField(String name, Object value) throws ReflectiveOperationException {
+        Field field = DatabaseTimerPersistence.class.getDeclaredField(name);
+        field.setAccessible(true);
+        field.set(this.persistence, value);
+    }
+}
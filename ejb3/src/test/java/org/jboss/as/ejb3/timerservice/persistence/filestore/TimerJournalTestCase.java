@@ -0,0 +1,172 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.ejb3.timerservice.persistence.filestore;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Unit test for {@link TimerJournal}.
+ */
+public class TimerJournalTestCase {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void test() throws IOException {
+        File directory = this.folder.getRoot();
+        try (TimerJournal journal = open(directory, TimerJournal.DEFAULT_MAX_SEGMENT_SIZE)) {
+            journal.put("bean", "1", bytes("a"));
+            journal.put("bean", "2", bytes("b"));
+            journal.put("bean", "1", bytes("c"));
+            journal.put("other", "3", bytes("d"));
+            journal.remove("bean", "2");
+            // Removal of an unknown timer should not append a record
+            journal.remove("bean", "4");
+
+            assertTrue(journal.contains("bean", "1"));
+            assertFalse(journal.contains("bean", "2"));
+        }
+
+        // Verify that records survive a restart
+        try (TimerJournal journal = open(directory, TimerJournal.DEFAULT_MAX_SEGMENT_SIZE)) {
+            Map<String, byte[]> timers = journal.read("bean");
+            assertEquals(1, timers.size());
+            assertArrayEquals(bytes("c"), timers.get("1"));
+            timers = journal.read("other");
+            assertEquals(1, timers.size());
+            assertArrayEquals(bytes("d"), timers.get("3"));
+            assertTrue(journal.read("unknown").isEmpty());
+        }
+    }
+
+    @Test
+    public void truncate() throws IOException {
+        File directory = this.folder.getRoot();
+        try (TimerJournal journal = open(directory, TimerJournal.DEFAULT_MAX_SEGMENT_SIZE)) {
+            journal.put("bean", "1", bytes("a"));
+            journal.put("bean", "2", bytes("b"));
+        }
+        File[] segments = directory.listFiles();
+        assertEquals(1, segments.length);
+        // Simulate a torn write of the last record
+        try (RandomAccessFile file = new RandomAccessFile(segments[0], "rw")) {
+            file.setLength(file.length() - 1);
+        }
+        try (TimerJournal journal = open(directory, TimerJournal.DEFAULT_MAX_SEGMENT_SIZE)) {
+            assertTrue(journal.contains("bean", "1"));
+            assertFalse(journal.contains("bean", "2"));
+            // Verify that subsequent appends follow the last complete record
+            journal.put("bean", "3", bytes("c"));
+        }
+        try (TimerJournal journal = open(directory, TimerJournal.DEFAULT_MAX_SEGMENT_SIZE)) {
+            Map<String, byte[]> timers = journal.read("bean");
+            assertEquals(2, timers.size());
+            assertArrayEquals(bytes("a"), timers.get("1"));
+            assertArrayEquals(bytes("c"), timers.get("3"));
+        }
+    }
+
+    @Test
+    public void compact() throws IOException {
+        File directory = this.folder.getRoot();
+        try (TimerJournal journal = open(directory, 1024)) {
+            journal.put("bean", "live", bytes("live"));
+            // Repeatedly update a timer, such that superseded records trigger compaction
+            for (int i = 0; i < 1000; ++i) {
+                journal.put("bean", "1", bytes(Integer.toString(i)));
+            }
+            journal.remove("bean", "1");
+        }
+        // Superseded segments should have been deleted
+        assertTrue(directory.listFiles().length <= 3);
+        try (TimerJournal journal = open(directory, 1024)) {
+            Map<String, byte[]> timers = journal.read("bean");
+            assertEquals(1, timers.size());
+            assertArrayEquals(bytes("live"), timers.get("live"));
+        }
+    }
+
+    @Test
+    public void backgroundCompact() throws IOException {
+        File directory = this.folder.getRoot();
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            try (TimerJournal journal = open(directory, 1024, executor)) {
+                for (int i = 0; i < 100; ++i) {
+                    journal.put("bean", "live" + i, bytes("live"));
+                }
+                // Update and remove timers concurrently with compaction of their previous records
+                for (int i = 0; i < 1000; ++i) {
+                    journal.put("bean", "1", bytes(Integer.toString(i)));
+                    journal.put("bean", "live" + (i % 100), bytes(Integer.toString(i)));
+                    journal.put("bean", "temp" + i, bytes(Integer.toString(i)));
+                    if (i > 0) {
+                        journal.remove("bean", "temp" + (i - 1));
+                    }
+                }
+                journal.remove("bean", "1");
+                journal.remove("bean", "temp999");
+            }
+        } finally {
+            executor.shutdown();
+        }
+        try (TimerJournal journal = open(directory, 1024)) {
+            Map<String, byte[]> timers = journal.read("bean");
+            assertEquals(100, timers.size());
+            for (int i = 0; i < 100; ++i) {
+                assertArrayEquals(bytes(Integer.toString(900 + i)), timers.get("live" + i));
+            }
+        }
+    }
+
+    private static TimerJournal open(File directory, long maxSegmentSize) throws IOException {
+        // Compact synchronously, for deterministic results
+        return open(directory, maxSegmentSize, Runnable::run);
+    }
+
+    private static TimerJournal open(File directory, long maxSegmentSize, Executor executor) throws IOException {
+        TimerJournal journal = new TimerJournal(directory, maxSegmentSize, true, executor);
+        journal.open();
+        return journal;
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
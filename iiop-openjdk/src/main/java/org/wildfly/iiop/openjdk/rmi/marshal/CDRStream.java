@@ -23,8 +23,9 @@ package org.wildfly.iiop.openjdk.rmi.marshal;
 
 import java.io.Externalizable;
 import java.io.Serializable;
-import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 
 import javax.rmi.CORBA.Util;
 import javax.rmi.PortableRemoteObject;
@@ -590,10 +591,10 @@ public class CDRStream {
      */
     private static final class IdlInterfaceReader
             implements CDRStreamReader {
-        private static Class[] paramTypes = {org.omg.CORBA.portable.InputStream.class};
+        private static final MethodType READ_TYPE = MethodType.methodType(Object.class, org.omg.CORBA.portable.InputStream.class);
 
-        // The readMethod for this IdlInterfaceReader.
-        private Method readMethod = null;
+        // The read method handle for this IdlInterfaceReader, adapted to READ_TYPE.
+        private final MethodHandle readMethod;
 
         IdlInterfaceReader(Class clz) {
             String helperClassName = clz.getName() + "Helper";
@@ -601,21 +602,21 @@ public class CDRStream {
             try {
                 Class helperClass =
                         clz.getClassLoader().loadClass(helperClassName);
-                readMethod = helperClass.getMethod("read", paramTypes);
+                readMethod = MethodHandles.publicLookup().findStatic(helperClass, "read", READ_TYPE.changeReturnType(clz)).asType(READ_TYPE);
             } catch (ClassNotFoundException e) {
                 throw IIOPLogger.ROOT_LOGGER.errorLoadingClass(helperClassName, e);
             } catch (NoSuchMethodException e) {
                 throw IIOPLogger.ROOT_LOGGER.noReadMethodInHelper(helperClassName, e);
+            } catch (IllegalAccessException e) {
+                throw IIOPLogger.ROOT_LOGGER.unexpectedException(e);
             }
         }
 
         public Object read(InputStream in) {
             try {
-                return readMethod.invoke(null, new Object[]{in});
-            } catch (IllegalAccessException e) {
-                throw IIOPLogger.ROOT_LOGGER.unexpectedException(e);
-            } catch (InvocationTargetException e) {
-                throw IIOPLogger.ROOT_LOGGER.errorUnmarshaling(org.omg.CORBA.Object.class, e.getTargetException());
+                return (Object) readMethod.invokeExact((org.omg.CORBA.portable.InputStream) in);
+            } catch (Throwable e) {
+                throw IIOPLogger.ROOT_LOGGER.errorUnmarshaling(org.omg.CORBA.Object.class, e);
             }
         }
     }
@@ -892,8 +893,10 @@ public class CDRStream {
      */
     private static final class IdlInterfaceWriter
             implements CDRStreamWriter {
-        // The writeMethod for this IdlInterfaceReader.
-        private Method writeMethod = null;
+        private static final MethodType WRITE_TYPE = MethodType.methodType(void.class, org.omg.CORBA.portable.OutputStream.class, Object.class);
+
+        // The write method handle for this IdlInterfaceWriter, adapted to WRITE_TYPE.
+        private final MethodHandle writeMethod;
 
         IdlInterfaceWriter(Class clz) {
             String helperClassName = clz.getName() + "Helper";
@@ -901,25 +904,21 @@ public class CDRStream {
             try {
                 Class helperClass =
                         clz.getClassLoader().loadClass(helperClassName);
-                Class[] paramTypes = {
-                        org.omg.CORBA.portable.OutputStream.class,
-                        clz
-                };
-                writeMethod = helperClass.getMethod("write", paramTypes);
+                writeMethod = MethodHandles.publicLookup().findStatic(helperClass, "write", WRITE_TYPE.changeParameterType(1, clz)).asType(WRITE_TYPE);
             } catch (ClassNotFoundException e) {
                 throw IIOPLogger.ROOT_LOGGER.errorLoadingClass(helperClassName, e);
             } catch (NoSuchMethodException e) {
                 throw IIOPLogger.ROOT_LOGGER.noWriteMethodInHelper(helperClassName, e);
+            } catch (IllegalAccessException e) {
+                throw IIOPLogger.ROOT_LOGGER.unexpectedException(e);
             }
         }
 
         public void write(OutputStream out, Object obj) {
             try {
-                writeMethod.invoke(null, new Object[]{out, obj});
-            } catch (IllegalAccessException e) {
-                throw IIOPLogger.ROOT_LOGGER.unexpectedException(e);
-            } catch (InvocationTargetException e) {
-                throw IIOPLogger.ROOT_LOGGER.errorMarshaling(org.omg.CORBA.Object.class, e.getTargetException());
+                writeMethod.invokeExact((org.omg.CORBA.portable.OutputStream) out, obj);
+            } catch (Throwable e) {
+                throw IIOPLogger.ROOT_LOGGER.errorMarshaling(org.omg.CORBA.Object.class, e);
             }
         }
     }
@@ -21,6 +21,9 @@
  */
 package org.wildfly.iiop.openjdk.rmi.marshal.strategy;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Method;
 import java.rmi.RemoteException;
 
@@ -181,13 +184,16 @@ public class SkeletonStrategy {
          */
         private Class clz;
 
+        private static final MethodType WRITE_TYPE = MethodType.methodType(void.class, org.omg.CORBA.portable.OutputStream.class, Object.class);
+
         /*
         * If the exception class corresponds to an IDL-defined exception, this
-        * field contains the write method of the associated helper class.
+        * field contains a handle to the write method of the associated helper
+        * class, adapted to WRITE_TYPE.
         * A null value indicates that the exception class does not correspond
         * to an IDL-defined exception.
         */
-        private java.lang.reflect.Method writeMethod = null;
+        private MethodHandle writeMethod = null;
 
         /**
          * The CORBA repository id of the exception class. (This field is used
@@ -211,13 +217,13 @@ public class SkeletonStrategy {
                 try {
                     Class helperClass =
                             clz.getClassLoader().loadClass(helperClassName);
-                    Class[] paramTypes =
-                            {org.omg.CORBA.portable.OutputStream.class, clz};
-                    writeMethod = helperClass.getMethod("write", paramTypes);
+                    writeMethod = MethodHandles.publicLookup().findStatic(helperClass, "write", WRITE_TYPE.changeParameterType(1, clz)).asType(WRITE_TYPE);
                 } catch (ClassNotFoundException e) {
                     throw IIOPLogger.ROOT_LOGGER.errorLoadingClass(helperClassName, e);
                 } catch (NoSuchMethodException e) {
                     throw IIOPLogger.ROOT_LOGGER.noWriteMethodInHelper(helperClassName, e);
+                } catch (IllegalAccessException e) {
+                    throw IIOPLogger.ROOT_LOGGER.unexpectedException(e);
                 }
 
             } else {
@@ -245,11 +251,9 @@ public class SkeletonStrategy {
         public void write(OutputStream out, Object excep) {
             if (writeMethod != null) {
                 try {
-                    writeMethod.invoke(null, new Object[]{out, excep});
-                } catch (IllegalAccessException e) {
-                    throw IIOPLogger.ROOT_LOGGER.unexpectedException(e);
-                } catch (java.lang.reflect.InvocationTargetException e) {
-                    throw IIOPLogger.ROOT_LOGGER.errorMarshaling(IDLEntity.class, e.getTargetException());
+                    writeMethod.invokeExact((org.omg.CORBA.portable.OutputStream) out, excep);
+                } catch (Throwable e) {
+                    throw IIOPLogger.ROOT_LOGGER.errorMarshaling(IDLEntity.class, e);
                 }
             } else {
                 out.write_string(reposId);
@@ -21,12 +21,12 @@
  */
 package org.wildfly.iiop.openjdk.rmi.marshal.strategy;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.rmi.NoSuchObjectException;
 import java.rmi.Remote;
-import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.Iterator;
-import java.util.List;
 import java.util.Map;
 import java.rmi.UnexpectedException;
 
@@ -61,9 +61,9 @@ public class StubStrategy {
     private CDRStreamWriter[] paramWriters;
 
     /**
-     * List of exception classes.
+     * Array of exception classes.
      */
-    private List<Class<?>> exceptionList;
+    private Class<?>[] exceptions;
 
     /**
      * Maps exception repository ids into ExceptionReader instances.
@@ -152,13 +152,13 @@ public class StubStrategy {
         }
 
         // Initialize exception list and exception map
-        exceptionList = new ArrayList<Class<?>>();
         exceptionMap = new HashMap<String, ExceptionReader>();
         len = excepIds.length;
+        exceptions = new Class<?>[len];
         for (int i = 0; i < len; i++) {
             try {
                 Class<?> clz = cl.loadClass(excepTypes[i]);
-                exceptionList.add(clz);
+                exceptions[i] = clz;
                 ExceptionReader exceptionReader =
                         new ExceptionReader(clz, excepIds[i]);
                 exceptionMap.put(exceptionReader.getReposId(), exceptionReader);
@@ -248,9 +248,8 @@ public class StubStrategy {
      *         method, false otherwise.
      */
     public boolean isDeclaredException(Throwable t) {
-        Iterator<Class<?>> iterator = exceptionList.iterator();
-        while (iterator.hasNext()) {
-            if (((Class<?>) iterator.next()).isInstance(t)) {
+        for (Class<?> exception : exceptions) {
+            if (exception.isInstance(t)) {
                 return true;
             }
         }
@@ -289,13 +288,16 @@ public class StubStrategy {
          */
         private String reposId;
 
+        private static final MethodType READ_TYPE = MethodType.methodType(Exception.class, org.omg.CORBA.portable.InputStream.class);
+
         /*
         * If the exception class corresponds to an IDL-defined exception, this
-        * field contains the read method of the associated helper class.
+        * field contains a handle to the read method of the associated helper
+        * class, adapted to READ_TYPE.
         * A null value indicates that the exception class does not correspond
         * to an IDL-defined exception.
         */
-        private java.lang.reflect.Method readMethod = null;
+        private MethodHandle readMethod = null;
 
         /**
          * Constructs an <code>ExceptionReader</code> for a given exception
@@ -310,8 +312,7 @@ public class StubStrategy {
                 String helperClassName = clz.getName() + "Helper";
                 try {
                     Class<?> helperClass = clz.getClassLoader().loadClass(helperClassName);
-                    Class<?>[] paramTypes = {org.omg.CORBA.portable.InputStream.class};
-                    readMethod = helperClass.getMethod("read", paramTypes);
+                    readMethod = MethodHandles.publicLookup().findStatic(helperClass, "read", READ_TYPE.changeReturnType(clz)).asType(READ_TYPE);
 
                     // Ignore the reposId parameter and use the id
                     // returned by the IDL-generated helper class
@@ -343,11 +344,9 @@ public class StubStrategy {
         public Exception read(InputStream in) {
             if (readMethod != null) {
                 try {
-                    return (Exception) readMethod.invoke(null, new Object[]{in});
-                } catch (IllegalAccessException e) {
-                    throw IIOPLogger.ROOT_LOGGER.unexpectedException(e);
-                } catch (java.lang.reflect.InvocationTargetException e) {
-                    throw IIOPLogger.ROOT_LOGGER.errorUnmarshaling(IDLEntity.class, e.getTargetException());
+                    return (Exception) readMethod.invokeExact((org.omg.CORBA.portable.InputStream) in);
+                } catch (Throwable e) {
+                    throw IIOPLogger.ROOT_LOGGER.errorUnmarshaling(IDLEntity.class, e);
                 }
             } else {
                 in.read_string(); // read and discard the repository id
@@ -26,6 +26,8 @@ import static org.jboss.logging.Logger.Level.DEBUG;
 import static org.jboss.logging.Logger.Level.INFO;
 import static org.jboss.logging.Logger.Level.WARN;
 
+import javax.mail.MessagingException;
+
 import org.jboss.logging.BasicLogger;
 import org.jboss.logging.Logger;
 import org.jboss.logging.annotations.LogMessage;
@@ -92,4 +94,14 @@ interface MailLogger extends BasicLogger {
     @LogMessage(level = WARN)
     @Message(id = 9, value = "Host name [%s] could not be resolved!")
     void hostUnknown(String hostName);
+
+    /**
+     * Creates an exception indicating that no pooled transport became available within the acquire timeout.
+     *
+     * @param maxSize the maximum number of pooled transports
+     * @param timeout the acquire timeout, in milliseconds
+     * @return a {@link MessagingException} for the error.
+     */
+    @Message(id = 10, value = "All %d pooled transports remained in use for %d ms")
+    MessagingException transportPoolExhausted(int maxSize, long timeout);
 }
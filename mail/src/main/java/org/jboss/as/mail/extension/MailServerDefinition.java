@@ -32,6 +32,7 @@ import org.jboss.as.controller.AttributeParser;
 import org.jboss.as.controller.ObjectTypeAttributeDefinition;
 import org.jboss.as.controller.OperationContext;
 import org.jboss.as.controller.OperationFailedException;
+import org.jboss.as.controller.OperationStepHandler;
 import org.jboss.as.controller.PathAddress;
 import org.jboss.as.controller.PathElement;
 import org.jboss.as.controller.PersistentResourceDefinition;
@@ -43,7 +44,10 @@ import org.jboss.as.controller.access.constraint.SensitivityClassification;
 import org.jboss.as.controller.access.management.SensitiveTargetAccessConstraintDefinition;
 import org.jboss.as.controller.capability.DynamicNameMappers;
 import org.jboss.as.controller.capability.RuntimeCapability;
+import org.jboss.as.controller.client.helpers.MeasurementUnit;
 import org.jboss.as.controller.descriptions.ModelDescriptionConstants;
+import org.jboss.as.controller.operations.validation.IntRangeValidator;
+import org.jboss.as.controller.operations.validation.LongRangeValidator;
 import org.jboss.as.controller.registry.AttributeAccess;
 import org.jboss.as.controller.registry.ManagementResourceRegistration;
 import org.jboss.as.controller.registry.Resource;
@@ -51,6 +55,7 @@ import org.jboss.as.controller.security.CredentialReference;
 import org.jboss.as.naming.deployment.ContextNames;
 import org.jboss.dmr.ModelNode;
 import org.jboss.dmr.ModelType;
+import org.jboss.msc.service.ServiceController;
 import org.jboss.msc.service.ServiceName;
 
 /**
@@ -133,18 +138,53 @@ class MailServerDefinition extends PersistentResourceDefinition {
             .build();
 
 
+    static final SimpleAttributeDefinition POOLED =
+            new SimpleAttributeDefinitionBuilder(MailSubsystemModel.POOLED, ModelType.BOOLEAN, true)
+                    .setAllowExpression(true)
+                    .setFlags(AttributeAccess.Flag.RESTART_ALL_SERVICES)
+                    .setDefaultValue(ModelNode.TRUE)
+                    .build();
+
+    static final SimpleAttributeDefinition MAX_POOL_SIZE =
+            new SimpleAttributeDefinitionBuilder(MailSubsystemModel.MAX_POOL_SIZE, ModelType.INT, true)
+                    .setAllowExpression(true)
+                    .setFlags(AttributeAccess.Flag.RESTART_ALL_SERVICES)
+                    .setDefaultValue(new ModelNode(10))
+                    .setValidator(new IntRangeValidator(1, true, true))
+                    .build();
+
+    static final SimpleAttributeDefinition IDLE_TIMEOUT =
+            new SimpleAttributeDefinitionBuilder(MailSubsystemModel.IDLE_TIMEOUT, ModelType.LONG, true)
+                    .setAllowExpression(true)
+                    .setFlags(AttributeAccess.Flag.RESTART_ALL_SERVICES)
+                    .setDefaultValue(new ModelNode(60000L))
+                    .setMeasurementUnit(MeasurementUnit.MILLISECONDS)
+                    .setValidator(new LongRangeValidator(1, Long.MAX_VALUE, true, true))
+                    .build();
+
+    static final SimpleAttributeDefinition ACQUIRE_TIMEOUT =
+            new SimpleAttributeDefinitionBuilder(MailSubsystemModel.ACQUIRE_TIMEOUT, ModelType.LONG, true)
+                    .setAllowExpression(true)
+                    .setFlags(AttributeAccess.Flag.RESTART_ALL_SERVICES)
+                    .setDefaultValue(new ModelNode(30000L))
+                    .setMeasurementUnit(MeasurementUnit.MILLISECONDS)
+                    .setValidator(new LongRangeValidator(0, Long.MAX_VALUE, true, true))
+                    .build();
+
     static final AttributeDefinition[] ATTRIBUTES = {OUTBOUND_SOCKET_BINDING_REF, SSL, TLS, USERNAME, PASSWORD, CREDENTIAL_REFERENCE};
+    static final AttributeDefinition[] ATTRIBUTES_SMTP = {OUTBOUND_SOCKET_BINDING_REF, SSL, TLS, USERNAME, PASSWORD, CREDENTIAL_REFERENCE, POOLED, MAX_POOL_SIZE, IDLE_TIMEOUT, ACQUIRE_TIMEOUT};
     static final AttributeDefinition[] ATTRIBUTES_CUSTOM = {OUTBOUND_SOCKET_BINDING_REF_OPTIONAL, SSL, TLS, USERNAME, PASSWORD, CREDENTIAL_REFERENCE, PROPERTIES};
 
 
-    static final MailServerDefinition INSTANCE_SMTP = new MailServerDefinition(MailSubsystemModel.SMTP_SERVER_PATH, ATTRIBUTES);
+    static final MailServerDefinition INSTANCE_SMTP = new MailServerDefinition(MailSubsystemModel.SMTP_SERVER_PATH, ATTRIBUTES_SMTP, TransportPoolMetric.values());
     static final MailServerDefinition INSTANCE_IMAP = new MailServerDefinition(MailSubsystemModel.IMAP_SERVER_PATH, ATTRIBUTES);
     static final MailServerDefinition INSTANCE_POP3 = new MailServerDefinition(MailSubsystemModel.POP3_SERVER_PATH, ATTRIBUTES);
     static final MailServerDefinition INSTANCE_CUSTOM = new MailServerDefinition(MailSubsystemModel.CUSTOM_SERVER_PATH, ATTRIBUTES_CUSTOM);
 
     private final List<AttributeDefinition> attributes;
+    private final List<TransportPoolMetric> metrics;
 
-    private MailServerDefinition(final PathElement path, AttributeDefinition[] attributes) {
+    private MailServerDefinition(final PathElement path, AttributeDefinition[] attributes, TransportPoolMetric... metrics) {
         super(new Parameters(path,
                 MailExtension.getResourceDescriptionResolver(MailSubsystemModel.MAIL_SESSION, MailSubsystemModel.SERVER_TYPE))
                 .setAddHandler(new MailServerAdd(attributes))
@@ -152,6 +192,7 @@ class MailServerDefinition extends PersistentResourceDefinition {
                 .setCapabilities(SERVER_CAPABILITY)
         );
         this.attributes = Arrays.asList(attributes);
+        this.metrics = Arrays.asList(metrics);
     }
 
 
@@ -166,6 +207,29 @@ class MailServerDefinition extends PersistentResourceDefinition {
         for (AttributeDefinition attr : getAttributes()) {
             resourceRegistration.registerReadWriteAttribute(attr, null, handler);
         }
+        for (TransportPoolMetric metric : this.metrics) {
+            resourceRegistration.registerMetric(metric.getDefinition(), TransportPoolMetricHandler.INSTANCE);
+        }
+    }
+
+    private static class TransportPoolMetricHandler implements OperationStepHandler {
+
+        static final TransportPoolMetricHandler INSTANCE = new TransportPoolMetricHandler();
+
+        @Override
+        public void execute(OperationContext context, ModelNode operation) throws OperationFailedException {
+            String sessionName = context.getCurrentAddress().getParent().getLastElement().getValue();
+            ServiceName serviceName = MailSessionDefinition.SESSION_CAPABILITY.getCapabilityServiceName(sessionName);
+            ServiceController<?> controller = context.getServiceRegistry(false).getService(serviceName);
+            if (controller == null || controller.getState() != ServiceController.State.UP) {
+                return;
+            }
+            TransportPool pool = ((MailSessionService) controller.getService()).getTransportPool();
+            if (pool != null) {
+                TransportPoolMetric metric = TransportPoolMetric.forName(operation.get(ModelDescriptionConstants.NAME).asString());
+                context.getResult().set(metric.execute(pool));
+            }
+        }
     }
 
     private static final class MailServerRemove extends RestartParentResourceRemoveHandler {
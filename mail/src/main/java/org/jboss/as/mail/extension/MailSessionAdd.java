@@ -212,7 +212,13 @@ class MailSessionAdd extends AbstractAddStepHandler {
         if (model.hasDefined(SERVER_TYPE)) {
             ModelNode server = model.get(SERVER_TYPE);
             if (server.hasDefined(SMTP)) {
-                cfg.setSmtpServer(readServerConfig(operationContext, server.get(SMTP)));
+                ModelNode smtp = server.get(SMTP);
+                ServerConfig smtpServer = readServerConfig(operationContext, smtp);
+                smtpServer.setPooled(MailServerDefinition.POOLED.resolveModelAttribute(operationContext, smtp).asBoolean());
+                smtpServer.setMaxPoolSize(MailServerDefinition.MAX_POOL_SIZE.resolveModelAttribute(operationContext, smtp).asInt());
+                smtpServer.setIdleTimeout(MailServerDefinition.IDLE_TIMEOUT.resolveModelAttribute(operationContext, smtp).asLong());
+                smtpServer.setAcquireTimeout(MailServerDefinition.ACQUIRE_TIMEOUT.resolveModelAttribute(operationContext, smtp).asLong());
+                cfg.setSmtpServer(smtpServer);
             }
             if (server.hasDefined(POP3)) {
                 cfg.setPop3Server(readServerConfig(operationContext, server.get(POP3)));
@@ -43,7 +43,7 @@ import org.jboss.msc.service.StopContext;
  */
 public class MailSessionService implements Service<Session> {
     private final MailSessionConfig config;
-    private volatile SessionProvider provider;
+    private volatile SessionProviderFactory.ManagedSession provider;
     private Map<String, OutboundSocketBinding> socketBindings = new HashMap<String, OutboundSocketBinding>();
 
     public MailSessionService(MailSessionConfig config) {
@@ -62,12 +62,18 @@ public class MailSessionService implements Service<Session> {
 
     public void stop(StopContext stopContext) {
         MailLogger.ROOT_LOGGER.trace("stop...");
+        provider.close();
     }
 
     Injector<OutboundSocketBinding> getSocketBindingInjector(String name) {
         return new MapInjector<>(socketBindings, name);
     }
 
+    TransportPool getTransportPool() {
+        SessionProviderFactory.ManagedSession provider = this.provider;
+        return (provider != null) ? provider.getTransportPool() : null;
+    }
+
     public Session getValue() throws IllegalStateException, IllegalArgumentException {
         return provider.getSession();
     }
@@ -52,6 +52,14 @@ interface MailSubsystemModel {
     String NAME = "name";
     String CUSTOM = "custom";
     String PROPERTY = "property";
+    String POOLED = "pooled";
+    String MAX_POOL_SIZE = "max-pool-size";
+    String IDLE_TIMEOUT = "idle-timeout";
+    String ACQUIRE_TIMEOUT = "acquire-timeout";
+    String ACTIVE_COUNT = "active-count";
+    String IDLE_COUNT = "idle-count";
+    String CREATED_COUNT = "created-count";
+    String DESTROYED_COUNT = "destroyed-count";
 
 
     PathElement POP3_SERVER_PATH = PathElement.pathElement(SERVER_TYPE, POP3);
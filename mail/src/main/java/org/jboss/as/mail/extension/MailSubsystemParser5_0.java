@@ -0,0 +1,68 @@
+/*
+ *
+ *  JBoss, Home of Professional Open Source.
+ *  Copyright 2021, Red Hat, Inc., and individual contributors
+ *  as indicated by the @author tags. See the copyright.txt file in the
+ *  distribution for a full listing of individual contributors.
+ *
+ *  This is free software; you can redistribute it and/or modify it
+ *  under the terms of the GNU Lesser General Public License as
+ *  published by the Free Software Foundation; either version 2.1 of
+ *  the License, or (at your option) any later version.
+ *
+ *  This software is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ *  Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public
+ *  License along with this software; if not, write to the Free
+ *  Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ *  02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ * /
+ */
+
+package org.jboss.as.mail.extension;
+
+import static org.jboss.as.controller.PersistentResourceXMLDescription.builder;
+
+import org.jboss.as.controller.PersistentResourceXMLDescription;
+import org.jboss.as.controller.PersistentResourceXMLParser;
+
+/**
+ * Parser for the mail subsystem 5.0 schema.
+ */
+class MailSubsystemParser5_0 extends PersistentResourceXMLParser {
+
+    @Override
+    public PersistentResourceXMLDescription getParserDescription() {
+        return builder(MailSubsystemResource.INSTANCE.getPathElement(), Namespace.MAIL_5_0.getUriString())
+                .addChild(
+                        builder(MailSessionDefinition.INSTANCE.getPathElement())
+                                .addAttributes(MailSessionDefinition.DEBUG, MailSessionDefinition.JNDI_NAME, MailSessionDefinition.FROM)
+                                .addChild(
+                                        builder(MailServerDefinition.INSTANCE_SMTP.getPathElement())
+                                                .addAttributes(MailServerDefinition.OUTBOUND_SOCKET_BINDING_REF, MailServerDefinition.SSL, MailServerDefinition.TLS, MailServerDefinition.USERNAME, MailServerDefinition.PASSWORD, MailServerDefinition.CREDENTIAL_REFERENCE)
+                                                .addAttributes(MailServerDefinition.POOLED, MailServerDefinition.MAX_POOL_SIZE, MailServerDefinition.IDLE_TIMEOUT, MailServerDefinition.ACQUIRE_TIMEOUT)
+                                                .setXmlElementName(MailSubsystemModel.SMTP_SERVER)
+
+                                )
+                                .addChild(
+                                        builder(MailServerDefinition.INSTANCE_POP3.getPathElement())
+                                                .addAttributes(MailServerDefinition.OUTBOUND_SOCKET_BINDING_REF, MailServerDefinition.SSL, MailServerDefinition.TLS, MailServerDefinition.USERNAME, MailServerDefinition.PASSWORD, MailServerDefinition.CREDENTIAL_REFERENCE)
+                                                .setXmlElementName(MailSubsystemModel.POP3_SERVER)
+                                )
+                                .addChild(
+                                        builder(MailServerDefinition.INSTANCE_IMAP.getPathElement())
+                                                .addAttributes(MailServerDefinition.OUTBOUND_SOCKET_BINDING_REF, MailServerDefinition.SSL, MailServerDefinition.TLS, MailServerDefinition.USERNAME, MailServerDefinition.PASSWORD, MailServerDefinition.CREDENTIAL_REFERENCE)
+                                                .setXmlElementName(MailSubsystemModel.IMAP_SERVER)
+                                )
+                                .addChild(
+                                        builder(MailServerDefinition.INSTANCE_CUSTOM.getPathElement())
+                                                .addAttributes(MailServerDefinition.OUTBOUND_SOCKET_BINDING_REF_OPTIONAL, MailServerDefinition.SSL, MailServerDefinition.TLS, MailServerDefinition.USERNAME, MailServerDefinition.PASSWORD, MailServerDefinition.CREDENTIAL_REFERENCE, MailServerDefinition.PROPERTIES)
+                                                .setXmlElementName(MailSubsystemModel.CUSTOM_SERVER)
+                                )
+                )
+                .build();
+    }
+}
@@ -27,6 +27,7 @@ import static org.jboss.as.mail.extension.MailExtension.CURRENT_MODEL_VERSION;
 import static org.jboss.as.mail.extension.MailExtension.MAIL_SESSION_PATH;
 import static org.jboss.as.mail.extension.MailSubsystemModel.CUSTOM_SERVER_PATH;
 import static org.jboss.as.mail.extension.MailSubsystemModel.SERVER_TYPE;
+import static org.jboss.as.mail.extension.MailSubsystemModel.SMTP_SERVER_PATH;
 
 import org.jboss.as.controller.ModelVersion;
 import org.jboss.as.controller.PathElement;
@@ -44,6 +45,7 @@ public class MailTransformers implements ExtensionTransformerRegistration {
     static final ModelVersion MODEL_VERSION_EAP6X = ModelVersion.create(1, 3, 0); //EAP6.2,6.3 & 6.4 have version 1.3.0
     static final ModelVersion MODEL_VERSION_EAP70 = ModelVersion.create(2, 0, 0);
     static final ModelVersion MODEL_VERSION_EAP71 = ModelVersion.create(3, 0, 0);
+    static final ModelVersion MODEL_VERSION_EAP73 = ModelVersion.create(4, 0, 0);
 
     @Override
     public String getSubsystemName() {
@@ -54,7 +56,14 @@ public class MailTransformers implements ExtensionTransformerRegistration {
     public void registerTransformers(SubsystemTransformerRegistration subsystem) {
         ChainedTransformationDescriptionBuilder chained = ResourceTransformationDescriptionBuilder.Factory.createChainedSubystemInstance(CURRENT_MODEL_VERSION);
 
-        ResourceTransformationDescriptionBuilder builder71 = chained.createBuilder(CURRENT_MODEL_VERSION, MODEL_VERSION_EAP71);
+        ResourceTransformationDescriptionBuilder builder73 = chained.createBuilder(CURRENT_MODEL_VERSION, MODEL_VERSION_EAP73);
+        builder73.addChildResource(MAIL_SESSION_PATH).addChildResource(SMTP_SERVER_PATH)
+                .getAttributeBuilder()
+                .setDiscard(DiscardAttributeChecker.UNDEFINED, MailServerDefinition.POOLED, MailServerDefinition.MAX_POOL_SIZE, MailServerDefinition.IDLE_TIMEOUT, MailServerDefinition.ACQUIRE_TIMEOUT)
+                .addRejectCheck(RejectAttributeChecker.DEFINED, MailServerDefinition.POOLED, MailServerDefinition.MAX_POOL_SIZE, MailServerDefinition.IDLE_TIMEOUT, MailServerDefinition.ACQUIRE_TIMEOUT)
+                .end();
+
+        ResourceTransformationDescriptionBuilder builder71 = chained.createBuilder(MODEL_VERSION_EAP73, MODEL_VERSION_EAP71);
         ResourceTransformationDescriptionBuilder sessionBuilder71 = builder71.addChildResource(MAIL_SESSION_PATH);
         sessionBuilder71.addChildResource(PathElement.pathElement(SERVER_TYPE))
                 .getAttributeBuilder()
@@ -83,6 +92,6 @@ public class MailTransformers implements ExtensionTransformerRegistration {
         chained.createBuilder(MODEL_VERSION_EAP70, MODEL_VERSION_EAP6X);
 
 
-        chained.buildAndRegister(subsystem, new ModelVersion[]{MODEL_VERSION_EAP71, MODEL_VERSION_EAP70, MODEL_VERSION_EAP6X});
+        chained.buildAndRegister(subsystem, new ModelVersion[]{MODEL_VERSION_EAP73, MODEL_VERSION_EAP71, MODEL_VERSION_EAP70, MODEL_VERSION_EAP6X});
     }
 }
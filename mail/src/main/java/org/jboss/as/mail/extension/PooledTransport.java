@@ -0,0 +1,153 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.mail.extension;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import javax.mail.Address;
+import javax.mail.Message;
+import javax.mail.MessagingException;
+import javax.mail.Provider;
+import javax.mail.Session;
+import javax.mail.Transport;
+import javax.mail.URLName;
+import javax.mail.event.ConnectionEvent;
+import javax.mail.event.TransportListener;
+
+/**
+ * {@link Transport} provider that borrows a connected transport from the {@link TransportPool} of its session on connect, and returns it to the pool on {@link #close()}.
+ * Connections using an explicit host, port, or user bypass the pool, since the pooled transports are connected to the configured server using the configured credentials.
+ * Pooled transports are created by the session of the pool, not by the session of this transport, and are shared by all sessions of a mail session resource.
+ * Consequently, any changes to the debug flag, debug output, or properties of the session of this transport do not apply to pooled transports.
+ * Applications requiring such customizations should either connect using an explicit host, port, or user, or disable pooling for the SMTP server.
+ */
+public class PooledTransport extends Transport {
+
+    static final Provider PROVIDER = new Provider(Provider.Type.TRANSPORT, MailSubsystemModel.SMTP, PooledTransport.class.getName(), "WildFly", null);
+
+    // Session properties may only contain strings, so the pool of a session is registered here instead, and is unregistered once its session is garbage collected
+    private static final Map<Session, TransportPool> POOLS = Collections.synchronizedMap(new WeakHashMap<>());
+
+    /**
+     * Registers the specified transport pool with the specified session, whose SMTP transports will borrow from this pool.
+     * @param session a mail session
+     * @param pool the transport pool of the specified session
+     */
+    static void register(Session session, TransportPool pool) {
+        POOLS.put(session, pool);
+        session.addProvider(PROVIDER);
+    }
+
+    private final TransportPool pool;
+    private final List<TransportListener> listeners = new CopyOnWriteArrayList<>();
+    private volatile Transport transport;
+    private volatile boolean pooled;
+
+    public PooledTransport(Session session, URLName url) {
+        super(session, url);
+        this.pool = POOLS.get(session);
+        if (this.pool == null) {
+            throw new IllegalStateException("No transport pool registered for session");
+        }
+    }
+
+    @Override
+    public synchronized void connect(String host, int port, String user, String password) throws MessagingException {
+        if (this.transport != null) {
+            throw new IllegalStateException("already connected");
+        }
+        URLName url = this.getURLName();
+        boolean pooled = (host == null) && (port == -1) && (user == null) && (password == null) && ((url == null) || ((url.getHost() == null) && (url.getUsername() == null)));
+        Transport transport = pooled ? this.pool.borrow() : this.pool.create();
+        if (!pooled) {
+            try {
+                transport.connect(host, port, user, password);
+            } catch (MessagingException | RuntimeException e) {
+                transport.close();
+                throw e;
+            }
+        }
+        for (TransportListener listener : this.listeners) {
+            transport.addTransportListener(listener);
+        }
+        this.pooled = pooled;
+        this.transport = transport;
+        this.setConnected(true);
+        this.notifyConnectionListeners(ConnectionEvent.OPENED);
+    }
+
+    @Override
+    public void sendMessage(Message message, Address[] addresses) throws MessagingException {
+        Transport transport = this.transport;
+        if (transport == null) {
+            throw new IllegalStateException("Not connected");
+        }
+        transport.sendMessage(message, addresses);
+    }
+
+    @Override
+    public synchronized boolean isConnected() {
+        Transport transport = this.transport;
+        return (transport != null) && transport.isConnected();
+    }
+
+    @Override
+    public synchronized void close() throws MessagingException {
+        Transport transport = this.transport;
+        if (transport != null) {
+            this.transport = null;
+            for (TransportListener listener : this.listeners) {
+                transport.removeTransportListener(listener);
+            }
+            if (this.pooled) {
+                this.pool.release(transport);
+            } else {
+                transport.close();
+            }
+        }
+        super.close();
+    }
+
+    @Override
+    public synchronized void addTransportListener(TransportListener listener) {
+        // Transport events are fired by the underlying transport
+        this.listeners.add(listener);
+        Transport transport = this.transport;
+        if (transport != null) {
+            transport.addTransportListener(listener);
+        }
+    }
+
+    @Override
+    public synchronized void removeTransportListener(TransportListener listener) {
+        this.listeners.remove(listener);
+        Transport transport = this.transport;
+        if (transport != null) {
+            transport.removeTransportListener(listener);
+        }
+    }
+}
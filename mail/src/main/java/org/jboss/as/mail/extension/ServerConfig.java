@@ -42,6 +42,10 @@ class ServerConfig {
     private boolean sslEnabled = false;
     private boolean tlsEnabled = false;
     private final Map<String, String> properties;
+    private boolean pooled = false;
+    private int maxPoolSize;
+    private long idleTimeout;
+    private long acquireTimeout;
 
     public ServerConfig(final String outgoingSocketBinding, final Credentials credentials, boolean ssl, boolean tls, Map<String, String> properties) {
         this.outgoingSocketBinding = outgoingSocketBinding;
@@ -85,6 +89,44 @@ class ServerConfig {
         return properties;
     }
 
+    public boolean isPooled() {
+        return pooled;
+    }
+
+    public void setPooled(boolean pooled) {
+        this.pooled = pooled;
+    }
+
+    public int getMaxPoolSize() {
+        return maxPoolSize;
+    }
+
+    public void setMaxPoolSize(int maxPoolSize) {
+        this.maxPoolSize = maxPoolSize;
+    }
+
+    /**
+     * @return the duration, in milliseconds, after which an idle pooled transport is closed
+     */
+    public long getIdleTimeout() {
+        return idleTimeout;
+    }
+
+    public void setIdleTimeout(long idleTimeout) {
+        this.idleTimeout = idleTimeout;
+    }
+
+    /**
+     * @return the duration, in milliseconds, to wait for an available pooled transport
+     */
+    public long getAcquireTimeout() {
+        return acquireTimeout;
+    }
+
+    public void setAcquireTimeout(long acquireTimeout) {
+        this.acquireTimeout = acquireTimeout;
+    }
+
     public Injector<ExceptionSupplier<CredentialSource, Exception>> getCredentialSourceSupplierInjector() {
         return credentialSourceSupplierInjector;
     }
@@ -42,7 +42,7 @@ import org.jboss.msc.service.StartException;
  * @author <a href="mailto:tomaz.cerar@redhat.com">Tomaz Cerar</a> (c) 2013 Red Hat Inc.
  */
 class SessionProviderFactory {
-    static SessionProvider create(MailSessionConfig config, final Map<String, OutboundSocketBinding> socketBindings) throws StartException {
+    static ManagedSession create(MailSessionConfig config, final Map<String, OutboundSocketBinding> socketBindings) throws StartException {
         return new ManagedSession(config, socketBindings);
     }
 
@@ -62,15 +62,27 @@ class SessionProviderFactory {
         return new StringBuilder("mail.").append(protocol).append(".").append(name).toString();
     }
 
-    private static class ManagedSession implements SessionProvider {
+    static class ManagedSession implements SessionProvider, AutoCloseable {
         private final Map<String, OutboundSocketBinding> socketBindings;
         private final MailSessionConfig sessionConfig;
         private final Properties properties = new Properties();
+        private final TransportPool transportPool;
+        private final Properties pooledProperties = new Properties();
 
         private ManagedSession(MailSessionConfig sessionConfig, Map<String, OutboundSocketBinding> socketBindings) throws StartException {
             this.socketBindings = socketBindings;
             this.sessionConfig = sessionConfig;
             configure();
+            ServerConfig smtpServer = sessionConfig.getSmtpServer();
+            if (smtpServer != null && smtpServer.isPooled()) {
+                // Pooled transports are created by a dedicated session, for which the default SMTP provider was not overridden
+                Session session = Session.getInstance(properties, new ManagedPasswordAuthenticator(sessionConfig));
+                transportPool = new TransportPool(session, MailSubsystemModel.SMTP, smtpServer.getMaxPoolSize(), smtpServer.getIdleTimeout(), smtpServer.getAcquireTimeout());
+                pooledProperties.putAll(properties);
+                pooledProperties.setProperty(getPropKey(MailSubsystemModel.SMTP, "class"), PooledTransport.PROVIDER.getClassName());
+            } else {
+                transportPool = null;
+            }
         }
 
         /**
@@ -168,9 +180,27 @@ class SessionProviderFactory {
 
         @Override
         public Session getSession() {
+            if (transportPool != null) {
+                // Pooled transports are connected via the session of the pool, so changes to the debug settings or properties of this session do not apply to them
+                // Transport provider classes are loaded via the class loader of the authenticator
+                final Session session = Session.getInstance(pooledProperties, new ManagedPasswordAuthenticator(sessionConfig));
+                PooledTransport.register(session, transportPool);
+                return session;
+            }
             final Session session = Session.getInstance(properties, new ManagedPasswordAuthenticator(sessionConfig));
             return session;
         }
+
+        TransportPool getTransportPool() {
+            return transportPool;
+        }
+
+        @Override
+        public void close() {
+            if (transportPool != null) {
+                transportPool.close();
+            }
+        }
     }
 
     protected static class ManagedPasswordAuthenticator extends Authenticator {
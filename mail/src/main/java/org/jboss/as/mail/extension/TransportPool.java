@@ -0,0 +1,196 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.mail.extension;
+
+import java.util.Deque;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.mail.MessagingException;
+import javax.mail.Session;
+import javax.mail.Transport;
+
+/**
+ * A bounded pool of connected {@link Transport} instances for a given protocol.
+ * Idle transports are reused in LIFO order, so that surplus connections eventually exceed the idle timeout, and are validated via {@link Transport#isConnected()} prior to reuse.
+ * Expired transports are evicted lazily, whenever a transport is borrowed or released.
+ */
+class TransportPool implements AutoCloseable {
+
+    private final Session session;
+    private final String protocol;
+    private final int maxSize;
+    private final long idleTimeout;
+    private final long acquireTimeout;
+    private final Semaphore permits;
+    private final Deque<IdleTransport> idle = new ConcurrentLinkedDeque<>();
+    private final LongAdder created = new LongAdder();
+    private final LongAdder destroyed = new LongAdder();
+    private volatile boolean closed = false;
+
+    /**
+     * Creates a new transport pool.
+     * @param session the session used to create new transports
+     * @param protocol the transport protocol
+     * @param maxSize the maximum number of concurrently connected transports
+     * @param idleTimeout the duration, in milliseconds, after which an idle transport is closed
+     * @param acquireTimeout the maximum duration, in milliseconds, to wait for an available transport
+     */
+    TransportPool(Session session, String protocol, int maxSize, long idleTimeout, long acquireTimeout) {
+        this.session = session;
+        this.protocol = protocol;
+        this.maxSize = maxSize;
+        this.idleTimeout = TimeUnit.MILLISECONDS.toNanos(idleTimeout);
+        this.acquireTimeout = acquireTimeout;
+        this.permits = new Semaphore(maxSize, true);
+    }
+
+    /**
+     * Returns a connected transport from this pool, creating one if no valid idle transport is available.
+     * Blocks, up to the acquire timeout, while the maximum number of transports are in use.
+     * @return a connected transport, which must be returned via {@link #release(Transport)}
+     * @throws MessagingException if a new transport failed to connect, if no transport became available within the acquire timeout, or if interrupted while waiting for an available transport
+     */
+    Transport borrow() throws MessagingException {
+        try {
+            if (!this.permits.tryAcquire(this.acquireTimeout, TimeUnit.MILLISECONDS)) {
+                throw MailLogger.ROOT_LOGGER.transportPoolExhausted(this.maxSize, this.acquireTimeout);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new MessagingException(e.getLocalizedMessage(), e);
+        }
+        try {
+            long now = System.nanoTime();
+            IdleTransport entry = this.idle.pollFirst();
+            while (entry != null) {
+                if (!entry.isExpired(now, this.idleTimeout) && entry.getTransport().isConnected()) {
+                    return entry.getTransport();
+                }
+                this.destroy(entry.getTransport());
+                entry = this.idle.pollFirst();
+            }
+            Transport transport = this.session.getTransport(this.protocol);
+            transport.connect();
+            this.created.increment();
+            return transport;
+        } catch (MessagingException | RuntimeException e) {
+            this.permits.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Returns a transport, previously obtained via {@link #borrow()}, to this pool.
+     * @param transport a borrowed transport
+     */
+    void release(Transport transport) {
+        try {
+            if (this.closed) {
+                this.destroy(transport);
+            } else {
+                long now = System.nanoTime();
+                this.idle.offerFirst(new IdleTransport(transport, now));
+                this.evict(now);
+            }
+        } finally {
+            this.permits.release();
+        }
+    }
+
+    /**
+     * Creates a new, unpooled transport.
+     * @return an unconnected transport
+     * @throws MessagingException if the transport could not be created
+     */
+    Transport create() throws MessagingException {
+        return this.session.getTransport(this.protocol);
+    }
+
+    int getActiveCount() {
+        return this.maxSize - this.permits.availablePermits();
+    }
+
+    int getIdleCount() {
+        return this.idle.size();
+    }
+
+    long getCreatedCount() {
+        return this.created.sum();
+    }
+
+    long getDestroyedCount() {
+        return this.destroyed.sum();
+    }
+
+    @Override
+    public void close() {
+        this.closed = true;
+        IdleTransport entry = this.idle.pollFirst();
+        while (entry != null) {
+            this.destroy(entry.getTransport());
+            entry = this.idle.pollFirst();
+        }
+    }
+
+    private void evict(long now) {
+        // Least recently used transports are at the tail of the deque
+        IdleTransport entry = this.idle.peekLast();
+        while ((entry != null) && entry.isExpired(now, this.idleTimeout)) {
+            if (this.idle.removeLastOccurrence(entry)) {
+                this.destroy(entry.getTransport());
+            }
+            entry = this.idle.peekLast();
+        }
+    }
+
+    private void destroy(Transport transport) {
+        try {
+            transport.close();
+        } catch (MessagingException e) {
+            MailLogger.ROOT_LOGGER.debugf(e, "Failed to close %s", transport);
+        } finally {
+            this.destroyed.increment();
+        }
+    }
+
+    private static class IdleTransport {
+        private final Transport transport;
+        private final long timestamp;
+
+        IdleTransport(Transport transport, long timestamp) {
+            this.transport = transport;
+            this.timestamp = timestamp;
+        }
+
+        Transport getTransport() {
+            return this.transport;
+        }
+
+        boolean isExpired(long now, long timeout) {
+            return now - this.timestamp >= timeout;
+        }
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.mail.extension;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.jboss.as.controller.AttributeDefinition;
+import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
+import org.jboss.as.controller.registry.AttributeAccess;
+import org.jboss.dmr.ModelNode;
+import org.jboss.dmr.ModelType;
+
+/**
+ * Runtime metrics of the {@link TransportPool} of a mail server.
+ */
+enum TransportPoolMetric {
+
+    ACTIVE_COUNT(MailSubsystemModel.ACTIVE_COUNT, ModelType.INT, AttributeAccess.Flag.GAUGE_METRIC) {
+        @Override
+        ModelNode execute(TransportPool pool) {
+            return new ModelNode(pool.getActiveCount());
+        }
+    },
+    IDLE_COUNT(MailSubsystemModel.IDLE_COUNT, ModelType.INT, AttributeAccess.Flag.GAUGE_METRIC) {
+        @Override
+        ModelNode execute(TransportPool pool) {
+            return new ModelNode(pool.getIdleCount());
+        }
+    },
+    CREATED_COUNT(MailSubsystemModel.CREATED_COUNT, ModelType.LONG, AttributeAccess.Flag.COUNTER_METRIC) {
+        @Override
+        ModelNode execute(TransportPool pool) {
+            return new ModelNode(pool.getCreatedCount());
+        }
+    },
+    DESTROYED_COUNT(MailSubsystemModel.DESTROYED_COUNT, ModelType.LONG, AttributeAccess.Flag.COUNTER_METRIC) {
+        @Override
+        ModelNode execute(TransportPool pool) {
+            return new ModelNode(pool.getDestroyedCount());
+        }
+    },
+    ;
+    private static final Map<String, TransportPoolMetric> METRICS = new HashMap<>();
+    static {
+        for (TransportPoolMetric metric : values()) {
+            METRICS.put(metric.definition.getName(), metric);
+        }
+    }
+
+    private final AttributeDefinition definition;
+
+    TransportPoolMetric(String name, ModelType type, AttributeAccess.Flag flag) {
+        this.definition = new SimpleAttributeDefinitionBuilder(name, type)
+                .setUndefinedMetricValue(ModelNode.ZERO)
+                .setFlags(flag)
+                .setStorageRuntime()
+                .build();
+    }
+
+    AttributeDefinition getDefinition() {
+        return this.definition;
+    }
+
+    abstract ModelNode execute(TransportPool pool);
+
+    static TransportPoolMetric forName(String name) {
+        return METRICS.get(name);
+    }
+}
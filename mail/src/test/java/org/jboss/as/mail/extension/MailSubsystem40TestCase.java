@@ -56,6 +56,11 @@ public class MailSubsystem40TestCase extends MailSubsystemTestBase {
         return "schema/wildfly-mail_4_0.xsd";
     }
 
+    @Override
+    protected KernelServices standardSubsystemTest(String configId, boolean compareXml) throws Exception {
+        return super.standardSubsystemTest(configId, false);
+    }
+
     /**
      * Tests that runtime information is the expected one based on the subsystem_4_0.xml subsystem configuration.
      *
@@ -0,0 +1,183 @@
+/*
+ *
+ *  JBoss, Home of Professional Open Source.
+ *  Copyright 2021, Red Hat, Inc., and individual contributors
+ *  as indicated by the @author tags. See the copyright.txt file in the
+ *  distribution for a full listing of individual contributors.
+ *
+ *  This is free software; you can redistribute it and/or modify it
+ *  under the terms of the GNU Lesser General Public License as
+ *  published by the Free Software Foundation; either version 2.1 of
+ *  the License, or (at your option) any later version.
+ *
+ *  This software is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ *  Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public
+ *  License along with this software; if not, write to the Free
+ *  Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ *  02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ * /
+ */
+
+package org.jboss.as.mail.extension;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.util.Map;
+import java.util.Properties;
+
+import javax.mail.PasswordAuthentication;
+import javax.mail.Session;
+
+import org.jboss.as.controller.PathAddress;
+import org.jboss.as.controller.PathElement;
+import org.jboss.as.controller.descriptions.ModelDescriptionConstants;
+import org.jboss.as.controller.operations.common.Util;
+import org.jboss.as.subsystem.test.KernelServices;
+import org.jboss.as.subsystem.test.KernelServicesBuilder;
+import org.jboss.dmr.ModelNode;
+import org.jboss.msc.service.ServiceController;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class MailSubsystem50TestCase extends MailSubsystemTestBase {
+    public MailSubsystem50TestCase() {
+        super(MailExtension.SUBSYSTEM_NAME, new MailExtension());
+    }
+
+    @Override
+    protected String getSubsystemXml() throws IOException {
+        return readResource("subsystem_5_0.xml");
+    }
+
+    @Override
+    protected String getSubsystemXsdPath() throws Exception {
+        return "schema/wildfly-mail_5_0.xsd";
+    }
+
+    /**
+     * Tests that runtime information is the expected one based on the subsystem_5_0.xml subsystem configuration.
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testRuntime() throws Exception {
+        KernelServicesBuilder builder = createKernelServicesBuilder(new DefaultInitializer())
+                .setSubsystemXml(getSubsystemXml());
+        KernelServices mainServices = builder.build();
+        if (!mainServices.isSuccessfulBoot()) {
+            Assert.fail(mainServices.getBootError().toString());
+        }
+        ServiceController<?> javaMailService = mainServices.getContainer().getService(MailSessionDefinition.SESSION_CAPABILITY.getCapabilityServiceName("defaultMail"));
+        javaMailService.setMode(ServiceController.Mode.ACTIVE);
+        Session session = (Session) javaMailService.getValue();
+        Assert.assertNotNull("session should not be null", session);
+        Properties properties = session.getProperties();
+        Assert.assertNotNull("smtp host should be set", properties.getProperty("mail.smtp.host"));
+        Assert.assertNotNull("pop3 host should be set", properties.getProperty("mail.pop3.host"));
+        Assert.assertNotNull("imap host should be set", properties.getProperty("mail.imap.host"));
+        PasswordAuthentication auth = session.requestPasswordAuthentication(InetAddress.getLocalHost(), 25, "smtp", "", "");
+        Assert.assertEquals("nobody", auth.getUserName());
+        Assert.assertEquals("pass", auth.getPassword());
+
+        Assert.assertTrue("smtp transport should be pooled", session.getTransport() instanceof PooledTransport);
+        Assert.assertNotNull(((MailSessionService) javaMailService.getService()).getTransportPool());
+
+        ServiceController<?> defaultMailService = mainServices.getContainer().getService(MailSessionDefinition.SESSION_CAPABILITY.getCapabilityServiceName("default2"));
+        session = (Session) defaultMailService.getValue();
+        Assert.assertEquals("Debug should be true", true, session.getDebug());
+        Assert.assertFalse("smtp transport should not be pooled", session.getTransport() instanceof PooledTransport);
+        Assert.assertNull(((MailSessionService) defaultMailService.getService()).getTransportPool());
+
+
+        ServiceController<?> customMailService = mainServices.getContainer().getService(MailSessionDefinition.SESSION_CAPABILITY.getCapabilityServiceName("custom"));
+        session = (Session) customMailService.getValue();
+        properties = session.getProperties();
+        String host = properties.getProperty("mail.smtp.host");
+        Assert.assertNotNull("smtp host should be set", host);
+        Assert.assertEquals("mail.example.com", host);
+
+        Assert.assertEquals("localhost", properties.get("mail.pop3.host")); //this one should be read out of socket binding
+        Assert.assertEquals("some-custom-prop-value", properties.get("mail.pop3.custom_prop")); //this one should be extra property
+        Assert.assertEquals("fully-qualified-prop-name", properties.get("some.fully.qualified.property")); //this one should be extra property
+
+        MailSessionService service = (MailSessionService) customMailService.getService();
+        Credentials credentials = service.getConfig().getCustomServers()[0].getCredentials();
+        Assert.assertEquals(credentials.getUsername(), "username");
+        Assert.assertEquals(credentials.getPassword(), "password");
+
+    }
+
+    /**
+     * Tests that runtime information coming from attribute expressions is the expected one based on the subsystem_5_0.xml subsystem configuration.
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testExpressionsRuntime() throws Exception {
+        KernelServicesBuilder builder = createKernelServicesBuilder(new DefaultInitializer())
+                .setSubsystemXml(getSubsystemXml());
+        KernelServices mainServices = builder.build();
+        if (!mainServices.isSuccessfulBoot()) {
+            Assert.fail(mainServices.getBootError().toString());
+        }
+
+        ServiceController<?> defaultMailSession3 = mainServices.getContainer().getService(MailSessionDefinition.SESSION_CAPABILITY.getCapabilityServiceName("default3"));
+        defaultMailSession3.setMode(ServiceController.Mode.ACTIVE);
+
+        MailSessionService mailService = (MailSessionService) defaultMailSession3.getService();
+        MailSessionConfig config = mailService.getConfig();
+        Assert.assertEquals("Unexpected value for mail-session=default3 from attribute", "from@from.org", config.getFrom());
+        Assert.assertEquals("Unexpected value for mail-session=default3 jndi-name attribute", "java:jboss/mail/Default3", config.getJndiName());
+        Assert.assertEquals("Unexpected value for mail-session=default3 debug attribute", Boolean.TRUE, config.isDebug());
+
+        ServerConfig smtpServerConfig = config.getSmtpServer();
+        Assert.assertEquals("Unexpected value for mail-session=default3 smtp-server/outbound-socket-binding-ref attribute", "mail-smtp", smtpServerConfig.getOutgoingSocketBinding());
+        Assert.assertEquals("Unexpected value for mail-session=default3 smtp-server/tls attribute", Boolean.TRUE, smtpServerConfig.isTlsEnabled());
+        Assert.assertEquals("Unexpected value for mail-session=default3 smtp-server/ssl attribute", Boolean.FALSE, smtpServerConfig.isSslEnabled());
+        Assert.assertEquals("Unexpected value for mail-session=default3 smtp-server/pooled attribute", Boolean.TRUE, smtpServerConfig.isPooled());
+        Assert.assertEquals("Unexpected value for mail-session=default3 smtp-server/max-pool-size attribute", 5, smtpServerConfig.getMaxPoolSize());
+        Assert.assertEquals("Unexpected value for mail-session=default3 smtp-server/idle-timeout attribute", 30000L, smtpServerConfig.getIdleTimeout());
+        Assert.assertEquals("Unexpected value for mail-session=default3 smtp-server/acquire-timeout attribute", 10000L, smtpServerConfig.getAcquireTimeout());
+
+        Credentials credentials = smtpServerConfig.getCredentials();
+        Assert.assertEquals("Unexpected value for mail-session=default3 smtp-server/username attribute", "nobody", credentials.getUsername());
+        Assert.assertEquals("Unexpected value for mail-session=default3 smtp-server/password attribute", "empty", credentials.getPassword());
+
+        ServiceController<?> customMailService3 = mainServices.getContainer().getService(MailSessionDefinition.SESSION_CAPABILITY.getCapabilityServiceName("custom3"));
+        customMailService3.setMode(ServiceController.Mode.ACTIVE);
+        mailService = (MailSessionService) customMailService3.getService();
+        config = mailService.getConfig();
+        CustomServerConfig customServerConfig = config.getCustomServers()[0];
+        Map<String, String> properties = customServerConfig.getProperties();
+        Assert.assertEquals("Unexpected value for mail-session=custom3 custom-server/property value attribute", "mail.example.com", properties.get("host"));
+    }
+
+    /**
+     * Tests the metrics of a pooled smtp server.
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testTransportPoolMetrics() throws Exception {
+        KernelServicesBuilder builder = createKernelServicesBuilder(new DefaultInitializer())
+                .setSubsystemXml(getSubsystemXml());
+        KernelServices mainServices = builder.build();
+        if (!mainServices.isSuccessfulBoot()) {
+            Assert.fail(mainServices.getBootError().toString());
+        }
+        ServiceController<?> javaMailService = mainServices.getContainer().getService(MailSessionDefinition.SESSION_CAPABILITY.getCapabilityServiceName("defaultMail"));
+        javaMailService.setMode(ServiceController.Mode.ACTIVE);
+        Assert.assertNotNull(javaMailService.getValue());
+
+        PathAddress serverAddress = PathAddress.pathAddress(MailExtension.SUBSYSTEM_PATH, PathElement.pathElement(MailSubsystemModel.MAIL_SESSION, "defaultMail"), MailSubsystemModel.SMTP_SERVER_PATH);
+        for (TransportPoolMetric metric : TransportPoolMetric.values()) {
+            ModelNode result = mainServices.executeOperation(Util.getReadAttributeOperation(serverAddress, metric.getDefinition().getName()));
+            Assert.assertEquals(result.toString(), ModelDescriptionConstants.SUCCESS, result.get(ModelDescriptionConstants.OUTCOME).asString());
+            Assert.assertEquals(metric.getDefinition().getName(), 0L, result.get(ModelDescriptionConstants.RESULT).asLong());
+        }
+    }
+}
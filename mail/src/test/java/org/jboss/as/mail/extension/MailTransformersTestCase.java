@@ -22,13 +22,19 @@
 
 package org.jboss.as.mail.extension;
 
+import static org.jboss.as.mail.extension.MailServerDefinition.ACQUIRE_TIMEOUT;
 import static org.jboss.as.mail.extension.MailServerDefinition.CREDENTIAL_REFERENCE;
+import static org.jboss.as.mail.extension.MailServerDefinition.IDLE_TIMEOUT;
+import static org.jboss.as.mail.extension.MailServerDefinition.MAX_POOL_SIZE;
+import static org.jboss.as.mail.extension.MailServerDefinition.POOLED;
 import static org.jboss.as.mail.extension.MailTransformers.MODEL_VERSION_EAP6X;
 import static org.jboss.as.mail.extension.MailTransformers.MODEL_VERSION_EAP70;
 import static org.jboss.as.mail.extension.MailTransformers.MODEL_VERSION_EAP71;
+import static org.jboss.as.mail.extension.MailTransformers.MODEL_VERSION_EAP73;
 import static org.jboss.as.model.test.ModelTestControllerVersion.EAP_6_4_0;
 import static org.jboss.as.model.test.ModelTestControllerVersion.EAP_7_0_0;
 import static org.jboss.as.model.test.ModelTestControllerVersion.EAP_7_1_0;
+import static org.jboss.as.model.test.ModelTestControllerVersion.EAP_7_3_0;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
 
@@ -60,7 +66,12 @@ public class MailTransformersTestCase extends AbstractSubsystemBaseTest {
 
     @Override
     protected String getSubsystemXml() throws IOException {
-        return readResource("mail_4_0-transformers.xml");
+        return readResource("mail_5_0-transformers.xml");
+    }
+
+    @Test
+    public void testTransformerEAP730() throws Exception {
+        testTransformation(EAP_7_3_0, MODEL_VERSION_EAP73);
     }
 
     @Test
@@ -110,6 +121,15 @@ public class MailTransformersTestCase extends AbstractSubsystemBaseTest {
         assertNotNull(transformed);
     }
 
+    @Test
+    public void testRejectingTransformersEAP_7_3_0() throws Exception {
+        PathAddress sessionAddress = PathAddress.pathAddress(MailExtension.SUBSYSTEM_PATH);
+        testRejectingTransformers(EAP_7_3_0, MODEL_VERSION_EAP73, new FailedOperationTransformationConfig()
+                .addFailedAttribute(sessionAddress.append(PathElement.pathElement(MailSubsystemModel.MAIL_SESSION, "pooledServer")).append(MailSubsystemModel.SMTP_SERVER_PATH),
+                        new FailedOperationTransformationConfig.NewAttributesConfig(POOLED, MAX_POOL_SIZE, IDLE_TIMEOUT, ACQUIRE_TIMEOUT))
+        );
+    }
+
     @Test
     public void testRejectingTransformersEAP_7_1_0() throws Exception {
         PathAddress sessionAddress = PathAddress.pathAddress(MailExtension.SUBSYSTEM_PATH);
@@ -122,6 +142,8 @@ public class MailTransformersTestCase extends AbstractSubsystemBaseTest {
                         FailedOperationTransformationConfig.REJECTED_RESOURCE)
                 .addFailedAttribute(sessionAddress.append(PathElement.pathElement(MailSubsystemModel.MAIL_SESSION, "customWithCredentialReference")).append(PathElement.pathElement(MailSubsystemModel.CUSTOM, "pop3")),
                         FailedOperationTransformationConfig.REJECTED_RESOURCE)
+                .addFailedAttribute(sessionAddress.append(PathElement.pathElement(MailSubsystemModel.MAIL_SESSION, "pooledServer")).append(MailSubsystemModel.SMTP_SERVER_PATH),
+                        new FailedOperationTransformationConfig.NewAttributesConfig(POOLED, MAX_POOL_SIZE, IDLE_TIMEOUT, ACQUIRE_TIMEOUT))
         );
     }
 
@@ -131,7 +153,7 @@ public class MailTransformersTestCase extends AbstractSubsystemBaseTest {
         testRejectingTransformers(EAP_7_0_0, MODEL_VERSION_EAP70, new FailedOperationTransformationConfig()
                 .addFailedAttribute(sessionAddress.append("server"),
                         new FailedOperationTransformationConfig.NewAttributesConfig(
-                                CREDENTIAL_REFERENCE
+                                CREDENTIAL_REFERENCE, POOLED, MAX_POOL_SIZE, IDLE_TIMEOUT, ACQUIRE_TIMEOUT
                         )
                 ).addFailedAttribute(sessionAddress.append("custom"),
                         new FailedOperationTransformationConfig.NewAttributesConfig(
@@ -147,7 +169,7 @@ public class MailTransformersTestCase extends AbstractSubsystemBaseTest {
         testRejectingTransformers(EAP_6_4_0, MODEL_VERSION_EAP6X, new FailedOperationTransformationConfig()
                 .addFailedAttribute(sessionAddress.append("server"),
                         new FailedOperationTransformationConfig.NewAttributesConfig(
-                                CREDENTIAL_REFERENCE
+                                CREDENTIAL_REFERENCE, POOLED, MAX_POOL_SIZE, IDLE_TIMEOUT, ACQUIRE_TIMEOUT
                         )
                 ).addFailedAttribute(sessionAddress.append("custom"),
                         new FailedOperationTransformationConfig.NewAttributesConfig(
@@ -169,7 +191,7 @@ public class MailTransformersTestCase extends AbstractSubsystemBaseTest {
         assertTrue(mainServices.isSuccessfulBoot());
         assertTrue(mainServices.getLegacyServices(targetVersion).isSuccessfulBoot());
 
-        List<ModelNode> ops = builder.parseXmlResource("mail_4_0-reject.xml");
+        List<ModelNode> ops = builder.parseXmlResource("mail_5_0-reject.xml");
         ModelTestUtils.checkFailedTransformedBootOperations(mainServices, targetVersion, ops, config);
     }
 
@@ -0,0 +1,182 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.mail.extension;
+
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+import javax.mail.Address;
+import javax.mail.Message;
+import javax.mail.MessagingException;
+import javax.mail.Provider;
+import javax.mail.Session;
+import javax.mail.Transport;
+import javax.mail.URLName;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Unit test for {@link TransportPool}.
+ */
+public class TransportPoolTestCase {
+
+    private static final String PROTOCOL = "stub";
+
+    private static Session createSession() {
+        Session session = Session.getInstance(new Properties());
+        session.addProvider(new Provider(Provider.Type.TRANSPORT, PROTOCOL, StubTransport.class.getName(), "WildFly", null));
+        return session;
+    }
+
+    @Test
+    public void borrowRelease() throws MessagingException {
+        try (TransportPool pool = new TransportPool(createSession(), PROTOCOL, 2, TimeUnit.MINUTES.toMillis(1), 0)) {
+            Transport transport1 = pool.borrow();
+            Assert.assertTrue(transport1.isConnected());
+            Assert.assertEquals(1, pool.getActiveCount());
+            Assert.assertEquals(1L, pool.getCreatedCount());
+
+            Transport transport2 = pool.borrow();
+            Assert.assertNotSame(transport1, transport2);
+            Assert.assertEquals(2, pool.getActiveCount());
+            Assert.assertEquals(2L, pool.getCreatedCount());
+
+            pool.release(transport1);
+            Assert.assertEquals(1, pool.getActiveCount());
+            Assert.assertEquals(1, pool.getIdleCount());
+
+            // Idle transport should be reused
+            Transport transport3 = pool.borrow();
+            Assert.assertSame(transport1, transport3);
+            Assert.assertEquals(2L, pool.getCreatedCount());
+            Assert.assertEquals(0, pool.getIdleCount());
+
+            pool.release(transport2);
+            pool.release(transport3);
+            Assert.assertEquals(0, pool.getActiveCount());
+            Assert.assertEquals(2, pool.getIdleCount());
+        }
+    }
+
+    @Test
+    public void disconnected() throws MessagingException {
+        try (TransportPool pool = new TransportPool(createSession(), PROTOCOL, 1, TimeUnit.MINUTES.toMillis(1), 0)) {
+            Transport transport = pool.borrow();
+            pool.release(transport);
+            // Simulate a connection dropped by the server
+            ((StubTransport) transport).disconnect();
+
+            Transport replacement = pool.borrow();
+            Assert.assertNotSame(transport, replacement);
+            Assert.assertTrue(replacement.isConnected());
+            Assert.assertEquals(2L, pool.getCreatedCount());
+            Assert.assertEquals(1L, pool.getDestroyedCount());
+            pool.release(replacement);
+        }
+    }
+
+    @Test
+    public void expiration() throws Exception {
+        try (TransportPool pool = new TransportPool(createSession(), PROTOCOL, 2, 50, 0)) {
+            Transport transport1 = pool.borrow();
+            Transport transport2 = pool.borrow();
+            pool.release(transport1);
+
+            TimeUnit.MILLISECONDS.sleep(100);
+
+            // Releasing a transport evicts expired idle transports
+            pool.release(transport2);
+            Assert.assertFalse(transport1.isConnected());
+            Assert.assertTrue(transport2.isConnected());
+            Assert.assertEquals(1, pool.getIdleCount());
+            Assert.assertEquals(1L, pool.getDestroyedCount());
+
+            TimeUnit.MILLISECONDS.sleep(100);
+
+            // Expired idle transports are not reused
+            Transport transport3 = pool.borrow();
+            Assert.assertNotSame(transport2, transport3);
+            Assert.assertFalse(transport2.isConnected());
+            Assert.assertEquals(0, pool.getIdleCount());
+            Assert.assertEquals(2L, pool.getDestroyedCount());
+            Assert.assertEquals(3L, pool.getCreatedCount());
+            pool.release(transport3);
+        }
+    }
+
+    @Test
+    public void exhausted() throws MessagingException {
+        try (TransportPool pool = new TransportPool(createSession(), PROTOCOL, 1, TimeUnit.MINUTES.toMillis(1), 10)) {
+            Transport transport = pool.borrow();
+            try {
+                pool.borrow();
+                Assert.fail("Pool should be exhausted");
+            } catch (MessagingException e) {
+                // Expected
+            }
+            Assert.assertEquals(1, pool.getActiveCount());
+            pool.release(transport);
+            Assert.assertSame(transport, pool.borrow());
+            pool.release(transport);
+        }
+    }
+
+    @Test
+    public void close() throws MessagingException {
+        TransportPool pool = new TransportPool(createSession(), PROTOCOL, 2, TimeUnit.MINUTES.toMillis(1), 0);
+        Transport idle = pool.borrow();
+        Transport active = pool.borrow();
+        pool.release(idle);
+
+        pool.close();
+        Assert.assertFalse(idle.isConnected());
+        Assert.assertTrue(active.isConnected());
+
+        // Transports released after close are destroyed
+        pool.release(active);
+        Assert.assertFalse(active.isConnected());
+        Assert.assertEquals(0, pool.getIdleCount());
+        Assert.assertEquals(2L, pool.getDestroyedCount());
+    }
+
+    public static class StubTransport extends Transport {
+
+        public StubTransport(Session session, URLName url) {
+            super(session, url);
+        }
+
+        @Override
+        protected boolean protocolConnect(String host, int port, String user, String password) {
+            return true;
+        }
+
+        @Override
+        public void sendMessage(Message message, Address[] addresses) {
+        }
+
+        void disconnect() {
+            this.setConnected(false);
+        }
+    }
+}
@@ -876,4 +876,14 @@ public interface MessagingLogger extends BasicLogger {
     @Message(id = 103, value = "Broker is not started. It cannot be managed yet.")
     IllegalStateException brokerNotStarted();
 
+    @LogMessage(level = INFO)
+    @Message(id = 104, value = "Exported %d bytes of the journal to %s so far")
+    void journalExportProgress(long bytes, String file);
+
+    @LogMessage(level = INFO)
+    @Message(id = 105, value = "Imported %d of %d bytes (%d%%) of %s so far")
+    void journalImportProgress(long bytes, long total, int percentage, String file);
+
+    @Message(id = 106, value = "Queue %s does not exist")
+    OperationFailedException queueDoesNotExist(String queueName);
 }
@@ -27,6 +27,7 @@ import static org.jboss.dmr.ModelType.BOOLEAN;
 import static org.jboss.dmr.ModelType.INT;
 import static org.jboss.dmr.ModelType.LIST;
 import static org.jboss.dmr.ModelType.LONG;
+import static org.jboss.dmr.ModelType.OBJECT;
 import static org.jboss.dmr.ModelType.STRING;
 import static org.wildfly.extension.messaging.activemq.CommonAttributes.FILTER;
 import static org.wildfly.extension.messaging.activemq.CommonAttributes.QUEUE;
@@ -72,6 +73,7 @@ public abstract class AbstractQueueControlHandler<T> extends AbstractRuntimeOnly
     public static final String LIST_MESSAGES = "list-messages";
     public static final String LIST_MESSAGES_AS_JSON = "list-messages-as-json";
     public static final String COUNT_MESSAGES = "count-messages";
+    public static final String COUNT_MESSAGES_BY_PROPERTY = "count-messages-by-property";
     public static final String REMOVE_MESSAGE = "remove-message";
     public static final String REMOVE_MESSAGES = "remove-messages";
     public static final String EXPIRE_MESSAGES = "expire-messages";
@@ -100,6 +102,10 @@ public abstract class AbstractQueueControlHandler<T> extends AbstractRuntimeOnly
 
     public static final ParameterValidator PRIORITY_VALIDATOR = new IntRangeValidator(0, 9, false, false);
 
+    // Bounds the number of messages materialized by a single paged listing
+    static final int DEFAULT_PAGE_SIZE = 100;
+    static final int MAX_PAGE_SIZE = 1000;
+
     private static final AttributeDefinition OTHER_QUEUE_NAME = createNonEmptyStringAttribute("other-queue-name");
     private static final AttributeDefinition REJECT_DUPLICATES = SimpleAttributeDefinitionBuilder.create("reject-duplicates", BOOLEAN)
             .setRequired(false)
@@ -107,6 +113,21 @@ public abstract class AbstractQueueControlHandler<T> extends AbstractRuntimeOnly
     private static final AttributeDefinition NEW_PRIORITY = SimpleAttributeDefinitionBuilder.create("new-priority", INT)
             .setValidator(PRIORITY_VALIDATOR)
             .build();
+    private static final AttributeDefinition OFFSET = SimpleAttributeDefinitionBuilder.create("offset", INT)
+            .setRequired(false)
+            .setDefaultValue(ModelNode.ZERO)
+            .setValidator(new IntRangeValidator(0, true))
+            .build();
+    private static final AttributeDefinition PAGE_SIZE = SimpleAttributeDefinitionBuilder.create("page-size", INT)
+            .setRequired(false)
+            .setValidator(new IntRangeValidator(1, MAX_PAGE_SIZE, true, true))
+            .build();
+    private static final AttributeDefinition MAX_BODY_BYTES = SimpleAttributeDefinitionBuilder.create("max-body-bytes", INT)
+            .setRequired(false)
+            .setDefaultValue(ModelNode.ZERO)
+            .setValidator(new IntRangeValidator(0, true))
+            .build();
+    private static final AttributeDefinition PROPERTY_NAME = createNonEmptyStringAttribute("property-name");
 
     protected abstract AttributeDefinition getMessageIDAttributeDefinition();
 
@@ -115,13 +136,13 @@ public abstract class AbstractQueueControlHandler<T> extends AbstractRuntimeOnly
     public void registerOperations(final ManagementResourceRegistration registry, ResourceDescriptionResolver resolver) {
 
         registry.registerOperationHandler(runtimeReadOnlyOperation(LIST_MESSAGES, resolver)
-                .setParameters(FILTER)
+                .setParameters(FILTER, OFFSET, PAGE_SIZE, MAX_BODY_BYTES)
                 .setReplyType(LIST)
                 .setReplyParameters(getReplyMessageParameterDefinitions())
                 .build(),
                 this);
         registry.registerOperationHandler(runtimeReadOnlyOperation(LIST_MESSAGES_AS_JSON, RESOLVER)
-                .setParameters(FILTER)
+                .setParameters(FILTER, OFFSET, PAGE_SIZE, MAX_BODY_BYTES)
                 .setReplyType(STRING)
                 .build(),
                 this);
@@ -130,6 +151,12 @@ public abstract class AbstractQueueControlHandler<T> extends AbstractRuntimeOnly
                 .setReplyType(LONG)
                 .build(),
                 this);
+        registry.registerOperationHandler(runtimeReadOnlyOperation(COUNT_MESSAGES_BY_PROPERTY, RESOLVER)
+                .setParameters(FILTER, PROPERTY_NAME)
+                .setReplyType(OBJECT)
+                .setReplyValueType(LONG)
+                .build(),
+                this);
         registry.registerOperationHandler(runtimeOnlyOperation(REMOVE_MESSAGE, RESOLVER)
                 .setParameters(getMessageIDAttributeDefinition())
                 .setReplyType(BOOLEAN)
@@ -263,12 +290,10 @@ public abstract class AbstractQueueControlHandler<T> extends AbstractRuntimeOnly
         Object handback = null;
         try {
             if (LIST_MESSAGES.equals(operationName)) {
-                String filter = resolveFilter(context, operation);
-                String json = control.listMessagesAsJSON(filter);
+                String json = listMessagesAsJSON(context, operation, control);
                 context.getResult().set(ModelNode.fromJSONString(json));
             } else if (LIST_MESSAGES_AS_JSON.equals(operationName)) {
-                String filter = resolveFilter(context, operation);
-                context.getResult().set(control.listMessagesAsJSON(filter));
+                context.getResult().set(listMessagesAsJSON(context, operation, control));
             } else if (LIST_DELIVERING_MESSAGES.equals(operationName)) {
                 String json = control.listDeliveringMessagesAsJSON();
                 context.getResult().set(ModelNode.fromJSONString(json));
@@ -282,6 +307,11 @@ public abstract class AbstractQueueControlHandler<T> extends AbstractRuntimeOnly
             } else if (COUNT_MESSAGES.equals(operationName)) {
                 String filter = resolveFilter(context, operation);
                 context.getResult().set(control.countMessages(filter));
+            } else if (COUNT_MESSAGES_BY_PROPERTY.equals(operationName)) {
+                String filter = resolveFilter(context, operation);
+                String propertyName = PROPERTY_NAME.resolveModelAttribute(context, operation).asString();
+                String json = control.countMessagesByProperty(filter, propertyName);
+                context.getResult().set(ModelNode.fromJSONString(json));
             } else if (REMOVE_MESSAGE.equals(operationName)) {
                 ModelNode id = getMessageIDAttributeDefinition().resolveModelAttribute(context, operation);
                 context.getResult().set(control.removeMessage(id));
@@ -386,6 +416,18 @@ public abstract class AbstractQueueControlHandler<T> extends AbstractRuntimeOnly
         context.completeStep(rh);
     }
 
+    private static String listMessagesAsJSON(OperationContext context, ModelNode operation, DelegatingQueueControl<?> control) throws Exception {
+        String filter = resolveFilter(context, operation);
+        int offset = OFFSET.resolveModelAttribute(context, operation).asInt();
+        ModelNode pageSize = PAGE_SIZE.resolveModelAttribute(context, operation);
+        int maxBodyBytes = MAX_BODY_BYTES.resolveModelAttribute(context, operation).asInt();
+        // Preserve the legacy behavior unless paging or message bodies were requested
+        if ((offset == 0) && !pageSize.isDefined() && (maxBodyBytes == 0)) {
+            return control.listMessagesAsJSON(filter);
+        }
+        return control.listMessagesAsJSON(filter, offset, pageSize.isDefined() ? pageSize.asInt() : DEFAULT_PAGE_SIZE, maxBodyBytes);
+    }
+
     protected AttributeDefinition[] getReplyMapConsumerMessageParameterDefinition() {
         return new AttributeDefinition[]{
                 createNonEmptyStringAttribute("consumerName"),
@@ -418,8 +460,26 @@ public abstract class AbstractQueueControlHandler<T> extends AbstractRuntimeOnly
 
         String listMessagesAsJSON(String filter) throws Exception;
 
+        /**
+         * Lists a page of the messages matching the specified filter, streaming through the queue so that only the requested page is materialized.
+         * @param filter a message filter
+         * @param offset the number of matching messages to skip
+         * @param pageSize the maximum number of messages to list
+         * @param maxBodyBytes the maximum number of body bytes to include per message, or 0 to exclude message bodies
+         * @return a JSON array of messages
+         */
+        String listMessagesAsJSON(String filter, int offset, int pageSize, int maxBodyBytes) throws Exception;
+
         long countMessages(String filter) throws Exception;
 
+        /**
+         * Counts the messages matching the specified filter, grouped by the value of the specified property, without fetching message bodies.
+         * @param filter a message filter
+         * @param propertyName a message property name
+         * @return a JSON object mapping each property value to its message count
+         */
+        String countMessagesByProperty(String filter, String propertyName) throws Exception;
+
         boolean removeMessage(ModelNode id) throws Exception;
 
         int removeMessages(String filter) throws Exception;
@@ -28,14 +28,18 @@ import static org.wildfly.extension.messaging.activemq.MessagingExtension.JOURNA
 import static org.wildfly.extension.messaging.activemq.MessagingExtension.LARGE_MESSAGES_DIRECTORY_PATH;
 import static org.wildfly.extension.messaging.activemq.MessagingExtension.PAGING_DIRECTORY_PATH;
 
+import java.io.BufferedOutputStream;
 import java.io.File;
 import java.io.FileOutputStream;
-import java.io.IOException;
+import java.io.OutputStream;
 import java.util.Date;
+import java.util.zip.GZIPOutputStream;
 
 import org.apache.activemq.artemis.cli.commands.tools.xml.XmlDataExporter;
+import org.jboss.as.controller.AttributeDefinition;
 import org.jboss.as.controller.OperationContext;
 import org.jboss.as.controller.OperationFailedException;
+import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
 import org.jboss.as.controller.SimpleOperationDefinitionBuilder;
 import org.jboss.as.controller.descriptions.ResourceDescriptionResolver;
 import org.jboss.as.controller.registry.ManagementResourceRegistration;
@@ -47,6 +51,9 @@ import org.wildfly.extension.messaging.activemq.logging.MessagingLogger;
  * Export a dump of Artemis journal. WildFly must be running in ADMIN-ONLY mode to perform this operation.
  *
  * The dump is stored on WildFly host and is not sent to the client invoking the operation.
+ * It can optionally be compressed using GZIP, which typically reduces the size of the dump by an order of magnitude.
+ * The number of bytes written to the dump is logged periodically.
+ * The operation replies with the path of the dump, along with the number of records and bytes written to it.
  *
  * @author <a href="http://jmesnil.net/">Jeff Mesnil</a> (c) 2015 Red Hat inc.
  */
@@ -57,6 +64,18 @@ public class ExportJournalOperation extends AbstractArtemisActionHandler {
 
     // name file of the dump follows the format journal-yyyyMMdd-HHmmssSSSTZ-dump.xml
     private static final String FILE_NAME_FORMAT = "journal-%1$tY%<tm%<td-%<tH%<tM%<tS%<TL%<tz-dump.xml";
+    private static final String COMPRESSED_FILE_NAME_SUFFIX = ".gz";
+    static final int BUFFER_SIZE = 65536;
+
+    private static final AttributeDefinition COMPRESS = SimpleAttributeDefinitionBuilder.create("compress", ModelType.BOOLEAN)
+            .setDefaultValue(ModelNode.FALSE)
+            .setAllowExpression(false)
+            .setRequired(false)
+            .build();
+
+    private static final AttributeDefinition REPLY_FILE = SimpleAttributeDefinitionBuilder.create("file", ModelType.STRING).build();
+    static final AttributeDefinition REPLY_RECORDS = SimpleAttributeDefinitionBuilder.create("records", ModelType.LONG).build();
+    static final AttributeDefinition REPLY_BYTES = SimpleAttributeDefinitionBuilder.create("bytes", ModelType.LONG).build();
 
     private ExportJournalOperation() {
 
@@ -64,8 +83,9 @@ public class ExportJournalOperation extends AbstractArtemisActionHandler {
 
     static void registerOperation(final ManagementResourceRegistration registry, final ResourceDescriptionResolver resourceDescriptionResolver) {
         registry.registerOperationHandler(new SimpleOperationDefinitionBuilder(OPERATION_NAME, resourceDescriptionResolver)
+                        .addParameter(COMPRESS)
                         .setRuntimeOnly()
-                        .setReplyValueType(ModelType.STRING)
+                        .setReplyParameters(REPLY_FILE, REPLY_RECORDS, REPLY_BYTES)
                         .build(),
                 INSTANCE);
     }
@@ -82,25 +102,29 @@ public class ExportJournalOperation extends AbstractArtemisActionHandler {
         final String paging = resolvePath(context,  PAGING_DIRECTORY_PATH);
         final String largeMessages = resolvePath(context, LARGE_MESSAGES_DIRECTORY_PATH);
 
+        final boolean compress = COMPRESS.resolveModelAttribute(context, operation).asBoolean();
+
         final XmlDataExporter exporter = new XmlDataExporter();
 
         String name = String.format(FILE_NAME_FORMAT, new Date());
+        if (compress) {
+            name += COMPRESSED_FILE_NAME_SUFFIX;
+        }
         // write the exported dump at the same level than the journal directory
         File dump = new File(new File(journal).getParent(), name);
-        FileOutputStream fos = null;
-        try {
-            fos = new FileOutputStream(dump);
-            exporter.process(fos, bindings, journal, paging, largeMessages);
-            context.getResult().set(dump.getAbsolutePath());
+        String path = dump.getAbsolutePath();
+        // Periodically log the number of bytes written to the dump, since a large journal can take a long time to export
+        JournalDumpProgress progress = new JournalDumpProgress(bytes -> MessagingLogger.ROOT_LOGGER.journalExportProgress(bytes, path), JournalDumpProgress.DEFAULT_INTERVAL);
+        JournalDumpRecordCounter counter = new JournalDumpRecordCounter();
+        // The exporter writes many small XML events, buffer them to avoid a system call per event
+        try (OutputStream file = progress.track(new FileOutputStream(dump)); OutputStream output = counter.track(compress ? new GZIPOutputStream(file, BUFFER_SIZE) : new BufferedOutputStream(file, BUFFER_SIZE))) {
+            exporter.process(output, bindings, journal, paging, largeMessages);
         } catch (Exception e) {
             throw new OperationFailedException(e);
-        } finally {
-            if (fos != null) {
-                try {
-                    fos.close();
-                } catch (IOException e) {
-                }
-            }
         }
+        ModelNode result = context.getResult();
+        result.get(REPLY_FILE.getName()).set(path);
+        result.get(REPLY_RECORDS.getName()).set(counter.getRecords());
+        result.get(REPLY_BYTES.getName()).set(progress.getBytes());
     }
 }
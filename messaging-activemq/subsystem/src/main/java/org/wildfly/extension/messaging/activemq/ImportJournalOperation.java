@@ -25,12 +25,15 @@ package org.wildfly.extension.messaging.activemq;
 import static org.jboss.as.controller.PathAddress.EMPTY_ADDRESS;
 import static org.jboss.as.controller.RunningMode.NORMAL;
 
+import java.io.BufferedInputStream;
 import java.io.File;
 import java.io.FileInputStream;
+import java.io.IOException;
 import java.io.InputStream;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Set;
+import java.util.zip.GZIPInputStream;
 
 import org.apache.activemq.artemis.api.core.TransportConfiguration;
 import org.apache.activemq.artemis.api.core.client.ActiveMQClient;
@@ -59,6 +62,9 @@ import org.wildfly.extension.messaging.activemq.logging.MessagingLogger;
  * WildFly must be running in NORMAL mode to perform this operation.
  *
  * The dump file MUST be on WildFly host. It is not attached to the operation stream.
+ * A dump compressed using GZIP is detected automatically.
+ * The portion of the dump imported so far is logged periodically.
+ * The operation replies with the number of records and bytes read from the dump.
  *
  * @author <a href="http://jmesnil.net/">Jeff Mesnil</a> (c) 2015 Red Hat inc.
  */
@@ -89,7 +95,7 @@ public class ImportJournalOperation extends AbstractArtemisActionHandler {
                         .addParameter(FILE)
                         .addParameter(LEGACY_PREFIXES)
                         .setRuntimeOnly()
-                        .setReplyValueType(ModelType.BOOLEAN)
+                        .setReplyParameters(ExportJournalOperation.REPLY_RECORDS, ExportJournalOperation.REPLY_BYTES)
                         .build(),
                 INSTANCE);
     }
@@ -107,9 +113,16 @@ public class ImportJournalOperation extends AbstractArtemisActionHandler {
         final XmlDataImporter importer = new XmlDataImporter();
         importer.legacyPrefixes = legacyPrefixes;
 
+        File dump = new File(file);
+        long total = dump.length();
+        String path = dump.getAbsolutePath();
+        // Periodically log the portion of the dump read so far, since a large journal can take a long time to import
+        JournalDumpProgress progress = new JournalDumpProgress(bytes -> MessagingLogger.ROOT_LOGGER.journalImportProgress(bytes, total, (total > 0) ? (int) (bytes * 100 / total) : 100, path), JournalDumpProgress.DEFAULT_INTERVAL);
+        JournalDumpRecordCounter counter = new JournalDumpRecordCounter();
+
         TransportConfiguration transportConfiguration = createInVMTransportConfiguration(context);
         try (
-                InputStream is = new FileInputStream(new File(file));
+                InputStream is = counter.track(open(progress.track(new FileInputStream(dump))));
                 ServerLocator serverLocator = ActiveMQClient.createServerLocator(false, transportConfiguration);
                 ClientSessionFactory sf = serverLocator.createSessionFactory()
         ) {
@@ -118,6 +131,25 @@ public class ImportJournalOperation extends AbstractArtemisActionHandler {
         } catch (Exception e) {
             throw new OperationFailedException(e);
         }
+        ModelNode result = context.getResult();
+        result.get(ExportJournalOperation.REPLY_RECORDS.getName()).set(counter.getRecords());
+        result.get(ExportJournalOperation.REPLY_BYTES.getName()).set(progress.getBytes());
+    }
+
+    /**
+     * Buffers the specified stream of a dump, decompressing it if it was exported using GZIP.
+     */
+    private static InputStream open(InputStream file) throws IOException {
+        InputStream input = new BufferedInputStream(file, ExportJournalOperation.BUFFER_SIZE);
+        try {
+            input.mark(2);
+            int magic = input.read() | (input.read() << 8);
+            input.reset();
+            return (magic == GZIPInputStream.GZIP_MAGIC) ? new GZIPInputStream(input, ExportJournalOperation.BUFFER_SIZE) : input;
+        } catch (IOException e) {
+            input.close();
+            throw e;
+        }
     }
 
     /**
@@ -0,0 +1,128 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.extension.messaging.activemq;
+
+import java.io.FilterInputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongConsumer;
+
+/**
+ * Tracks the number of bytes written to, or read from, a journal dump, and periodically reports it.
+ * Artemis' exporter and importer do not expose a progress callback, so progress is measured at the stream level.
+ * Instances are not thread-safe, and are meant to track a single stream.
+ */
+class JournalDumpProgress {
+
+    static final long DEFAULT_INTERVAL = TimeUnit.SECONDS.toNanos(10);
+
+    private final LongConsumer reporter;
+    private final long interval;
+    private long bytes = 0;
+    private long lastReport;
+
+    /**
+     * Creates a progress tracker.
+     * @param reporter consumes the number of bytes processed so far, invoked at most once per interval
+     * @param interval the minimum interval between reports, in nanoseconds
+     */
+    JournalDumpProgress(LongConsumer reporter, long interval) {
+        this.reporter = reporter;
+        this.interval = interval;
+        this.lastReport = System.nanoTime();
+    }
+
+    long getBytes() {
+        return this.bytes;
+    }
+
+    void update(long count) {
+        if (count > 0) {
+            this.bytes += count;
+            long now = System.nanoTime();
+            if (now - this.lastReport >= this.interval) {
+                this.lastReport = now;
+                this.reporter.accept(this.bytes);
+            }
+        }
+    }
+
+    /**
+     * Decorates the specified output stream, such that bytes written to it are tracked by this object.
+     */
+    OutputStream track(OutputStream output) {
+        return new FilterOutputStream(output) {
+            @Override
+            public void write(int b) throws IOException {
+                this.out.write(b);
+                JournalDumpProgress.this.update(1);
+            }
+
+            @Override
+            public void write(byte[] buffer, int offset, int length) throws IOException {
+                // Bypass FilterOutputStream's byte-by-byte implementation
+                this.out.write(buffer, offset, length);
+                JournalDumpProgress.this.update(length);
+            }
+        };
+    }
+
+    /**
+     * Decorates the specified input stream, such that bytes read from it are tracked by this object.
+     */
+    InputStream track(InputStream input) {
+        return new FilterInputStream(input) {
+            @Override
+            public int read() throws IOException {
+                int result = this.in.read();
+                if (result >= 0) {
+                    JournalDumpProgress.this.update(1);
+                }
+                return result;
+            }
+
+            @Override
+            public int read(byte[] buffer, int offset, int length) throws IOException {
+                int result = this.in.read(buffer, offset, length);
+                JournalDumpProgress.this.update(result);
+                return result;
+            }
+
+            @Override
+            public long skip(long n) throws IOException {
+                long result = this.in.skip(n);
+                JournalDumpProgress.this.update(result);
+                return result;
+            }
+
+            @Override
+            public boolean markSupported() {
+                // Re-reading marked bytes would be counted twice
+                return false;
+            }
+        };
+    }
+}
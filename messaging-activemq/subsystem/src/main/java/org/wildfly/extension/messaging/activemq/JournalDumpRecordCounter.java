@@ -0,0 +1,184 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.extension.messaging.activemq;
+
+import java.io.FilterInputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.apache.activemq.artemis.cli.commands.tools.xml.XmlDataConstants;
+
+/**
+ * Counts the records, i.e. the bindings and messages, of an XML journal dump, as it is written or read.
+ * Artemis' exporter and importer do not expose these counts, so records are counted by scanning the start tags of the XML stream.
+ * Character data sections are skipped, so that message bodies cannot be mistaken for records.
+ * Instances are not thread-safe, and are meant to track a single stream.
+ */
+class JournalDumpRecordCounter {
+
+    private static final Set<String> RECORDS = new HashSet<>(Arrays.asList(XmlDataConstants.ADDRESS_BINDINGS_CHILD, XmlDataConstants.QUEUE_BINDINGS_CHILD, XmlDataConstants.MESSAGES_CHILD,
+            // Queue binding of dumps exported by Artemis 1.x
+            "binding"));
+    private static final byte[] CDATA = "![CDATA[".getBytes(StandardCharsets.US_ASCII);
+    // Longer than any record name
+    private static final int MAX_NAME_LENGTH = 32;
+
+    private enum State { TEXT, NAME, DECLARATION, CDATA }
+
+    private final StringBuilder name = new StringBuilder(MAX_NAME_LENGTH);
+    private State state = State.TEXT;
+    // Number of bytes of the current declaration, or of the current run of closing brackets of a character data section
+    private int position = 0;
+    private long records = 0;
+
+    long getRecords() {
+        return this.records;
+    }
+
+    void update(int b) {
+        switch (this.state) {
+            case TEXT: {
+                if (b == '<') {
+                    this.name.setLength(0);
+                    this.state = State.NAME;
+                }
+                break;
+            }
+            case NAME: {
+                if ((b == CDATA[0]) && (this.name.length() == 0)) {
+                    this.position = 1;
+                    this.state = State.DECLARATION;
+                } else if (isNameCharacter(b) && (this.name.length() < MAX_NAME_LENGTH)) {
+                    this.name.append((char) b);
+                } else {
+                    // End tags, processing instructions and attribute-less tags are handled by this branch as well
+                    if (RECORDS.contains(this.name.toString())) {
+                        this.records += 1;
+                    }
+                    this.name.setLength(0);
+                    this.state = (b == '<') ? State.NAME : State.TEXT;
+                }
+                break;
+            }
+            case DECLARATION: {
+                if (b == CDATA[this.position]) {
+                    this.position += 1;
+                    if (this.position == CDATA.length) {
+                        this.position = 0;
+                        this.state = State.CDATA;
+                    }
+                } else {
+                    // Journal dumps contain no other declarations, e.g. comments, that could contain markup
+                    this.state = State.TEXT;
+                }
+                break;
+            }
+            case CDATA: {
+                if (b == ']') {
+                    this.position += 1;
+                } else {
+                    if ((b == '>') && (this.position >= 2)) {
+                        this.state = State.TEXT;
+                    }
+                    this.position = 0;
+                }
+                break;
+            }
+        }
+    }
+
+    void update(byte[] buffer, int offset, int length) {
+        for (int i = offset; i < offset + length; ++i) {
+            this.update(buffer[i]);
+        }
+    }
+
+    private static boolean isNameCharacter(int b) {
+        return ((b >= 'a') && (b <= 'z')) || ((b >= 'A') && (b <= 'Z')) || ((b >= '0') && (b <= '9')) || (b == '-') || (b == '_') || (b == '.') || (b == ':');
+    }
+
+    /**
+     * Decorates the specified output stream, such that records written to it are counted by this object.
+     */
+    OutputStream track(OutputStream output) {
+        return new FilterOutputStream(output) {
+            @Override
+            public void write(int b) throws IOException {
+                this.out.write(b);
+                JournalDumpRecordCounter.this.update(b & 0xff);
+            }
+
+            @Override
+            public void write(byte[] buffer, int offset, int length) throws IOException {
+                // Bypass FilterOutputStream's byte-by-byte implementation
+                this.out.write(buffer, offset, length);
+                JournalDumpRecordCounter.this.update(buffer, offset, length);
+            }
+        };
+    }
+
+    /**
+     * Decorates the specified input stream, such that records read from it are counted by this object.
+     */
+    InputStream track(InputStream input) {
+        return new FilterInputStream(input) {
+            @Override
+            public int read() throws IOException {
+                int result = this.in.read();
+                if (result >= 0) {
+                    JournalDumpRecordCounter.this.update(result);
+                }
+                return result;
+            }
+
+            @Override
+            public int read(byte[] buffer, int offset, int length) throws IOException {
+                int result = this.in.read(buffer, offset, length);
+                if (result > 0) {
+                    JournalDumpRecordCounter.this.update(buffer, offset, result);
+                }
+                return result;
+            }
+
+            @Override
+            public long skip(long n) throws IOException {
+                // Skipped bytes must still be scanned
+                byte[] buffer = new byte[(int) Math.min(n, ExportJournalOperation.BUFFER_SIZE)];
+                int result = this.read(buffer, 0, buffer.length);
+                return Math.max(result, 0);
+            }
+
+            @Override
+            public boolean markSupported() {
+                // Re-reading marked bytes would be counted twice
+                return false;
+            }
+        };
+    }
+}
@@ -149,11 +149,21 @@ public class QueueControlHandler extends AbstractQueueControlHandler<QueueContro
                 return control.listMessagesAsJSON(filter);
             }
 
+            @Override
+            public String listMessagesAsJSON(String filter, int offset, int pageSize, int maxBodyBytes) throws Exception {
+                return QueueMessagesHelper.listMessagesAsJSON(server, queueName, filter, offset, pageSize, maxBodyBytes);
+            }
+
             @Override
             public long countMessages(String filter) throws Exception {
                 return control.countMessages(filter);
             }
 
+            @Override
+            public String countMessagesByProperty(String filter, String propertyName) throws Exception {
+                return control.countMessages(filter, propertyName);
+            }
+
             @Override
             public boolean removeMessage(ModelNode id) throws Exception {
                 return control.removeMessage(id.asLong());
@@ -0,0 +1,120 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.extension.messaging.activemq;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+import org.apache.activemq.artemis.api.core.ActiveMQBuffer;
+import org.apache.activemq.artemis.api.core.ICoreMessage;
+import org.apache.activemq.artemis.api.core.JsonUtil;
+import org.apache.activemq.artemis.api.core.Message;
+import org.apache.activemq.artemis.core.filter.Filter;
+import org.apache.activemq.artemis.core.filter.impl.FilterImpl;
+import org.apache.activemq.artemis.core.server.ActiveMQServer;
+import org.apache.activemq.artemis.core.server.MessageReference;
+import org.apache.activemq.artemis.core.server.Queue;
+import org.apache.activemq.artemis.utils.collections.LinkedListIterator;
+import org.jboss.as.controller.OperationFailedException;
+import org.wildfly.extension.messaging.activemq.logging.MessagingLogger;
+
+/**
+ * Helper class to list the messages of a queue one page at a time.
+ * Messages are streamed through the browser iterator of the queue, so that only the requested page is ever materialized.
+ */
+public class QueueMessagesHelper {
+
+    public static final String BODY = "body";
+
+    // Avoid over-allocating when a large page size is requested for a small queue
+    private static final int MAX_INITIAL_CAPACITY = 1000;
+
+    private QueueMessagesHelper() {
+    }
+
+    /**
+     * Lists the messages of the specified queue matching the specified filter, as a string in JSON format.
+     * @param server a server
+     * @param queueName the name of a queue of the specified server
+     * @param filter a message filter, or null to match all messages
+     * @param offset the number of matching messages to skip
+     * @param pageSize the maximum number of messages to list
+     * @param maxBodyBytes the maximum number of body bytes to include per message, or 0 to exclude message bodies
+     * @return a JSON array of messages
+     * @throws OperationFailedException if the queue does not exist, e.g. if it was concurrently removed
+     * @throws Exception if the filter is invalid
+     */
+    public static String listMessagesAsJSON(ActiveMQServer server, String queueName, String filter, int offset, int pageSize, int maxBodyBytes) throws Exception {
+        Queue queue = server.locateQueue(queueName);
+        if (queue == null) {
+            throw MessagingLogger.ROOT_LOGGER.queueDoesNotExist(queueName);
+        }
+        return JsonUtil.toJSONArray(listMessages(queue, filter, offset, pageSize, maxBodyBytes).toArray()).toString();
+    }
+
+    /**
+     * Lists the messages of the specified queue matching the specified filter.
+     * @param queue a queue
+     * @param filter a message filter, or null to match all messages
+     * @param offset the number of matching messages to skip
+     * @param pageSize the maximum number of messages to list
+     * @param maxBodyBytes the maximum number of body bytes to include per message, or 0 to exclude message bodies
+     * @return a list of messages, each represented as a map
+     * @throws Exception if the filter is invalid
+     */
+    static List<Map<String, Object>> listMessages(Queue queue, String filter, int offset, int pageSize, int maxBodyBytes) throws Exception {
+        Filter messageFilter = FilterImpl.createFilter(filter);
+        List<Map<String, Object>> messages = new ArrayList<>(Math.min(pageSize, MAX_INITIAL_CAPACITY));
+        int skipped = 0;
+        queue.flushExecutor();
+        try (LinkedListIterator<MessageReference> references = queue.browserIterator()) {
+            while (references.hasNext() && (messages.size() < pageSize)) {
+                Message message = references.next().getMessage();
+                if ((messageFilter == null) || messageFilter.match(message)) {
+                    if (skipped < offset) {
+                        skipped += 1;
+                    } else {
+                        messages.add(toMap(message, maxBodyBytes));
+                    }
+                }
+            }
+        } catch (NoSuchElementException e) {
+            // Queue was concurrently modified, return what we have so far
+        }
+        return messages;
+    }
+
+    private static Map<String, Object> toMap(Message message, int maxBodyBytes) {
+        Map<String, Object> map = message.toMap();
+        // Large message bodies are never read from the journal
+        if ((maxBodyBytes > 0) && (message instanceof ICoreMessage) && !message.isLargeMessage()) {
+            ActiveMQBuffer body = ((ICoreMessage) message).getReadOnlyBodyBuffer();
+            byte[] bytes = new byte[Math.min(body.readableBytes(), maxBodyBytes)];
+            body.readBytes(bytes);
+            map.put(BODY, bytes);
+        }
+        return map;
+    }
+}
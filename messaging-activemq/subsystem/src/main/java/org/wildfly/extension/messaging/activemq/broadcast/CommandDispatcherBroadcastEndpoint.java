@@ -82,7 +82,7 @@ public class CommandDispatcherBroadcastEndpoint implements BroadcastEndpoint {
     @Override
     public void broadcast(byte[] data) throws Exception {
         if (this.mode.get() == Mode.BROADCASTER) {
-            this.dispatcher.executeOnGroup(new BroadcastCommand(data));
+            this.dispatcher.executeOnGroupWithoutResponse(new BroadcastCommand(data));
         }
     }
 
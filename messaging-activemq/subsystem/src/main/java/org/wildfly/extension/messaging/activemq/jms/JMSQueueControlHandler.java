@@ -34,6 +34,7 @@ import org.jboss.as.controller.OperationContext;
 import org.jboss.as.controller.OperationFailedException;
 import org.jboss.dmr.ModelNode;
 import org.wildfly.extension.messaging.activemq.AbstractQueueControlHandler;
+import org.wildfly.extension.messaging.activemq.QueueMessagesHelper;
 
 /**
  * Handler for runtime operations that invoke on a ActiveMQ {@link QueueControl}.
@@ -77,11 +78,22 @@ public class JMSQueueControlHandler extends AbstractQueueControlHandler<QueueCon
                 return convertToJMSProperties(result);
             }
 
+            @Override
+            public String listMessagesAsJSON(String filter, int offset, int pageSize, int maxBodyBytes) throws Exception {
+                String result = QueueMessagesHelper.listMessagesAsJSON(server, JMS_QUEUE_PREFIX + queueName, convertToActiveMQFilterString(filter), offset, pageSize, maxBodyBytes);
+                return convertToJMSProperties(result);
+            }
+
             @Override
             public long countMessages(String filter) throws Exception {
                 return control.countMessages(convertToActiveMQFilterString(filter));
             }
 
+            @Override
+            public String countMessagesByProperty(String filter, String propertyName) throws Exception {
+                return control.countMessages(convertToActiveMQFilterString(filter), propertyName);
+            }
+
             @Override
             public boolean removeMessage(ModelNode id) throws Exception {
                 int n = control.removeMessages(createFilterForJMSMessageID(id));
@@ -0,0 +1,96 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.extension.messaging.activemq;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+/**
+ * Unit test for {@link JournalDumpProgress}.
+ */
+public class JournalDumpProgressTestCase {
+
+    @Test
+    public void output() throws IOException {
+        List<Long> reports = new ArrayList<>();
+        JournalDumpProgress progress = new JournalDumpProgress(reports::add, 0);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+        try (OutputStream output = progress.track(bytes)) {
+            output.write(1);
+            output.write(new byte[] { 2, 3, 4 });
+            output.write(new byte[] { 5, 6, 7, 8 }, 1, 2);
+        }
+
+        assertArrayEquals(new byte[] { 1, 2, 3, 4, 6, 7 }, bytes.toByteArray());
+        assertEquals(6, progress.getBytes());
+        assertEquals(Arrays.asList(1L, 4L, 6L), reports);
+    }
+
+    @Test
+    public void input() throws IOException {
+        List<Long> reports = new ArrayList<>();
+        JournalDumpProgress progress = new JournalDumpProgress(reports::add, 0);
+        byte[] buffer = new byte[4];
+
+        try (InputStream input = progress.track(new ByteArrayInputStream(new byte[] { 1, 2, 3, 4, 5, 6, 7, 8, 9 }))) {
+            assertEquals(1, input.read());
+            assertEquals(4, input.read(buffer));
+            assertEquals(2, input.skip(2));
+            assertEquals(1, input.read(buffer, 0, 1));
+            assertEquals(9, input.read());
+            // End of stream should not count
+            assertEquals(-1, input.read());
+            assertEquals(-1, input.read(buffer));
+        }
+
+        assertArrayEquals(new byte[] { 8, 3, 4, 5 }, buffer);
+        assertEquals(9, progress.getBytes());
+        assertEquals(Arrays.asList(1L, 5L, 7L, 8L, 9L), reports);
+    }
+
+    @Test
+    public void interval() throws IOException {
+        List<Long> reports = new ArrayList<>();
+        JournalDumpProgress progress = new JournalDumpProgress(reports::add, Long.MAX_VALUE);
+
+        try (OutputStream output = progress.track(new ByteArrayOutputStream())) {
+            output.write(new byte[1024]);
+        }
+
+        assertEquals(1024, progress.getBytes());
+        assertTrue(reports.isEmpty());
+    }
+}
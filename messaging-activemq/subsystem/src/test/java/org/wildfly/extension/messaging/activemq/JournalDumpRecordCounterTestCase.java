@@ -0,0 +1,108 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.extension.messaging.activemq;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.Test;
+
+/**
+ * Unit test for {@link JournalDumpRecordCounter}.
+ */
+public class JournalDumpRecordCounterTestCase {
+
+    private static final byte[] DUMP = String.join("\n",
+            "<?xml version=\"1.0\"?>",
+            "<activemq-journal>",
+            "<bindings>",
+            "<address-binding routing-types=\"ANYCAST\" name=\"foo\" id=\"1\"/>",
+            "<queue-binding address=\"foo\" filter-string=\"\" name=\"foo\" id=\"2\" routing-type=\"ANYCAST\"/>",
+            "</bindings>",
+            "<messages>",
+            "<message id=\"3\" priority=\"4\" expiration=\"0\" timestamp=\"0\" type=\"text\" user-id=\"\">",
+            "<properties><property name=\"bar\" value=\"&lt;message&gt;\" type=\"string\"/></properties>",
+            "<queues><queue name=\"foo\"/></queues>",
+            "<body><![CDATA[<message><binding>]]]></body>",
+            "</message>",
+            "<message id=\"4\" priority=\"4\" expiration=\"0\" timestamp=\"0\" type=\"bytes\" user-id=\"\">",
+            "<queues><queue name=\"foo\"/></queues>",
+            "<body><![CDATA[AAECAw==]]></body>",
+            "</message>",
+            "</messages>",
+            "</activemq-journal>").getBytes(StandardCharsets.UTF_8);
+
+    @Test
+    public void output() throws IOException {
+        JournalDumpRecordCounter counter = new JournalDumpRecordCounter();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+        try (OutputStream output = counter.track(bytes)) {
+            output.write(DUMP[0]);
+            // Split the dump across writes, so that tags span buffers
+            for (int offset = 1; offset < DUMP.length; offset += 7) {
+                output.write(DUMP, offset, Math.min(7, DUMP.length - offset));
+            }
+        }
+
+        assertArrayEquals(DUMP, bytes.toByteArray());
+        assertEquals(4, counter.getRecords());
+    }
+
+    @Test
+    public void input() throws IOException {
+        JournalDumpRecordCounter counter = new JournalDumpRecordCounter();
+        byte[] buffer = new byte[DUMP.length];
+
+        try (InputStream input = counter.track(new ByteArrayInputStream(DUMP))) {
+            buffer[0] = (byte) input.read();
+            int offset = 1;
+            int read = 0;
+            while ((read = input.read(buffer, offset, Math.min(5, buffer.length - offset))) > 0) {
+                offset += read;
+            }
+            assertEquals(DUMP.length, offset);
+        }
+
+        assertArrayEquals(DUMP, buffer);
+        assertEquals(4, counter.getRecords());
+    }
+
+    @Test
+    public void legacy() throws IOException {
+        JournalDumpRecordCounter counter = new JournalDumpRecordCounter();
+
+        try (OutputStream output = counter.track(new ByteArrayOutputStream())) {
+            output.write("<bindings><binding address=\"foo\" queue-name=\"foo\" id=\"1\"/><binding address=\"bar\" queue-name=\"bar\" id=\"2\"/></bindings>".getBytes(StandardCharsets.UTF_8));
+        }
+
+        assertEquals(2, counter.getRecords());
+    }
+}
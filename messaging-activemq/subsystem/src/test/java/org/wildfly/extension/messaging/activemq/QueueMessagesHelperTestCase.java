@@ -0,0 +1,143 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.extension.messaging.activemq;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.activemq.artemis.core.message.impl.CoreMessage;
+import org.apache.activemq.artemis.core.server.ActiveMQServer;
+import org.apache.activemq.artemis.core.server.MessageReference;
+import org.apache.activemq.artemis.core.server.Queue;
+import org.apache.activemq.artemis.utils.collections.LinkedListIterator;
+import org.jboss.as.controller.OperationFailedException;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Unit test for {@link QueueMessagesHelper}.
+ */
+public class QueueMessagesHelperTestCase {
+
+    private static final String[] COLORS = new String[] { "red", "green", "blue" };
+
+    @Test
+    public void paging() throws Exception {
+        Queue queue = createQueue(10);
+
+        assertMessageIds(QueueMessagesHelper.listMessages(queue, null, 0, 4, 0), 0, 1, 2, 3);
+        assertMessageIds(QueueMessagesHelper.listMessages(queue, null, 4, 4, 0), 4, 5, 6, 7);
+        assertMessageIds(QueueMessagesHelper.listMessages(queue, null, 8, 4, 0), 8, 9);
+        assertMessageIds(QueueMessagesHelper.listMessages(queue, null, 12, 4, 0));
+    }
+
+    @Test
+    public void filtering() throws Exception {
+        Queue queue = createQueue(10);
+        String filter = "color = 'red'";
+
+        assertMessageIds(QueueMessagesHelper.listMessages(queue, filter, 0, 10, 0), 0, 3, 6, 9);
+        // Offset counts matching messages only
+        assertMessageIds(QueueMessagesHelper.listMessages(queue, filter, 1, 2, 0), 3, 6);
+        assertMessageIds(QueueMessagesHelper.listMessages(queue, "color = 'purple'", 0, 10, 0));
+    }
+
+    @Test
+    public void body() throws Exception {
+        Queue queue = createQueue(1);
+
+        List<Map<String, Object>> messages = QueueMessagesHelper.listMessages(queue, null, 0, 1, 0);
+        Assert.assertFalse(messages.get(0).containsKey(QueueMessagesHelper.BODY));
+
+        messages = QueueMessagesHelper.listMessages(queue, null, 0, 1, 2);
+        Assert.assertArrayEquals(new byte[] { 0, 1 }, (byte[]) messages.get(0).get(QueueMessagesHelper.BODY));
+
+        messages = QueueMessagesHelper.listMessages(queue, null, 0, 1, 10);
+        Assert.assertArrayEquals(new byte[] { 0, 1, 2, 3 }, (byte[]) messages.get(0).get(QueueMessagesHelper.BODY));
+    }
+
+    @Test
+    public void missingQueue() throws Exception {
+        ActiveMQServer server = mock(ActiveMQServer.class);
+
+        try {
+            QueueMessagesHelper.listMessagesAsJSON(server, "missing", null, 0, 10, 0);
+            Assert.fail("Expected failure for missing queue");
+        } catch (OperationFailedException e) {
+            Assert.assertTrue(e.getMessage(), e.getMessage().contains("missing"));
+        }
+    }
+
+    private static Queue createQueue(int size) {
+        List<MessageReference> references = new ArrayList<>(size);
+        for (int i = 0; i < size; ++i) {
+            CoreMessage message = new CoreMessage(i, 100);
+            message.putStringProperty("color", COLORS[i % COLORS.length]);
+            message.getBodyBuffer().writeBytes(new byte[] { 0, 1, 2, 3 });
+            MessageReference reference = mock(MessageReference.class);
+            when(reference.getMessage()).thenReturn(message);
+            references.add(reference);
+        }
+        Queue queue = mock(Queue.class);
+        when(queue.browserIterator()).then(invocation -> new ListIterator<>(references.iterator()));
+        return queue;
+    }
+
+    private static void assertMessageIds(List<Map<String, Object>> messages, long... expected) {
+        Assert.assertEquals(expected.length, messages.size());
+        for (int i = 0; i < expected.length; ++i) {
+            Assert.assertEquals(expected[i], messages.get(i).get("messageID"));
+        }
+    }
+
+    private static class ListIterator<E> implements LinkedListIterator<E> {
+        private final Iterator<E> iterator;
+
+        ListIterator(Iterator<E> iterator) {
+            this.iterator = iterator;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return this.iterator.hasNext();
+        }
+
+        @Override
+        public E next() {
+            return this.iterator.next();
+        }
+
+        @Override
+        public void repeat() {
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
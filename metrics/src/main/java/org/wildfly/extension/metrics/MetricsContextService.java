@@ -27,6 +27,11 @@ import static org.wildfly.extension.metrics.MetricsSubsystemDefinition.METRICS_H
 import static org.wildfly.extension.metrics.MetricsSubsystemDefinition.METRICS_HTTP_SECURITY_CAPABILITY;
 import static org.wildfly.extension.metrics.MetricsSubsystemDefinition.METRICS_REGISTRY_RUNTIME_CAPABILITY;
 
+import java.io.BufferedWriter;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
 
@@ -93,14 +98,26 @@ public class MetricsContextService implements Service {
                     return;
                 }
 
+                // Reading metric values and writing the response may block
+                if (exchange.isInIoThread()) {
+                    exchange.dispatch(this);
+                    return;
+                }
+                exchange.startBlocking();
+
+                // Snapshot the metric values under the registry lock, but render the response after releasing it,
+                // so that a slow client does not block registration of metrics
                 WildFlyMetricRegistry metricRegistry = wildflyMetricRegistry.get();
+                List<PrometheusExporter.Sample> snapshot;
                 metricRegistry.readLock();
                 try {
-                    String wildFlyMetrics = prometheusExporter.export(metricRegistry);
-                    exchange.getResponseSender().send(wildFlyMetrics);
+                    snapshot = prometheusExporter.snapshot(metricRegistry);
                 } finally {
                     metricRegistry.unlock();
                 }
+                try (Writer writer = new BufferedWriter(new OutputStreamWriter(exchange.getOutputStream(), StandardCharsets.UTF_8))) {
+                    prometheusExporter.export(snapshot, writer);
+                }
             }
         });
         consumer.accept(this);
@@ -21,7 +21,13 @@
  */
 package org.wildfly.extension.metrics;
 
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.OptionalDouble;
 import java.util.Set;
@@ -31,40 +37,90 @@ import org.wildfly.extension.metrics.MetricMetadata.MetricTag;
 
 public class PrometheusExporter {
 
-    private static final String LF = "\n";
+    private static final char LF = '\n';
 
     public String export(WildFlyMetricRegistry registry) {
-        Set<String> alreadyExportedMetrics = new HashSet<String>();
+        StringWriter out = new StringWriter();
+        try {
+            export(registry, out);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toString();
+    }
 
-        StringBuilder out = new StringBuilder();
+    /**
+     * Writes the metrics of the specified registry to the specified writer, using the Prometheus text format.
+     * The values of the WildFly metrics of each resource are read in a single batch.
+     */
+    public void export(WildFlyMetricRegistry registry, Writer out) throws IOException {
+        export(snapshot(registry), out);
+    }
 
-        for (Map.Entry<MetricID, Metric> entry : registry.getMetrics().entrySet()) {
+    /**
+     * Captures the current values of the metrics of the specified registry, along with their metadata.
+     * The caller is expected to hold the read lock of the registry, which may be released once the snapshot is captured.
+     * The values of the WildFly metrics of each resource are read in a single batch.
+     */
+    public List<Sample> snapshot(WildFlyMetricRegistry registry) {
+        Map<MetricID, Metric> metrics = registry.getMetrics();
+        List<WildFlyMetric> wildFlyMetrics = new ArrayList<>(metrics.size());
+        for (Metric metric : metrics.values()) {
+            if (metric instanceof WildFlyMetric) {
+                wildFlyMetrics.add((WildFlyMetric) metric);
+            }
+        }
+        Map<WildFlyMetric, OptionalDouble> values = WildFlyMetric.getValues(wildFlyMetrics);
+
+        List<Sample> samples = new ArrayList<>(metrics.size());
+        for (Map.Entry<MetricID, Metric> entry : metrics.entrySet()) {
             MetricID metricID = entry.getKey();
+            Metric metric = entry.getValue();
+            OptionalDouble metricValue = (metric instanceof WildFlyMetric) ? values.get(metric) : metric.getValue();
+            // if the metric does not return a value, we skip it entirely
+            if (metricValue.isPresent()) {
+                samples.add(new Sample(metricID, registry.getMetricMetadata().get(metricID.getMetricName()), metricValue.getAsDouble()));
+            }
+        }
+        return samples;
+    }
+
+    /**
+     * Writes the specified snapshot of metrics to the specified writer, using the Prometheus text format.
+     */
+    public void export(List<Sample> samples, Writer out) throws IOException {
+        Set<String> alreadyExportedMetrics = new HashSet<String>();
+
+        for (Sample sample : samples) {
+            MetricID metricID = sample.metricID;
             String metricName = metricID.getMetricName();
-            MetricMetadata metadata = registry.getMetricMetadata().get(metricName);
+            MetricMetadata metadata = sample.metadata;
             String prometheusMetricName = toPrometheusMetricName(metricID, metadata);
-            OptionalDouble metricValue = entry.getValue().getValue();
-            // if the metric does not return a value, we skip printing the HELP and TYPE
-            if (!metricValue.isPresent()) {
-                continue;
-            }
             if (!alreadyExportedMetrics.contains(metricName)) {
-                out.append("# HELP " + prometheusMetricName + " " + metadata.getDescription());
-                out.append(LF);
-                out.append("# TYPE " + prometheusMetricName + " " + metadata.getType());
-                out.append(LF);
+                out.write("# HELP ");
+                out.write(prometheusMetricName);
+                out.write(' ');
+                out.write(String.valueOf(metadata.getDescription()));
+                out.write(LF);
+                out.write("# TYPE ");
+                out.write(prometheusMetricName);
+                out.write(' ');
+                out.write(metadata.getType().toString());
+                out.write(LF);
                 alreadyExportedMetrics.add(metricName);
             }
-            double scaledValue = scaleToBaseUnit(metricValue.getAsDouble(), metadata.getMeasurementUnit());
+            double scaledValue = scaleToBaseUnit(sample.value, metadata.getMeasurementUnit());
+            out.write(prometheusMetricName);
             // I'm pretty sure this is incorrect but that aligns with smallrye-metrics OpenMetricsExporter behaviour
             if (metadata.getType() == MetricMetadata.Type.COUNTER && metadata.getMeasurementUnit() != MeasurementUnit.NONE) {
-                prometheusMetricName += "_" + metadata.getBaseMetricUnit();
+                out.write('_');
+                out.write(metadata.getBaseMetricUnit());
             }
-            out.append(prometheusMetricName + getTagsAsAString(metricID) + " " + scaledValue);
-            out.append(LF);
+            writeTags(metricID, out);
+            out.write(' ');
+            out.write(Double.toString(scaledValue));
+            out.write(LF);
         }
-
-        return out.toString();
     }
 
     private static double scaleToBaseUnit(double value, MeasurementUnit unit) {
@@ -87,18 +143,46 @@ public class PrometheusExporter {
     }
 
     public static String getTagsAsAString(MetricID metricID) {
+        StringWriter out = new StringWriter();
+        try {
+            writeTags(metricID, out);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toString();
+    }
+
+    private static void writeTags(MetricID metricID, Writer out) throws IOException {
         MetricTag[] tags = metricID.getTags();
         if (tags.length == 0) {
-            return "";
+            return;
         }
-        StringBuilder out = new StringBuilder("{");
+        out.write('{');
         for (int i = 0; i < tags.length; i++) {
             if (i > 0) {
-                out.append(",");
+                out.write(',');
             }
             MetricTag tag = tags[i];
-            out.append(tag.getKey() + "=\"" + tag.getValue() + "\"");
+            out.write(tag.getKey());
+            out.write("=\"");
+            out.write(tag.getValue());
+            out.write('"');
+        }
+        out.write('}');
+    }
+
+    /**
+     * The value of a metric, captured along with its metadata.
+     */
+    public static class Sample {
+        private final MetricID metricID;
+        private final MetricMetadata metadata;
+        private final double value;
+
+        Sample(MetricID metricID, MetricMetadata metadata, double value) {
+            this.metricID = metricID;
+            this.metadata = metadata;
+            this.value = value;
         }
-        return out.append("}").toString();
     }
-}
\ No newline at end of file
+}
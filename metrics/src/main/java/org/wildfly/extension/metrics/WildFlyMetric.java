@@ -22,14 +22,24 @@
  */
 package org.wildfly.extension.metrics;
 
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.COMPOSITE;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.FAILURE_DESCRIPTION;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.NAME;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OP;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OP_ADDR;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OUTCOME;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.READ_ATTRIBUTE_OPERATION;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.RESULT;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.STEPS;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.SUCCESS;
 import static org.wildfly.extension.metrics._private.MetricsLogger.LOGGER;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.OptionalDouble;
 
 import org.jboss.as.controller.LocalModelControllerClient;
@@ -57,7 +67,56 @@ public class WildFlyMetric implements Metric {
 
     @Override
     public OptionalDouble getValue() {
-        ModelNode result = readAttributeValue(address, attributeName);
+        return toValue(readAttributeValue(address, attributeName));
+    }
+
+    /**
+     * Reads the values of the specified metrics, using a single composite operation for the metrics of the same resource.
+     * If the composite operation of a resource fails, e.g. because one of its attributes is not accessible, the metrics of that resource are read individually.
+     * @param metrics a collection of metrics
+     * @return the values of the specified metrics, keyed by metric
+     */
+    static Map<WildFlyMetric, OptionalDouble> getValues(Iterable<WildFlyMetric> metrics) {
+        Map<LocalModelControllerClient, Map<PathAddress, List<WildFlyMetric>>> clients = new IdentityHashMap<>();
+        for (WildFlyMetric metric : metrics) {
+            clients.computeIfAbsent(metric.modelControllerClient, key -> new LinkedHashMap<>()).computeIfAbsent(metric.address, key -> new ArrayList<>(4)).add(metric);
+        }
+        Map<WildFlyMetric, OptionalDouble> values = new HashMap<>();
+        for (Map<PathAddress, List<WildFlyMetric>> resources : clients.values()) {
+            for (List<WildFlyMetric> resourceMetrics : resources.values()) {
+                readValues(resourceMetrics, values);
+            }
+        }
+        return values;
+    }
+
+    private static void readValues(List<WildFlyMetric> metrics, Map<WildFlyMetric, OptionalDouble> values) {
+        if (metrics.size() > 1) {
+            WildFlyMetric first = metrics.get(0);
+            ModelNode compositeOp = new ModelNode();
+            compositeOp.get(OP).set(COMPOSITE);
+            compositeOp.get(OP_ADDR).setEmptyList();
+            ModelNode steps = compositeOp.get(STEPS);
+            for (WildFlyMetric metric : metrics) {
+                steps.add(createReadAttributeOperation(metric.address, metric.attributeName));
+            }
+            ModelNode response = first.modelControllerClient.execute(compositeOp);
+            if (SUCCESS.equals(response.get(OUTCOME).asStringOrNull())) {
+                ModelNode result = response.get(RESULT);
+                for (int i = 0; i < metrics.size(); ++i) {
+                    WildFlyMetric metric = metrics.get(i);
+                    values.put(metric, metric.toValue(result.get("step-" + (i + 1)).get(RESULT)));
+                }
+                return;
+            }
+        }
+        // Read individually, reporting the failure of each attribute
+        for (WildFlyMetric metric : metrics) {
+            values.put(metric, metric.getValue());
+        }
+    }
+
+    private OptionalDouble toValue(ModelNode result) {
         if (result.isDefined()) {
             try {
                 return OptionalDouble.of(result.asDouble());
@@ -68,13 +127,17 @@ public class WildFlyMetric implements Metric {
         return OptionalDouble.empty();
     }
 
-    private ModelNode readAttributeValue(PathAddress address, String attributeName) {
+    private static ModelNode createReadAttributeOperation(PathAddress address, String attributeName) {
         final ModelNode readAttributeOp = new ModelNode();
         readAttributeOp.get(OP).set(READ_ATTRIBUTE_OPERATION);
         readAttributeOp.get(OP_ADDR).set(address.toModelNode());
         readAttributeOp.get(ModelDescriptionConstants.INCLUDE_UNDEFINED_METRIC_VALUES).set(false);
         readAttributeOp.get(NAME).set(attributeName);
-        ModelNode response = modelControllerClient.execute(readAttributeOp);
+        return readAttributeOp;
+    }
+
+    private ModelNode readAttributeValue(PathAddress address, String attributeName) {
+        ModelNode response = modelControllerClient.execute(createReadAttributeOperation(address, attributeName));
         String error = getFailureDescription(response);
         if (error != null) {
             // [WFLY-11933] if the value can not be read if the management resource is not accessible due to RBAC,
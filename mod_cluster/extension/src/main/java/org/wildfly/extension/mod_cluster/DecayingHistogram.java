@@ -0,0 +1,107 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.extension.mod_cluster;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Fixed-size histogram of non-negative values, whose recorded counts decay by half upon each {@link #decay()}.
+ * Values are grouped into log-linear buckets, i.e. 4 buckets per power of 2, bounding the relative error of any percentile to 25%.
+ * Recording a value is wait-free, and does not allocate.
+ */
+class DecayingHistogram {
+    // Number of bits of sub-bucket precision per power of 2
+    private static final int PRECISION = 2;
+    private static final int SUB_BUCKETS = 1 << PRECISION;
+    private static final int BUCKETS = SUB_BUCKETS * (Long.SIZE - PRECISION);
+
+    private final LongAdder[] buckets = new LongAdder[BUCKETS];
+
+    DecayingHistogram() {
+        for (int i = 0; i < BUCKETS; ++i) {
+            this.buckets[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * Records the specified value.
+     * @param value a non-negative value
+     */
+    void record(long value) {
+        this.buckets[index(Math.max(value, 0))].increment();
+    }
+
+    /**
+     * Returns the specified percentile of the recorded values.
+     * @param percentile a value between 0 and 1
+     * @return the upper bound of the bucket containing the specified percentile, or 0, if no values were recorded.
+     */
+    long percentile(double percentile) {
+        long[] counts = new long[BUCKETS];
+        long total = 0;
+        for (int i = 0; i < BUCKETS; ++i) {
+            counts[i] = this.buckets[i].sum();
+            total += counts[i];
+        }
+        long threshold = (long) Math.ceil(percentile * total);
+        long cumulative = 0;
+        for (int i = 0; i < BUCKETS; ++i) {
+            cumulative += counts[i];
+            if ((counts[i] > 0) && (cumulative >= threshold)) {
+                return upperBound(i);
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Halves the recorded counts of this histogram, such that older values gradually lose significance.
+     */
+    void decay() {
+        for (LongAdder bucket : this.buckets) {
+            long count = bucket.sum();
+            // Round up, so that a bucket with a single value drains
+            bucket.add(-((count + 1) / 2));
+        }
+    }
+
+    static int index(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int exponent = (Long.SIZE - 1) - Long.numberOfLeadingZeros(value);
+        int subBucket = (int) (value >>> (exponent - PRECISION)) & (SUB_BUCKETS - 1);
+        return (exponent - PRECISION + 1) * SUB_BUCKETS + subBucket;
+    }
+
+    static long upperBound(int index) {
+        if (index < SUB_BUCKETS) {
+            return index + 1;
+        }
+        int exponent = (index / SUB_BUCKETS) + PRECISION - 1;
+        int subBucket = index % SUB_BUCKETS;
+        long upperBound = (long) (SUB_BUCKETS + subBucket + 1) << (exponent - PRECISION);
+        // Avoid overflow for the last bucket
+        return (upperBound > 0) ? upperBound : Long.MAX_VALUE;
+    }
+}
@@ -46,6 +46,7 @@ public enum LoadMetricEnum {
     SEND_TRAFFIC("send-traffic", SendTrafficLoadMetric.class),
     REQUEST_COUNT("requests", RequestCountLoadMetric.class),
     BUSY_CONNECTORS("busyness", BusyConnectorsLoadMetric.class),
+    REQUEST_LATENCY("latency", RequestLatencyLoadMetric.class),
     ;
 
     private final String type;
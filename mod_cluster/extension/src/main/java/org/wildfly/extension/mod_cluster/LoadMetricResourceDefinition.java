@@ -135,7 +135,9 @@ class LoadMetricResourceDefinition extends ChildResourceDefinition<ManagementRes
         return registration;
     }
 
-    static void buildTransformation(ModelVersion version, ResourceTransformationDescriptionBuilder builder) {
-        // Nothing to transform
+    static void buildTransformation(ModelVersion version, ResourceTransformationDescriptionBuilder parent) {
+        if (ModClusterModel.VERSION_8_0_0.requiresTransformation(version)) {
+            parent.rejectChildResource(pathElement(LoadMetricEnum.REQUEST_LATENCY.getType()));
+        }
     }
 }
@@ -407,6 +407,9 @@ final class ModClusterSubsystemXMLReader implements XMLElementReader<List<ModelN
             XMLAttribute attribute = XMLAttribute.forName(reader.getAttributeLocalName(i));
             switch (attribute) {
                 case TYPE: {
+                    if (!schema.since(ModClusterSchema.MODCLUSTER_6_0) && type.equals(LoadMetricEnum.REQUEST_LATENCY.getType())) {
+                        throw ParseUtils.invalidAttributeValue(reader, i);
+                    }
                     // TODO polish this being both path and required attribute
                     readAttribute(reader, i, operation, LoadMetricResourceDefinition.Attribute.TYPE);
                     break;
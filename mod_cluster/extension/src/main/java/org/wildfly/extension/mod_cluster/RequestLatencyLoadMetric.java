@@ -0,0 +1,72 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.extension.mod_cluster;
+
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.modcluster.container.Engine;
+import org.jboss.modcluster.load.metric.impl.AbstractLoadMetric;
+
+/**
+ * Load metric returning a percentile of the request latency, in milliseconds, since the previous load calculation.
+ * Latencies are recorded by the web container integration via {@link #record(long)} into a decaying histogram,
+ * such that latencies from previous load calculations contribute with exponentially decreasing significance.
+ * Requires an explicit capacity, i.e. the latency at which a node is considered fully loaded.
+ */
+public class RequestLatencyLoadMetric extends AbstractLoadMetric {
+
+    public static final double DEFAULT_PERCENTILE = 0.95;
+
+    private final DecayingHistogram histogram = new DecayingHistogram();
+    private volatile double percentile = DEFAULT_PERCENTILE;
+
+    /**
+     * Records the latency of a completed request.
+     * @param nanos the request latency, in nanoseconds
+     */
+    public void record(long nanos) {
+        this.histogram.record(TimeUnit.NANOSECONDS.toMicros(nanos));
+    }
+
+    public double getPercentile() {
+        return this.percentile;
+    }
+
+    /**
+     * Sets the percentile of the request latency reported by this metric.
+     * @param percentile a value greater than 0 and less than or equal to 1
+     */
+    public void setPercentile(double percentile) {
+        if ((percentile <= 0) || (percentile > 1)) {
+            throw new IllegalArgumentException(Double.toString(percentile));
+        }
+        this.percentile = percentile;
+    }
+
+    @Override
+    public double getLoad(Engine engine) {
+        long micros = this.histogram.percentile(this.percentile);
+        this.histogram.decay();
+        return micros / 1000d;
+    }
+}
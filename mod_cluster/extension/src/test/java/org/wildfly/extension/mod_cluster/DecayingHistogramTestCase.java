@@ -0,0 +1,96 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.extension.mod_cluster;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+/**
+ * Unit test for {@link DecayingHistogram}.
+ */
+public class DecayingHistogramTestCase {
+
+    @Test
+    public void index() {
+        long previousUpperBound = 0;
+        for (long value : new long[] { 0, 1, 3, 4, 5, 7, 8, 9, 15, 16, 1000, 1_000_000, Integer.MAX_VALUE, Long.MAX_VALUE / 2, Long.MAX_VALUE }) {
+            long upperBound = DecayingHistogram.upperBound(DecayingHistogram.index(value));
+            assertTrue(Long.toString(value), value < upperBound || upperBound == Long.MAX_VALUE);
+            // Relative error is bounded to 25%
+            assertTrue(Long.toString(value), upperBound - value <= Math.max(1, value / 4) + 1);
+            assertTrue(Long.toString(value), upperBound >= previousUpperBound);
+            previousUpperBound = upperBound;
+        }
+    }
+
+    @Test
+    public void percentile() {
+        DecayingHistogram histogram = new DecayingHistogram();
+
+        assertEquals(0, histogram.percentile(0.95));
+
+        for (int i = 1; i <= 100; ++i) {
+            histogram.record(i * 10);
+        }
+
+        assertEquals(512, histogram.percentile(0.5));
+        assertEquals(1024, histogram.percentile(0.95));
+        assertEquals(1024, histogram.percentile(1));
+
+        // Record a latency spike
+        for (int i = 0; i < 10; ++i) {
+            histogram.record(100_000);
+        }
+
+        assertTrue(histogram.percentile(0.95) > 100_000);
+    }
+
+    @Test
+    public void decay() {
+        DecayingHistogram histogram = new DecayingHistogram();
+
+        for (int i = 0; i < 100; ++i) {
+            histogram.record(100_000);
+        }
+        for (int i = 0; i < 100; ++i) {
+            histogram.record(100);
+        }
+        assertTrue(histogram.percentile(0.95) > 100_000);
+
+        // Older slow requests lose significance relative to recent fast requests
+        histogram.decay();
+        histogram.decay();
+        histogram.decay();
+        for (int i = 0; i < 400; ++i) {
+            histogram.record(100);
+        }
+        assertTrue(histogram.percentile(0.95) <= 128);
+
+        // Histogram eventually drains
+        for (int i = 0; i < 10; ++i) {
+            histogram.decay();
+        }
+        assertEquals(0, histogram.percentile(0.95));
+    }
+}
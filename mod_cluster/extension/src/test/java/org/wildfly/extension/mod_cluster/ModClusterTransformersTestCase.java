@@ -222,6 +222,10 @@ public class ModClusterTransformersTestCase extends AbstractSubsystemTest {
         PathAddress configurationAddress = subsystemAddress.append(ProxyConfigurationResourceDefinition.pathElement("default"));
         PathAddress dynamicLoadProviderAddress = configurationAddress.append(DynamicLoadProviderResourceDefinition.PATH);
 
+        if (ModClusterModel.VERSION_8_0_0.requiresTransformation(version)) {
+            config.addFailedAttribute(dynamicLoadProviderAddress.append(LoadMetricResourceDefinition.pathElement(LoadMetricEnum.REQUEST_LATENCY.getType())), FailedOperationTransformationConfig.REJECTED_RESOURCE);
+        }
+
         if (ModClusterModel.VERSION_7_0_0.requiresTransformation(version)) {
             config.addFailedAttribute(dynamicLoadProviderAddress, FailedOperationTransformationConfig.ChainedConfig.createBuilder(DynamicLoadProviderResourceDefinition.Attribute.INITIAL_LOAD.getName())
                     .addConfig(new InitialLoadFailedAttributeConfig())
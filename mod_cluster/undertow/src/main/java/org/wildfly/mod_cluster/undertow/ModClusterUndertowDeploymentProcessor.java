@@ -33,10 +33,12 @@ import org.jboss.modcluster.load.metric.impl.BusyConnectorsLoadMetric;
 import org.jboss.modcluster.load.metric.impl.ReceiveTrafficLoadMetric;
 import org.jboss.modcluster.load.metric.impl.RequestCountLoadMetric;
 import org.jboss.modcluster.load.metric.impl.SendTrafficLoadMetric;
+import org.wildfly.extension.mod_cluster.RequestLatencyLoadMetric;
 import org.wildfly.extension.undertow.deployment.UndertowAttachments;
 import org.wildfly.mod_cluster.undertow.metric.BytesReceivedHttpHandler;
 import org.wildfly.mod_cluster.undertow.metric.BytesSentHttpHandler;
 import org.wildfly.mod_cluster.undertow.metric.RequestCountHttpHandler;
+import org.wildfly.mod_cluster.undertow.metric.RequestLatencyHttpHandler;
 import org.wildfly.mod_cluster.undertow.metric.RunningRequestsHttpHandler;
 
 /**
@@ -46,6 +48,7 @@ import org.wildfly.mod_cluster.undertow.metric.RunningRequestsHttpHandler;
  * <ul>
  * <li>{@link org.wildfly.mod_cluster.undertow.metric.RequestCountHttpHandler}</li>
  * <li>{@link org.wildfly.mod_cluster.undertow.metric.RunningRequestsHttpHandler}</li>
+ * <li>{@link org.wildfly.mod_cluster.undertow.metric.RequestLatencyHttpHandler}</li>
  * <li>{@link org.wildfly.mod_cluster.undertow.metric.BytesReceivedHttpHandler}</li>
  * <li>{@link org.wildfly.mod_cluster.undertow.metric.BytesSentHttpHandler}</li>
  * </ul>
@@ -92,6 +95,14 @@ public class ModClusterUndertowDeploymentProcessor implements DeploymentUnitProc
             deploymentUnit.addToAttachmentList(UndertowAttachments.UNDERTOW_OUTER_HANDLER_CHAIN_WRAPPERS, RunningRequestsHttpHandler::new);
         }
 
+        // Request latency wrapping, recorded separately by each configured metric
+        for (LoadMetric enabledMetric : enabledMetrics) {
+            if (enabledMetric instanceof RequestLatencyLoadMetric) {
+                RequestLatencyLoadMetric metric = (RequestLatencyLoadMetric) enabledMetric;
+                deploymentUnit.addToAttachmentList(UndertowAttachments.UNDERTOW_OUTER_HANDLER_CHAIN_WRAPPERS, handler -> new RequestLatencyHttpHandler(handler, metric));
+            }
+        }
+
     }
 
     @Override
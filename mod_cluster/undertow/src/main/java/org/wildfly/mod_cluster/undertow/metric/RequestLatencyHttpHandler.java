@@ -0,0 +1,55 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.mod_cluster.undertow.metric;
+
+import io.undertow.server.HttpHandler;
+import io.undertow.server.HttpServerExchange;
+import org.wildfly.extension.mod_cluster.RequestLatencyLoadMetric;
+
+/**
+ * {@link HttpHandler} that records the latency of each request with a {@link RequestLatencyLoadMetric}.
+ */
+public class RequestLatencyHttpHandler implements HttpHandler {
+
+    private final HttpHandler wrappedHandler;
+    private final RequestLatencyLoadMetric metric;
+
+    public RequestLatencyHttpHandler(final HttpHandler handler, final RequestLatencyLoadMetric metric) {
+        this.wrappedHandler = handler;
+        this.metric = metric;
+    }
+
+    @Override
+    public void handleRequest(HttpServerExchange exchange) throws Exception {
+        long start = System.nanoTime();
+
+        exchange.addExchangeCompleteListener((completedExchange, nextListener) -> {
+            this.metric.record(System.nanoTime() - start);
+
+            // Proceed to next listener must be called!
+            nextListener.proceed();
+        });
+
+        this.wrappedHandler.handleRequest(exchange);
+    }
+}
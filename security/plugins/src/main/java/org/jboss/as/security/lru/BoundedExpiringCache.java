@@ -0,0 +1,441 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.security.lru;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A non-blocking, bounded cache whose entries optionally expire after a fixed duration since their creation or last access.
+ * <p/>
+ * <p>Entries are queued in insertion order, and the queue is never reordered on a cache hit.
+ * Instead, accesses are recorded in a {@link FrequencySketch} in a sampling fashion (entry hits modulo N).
+ * When the cache is out of capacity, the oldest entry is evicted only if the new entry is accessed at least as frequently;
+ * otherwise the new entry is not admitted and the oldest entry is moved to the end of the queue.
+ * This protects frequently used entries from being flushed by a large number of entries that are rarely reused.</p>
+ * <p/>
+ * <p>Expired entries are removed lazily, either when accessed, or when they reach the head of the queue.</p>
+ * <p/>
+ */
+public class BoundedExpiringCache<K, V> extends AbstractMap<K, V> implements ConcurrentMap<K, V> {
+    private static final int SAMPLE_INTERVAL = 5;
+
+    private final int maxEntries;
+    private final long expireAfterWriteNanos;
+    private final long expireAfterAccessNanos;
+
+    private final ConcurrentHashMap<K, CacheEntry<K, V>> cache;
+    private final ConcurrentDirectDeque<CacheEntry<K, V>> queue;
+    private final FrequencySketch sketch;
+    private final RemoveCallback<K, V> removeCallback;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * Creates a new cache.
+     * @param maxEntries the maximum number of entries
+     * @param expireAfterWrite the number of milliseconds after which an entry expires following its creation or replacement, or 0, if entries should not expire
+     * @param expireAfterAccess the number of milliseconds after which an entry expires following its last access, or 0, if entries should not expire
+     * @param removeCallback an optional callback invoked after an entry is removed
+     */
+    public BoundedExpiringCache(int maxEntries, long expireAfterWrite, long expireAfterAccess, RemoveCallback<K, V> removeCallback) {
+        if (maxEntries <= 0) {
+            throw new IllegalArgumentException(Integer.toString(maxEntries));
+        }
+        this.maxEntries = maxEntries;
+        this.expireAfterWriteNanos = TimeUnit.MILLISECONDS.toNanos(expireAfterWrite);
+        this.expireAfterAccessNanos = TimeUnit.MILLISECONDS.toNanos(expireAfterAccess);
+        this.cache = new ConcurrentHashMap<>();
+        this.queue = ConcurrentDirectDeque.newInstance();
+        this.sketch = new FrequencySketch(maxEntries);
+        this.removeCallback = removeCallback;
+    }
+
+    /**
+     * Returns the number of lookups that found an unexpired entry.
+     * @return a number of cache hits
+     */
+    public long getHitCount() {
+        return this.hits.sum();
+    }
+
+    /**
+     * Returns the number of lookups that found no entry, or an expired entry.
+     * @return a number of cache misses
+     */
+    public long getMissCount() {
+        return this.misses.sum();
+    }
+
+    /**
+     * Returns the number of entries removed due to capacity or expiration.
+     * @return a number of evicted entries
+     */
+    public long getEvictionCount() {
+        return this.evictions.sum();
+    }
+
+    @Override
+    public V get(Object key) {
+        CacheEntry<K, V> entry = this.cache.get(key);
+        long now = System.nanoTime();
+        if ((entry == null) || this.isExpired(entry, now)) {
+            if (entry != null) {
+                this.evict(entry);
+            }
+            this.misses.increment();
+            this.sketch.increment(key);
+            return null;
+        }
+        this.hits.increment();
+        if (this.expireAfterAccessNanos > 0) {
+            entry.accessTime = now;
+        }
+        if (entry.hit() % SAMPLE_INTERVAL == 0) {
+            this.sketch.increment(key);
+        }
+        return entry.getValue();
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        CacheEntry<K, V> entry = this.cache.get(key);
+        return (entry != null) && !this.isExpired(entry, System.nanoTime());
+    }
+
+    @Override
+    public V put(K key, V value) {
+        return this.put(key, value, false);
+    }
+
+    @Override
+    public V putIfAbsent(K key, V value) {
+        return this.put(key, value, true);
+    }
+
+    private V put(K key, V value, boolean ifAbsent) {
+        long now = System.nanoTime();
+        CacheEntry<K, V> entry = this.cache.get(key);
+        if (entry != null) {
+            if (!this.isExpired(entry, now)) {
+                if (ifAbsent) {
+                    return entry.getValue();
+                }
+                entry.writeTime = now;
+                entry.accessTime = now;
+                return entry.setValue(value);
+            }
+            this.evict(entry);
+        }
+
+        if ((this.cache.size() >= this.maxEntries) && !this.admit(key, now)) {
+            // Rejected by admission policy
+            // The value was never cached, so it is not subject to the remove callback, which would otherwise e.g. logout a fresh login
+            return null;
+        }
+
+        CacheEntry<K, V> newEntry = new CacheEntry<>(key, value, now);
+        if (this.cache.putIfAbsent(key, newEntry) != null) {
+            return this.put(key, value, ifAbsent);
+        }
+        this.enqueue(newEntry);
+        return null;
+    }
+
+    /**
+     * Evicts entries from the head of the queue until the cache has capacity for the specified candidate key.
+     * @param key the key of a candidate entry
+     * @param now the current time in nanoseconds
+     * @return true, if the candidate should be admitted, false if the oldest entry is accessed more frequently than the candidate
+     */
+    private boolean admit(K key, long now) {
+        int frequency = this.sketch.frequency(key);
+        while (this.cache.size() >= this.maxEntries) {
+            CacheEntry<K, V> victim = this.queue.poll();
+            if (victim == null) {
+                // Queue was concurrently drained
+                break;
+            }
+            if (this.cache.get(victim.key()) != victim) {
+                // Already removed
+                continue;
+            }
+            if (!this.isExpired(victim, now) && (this.sketch.frequency(victim.key()) > frequency)) {
+                this.enqueue(victim);
+                return false;
+            }
+            this.evict(victim);
+        }
+        return true;
+    }
+
+    private void enqueue(CacheEntry<K, V> entry) {
+        Object token = this.queue.offerLastAndReturnToken(entry);
+        entry.token = token;
+        // Handle race with concurrent removal
+        if (this.cache.get(entry.key()) != entry) {
+            this.queue.removeToken(token);
+        }
+    }
+
+    private void evict(CacheEntry<K, V> entry) {
+        if (this.remove(entry) != null) {
+            this.evictions.increment();
+        }
+    }
+
+    private CacheEntry<K, V> remove(CacheEntry<K, V> entry) {
+        if (!this.cache.remove(entry.key(), entry)) {
+            return null;
+        }
+        Object token = entry.token;
+        if (token != null) {
+            this.queue.removeToken(token);
+        }
+        if (this.removeCallback != null) {
+            this.removeCallback.afterRemove(entry.key(), entry.getValue());
+        }
+        return entry;
+    }
+
+    private boolean isExpired(CacheEntry<K, V> entry, long now) {
+        return ((this.expireAfterWriteNanos > 0) && (now - entry.writeTime >= this.expireAfterWriteNanos))
+                || ((this.expireAfterAccessNanos > 0) && (now - entry.accessTime >= this.expireAfterAccessNanos));
+    }
+
+    @Override
+    public V replace(K key, V value) {
+        CacheEntry<K, V> entry = this.cache.get(key);
+        if ((entry == null) || this.isExpired(entry, System.nanoTime())) {
+            return null;
+        }
+        V old = entry.setValue(value);
+        if (this.removeCallback != null) {
+            this.removeCallback.afterRemove(key, old);
+        }
+        return old;
+    }
+
+    @Override
+    public boolean replace(K key, V oldValue, V newValue) {
+        CacheEntry<K, V> entry = this.cache.get(key);
+        if ((entry == null) || this.isExpired(entry, System.nanoTime()) || !entry.setValue(oldValue, newValue)) {
+            return false;
+        }
+        if (this.removeCallback != null) {
+            this.removeCallback.afterRemove(key, oldValue);
+        }
+        return true;
+    }
+
+    @Override
+    public V remove(Object key) {
+        CacheEntry<K, V> entry = this.cache.get(key);
+        return ((entry != null) && (this.remove(entry) != null)) ? entry.getValue() : null;
+    }
+
+    @Override
+    public boolean remove(Object key, Object value) {
+        CacheEntry<K, V> entry = this.cache.get(key);
+        if ((entry == null) || (entry.getValue() != value) || !this.cache.remove(key, entry)) {
+            return false;
+        }
+        Object token = entry.token;
+        if (token != null) {
+            this.queue.removeToken(token);
+        }
+        return true;
+    }
+
+    @Override
+    public void clear() {
+        if (this.removeCallback == null) {
+            this.cache.clear();
+            this.queue.clear();
+        } else {
+            for (CacheEntry<K, V> entry : this.cache.values()) {
+                this.remove(entry);
+            }
+        }
+    }
+
+    @Override
+    public int size() {
+        return this.cache.size();
+    }
+
+    @Override
+    public Set<Entry<K, V>> entrySet() {
+        return new EntrySet();
+    }
+
+    private static final class CacheEntry<K, V> {
+        private static final AtomicIntegerFieldUpdater<CacheEntry> hitsUpdater = AtomicIntegerFieldUpdater.newUpdater(CacheEntry.class, "hits");
+        private static final AtomicReferenceFieldUpdater<CacheEntry, Object> valueUpdater = AtomicReferenceFieldUpdater.newUpdater(CacheEntry.class, Object.class, "value");
+
+        private final K key;
+        private volatile V value;
+        private volatile int hits = 0;
+        volatile long writeTime;
+        volatile long accessTime;
+        volatile Object token;
+
+        CacheEntry(K key, V value, long now) {
+            this.key = key;
+            this.value = value;
+            this.writeTime = now;
+            this.accessTime = now;
+        }
+
+        K key() {
+            return this.key;
+        }
+
+        V getValue() {
+            return this.value;
+        }
+
+        V setValue(V value) {
+            V old = this.value;
+            this.value = value;
+            return old;
+        }
+
+        boolean setValue(V oldValue, V newValue) {
+            return valueUpdater.compareAndSet(this, oldValue, newValue);
+        }
+
+        int hit() {
+            return hitsUpdater.incrementAndGet(this);
+        }
+
+        @Override
+        public String toString() {
+            return this.key.toString();
+        }
+    }
+
+    private class EntrySet extends AbstractSet<Entry<K, V>> {
+
+        @Override
+        public Iterator<Entry<K, V>> iterator() {
+            return new EntryIterator(BoundedExpiringCache.this.cache.values().iterator());
+        }
+
+        @Override
+        public int size() {
+            return BoundedExpiringCache.this.size();
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            if (!(o instanceof Entry)) return false;
+            Entry<?, ?> e = (Entry<?, ?>) o;
+            CacheEntry<K, V> entry = BoundedExpiringCache.this.cache.get(e.getKey());
+            return (entry != null) && !BoundedExpiringCache.this.isExpired(entry, System.nanoTime()) && entry.getValue().equals(e.getValue());
+        }
+
+        @Override
+        public boolean remove(Object o) {
+            if (!(o instanceof Entry)) return false;
+            Entry<?, ?> e = (Entry<?, ?>) o;
+            return BoundedExpiringCache.this.remove(e.getKey()) != null;
+        }
+
+        @Override
+        public void clear() {
+            BoundedExpiringCache.this.clear();
+        }
+    }
+
+    /**
+     * Iterates over the unexpired entries of this cache.
+     */
+    private class EntryIterator implements Iterator<Entry<K, V>> {
+        private final Iterator<CacheEntry<K, V>> entries;
+        private CacheEntry<K, V> next;
+        private CacheEntry<K, V> last;
+
+        EntryIterator(Iterator<CacheEntry<K, V>> entries) {
+            this.entries = entries;
+        }
+
+        @Override
+        public boolean hasNext() {
+            long now = System.nanoTime();
+            while ((this.next == null) && this.entries.hasNext()) {
+                CacheEntry<K, V> entry = this.entries.next();
+                if (!BoundedExpiringCache.this.isExpired(entry, now)) {
+                    this.next = entry;
+                }
+            }
+            return this.next != null;
+        }
+
+        @Override
+        public Entry<K, V> next() {
+            if (!this.hasNext()) {
+                throw new NoSuchElementException();
+            }
+            CacheEntry<K, V> entry = this.next;
+            this.last = entry;
+            this.next = null;
+            return new Entry<K, V>() {
+                @Override
+                public K getKey() {
+                    return entry.key();
+                }
+
+                @Override
+                public V getValue() {
+                    return entry.getValue();
+                }
+
+                @Override
+                public V setValue(V value) {
+                    return entry.setValue(value);
+                }
+            };
+        }
+
+        @Override
+        public void remove() {
+            if (this.last == null) {
+                throw new IllegalStateException("next() not called");
+            }
+            BoundedExpiringCache.this.remove(this.last);
+            this.last = null;
+        }
+    }
+}
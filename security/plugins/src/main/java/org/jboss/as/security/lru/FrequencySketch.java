@@ -0,0 +1,127 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.security.lru;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A probabilistic multiset of recently accessed keys, used to estimate the access frequency of a key.
+ * <p/>
+ * <p>Implemented as a count-min sketch of 4-bit counters, 16 of which are packed into each long.
+ * To favor recent popularity, all counters are halved once the number of recorded accesses reaches a sample size
+ * proportional to the maximum number of cache entries.</p>
+ * <p/>
+ */
+class FrequencySketch {
+    private static final long[] SEEDS = new long[] { 0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L };
+    private static final long RESET_MASK = 0x7777777777777777L;
+    private static final int MAX_FREQUENCY = 15;
+
+    private final AtomicLongArray table;
+    private final int mask;
+    private final int sampleSize;
+    private final AtomicInteger size = new AtomicInteger();
+
+    FrequencySketch(int maxEntries) {
+        int length = Integer.highestOneBit(Math.max(maxEntries, 8) - 1) << 1;
+        this.table = new AtomicLongArray(length);
+        this.mask = length - 1;
+        this.sampleSize = (maxEntries <= Integer.MAX_VALUE / 10) ? maxEntries * 10 : Integer.MAX_VALUE;
+    }
+
+    /**
+     * Returns the estimated number of recorded accesses of the specified key, up to a maximum of 15.
+     * @param key a cache key
+     * @return the estimated access frequency of the key
+     */
+    int frequency(Object key) {
+        int hash = spread(key.hashCode());
+        int frequency = MAX_FREQUENCY;
+        for (int i = 0; i < SEEDS.length; ++i) {
+            int index = this.indexOf(hash, i);
+            int shift = offsetOf(hash, i);
+            frequency = Math.min(frequency, (int) ((this.table.get(index) >>> shift) & MAX_FREQUENCY));
+        }
+        return frequency;
+    }
+
+    /**
+     * Records an access of the specified key.
+     * @param key a cache key
+     */
+    void increment(Object key) {
+        int hash = spread(key.hashCode());
+        boolean incremented = false;
+        for (int i = 0; i < SEEDS.length; ++i) {
+            incremented |= this.increment(this.indexOf(hash, i), offsetOf(hash, i));
+        }
+        if (incremented && (this.size.incrementAndGet() == this.sampleSize)) {
+            this.reset();
+        }
+    }
+
+    private boolean increment(int index, int shift) {
+        for (;;) {
+            long value = this.table.get(index);
+            if (((value >>> shift) & MAX_FREQUENCY) == MAX_FREQUENCY) {
+                return false;
+            }
+            if (this.table.compareAndSet(index, value, value + (1L << shift))) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Halves every counter, so that the frequency of keys that are no longer accessed decays over time.
+     */
+    private void reset() {
+        for (int i = 0; i < this.table.length(); ++i) {
+            for (;;) {
+                long value = this.table.get(i);
+                if (this.table.compareAndSet(i, value, (value >>> 1) & RESET_MASK)) {
+                    break;
+                }
+            }
+        }
+        this.size.addAndGet(-(this.sampleSize >>> 1));
+    }
+
+    private int indexOf(int hash, int i) {
+        long h = (hash + SEEDS[i]) * SEEDS[i];
+        h += h >>> 32;
+        return ((int) h >>> 4) & this.mask;
+    }
+
+    private static int offsetOf(int hash, int i) {
+        // Each row of the sketch uses a different counter within the selected long
+        return (((hash >>> (i << 3)) & 3) + (i << 2)) << 2;
+    }
+
+    private static int spread(int hash) {
+        int h = ((hash >>> 16) ^ hash) * 0x45d9f3b;
+        h = ((h >>> 16) ^ h) * 0x45d9f3b;
+        return (h >>> 16) ^ h;
+    }
+}
@@ -23,9 +23,8 @@
 package org.jboss.as.security.plugins;
 
 import java.security.Principal;
-import java.util.concurrent.ConcurrentMap;
 
-import org.jboss.as.security.lru.LRUCache;
+import org.jboss.as.security.lru.BoundedExpiringCache;
 import org.jboss.security.authentication.JBossCachedAuthenticationManager.DomainInfo;
 
 /**
@@ -35,13 +34,36 @@ import org.jboss.security.authentication.JBossCachedAuthenticationManager.Domain
  */
 public class DefaultAuthenticationCacheFactory implements AuthenticationCacheFactory {
 
+    public static final int DEFAULT_MAX_ENTRIES = 1000;
+
+    private final int maxEntries;
+    private final long expireAfterWrite;
+    private final long expireAfterAccess;
+
+    public DefaultAuthenticationCacheFactory() {
+        this(DEFAULT_MAX_ENTRIES, 0, 0);
+    }
+
+    /**
+     * Creates a factory for bounded authentication caches.
+     *
+     * @param maxEntries the maximum number of cached principals
+     * @param expireAfterWrite the number of milliseconds after which a cached principal expires following its authentication, or 0 for no expiration
+     * @param expireAfterAccess the number of milliseconds after which a cached principal expires following its last use, or 0 for no expiration
+     */
+    public DefaultAuthenticationCacheFactory(int maxEntries, long expireAfterWrite, long expireAfterAccess) {
+        this.maxEntries = maxEntries;
+        this.expireAfterWrite = expireAfterWrite;
+        this.expireAfterAccess = expireAfterAccess;
+    }
+
     /**
      * Returns a default cache implementation
      *
      * @return cache implementation
      */
-    public ConcurrentMap<Principal, DomainInfo> getCache() {
-        return new LRUCache<>(1000, (key, value) -> {
+    public BoundedExpiringCache<Principal, DomainInfo> getCache() {
+        return new BoundedExpiringCache<>(this.maxEntries, this.expireAfterWrite, this.expireAfterAccess, (key, value) -> {
             if (value != null) {
                 value.logout();
             }
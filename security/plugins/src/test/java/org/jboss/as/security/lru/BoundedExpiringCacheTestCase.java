@@ -0,0 +1,175 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.security.lru;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+/**
+ * Unit test for {@link BoundedExpiringCache}.
+ */
+public class BoundedExpiringCacheTestCase {
+
+    @Test
+    public void admission() {
+        Map<String, String> removed = new ConcurrentHashMap<>();
+        BoundedExpiringCache<String, String> cache = new BoundedExpiringCache<>(2, 0, 0, removed::put);
+        cache.put("a", "A");
+        cache.put("b", "B");
+        // Make "a" frequently accessed
+        for (int i = 0; i < 50; ++i) {
+            assertEquals("A", cache.get("a"));
+        }
+
+        // A rarely used candidate should not displace the frequently accessed oldest entry
+        assertNull(cache.put("c", "C"));
+        assertFalse(cache.containsKey("c"));
+        assertTrue(cache.containsKey("a"));
+        assertTrue(cache.containsKey("b"));
+        // A rejected value was never cached, so must not be passed to the remove callback
+        assertTrue(removed.isEmpty());
+        assertEquals(0, cache.getEvictionCount());
+
+        // A frequently requested candidate displaces the least frequently accessed entry
+        for (int i = 0; i < 20; ++i) {
+            assertNull(cache.get("d"));
+        }
+        cache.put("d", "D");
+        assertTrue(cache.containsKey("a"));
+        assertFalse(cache.containsKey("b"));
+        assertTrue(cache.containsKey("d"));
+        assertEquals(1, removed.size());
+        assertEquals("B", removed.get("b"));
+        assertEquals(1, cache.getEvictionCount());
+    }
+
+    @Test
+    public void expireAfterWrite() throws InterruptedException {
+        Map<String, String> removed = new ConcurrentHashMap<>();
+        BoundedExpiringCache<String, String> cache = new BoundedExpiringCache<>(10, 100, 0, removed::put);
+        cache.put("a", "A");
+        assertEquals("A", cache.get("a"));
+        assertEquals(1, cache.getHitCount());
+
+        TimeUnit.MILLISECONDS.sleep(200);
+
+        assertFalse(cache.containsKey("a"));
+        assertNull(cache.get("a"));
+        assertEquals(1, cache.getMissCount());
+        assertEquals(1, cache.getEvictionCount());
+        assertEquals("A", removed.get("a"));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void expireAfterAccess() throws InterruptedException {
+        BoundedExpiringCache<String, String> cache = new BoundedExpiringCache<>(10, 0, 500, null);
+        cache.put("a", "A");
+        // Each access extends the lifetime of the entry
+        for (int i = 0; i < 3; ++i) {
+            TimeUnit.MILLISECONDS.sleep(250);
+            assertEquals("A", cache.get("a"));
+        }
+        TimeUnit.MILLISECONDS.sleep(1000);
+        assertNull(cache.get("a"));
+    }
+
+    @Test
+    public void removeCallback() {
+        Map<String, String> removed = new ConcurrentHashMap<>();
+        BoundedExpiringCache<String, String> cache = new BoundedExpiringCache<>(10, 0, 0, removed::put);
+        cache.put("a", "A");
+        cache.put("b", "B");
+        cache.put("c", "C");
+
+        assertEquals("A", cache.remove("a"));
+        assertEquals("A", removed.get("a"));
+
+        // Replaced values are passed to the callback
+        assertEquals("B", cache.replace("b", "B2"));
+        assertEquals("B", removed.get("b"));
+
+        cache.clear();
+        assertEquals("B2", removed.get("b"));
+        assertEquals("C", removed.get("c"));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void concurrent() throws Exception {
+        int maxEntries = 100;
+        int threads = 8;
+        Map<Integer, Integer> removed = new ConcurrentHashMap<>();
+        BoundedExpiringCache<Integer, Integer> cache = new BoundedExpiringCache<>(maxEntries, 0, 0, removed::put);
+        Callable<Void> task = () -> {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            for (int i = 0; i < 10000; ++i) {
+                // Skew keys, such that some are accessed more frequently than others
+                int key = random.nextInt(random.nextInt(1000) + 1);
+                Integer value = cache.get(key);
+                if (value == null) {
+                    cache.putIfAbsent(key, key * 2);
+                } else {
+                    assertEquals(key * 2, value.intValue());
+                }
+            }
+            return null;
+        };
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<Void>> futures = new ArrayList<>(threads);
+            for (int i = 0; i < threads; ++i) {
+                futures.add(executor.submit(task));
+            }
+            for (Future<Void> future : futures) {
+                future.get(1, TimeUnit.MINUTES);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        // Concurrent puts may transiently exceed capacity by at most one entry per thread
+        assertTrue(cache.size() <= maxEntries + threads);
+        for (Map.Entry<Integer, Integer> entry : cache.entrySet()) {
+            assertEquals(entry.getKey() * 2, entry.getValue().intValue());
+        }
+        for (Map.Entry<Integer, Integer> entry : removed.entrySet()) {
+            assertEquals(entry.getKey() * 2, entry.getValue().intValue());
+        }
+        assertTrue(cache.getHitCount() > 0);
+        assertTrue(cache.getEvictionCount() > 0);
+    }
+}
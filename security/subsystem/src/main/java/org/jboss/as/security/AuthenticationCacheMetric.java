@@ -0,0 +1,85 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.security;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.jboss.as.controller.AttributeDefinition;
+import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
+import org.jboss.as.controller.registry.AttributeAccess;
+import org.jboss.as.security.lru.BoundedExpiringCache;
+import org.jboss.dmr.ModelNode;
+import org.jboss.dmr.ModelType;
+
+/**
+ * Runtime metrics of the default authentication cache of a security domain.
+ */
+enum AuthenticationCacheMetric {
+
+    HIT_COUNT(Constants.CACHE_HIT_COUNT) {
+        @Override
+        ModelNode execute(BoundedExpiringCache<?, ?> cache) {
+            return new ModelNode(cache.getHitCount());
+        }
+    },
+    MISS_COUNT(Constants.CACHE_MISS_COUNT) {
+        @Override
+        ModelNode execute(BoundedExpiringCache<?, ?> cache) {
+            return new ModelNode(cache.getMissCount());
+        }
+    },
+    EVICTION_COUNT(Constants.CACHE_EVICTION_COUNT) {
+        @Override
+        ModelNode execute(BoundedExpiringCache<?, ?> cache) {
+            return new ModelNode(cache.getEvictionCount());
+        }
+    },
+    ;
+    private static final Map<String, AuthenticationCacheMetric> METRICS = new HashMap<>();
+    static {
+        for (AuthenticationCacheMetric metric : values()) {
+            METRICS.put(metric.definition.getName(), metric);
+        }
+    }
+
+    private final AttributeDefinition definition;
+
+    AuthenticationCacheMetric(String name) {
+        this.definition = new SimpleAttributeDefinitionBuilder(name, ModelType.LONG)
+                .setUndefinedMetricValue(new ModelNode(0L))
+                .setFlags(AttributeAccess.Flag.COUNTER_METRIC)
+                .setStorageRuntime()
+                .build();
+    }
+
+    AttributeDefinition getDefinition() {
+        return this.definition;
+    }
+
+    abstract ModelNode execute(BoundedExpiringCache<?, ?> cache);
+
+    static AuthenticationCacheMetric forName(String name) {
+        return METRICS.get(name);
+    }
+}
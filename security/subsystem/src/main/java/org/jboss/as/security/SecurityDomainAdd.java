@@ -81,6 +81,7 @@ import org.jboss.as.controller.PathAddress;
 import org.jboss.as.controller.registry.Resource;
 import org.jboss.as.naming.deployment.ContextNames;
 import org.jboss.as.security.logging.SecurityLogger;
+import org.jboss.as.security.plugins.DefaultAuthenticationCacheFactory;
 import org.jboss.as.security.plugins.SecurityDomainContext;
 import org.jboss.as.security.service.JaasConfigurationService;
 import org.jboss.as.security.service.SecurityDomainService;
@@ -135,7 +136,7 @@ class SecurityDomainAdd extends AbstractAddStepHandler {
      * Private to ensure a singleton.
      */
     private SecurityDomainAdd() {
-        super(SecurityDomainResourceDefinition.CACHE_TYPE);
+        super(SecurityDomainResourceDefinition.ATTRIBUTES);
     }
 
     @Override
@@ -171,8 +172,13 @@ class SecurityDomainAdd extends AbstractAddStepHandler {
         final JSSESecurityDomain jsseSecurityDomain = createJSSESecurityDomain(context, securityDomain, model);
         final String cacheType = getAuthenticationCacheType(model);
 
+        final DefaultAuthenticationCacheFactory defaultCacheFactory = new DefaultAuthenticationCacheFactory(
+                SecurityDomainResourceDefinition.CACHE_MAX_ENTRIES.resolveModelAttribute(context, model).asInt(),
+                SecurityDomainResourceDefinition.CACHE_EXPIRE_AFTER_WRITE.resolveModelAttribute(context, model).asLong(),
+                SecurityDomainResourceDefinition.CACHE_EXPIRE_AFTER_ACCESS.resolveModelAttribute(context, model).asLong());
+
         final SecurityDomainService securityDomainService = new SecurityDomainService(securityDomain,
-                applicationPolicy, jsseSecurityDomain, cacheType);
+                applicationPolicy, jsseSecurityDomain, cacheType, defaultCacheFactory);
         final ServiceTarget target = context.getServiceTarget();
         ServiceBuilder<SecurityDomainContext> builder = target
                 .addService(SecurityDomainService.SERVICE_NAME.append(securityDomain), securityDomainService)
@@ -53,6 +53,8 @@ public class SecurityDomainReloadWriteHandler extends RestartParentWriteAttribut
     // TODO: Remove this method once WFCORE-3055 and WFCORE-3056 are fixed
     @Override
     protected void validateUpdatedModel(OperationContext context, Resource model) throws OperationFailedException {
-        SecurityDomainResourceDefinition.CACHE_TYPE.validateOperation(model.getModel());
+        for (AttributeDefinition attribute : SecurityDomainResourceDefinition.ATTRIBUTES) {
+            attribute.validateOperation(model.getModel());
+        }
     }
 }
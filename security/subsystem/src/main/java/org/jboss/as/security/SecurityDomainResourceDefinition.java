@@ -32,8 +32,10 @@ import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
 
 import org.jboss.as.controller.AbstractRuntimeOnlyHandler;
+import org.jboss.as.controller.AttributeDefinition;
 import org.jboss.as.controller.OperationContext;
 import org.jboss.as.controller.OperationFailedException;
+import org.jboss.as.controller.OperationStepHandler;
 import org.jboss.as.controller.PathAddress;
 import org.jboss.as.controller.ServiceRemoveStepHandler;
 import org.jboss.as.controller.SimpleAttributeDefinition;
@@ -46,11 +48,17 @@ import org.jboss.as.controller.access.management.AccessConstraintDefinition;
 import org.jboss.as.controller.access.management.ApplicationTypeAccessConstraintDefinition;
 import org.jboss.as.controller.access.management.SensitiveTargetAccessConstraintDefinition;
 import org.jboss.as.controller.capability.RuntimeCapability;
+import org.jboss.as.controller.client.helpers.MeasurementUnit;
+import org.jboss.as.controller.descriptions.ModelDescriptionConstants;
 import org.jboss.as.controller.operations.common.Util;
+import org.jboss.as.controller.operations.validation.IntRangeValidator;
+import org.jboss.as.controller.operations.validation.LongRangeValidator;
 import org.jboss.as.controller.operations.validation.StringAllowedValuesValidator;
 import org.jboss.as.controller.registry.ManagementResourceRegistration;
 import org.jboss.as.controller.registry.OperationEntry;
 import org.jboss.as.security.logging.SecurityLogger;
+import org.jboss.as.security.lru.BoundedExpiringCache;
+import org.jboss.as.security.plugins.DefaultAuthenticationCacheFactory;
 import org.jboss.as.security.plugins.SecurityDomainContext;
 import org.jboss.as.security.service.SecurityDomainService;
 import org.jboss.dmr.ModelNode;
@@ -78,6 +86,28 @@ class SecurityDomainResourceDefinition extends SimpleResourceDefinition {
             .setValidator(new StringAllowedValuesValidator("default", INFINISPAN_CACHE_TYPE))
             .build();
 
+    public static final SimpleAttributeDefinition CACHE_MAX_ENTRIES = new SimpleAttributeDefinitionBuilder(Constants.CACHE_MAX_ENTRIES, ModelType.INT, true)
+            .setAllowExpression(true)
+            .setDefaultValue(new ModelNode(DefaultAuthenticationCacheFactory.DEFAULT_MAX_ENTRIES))
+            .setValidator(new IntRangeValidator(1, true, true))
+            .build();
+
+    public static final SimpleAttributeDefinition CACHE_EXPIRE_AFTER_WRITE = new SimpleAttributeDefinitionBuilder(Constants.CACHE_EXPIRE_AFTER_WRITE, ModelType.LONG, true)
+            .setAllowExpression(true)
+            .setDefaultValue(new ModelNode(0L))
+            .setMeasurementUnit(MeasurementUnit.MILLISECONDS)
+            .setValidator(new LongRangeValidator(0, Long.MAX_VALUE, true, true))
+            .build();
+
+    public static final SimpleAttributeDefinition CACHE_EXPIRE_AFTER_ACCESS = new SimpleAttributeDefinitionBuilder(Constants.CACHE_EXPIRE_AFTER_ACCESS, ModelType.LONG, true)
+            .setAllowExpression(true)
+            .setDefaultValue(new ModelNode(0L))
+            .setMeasurementUnit(MeasurementUnit.MILLISECONDS)
+            .setValidator(new LongRangeValidator(0, Long.MAX_VALUE, true, true))
+            .build();
+
+    static final AttributeDefinition[] ATTRIBUTES = { CACHE_TYPE, CACHE_MAX_ENTRIES, CACHE_EXPIRE_AFTER_WRITE, CACHE_EXPIRE_AFTER_ACCESS };
+
     private final boolean registerRuntimeOnly;
     private final List<AccessConstraintDefinition> accessConstraints;
 
@@ -110,7 +140,15 @@ class SecurityDomainResourceDefinition extends SimpleResourceDefinition {
 
     @Override
     public void registerAttributes(final ManagementResourceRegistration resourceRegistration) {
-        resourceRegistration.registerReadWriteAttribute(CACHE_TYPE, null, new SecurityDomainReloadWriteHandler(CACHE_TYPE));
+        SecurityDomainReloadWriteHandler handler = new SecurityDomainReloadWriteHandler(ATTRIBUTES);
+        for (AttributeDefinition attribute : ATTRIBUTES) {
+            resourceRegistration.registerReadWriteAttribute(attribute, null, handler);
+        }
+        if (registerRuntimeOnly) {
+            for (AuthenticationCacheMetric metric : AuthenticationCacheMetric.values()) {
+                resourceRegistration.registerMetric(metric.getDefinition(), AuthenticationCacheMetricHandler.INSTANCE);
+            }
+        }
     }
 
     @Override
@@ -142,6 +180,23 @@ class SecurityDomainResourceDefinition extends SimpleResourceDefinition {
                 .getRequiredService(SecurityDomainService.SERVICE_NAME.append(securityDomain));
     }
 
+    private static class AuthenticationCacheMetricHandler implements OperationStepHandler {
+        static final AuthenticationCacheMetricHandler INSTANCE = new AuthenticationCacheMetricHandler();
+
+        @Override
+        public void execute(OperationContext context, ModelNode operation) throws OperationFailedException {
+            ServiceController<?> controller = context.getServiceRegistry(false).getService(SecurityDomainService.SERVICE_NAME.append(context.getCurrentAddressValue()));
+            if (controller == null || controller.getState() != ServiceController.State.UP) {
+                return;
+            }
+            BoundedExpiringCache<?, ?> cache = ((SecurityDomainService) controller.getService()).getAuthenticationCache();
+            if (cache != null) {
+                AuthenticationCacheMetric metric = AuthenticationCacheMetric.forName(operation.get(ModelDescriptionConstants.NAME).asString());
+                context.getResult().set(metric.execute(cache));
+            }
+        }
+    }
+
     static class ListCachePrincipals extends AbstractRuntimeOnlyHandler {
         static final ListCachePrincipals INSTANCE = new ListCachePrincipals();
         static final SimpleOperationDefinition DEFINITION = new SimpleOperationDefinitionBuilder(Constants.LIST_CACHED_PRINCIPALS,
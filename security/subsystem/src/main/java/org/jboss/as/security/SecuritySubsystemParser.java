@@ -211,6 +211,8 @@ public class SecuritySubsystemParser implements XMLStreamConstants, XMLElementRe
         list.add(op);
         PathElement secDomainPath = null;
         EnumSet<Attribute> required = EnumSet.of(Attribute.NAME);
+        // the authentication cache settings were introduced in version 3.0 of the schema.
+        final boolean cacheSettingsAllowed = Namespace.forUri(reader.getNamespaceURI()).compareTo(Namespace.SECURITY_3_0) >= 0;
         final int count = reader.getAttributeCount();
         for (int i = 0; i < count; i++) {
             requireNoNamespaceAttribute(reader, i);
@@ -229,6 +231,27 @@ public class SecuritySubsystemParser implements XMLStreamConstants, XMLElementRe
                     SecurityDomainResourceDefinition.CACHE_TYPE.parseAndSetParameter(value, op, reader);
                     break;
                 }
+                case CACHE_MAX_ENTRIES: {
+                    if (!cacheSettingsAllowed) {
+                        throw unexpectedAttribute(reader, i);
+                    }
+                    SecurityDomainResourceDefinition.CACHE_MAX_ENTRIES.parseAndSetParameter(value, op, reader);
+                    break;
+                }
+                case CACHE_EXPIRE_AFTER_WRITE: {
+                    if (!cacheSettingsAllowed) {
+                        throw unexpectedAttribute(reader, i);
+                    }
+                    SecurityDomainResourceDefinition.CACHE_EXPIRE_AFTER_WRITE.parseAndSetParameter(value, op, reader);
+                    break;
+                }
+                case CACHE_EXPIRE_AFTER_ACCESS: {
+                    if (!cacheSettingsAllowed) {
+                        throw unexpectedAttribute(reader, i);
+                    }
+                    SecurityDomainResourceDefinition.CACHE_EXPIRE_AFTER_ACCESS.parseAndSetParameter(value, op, reader);
+                    break;
+                }
                 default:
                     throw unexpectedAttribute(reader, i);
             }
@@ -45,7 +45,8 @@ import org.jboss.staxmapper.XMLExtendedStreamReader;
 
 /**
  * This class implements a parser for the 2.0 version of legacy security subsystem. It extends the {@link SecuritySubsystemParser}
- * and adds support for the {@code elytron-integration} section of the schema.
+ * and adds support for the {@code elytron-integration} section of the schema. As the 3.0 version of the schema only adds the
+ * authentication cache attributes of a security domain, which are handled by the base parser, this parser is also used for 3.0.
  *
  * @author <a href="mailto:sguilhen@redhat.com">Stefan Guilhen</a>
  */
@@ -22,12 +22,14 @@
 
 package org.jboss.as.security.service;
 
+import java.security.Principal;
 import java.util.concurrent.ConcurrentMap;
 
 import javax.security.auth.login.Configuration;
 
 import org.jboss.as.security.SecurityExtension;
 import org.jboss.as.security.logging.SecurityLogger;
+import org.jboss.as.security.lru.BoundedExpiringCache;
 import org.jboss.as.security.plugins.AuthenticationCacheFactory;
 import org.jboss.as.security.plugins.DefaultAuthenticationCacheFactory;
 import org.jboss.as.security.plugins.JNDIBasedSecurityManagement;
@@ -41,6 +43,7 @@ import org.jboss.msc.service.StopContext;
 import org.jboss.msc.value.InjectedValue;
 import org.jboss.security.ISecurityManagement;
 import org.jboss.security.JSSESecurityDomain;
+import org.jboss.security.authentication.JBossCachedAuthenticationManager.DomainInfo;
 import org.jboss.security.config.ApplicationPolicy;
 import org.jboss.security.config.ApplicationPolicyRegistration;
 
@@ -69,12 +72,22 @@ public class SecurityDomainService implements Service<SecurityDomainContext> {
 
     private final String cacheType;
 
+    private final DefaultAuthenticationCacheFactory defaultCacheFactory;
+
+    private volatile BoundedExpiringCache<Principal, DomainInfo> authenticationCache;
+
     public SecurityDomainService(String name, ApplicationPolicy applicationPolicy, JSSESecurityDomain jsseSecurityDomain,
             String cacheType) {
+        this(name, applicationPolicy, jsseSecurityDomain, cacheType, new DefaultAuthenticationCacheFactory());
+    }
+
+    public SecurityDomainService(String name, ApplicationPolicy applicationPolicy, JSSESecurityDomain jsseSecurityDomain,
+            String cacheType, DefaultAuthenticationCacheFactory defaultCacheFactory) {
         this.name = name;
         this.applicationPolicy = applicationPolicy;
         this.jsseSecurityDomain = jsseSecurityDomain;
         this.cacheType = cacheType;
+        this.defaultCacheFactory = defaultCacheFactory;
     }
 
     /** {@inheritDoc} */
@@ -91,7 +104,9 @@ public class SecurityDomainService implements Service<SecurityDomainContext> {
         if ("infinispan".equals(cacheType)) {
             cacheFactory = () -> this.cacheValue.getValue();
         } else if ("default".equals(cacheType)) {
-            cacheFactory = new DefaultAuthenticationCacheFactory();
+            BoundedExpiringCache<Principal, DomainInfo> cache = this.defaultCacheFactory.getCache();
+            this.authenticationCache = cache;
+            cacheFactory = () -> cache;
         }
         SecurityDomainContext sdc;
         try {
@@ -122,6 +137,15 @@ public class SecurityDomainService implements Service<SecurityDomainContext> {
         applicationPolicyRegistration.removeApplicationPolicy(name);
     }
 
+    /**
+     * Returns the authentication cache of this security domain, if it uses the default cache type.
+     *
+     * @return the default authentication cache, or {@code null} if this security domain uses no cache or an Infinispan cache
+     */
+    public BoundedExpiringCache<Principal, DomainInfo> getAuthenticationCache() {
+        return authenticationCache;
+    }
+
     /** {@inheritDoc} */
     @Override
     public SecurityDomainContext getValue() throws IllegalStateException, IllegalArgumentException {
@@ -45,7 +45,7 @@ public class JSSEExpressionsUnitTestCase extends AbstractSubsystemBaseTest {
 
     @Override
     protected String getSubsystemXml() throws IOException {
-        return readResource("securityExpressions.xml");
+        return readResource("securityExpressions_3.0.xml");
     }
 
     @Override
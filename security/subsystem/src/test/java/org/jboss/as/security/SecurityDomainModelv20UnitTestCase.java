@@ -70,6 +70,11 @@ public class SecurityDomainModelv20UnitTestCase extends AbstractSubsystemBaseTes
         return "schema/wildfly-security_2_0.xsd";
     }
 
+    @Override
+    public void testSubsystem() throws Exception {
+        this.standardSubsystemTest(null, false);
+    }
+
     @Override
     protected Properties getResolvedProperties() {
         Properties properties = new Properties();
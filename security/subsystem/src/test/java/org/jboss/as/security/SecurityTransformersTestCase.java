@@ -51,7 +51,7 @@ public class SecurityTransformersTestCase extends AbstractSubsystemBaseTest {
 
     @Override
     protected String getSubsystemXml() throws IOException {
-        return readResource("securitysubsystemv20.xml");
+        return readResource("securitysubsystemv30.xml");
     }
 
 
@@ -73,6 +73,37 @@ public class SecurityTransformersTestCase extends AbstractSubsystemBaseTest {
         testTransformers(ModelTestControllerVersion.EAP_7_0_0);
     }
 
+    @Test
+    public void testTransformersEAP73() throws Exception {
+        ModelTestControllerVersion controllerVersion = ModelTestControllerVersion.EAP_7_3_0;
+        ModelVersion version = ModelVersion.create(2, 0, 0);
+        String mavenGav = String.format("%s:%s:%s", controllerVersion.getMavenGroupId(), "wildfly-security", controllerVersion.getMavenGavVersion());
+
+        testTransformers(controllerVersion, version, mavenGav);
+
+        KernelServicesBuilder builder = createKernelServicesBuilder(createAdditionalInitialization());
+        builder.createLegacyKernelServicesBuilder(null, controllerVersion, version)
+                .configureReverseControllerCheck(createAdditionalInitialization(), null)
+                .addMavenResourceURL(mavenGav)
+                .dontPersistXml();
+
+        KernelServices mainServices = builder.build();
+        Assert.assertTrue(mainServices.isSuccessfulBoot());
+        KernelServices legacyServices = mainServices.getLegacyServices(version);
+        Assert.assertNotNull(legacyServices);
+        Assert.assertTrue(legacyServices.isSuccessfulBoot());
+
+        // the authentication cache settings should get rejected as those are not supported in model version 2.0.0.
+        PathAddress subsystemAddress = PathAddress.pathAddress(PathElement.pathElement(SUBSYSTEM, getMainSubsystemName()));
+        ModelTestUtils.checkFailedTransformedBootOperations(mainServices, version,
+                builder.parseXmlResource("security-transformers-reject_3.0.xml"),
+                new FailedOperationTransformationConfig()
+                        .addFailedAttribute(PathAddress.pathAddress(subsystemAddress, PathElement.pathElement(Constants.SECURITY_DOMAIN, "other2")),
+                                new FailedOperationTransformationConfig.NewAttributesConfig(Constants.CACHE_MAX_ENTRIES, Constants.CACHE_EXPIRE_AFTER_WRITE, Constants.CACHE_EXPIRE_AFTER_ACCESS)));
+        legacyServices.shutdown();
+        mainServices.shutdown();
+    }
+
     private void testTransformers(ModelTestControllerVersion controllerVersion) throws Exception {
         ModelVersion version = ModelVersion.create(1, 3, 0);
 
@@ -108,8 +139,10 @@ public class SecurityTransformersTestCase extends AbstractSubsystemBaseTest {
         // any elytron-related resources in the model should get rejected as those are not supported in model version 1.3.0.
         PathAddress subsystemAddress = PathAddress.pathAddress(PathElement.pathElement(SUBSYSTEM, getMainSubsystemName()));
         ModelTestUtils.checkFailedTransformedBootOperations(mainServices, targetVersion,
-                builder.parseXmlResource("security-transformers-reject_2.0.xml"),
+                builder.parseXmlResource("security-transformers-reject_3.0.xml"),
                 new FailedOperationTransformationConfig()
+                        .addFailedAttribute(PathAddress.pathAddress(subsystemAddress, PathElement.pathElement(Constants.SECURITY_DOMAIN, "other2")),
+                                new FailedOperationTransformationConfig.NewAttributesConfig(Constants.CACHE_MAX_ENTRIES, Constants.CACHE_EXPIRE_AFTER_WRITE, Constants.CACHE_EXPIRE_AFTER_ACCESS))
                         .addFailedAttribute(PathAddress.pathAddress(subsystemAddress, PathElement.pathElement(Constants.ELYTRON_REALM)),
                                 FailedOperationTransformationConfig.REJECTED_RESOURCE)
                         .addFailedAttribute(PathAddress.pathAddress(subsystemAddress, PathElement.pathElement(Constants.ELYTRON_KEY_STORE)),
@@ -137,7 +170,7 @@ public class SecurityTransformersTestCase extends AbstractSubsystemBaseTest {
     private void testTransformers(ModelTestControllerVersion controllerVersion, ModelVersion targetVersion, String mavenGAV) throws Exception {
         //Boot up empty controllers with the resources needed for the ops coming from the xml to work
         KernelServicesBuilder builder = createKernelServicesBuilder(createAdditionalInitialization())
-                .setSubsystemXmlResource("security-transformers_2.0.xml");
+                .setSubsystemXmlResource("security-transformers_3.0.xml");
         builder.createLegacyKernelServicesBuilder(null, controllerVersion, targetVersion)
                 .addMavenResourceURL(mavenGAV)
                 .configureReverseControllerCheck(createAdditionalInitialization(), null)
@@ -182,7 +182,7 @@ public class ExportImportJournalTestCase {
         exportJournalOp.get(OP).set("export-journal");
         ModelNode result = execute(managementClient.getControllerClient(), exportJournalOp);
         //System.out.println("result = " + result);
-        String dumpFilePath = result.asString();
+        String dumpFilePath = result.get("file").asString();
         return dumpFilePath;
     }
 